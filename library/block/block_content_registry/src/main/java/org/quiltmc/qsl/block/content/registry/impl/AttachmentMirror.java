@@ -0,0 +1,84 @@
+/*
+ * Copyright 2023 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.block.content.registry.impl;
+
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import org.jetbrains.annotations.Nullable;
+
+import org.quiltmc.qsl.registry.attachment.api.RegistryEntryAttachment;
+
+/**
+ * Mirrors the values of an attachment into a vanilla map, applying only the changes since the last update.
+ * <p>
+ * Data pack reloads rarely change these values, so diffing against the previously applied values
+ * avoids clearing and refilling the large vanilla maps on every reload.
+ * Entries are compared by identity, as they are registry entries.
+ *
+ * @param <K> the type of the entries
+ * @param <V> the type of the attached values
+ */
+final class AttachmentMirror<K, V> {
+	private final Consumer<BiConsumer<K, V>> source;
+	private final Runnable clear;
+	private final BiConsumer<K, V> put;
+	private final BiConsumer<K, V> remove;
+	private @Nullable Map<K, V> applied;
+
+	AttachmentMirror(Consumer<BiConsumer<K, V>> source, Runnable clear, BiConsumer<K, V> put, BiConsumer<K, V> remove) {
+		this.source = source;
+		this.clear = clear;
+		this.put = put;
+		this.remove = remove;
+	}
+
+	static <K, V> AttachmentMirror<K, V> of(RegistryEntryAttachment<K, V> attachment, Runnable clear, BiConsumer<K, V> put, BiConsumer<K, V> remove) {
+		return new AttachmentMirror<>(action -> attachment.forEach(entry -> action.accept(entry.entry(), entry.value())),
+				clear, put, remove);
+	}
+
+	void update() {
+		var current = new Reference2ObjectOpenHashMap<K, V>();
+		this.source.accept(current::put);
+
+		if (this.applied == null) {
+			// The vanilla maps still hold their own values, start from scratch once.
+			this.clear.run();
+			current.forEach(this.put);
+		} else {
+			var previous = this.applied;
+
+			// Removals go first, as bidirectional maps refuse a value still bound to another key.
+			previous.forEach((entry, value) -> {
+				if (!value.equals(current.get(entry))) {
+					this.remove.accept(entry, value);
+				}
+			});
+
+			current.forEach((entry, value) -> {
+				if (!value.equals(previous.get(entry))) {
+					this.put.accept(entry, value);
+				}
+			});
+		}
+
+		this.applied = current;
+	}
+}
@@ -17,7 +17,6 @@
 package org.quiltmc.qsl.block.content.registry.impl;
 
 import java.util.Map;
-import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
 import com.google.common.collect.BiMap;
@@ -58,6 +57,34 @@ public class BlockContentRegistriesImpl implements ModInitializer {
 	public static final BiMap<Block, Block> WAXED_UNWAXED_BLOCKS = HashBiMap.create();
 	public static final BiMap<Block, Block> UNWAXED_WAXED_BLOCKS = HashBiMap.create();
 
+	private static final AttachmentMirror<Block, BlockState> PATH_STATES_MIRROR = AttachmentMirror.of(BlockContentRegistries.FLATTENABLE,
+			ShovelItem.PATH_STATES::clear, ShovelItem.PATH_STATES::put, (block, value) -> ShovelItem.PATH_STATES.remove(block));
+	private static final AttachmentMirror<Block, Block> STRIPPED_BLOCKS_MIRROR = AttachmentMirror.of(BlockContentRegistries.STRIPPABLE,
+			AxeItem.STRIPPED_BLOCKS::clear, AxeItem.STRIPPED_BLOCKS::put, (block, value) -> AxeItem.STRIPPED_BLOCKS.remove(block));
+	private static final AttachmentMirror<Block, ReversibleBlockEntry> OXIDATION_MIRROR = simpleReversibleMirror(
+			OXIDATION_INCREASE_BLOCKS, OXIDATION_DECREASE_BLOCKS, BlockContentRegistries.OXIDIZABLE
+	);
+	private static final AttachmentMirror<Block, ReversibleBlockEntry> WAXED_MIRROR = simpleReversibleMirror(
+			UNWAXED_WAXED_BLOCKS, WAXED_UNWAXED_BLOCKS, BlockContentRegistries.WAXABLE
+	);
+	private static final AttachmentMirror<Block, FlammableBlockEntry> FLAMMABLE_MIRROR = AttachmentMirror.of(BlockContentRegistries.FLAMMABLE,
+			() -> {
+				FireBlock fireBlock = ((FireBlock) Blocks.FIRE);
+				fireBlock.burnChances.clear();
+				fireBlock.spreadChances.clear();
+			},
+			(block, value) -> {
+				FireBlock fireBlock = ((FireBlock) Blocks.FIRE);
+				fireBlock.burnChances.put(block, value.burn());
+				fireBlock.spreadChances.put(block, value.spread());
+			},
+			(block, value) -> {
+				FireBlock fireBlock = ((FireBlock) Blocks.FIRE);
+				fireBlock.burnChances.removeInt(block);
+				fireBlock.spreadChances.removeInt(block);
+			}
+	);
+
 	@Override
 	public void onInitialize(ModContainer mod) {
 		// Fill the initial flammable blocks map
@@ -92,39 +119,36 @@ public void onInitialize(ModContainer mod) {
 	}
 
 	private static void resetMaps() {
-		ShovelItem.PATH_STATES.clear();
-		setMapFromAttachment(ShovelItem.PATH_STATES::put, BlockContentRegistries.FLATTENABLE);
-
-		AxeItem.STRIPPED_BLOCKS.clear();
-		setMapFromAttachment(AxeItem.STRIPPED_BLOCKS::put, BlockContentRegistries.STRIPPABLE);
-
-		resetSimpleReversibleMap(OXIDATION_INCREASE_BLOCKS, OXIDATION_DECREASE_BLOCKS, BlockContentRegistries.OXIDIZABLE);
-
-		resetSimpleReversibleMap(UNWAXED_WAXED_BLOCKS, WAXED_UNWAXED_BLOCKS, BlockContentRegistries.WAXABLE);
-
-		FireBlock fireBlock = ((FireBlock) Blocks.FIRE);
-		fireBlock.burnChances.clear();
-		fireBlock.spreadChances.clear();
-		BlockContentRegistries.FLAMMABLE.registry().stream().forEach(entry -> BlockContentRegistries.FLAMMABLE.get(entry).ifPresent(v -> {
-			fireBlock.burnChances.put(entry, v.burn());
-			fireBlock.spreadChances.put(entry, v.spread());
-		}));
-	}
-
-	private static <T, V> void setMapFromAttachment(BiFunction<T, V, ?> map, RegistryEntryAttachment<T, V> attachment) {
-		attachment.forEach(entry -> map.apply(entry.entry(), entry.value()));
+		PATH_STATES_MIRROR.update();
+		STRIPPED_BLOCKS_MIRROR.update();
+		OXIDATION_MIRROR.update();
+		WAXED_MIRROR.update();
+		FLAMMABLE_MIRROR.update();
 	}
 
 	private static <T, V> void addMapToAttachment(Map<T, V> map, RegistryEntryAttachment<T, V> attachment) {
 		map.forEach(attachment::put);
 	}
 
-	private static void resetSimpleReversibleMap(BiMap<Block, Block> baseWay, BiMap<Block, Block> reversed,
+	private static AttachmentMirror<Block, ReversibleBlockEntry> simpleReversibleMirror(BiMap<Block, Block> baseWay, BiMap<Block, Block> reversed,
 			RegistryEntryAttachment<Block, ReversibleBlockEntry> rea) {
-		baseWay.clear();
-		reversed.clear();
-		setMapFromAttachment((entry, value) -> baseWay.put(entry, value.block()), rea);
-		setMapFromAttachment((entry, value) -> value.reversible() ? reversed.put(value.block(), entry) : null, rea);
+		return AttachmentMirror.of(rea,
+				() -> {
+					baseWay.clear();
+					reversed.clear();
+				},
+				(entry, value) -> {
+					baseWay.put(entry, value.block());
+
+					if (value.reversible()) {
+						reversed.put(value.block(), entry);
+					}
+				},
+				(entry, value) -> {
+					baseWay.remove(entry);
+					reversed.inverse().remove(entry);
+				}
+		);
 	}
 
 	/**
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2023 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.block.content.registry.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.collect.BiMap;
+import com.google.common.collect.HashBiMap;
+import org.junit.jupiter.api.Test;
+
+public class AttachmentMirrorTests {
+	private static final String A = "a";
+	private static final String B = "b";
+	private static final String C = "c";
+	private static final String D = "d";
+
+	private final Map<String, String> values = new LinkedHashMap<>();
+	private final List<String> operations = new ArrayList<>();
+
+	private AttachmentMirror<String, String> mirror(Map<String, String> target) {
+		return new AttachmentMirror<>(this.values::forEach,
+				() -> {
+					this.operations.add("clear");
+					target.clear();
+				},
+				(entry, value) -> {
+					this.operations.add("put " + entry);
+					target.put(entry, value);
+				},
+				(entry, value) -> {
+					this.operations.add("remove " + entry);
+					target.remove(entry);
+				}
+		);
+	}
+
+	@Test
+	void firstUpdateReplacesTheInitialValues() {
+		var target = new HashMap<>(Map.of(C, "initial"));
+		var mirror = this.mirror(target);
+
+		this.values.put(A, "1");
+		this.values.put(B, "2");
+		mirror.update();
+
+		assertEquals(Map.of(A, "1", B, "2"), target);
+		assertEquals("clear", this.operations.get(0));
+		assertEquals(Set.of("put a", "put b"), Set.copyOf(this.operations.subList(1, this.operations.size())));
+	}
+
+	@Test
+	void unchangedValuesAreNotReapplied() {
+		var target = new HashMap<String, String>();
+		var mirror = this.mirror(target);
+
+		this.values.put(A, "1");
+		this.values.put(B, "2");
+		mirror.update();
+		this.operations.clear();
+
+		// An equal but distinct value is not a change.
+		this.values.put(A, new String("1"));
+		mirror.update();
+
+		assertEquals(Map.of(A, "1", B, "2"), target);
+		assertEquals(List.of(), this.operations);
+	}
+
+	@Test
+	void onlyChangesAreApplied() {
+		var target = new HashMap<String, String>();
+		var mirror = this.mirror(target);
+
+		this.values.put(A, "1");
+		this.values.put(B, "2");
+		this.values.put(C, "3");
+		mirror.update();
+		this.operations.clear();
+
+		this.values.put(A, "4");
+		this.values.remove(B);
+		this.values.put(D, "5");
+		mirror.update();
+
+		assertEquals(Map.of(A, "4", C, "3", D, "5"), target);
+		// Removals are applied before any put.
+		assertEquals(4, this.operations.size());
+		assertEquals(Set.of("remove a", "remove b"), Set.copyOf(this.operations.subList(0, 2)));
+		assertEquals(Set.of("put a", "put d"), Set.copyOf(this.operations.subList(2, 4)));
+	}
+
+	@Test
+	void swappedBiMapValuesAreAccepted() {
+		BiMap<String, String> target = HashBiMap.create();
+		var mirror = this.mirror(target);
+
+		this.values.put(A, B);
+		this.values.put(C, D);
+		mirror.update();
+
+		// Putting either swapped value first would throw if the old binding was still present.
+		this.values.put(A, D);
+		this.values.put(C, B);
+		mirror.update();
+
+		assertEquals(Map.of(A, D, C, B), target);
+		assertEquals(Map.of(D, A, B, C), target.inverse());
+	}
+
+	@Test
+	void swappedReversibleValuesAreAccepted() {
+		BiMap<String, String> baseWay = HashBiMap.create();
+		BiMap<String, String> reversed = HashBiMap.create();
+		// Mirrors the reversible block maps, where only the base way is keyed by the attachment entry.
+		var mirror = new AttachmentMirror<String, String>(this.values::forEach,
+				() -> {
+					baseWay.clear();
+					reversed.clear();
+				},
+				(entry, value) -> {
+					baseWay.put(entry, value);
+					reversed.put(value, entry);
+				},
+				(entry, value) -> {
+					baseWay.remove(entry);
+					reversed.inverse().remove(entry);
+				}
+		);
+
+		this.values.put(A, B);
+		this.values.put(C, D);
+		mirror.update();
+
+		this.values.put(A, D);
+		this.values.put(C, B);
+		mirror.update();
+
+		assertEquals(Map.of(A, D, C, B), baseWay);
+		assertEquals(Map.of(D, A, B, C), reversed);
+	}
+}
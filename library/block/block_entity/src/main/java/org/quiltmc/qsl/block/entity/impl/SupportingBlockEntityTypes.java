@@ -0,0 +1,47 @@
+/*
+ * Copyright 2023 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.block.entity.impl;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.entity.BlockEntityType;
+
+/**
+ * A duck interface for the back-references from a {@link Block} to the block entity types supporting it.
+ * <p>
+ * Unlike a set of blocks or a bitset over raw ids, this stays correct when registry sync remaps raw ids.
+ */
+@ApiStatus.Internal
+public interface SupportingBlockEntityTypes {
+	/**
+	 * {@return {@code true} if the given block entity type supports this block, or {@code false} otherwise}
+	 */
+	boolean quilt$isSupportedBy(BlockEntityType<?> type);
+
+	/**
+	 * Marks this block as supported by the given block entity type.
+	 */
+	void quilt$addSupportingType(BlockEntityType<?> type);
+
+	/**
+	 * Casts a {@link Block} to the duck interface.
+	 */
+	static SupportingBlockEntityTypes as(Block block) {
+		return (SupportingBlockEntityTypes) block;
+	}
+}
@@ -21,17 +21,24 @@
 import java.util.Set;
 
 import com.google.common.collect.ImmutableSet;
+import com.mojang.datafixers.types.Type;
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Mutable;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
 import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
 import net.minecraft.block.entity.BlockEntityType;
 
 import org.quiltmc.qsl.block.entity.api.QuiltBlockEntityType;
 import org.quiltmc.qsl.block.entity.impl.QuiltBlockEntityImpl;
+import org.quiltmc.qsl.block.entity.impl.SupportingBlockEntityTypes;
 
 @Mixin(BlockEntityType.class)
 public class BlockEntityTypeMixin implements QuiltBlockEntityType {
@@ -40,6 +47,21 @@ public class BlockEntityTypeMixin implements QuiltBlockEntityType {
 	@Final
 	private Set<Block> blocks;
 
+	@Inject(method = "<init>", at = @At("RETURN"))
+	private void quilt$addBackReferences(BlockEntityType.BlockEntityFactory<?> factory, Set<Block> blocks, Type<?> type, CallbackInfo ci) {
+		for (var block : this.blocks) {
+			SupportingBlockEntityTypes.as(block).quilt$addSupportingType((BlockEntityType<?>) (Object) this);
+		}
+	}
+
+	@Inject(method = "supports", at = @At("HEAD"), cancellable = true)
+	private void quilt$supportsFromBackReferences(BlockState state, CallbackInfoReturnable<Boolean> cir) {
+		// Blocks added to the set directly, without going through QSL, are still found by the vanilla lookup.
+		if (SupportingBlockEntityTypes.as(state.getBlock()).quilt$isSupportedBy((BlockEntityType<?>) (Object) this)) {
+			cir.setReturnValue(true);
+		}
+	}
+
 	@Unique
 	public Set<Block> quilt$getMutableSupportedBlocks() {
 		if (this.blocks instanceof ImmutableSet) {
@@ -53,11 +75,16 @@ public class BlockEntityTypeMixin implements QuiltBlockEntityType {
 	public void addSupportedBlock(Block block) {
 		QuiltBlockEntityImpl.INSTANCE.ensureCanModify();
 		this.quilt$getMutableSupportedBlocks().add(block);
+		SupportingBlockEntityTypes.as(block).quilt$addSupportingType((BlockEntityType<?>) (Object) this);
 	}
 
 	@Override
 	public void addSupportedBlocks(Block... blocks) {
 		QuiltBlockEntityImpl.INSTANCE.ensureCanModify();
 		Collections.addAll(this.quilt$getMutableSupportedBlocks(), blocks);
+
+		for (var block : blocks) {
+			SupportingBlockEntityTypes.as(block).quilt$addSupportingType((BlockEntityType<?>) (Object) this);
+		}
 	}
 }
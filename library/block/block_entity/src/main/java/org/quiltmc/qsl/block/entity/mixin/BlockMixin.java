@@ -0,0 +1,58 @@
+/*
+ * Copyright 2023 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.block.entity.mixin;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.entity.BlockEntityType;
+
+import org.quiltmc.qsl.block.entity.impl.SupportingBlockEntityTypes;
+
+@Mixin(Block.class)
+public class BlockMixin implements SupportingBlockEntityTypes {
+	@Unique
+	private static final BlockEntityType<?>[] quilt$NO_TYPES = new BlockEntityType<?>[0];
+
+	// A block is almost always supported by at most one type, so a linear scan beats any set.
+	@Unique
+	private volatile BlockEntityType<?>[] quilt$supportingTypes = quilt$NO_TYPES;
+
+	@Override
+	public boolean quilt$isSupportedBy(BlockEntityType<?> type) {
+		for (var supportingType : this.quilt$supportingTypes) {
+			if (supportingType == type) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	@Override
+	public synchronized void quilt$addSupportingType(BlockEntityType<?> type) {
+		if (this.quilt$isSupportedBy(type)) {
+			return;
+		}
+
+		var types = new BlockEntityType<?>[this.quilt$supportingTypes.length + 1];
+		System.arraycopy(this.quilt$supportingTypes, 0, types, 0, this.quilt$supportingTypes.length);
+		types[types.length - 1] = type;
+		this.quilt$supportingTypes = types;
+	}
+}
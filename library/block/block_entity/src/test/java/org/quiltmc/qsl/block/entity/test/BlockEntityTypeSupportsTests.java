@@ -0,0 +1,93 @@
+/*
+ * Copyright 2023 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.block.entity.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.SharedConstants;
+import net.minecraft.block.Block;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.entity.BlockEntityType;
+import net.minecraft.block.entity.SignBlockEntity;
+
+import org.quiltmc.qsl.block.entity.api.QuiltBlockEntityTypeBuilder;
+
+public class BlockEntityTypeSupportsTests {
+	@BeforeAll
+	static void beforeAll() {
+		// Registries are not bootstrapped, as new block entity types cannot be created once they are frozen.
+		SharedConstants.createGameVersion();
+	}
+
+	private static BlockEntityType<SignBlockEntity> create(Block... blocks) {
+		return QuiltBlockEntityTypeBuilder.create(SignBlockEntity::new, blocks).build();
+	}
+
+	@Test
+	void supportsBuiltBlocks() {
+		var type = create(Blocks.STONE, Blocks.DIRT);
+
+		assertTrue(type.supports(Blocks.STONE.getDefaultState()));
+		assertTrue(type.supports(Blocks.DIRT.getDefaultState()));
+		assertFalse(type.supports(Blocks.GRASS_BLOCK.getDefaultState()));
+	}
+
+	@Test
+	void supportsAddedBlocks() {
+		var type = create(Blocks.STONE);
+
+		type.addSupportedBlock(Blocks.DIRT);
+		type.addSupportedBlocks(Blocks.GRASS_BLOCK, Blocks.SAND);
+
+		assertTrue(type.supports(Blocks.DIRT.getDefaultState()));
+		assertTrue(type.supports(Blocks.GRASS_BLOCK.getDefaultState()));
+		assertTrue(type.supports(Blocks.SAND.getDefaultState()));
+		assertFalse(type.supports(Blocks.GRAVEL.getDefaultState()));
+	}
+
+	@Test
+	void blocksAreOnlySupportedByTheirTypes() {
+		var first = create(Blocks.STONE);
+		var second = create(Blocks.STONE, Blocks.DIRT);
+
+		assertTrue(first.supports(Blocks.STONE.getDefaultState()));
+		assertTrue(second.supports(Blocks.STONE.getDefaultState()));
+		assertFalse(first.supports(Blocks.DIRT.getDefaultState()));
+	}
+
+	@Test
+	void supportsBlocksAddedToTheVanillaSet() throws ReflectiveOperationException {
+		var type = create(Blocks.STONE);
+
+		// Mods commonly add blocks to the set directly, bypassing the back-references
+		var field = BlockEntityType.class.getDeclaredField("blocks");
+		field.setAccessible(true);
+		@SuppressWarnings("unchecked")
+		var blocks = new HashSet<>((Set<Block>) field.get(type));
+		blocks.add(Blocks.DIRT);
+		field.set(type, blocks);
+
+		assertTrue(type.supports(Blocks.DIRT.getDefaultState()));
+		assertTrue(type.supports(Blocks.STONE.getDefaultState()));
+	}
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2023 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.networking.api;
+
+import java.time.Duration;
+import java.util.Map;
+
+import net.minecraft.util.Identifier;
+
+import org.quiltmc.qsl.networking.impl.TrafficMetrics;
+
+/**
+ * Offers access to the custom payload traffic of each channel, to find the channels using the most bandwidth.
+ * <p>
+ * Traffic is counted when payloads are encoded to be sent or decoded after being received,
+ * as such payloads exchanged over a local connection, like the one of singleplayer, aren't counted.
+ * The handler time is the time spent in the receivers of a channel, on the network threads.
+ * <p>
+ * The totals are also reported periodically by the {@code org.quiltmc.qsl.networking.ChannelTraffic} Java Flight Recorder event.
+ */
+public final class ChannelTrafficMetrics {
+	private ChannelTrafficMetrics() {
+	}
+
+	/**
+	 * {@return the traffic of each channel on the server side since startup or the last reset}
+	 */
+	public static Map<Identifier, Traffic> getServerTraffic() {
+		return TrafficMetrics.SERVER.getTraffic();
+	}
+
+	/**
+	 * {@return the traffic of each channel on the client side since startup or the last reset}
+	 */
+	public static Map<Identifier, Traffic> getClientTraffic() {
+		return TrafficMetrics.CLIENT.getTraffic();
+	}
+
+	/**
+	 * Resets the traffic of every channel on both sides.
+	 */
+	public static void reset() {
+		TrafficMetrics.SERVER.reset();
+		TrafficMetrics.CLIENT.reset();
+	}
+
+	/**
+	 * The traffic of a channel.
+	 *
+	 * @param packetsSent     the count of payloads sent
+	 * @param bytesSent       the count of payload bytes sent
+	 * @param packetsReceived the count of payloads received
+	 * @param bytesReceived   the count of payload bytes received
+	 * @param handlerTime     the total time spent handling received payloads
+	 */
+	public record Traffic(long packetsSent, long bytesSent, long packetsReceived, long bytesReceived, Duration handlerTime) {
+		/**
+		 * {@return the count of payload bytes sent and received}
+		 */
+		public long totalBytes() {
+			return this.bytesSent + this.bytesReceived;
+		}
+	}
+}
@@ -65,4 +65,36 @@ public static <T extends CustomPayload> void registerS2CPayload(Identifier type,
 
 		CustomPayloadS2CPacketAccessor.getKnownTypes().put(type, reader);
 	}
+
+	/**
+	 * Registers a common ({@link NetworkState#CONFIGURATION} or {@link NetworkState#PLAY}) record payload that is sent from the client to the server,
+	 * read using its {@linkplain RecordPayloadCodec record serializer}.
+	 *
+	 * @param type        the type or id for the payload
+	 * @param payloadType the class of the payload
+	 * @param <T>         the payload type
+	 * @return the serializer of the payload, to use when writing it
+	 * @throws IllegalArgumentException if a component of the payload has an unsupported type
+	 */
+	public static <T extends Record & CustomPayload> RecordPayloadCodec<T> registerC2SPayload(Identifier type, Class<T> payloadType) {
+		RecordPayloadCodec<T> codec = RecordPayloadCodec.of(payloadType);
+		registerC2SPayload(type, codec);
+		return codec;
+	}
+
+	/**
+	 * Registers a common ({@link NetworkState#CONFIGURATION} or {@link NetworkState#PLAY}) record payload that is sent from the server to the client,
+	 * read using its {@linkplain RecordPayloadCodec record serializer}.
+	 *
+	 * @param type        the type or id for the payload
+	 * @param payloadType the class of the payload
+	 * @param <T>         the payload type
+	 * @return the serializer of the payload, to use when writing it
+	 * @throws IllegalArgumentException if a component of the payload has an unsupported type
+	 */
+	public static <T extends Record & CustomPayload> RecordPayloadCodec<T> registerS2CPayload(Identifier type, Class<T> payloadType) {
+		RecordPayloadCodec<T> codec = RecordPayloadCodec.of(payloadType);
+		registerS2CPayload(type, codec);
+		return codec;
+	}
 }
@@ -16,11 +16,14 @@
 
 package org.quiltmc.qsl.networking.api;
 
+import java.util.List;
+
 import net.minecraft.entity.Entity;
 import net.minecraft.server.network.ServerPlayerEntity;
 
 import org.quiltmc.qsl.base.api.event.Event;
 import org.quiltmc.qsl.base.api.event.EventAwareListener;
+import org.quiltmc.qsl.networking.impl.server.EntityTrackingBatch;
 
 /**
  * Events related to a tracking entities within a player's view distance.
@@ -65,6 +68,24 @@ public final class EntityTrackingEvents {
 		}
 	});
 
+	/**
+	 * An event that is called once per tick for each player whose tracked entities changed during the tick,
+	 * with all the entities which started and stopped being tracked by the player.
+	 * <p>
+	 * This is a batched alternative to {@link #AFTER_START_TRACKING} and {@link #STOP_TRACKING}, called at the end of the server tick,
+	 * which allows sending a single aggregated packet for many entities instead of one per entity.
+	 * Changes are only collected while this event has listeners.
+	 * <p>
+	 * An entity which started then stopped being tracked during the same tick is not part of either list,
+	 * while an entity which stopped then started again is part of both, the client having destroyed then spawned it again.
+	 * Entities may have been removed from their world since their tracking changed.
+	 */
+	public static final Event<TrackingChanges> TRACKING_CHANGES = Event.create(TrackingChanges.class, EntityTrackingBatch.NO_LISTENERS, callbacks -> (player, startedTracking, stoppedTracking) -> {
+		for (TrackingChanges callback : callbacks) {
+			callback.onTrackingChanges(player, startedTracking, stoppedTracking);
+		}
+	});
+
 	@FunctionalInterface
 	public interface BeforeStartTracking extends EventAwareListener {
 		/**
@@ -98,5 +119,17 @@ public interface StopTracking extends EventAwareListener {
 		void onStopTracking(Entity trackedEntity, ServerPlayerEntity player);
 	}
 
+	@FunctionalInterface
+	public interface TrackingChanges extends EventAwareListener {
+		/**
+		 * Called at the end of a tick during which the entities tracked by a player changed.
+		 *
+		 * @param player          the player whose tracked entities changed
+		 * @param startedTracking the entities that are now being tracked by the player, in order
+		 * @param stoppedTracking the entities that are no longer being tracked by the player, in order
+		 */
+		void onTrackingChanges(ServerPlayerEntity player, List<Entity> startedTracking, List<Entity> stoppedTracking);
+	}
+
 	private EntityTrackingEvents() {}
 }
@@ -19,10 +19,13 @@
 import java.util.Objects;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.buffer.Unpooled;
 
 import net.minecraft.network.PacketByteBuf;
 
+import org.quiltmc.qsl.networking.impl.payload.PooledPacketByteBuf;
+
 /**
  * Helper methods for working with and creating {@link PacketByteBuf}s.
  */
@@ -47,6 +50,40 @@ public static PacketByteBuf create() {
 		return new PacketByteBuf(Unpooled.buffer());
 	}
 
+	/**
+	 * Returns a new pooled direct memory-backed instance of packet byte buffer.
+	 * <p>
+	 * Pooled buffers avoid allocating garbage for payloads which are sent often, but come with ownership rules:
+	 * <ul>
+	 *     <li>the buffer is owned by the caller until it is passed to a method of this module creating or sending a packet,
+	 *     like {@link ServerPlayNetworking#send(net.minecraft.server.network.ServerPlayerEntity, net.minecraft.util.Identifier, PacketByteBuf)},
+	 *     after which it is owned by the packet and must not be used anymore;</li>
+	 *     <li>the packet releases the buffer once it has been written to the connection, as such the packet may only be sent once;</li>
+	 *     <li>a buffer which is never sent must be {@linkplain ByteBuf#release() released} by its owner.</li>
+	 * </ul>
+	 * Packets which are dropped without being written are released too, when they are sent to a closed connection through this module,
+	 * or are still queued for coalescing when the player disconnects.
+	 * A packet which is never written otherwise, for example one that is created but never sent,
+	 * or sent to a closed connection by other means, leaks its buffer.
+	 * Receivers never see pooled buffers, even over local connections.
+	 * <p>
+	 * Netty's leak detection is enabled in development environments to report buffers which are never released.
+	 *
+	 * @return a new pooled buffer
+	 */
+	public static PacketByteBuf createPooled() {
+		return new PooledPacketByteBuf(PooledByteBufAllocator.DEFAULT.directBuffer());
+	}
+
+	/**
+	 * {@return {@code true} if the given buffer was created by {@link #createPooled()}, or {@code false} otherwise}
+	 *
+	 * @param buf the buffer
+	 */
+	public static boolean isPooled(PacketByteBuf buf) {
+		return buf instanceof PooledPacketByteBuf;
+	}
+
 	// Convenience methods for byte buffer methods that return a new byte buffer
 
 	/**
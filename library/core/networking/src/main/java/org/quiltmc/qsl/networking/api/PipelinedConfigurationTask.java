@@ -0,0 +1,62 @@
+/*
+ * Copyright 2023 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.networking.api;
+
+import java.util.Set;
+
+import net.minecraft.network.configuration.ConfigurationTask;
+
+/**
+ * A configuration task which may run concurrently with the other pipelined tasks of a connection.
+ * <p>
+ * Plain configuration tasks run one after the other, each costing a full round-trip to the client.
+ * Pipelined tasks {@linkplain ServerConfigurationTaskManager#addTask(ConfigurationTask) added} to a handler are instead started together,
+ * as soon as the tasks they {@linkplain #getDependencies() depend on} are finished, and may finish in any order.
+ * <p>
+ * A dependency on a task type which isn't part of the pipeline of the connection is considered satisfied.
+ */
+public interface PipelinedConfigurationTask extends ConfigurationTask {
+	/**
+	 * The type of the task sending the channels the server can receive, finished once the client answered with its own channels.
+	 */
+	ConfigurationTask.Type SEND_CHANNELS = new ConfigurationTask.Type("qsl:send_channels");
+
+	/**
+	 * The type of the task negotiating the version of the common packets with the client.
+	 */
+	ConfigurationTask.Type COMMON_VERSION = new ConfigurationTask.Type("c:version");
+
+	/**
+	 * The type of the task exchanging the channels through the common register packet, once the common version is negotiated.
+	 */
+	ConfigurationTask.Type COMMON_REGISTER = new ConfigurationTask.Type("c:register");
+
+	/**
+	 * The types of the tasks through which the channels the client may receive are discovered.
+	 * <p>
+	 * Tasks which check whether the client {@linkplain ServerConfigurationNetworking#canSend(net.minecraft.network.ServerConfigurationPacketHandler, net.minecraft.util.Identifier) can receive}
+	 * a channel when started should depend on them.
+	 */
+	Set<ConfigurationTask.Type> CHANNEL_DISCOVERY = Set.of(SEND_CHANNELS, COMMON_REGISTER);
+
+	/**
+	 * {@return the types of the tasks which must be finished before this task is started}
+	 */
+	default Set<ConfigurationTask.Type> getDependencies() {
+		return Set.of();
+	}
+}
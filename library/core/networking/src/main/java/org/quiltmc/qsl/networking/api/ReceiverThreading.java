@@ -0,0 +1,49 @@
+/*
+ * Copyright 2023 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.networking.api;
+
+/**
+ * Represents on which thread a packet receiver is executed.
+ *
+ * @see ServerPlayNetworking#registerGlobalReceiver(net.minecraft.util.Identifier, ReceiverThreading, ServerPlayNetworking.CustomChannelReceiver)
+ */
+public enum ReceiverThreading {
+	/**
+	 * The receiver is executed on {@linkplain io.netty.channel.EventLoop netty's event loop} of the connection, as soon as the packet is received.
+	 * <p>
+	 * This is the default, the receiver must schedule any modification to the game on the main thread.
+	 */
+	EVENT_LOOP,
+	/**
+	 * The receiver is executed on the main thread, the handoff being done automatically.
+	 * <p>
+	 * The receiver may freely modify the game.
+	 * The payloads of a connection are handled in the order they were received in.
+	 */
+	MAIN_THREAD,
+	/**
+	 * The receiver is executed on the shared worker pool of the game.
+	 * <p>
+	 * This is suited for expensive work which doesn't touch the game state, like decompressing or validating data,
+	 * which would otherwise block the connection or the main thread.
+	 * The receiver must schedule any modification to the game on the main thread.
+	 * <p>
+	 * The payloads of a connection are handled one after the other, in the order they were received in,
+	 * though not necessarily on the same thread. Payloads of different connections may be received concurrently.
+	 */
+	WORKER_POOL
+}
@@ -0,0 +1,300 @@
+/*
+ * Copyright 2023 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.networking.api;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.AnnotatedParameterizedType;
+import java.lang.reflect.AnnotatedType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.network.packet.payload.CustomPayload;
+import net.minecraft.text.Text;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+
+import org.quiltmc.qsl.networking.impl.payload.RecordPayloadSerializer;
+import org.quiltmc.qsl.networking.impl.payload.RecordPayloadSerializers;
+
+/**
+ * A serializer for records, derived from their components, which spares hand-writing the read and write methods of payloads.
+ * <p>
+ * The serializer of a record is generated once, when first requested, as a class calling the {@link PacketByteBuf}
+ * for each component in turn, without going through intermediate representations like {@link NbtCompound} or codecs.
+ * Primitive components are neither boxed nor stored in intermediate arrays, so the serializer matches hand-written
+ * read and write methods.
+ * The supported component types are:
+ * <ul>
+ *     <li>primitives and their boxed types, {@code int} and {@code long} being written as var-ints when annotated with {@link VarInt};</li>
+ *     <li>{@link String}, {@link Identifier}, {@link BlockPos}, {@link UUID}, {@link ItemStack}, {@link NbtCompound} and {@link Text};</li>
+ *     <li>{@code byte[]} and {@code int[]};</li>
+ *     <li>enums, written by ordinal;</li>
+ *     <li>records whose components are supported;</li>
+ *     <li>{@link List} and {@link Optional} of a supported type.</li>
+ * </ul>
+ * Components must not be {@code null}, optional values should use {@link Optional} instead.
+ * Records which reference themselves, directly or through other records, are not supported.
+ * <p>
+ * Lists declaring more elements than the remaining bytes of the buffer could hold are rejected before being allocated,
+ * so payloads received from an untrusted side cannot make the receiver allocate arbitrarily large lists.
+ * <p>
+ * Payloads are usually declared as records using their serializer in {@link CustomPayload#write(PacketByteBuf)},
+ * and registered with {@link CustomPayloads#registerS2CPayload(Identifier, Class)} or {@link CustomPayloads#registerC2SPayload(Identifier, Class)}:
+ * <pre>{@code
+ * public record ExplodePayload(BlockPos pos, @RecordPayloadCodec.VarInt int power, Optional<Identifier> effect) implements CustomPayload {
+ * 	public static final Identifier ID = new Identifier("mymod", "explode");
+ * 	public static final RecordPayloadCodec<ExplodePayload> CODEC = CustomPayloads.registerS2CPayload(ID, ExplodePayload.class);
+ *
+ * 	@Override
+ * 	public void write(PacketByteBuf buf) {
+ * 		CODEC.write(buf, this);
+ * 	}
+ *
+ * 	@Override
+ * 	public Identifier id() {
+ * 		return ID;
+ * 	}
+ * }
+ * }</pre>
+ *
+ * @param <R> the type of the record
+ */
+public final class RecordPayloadCodec<R extends Record> implements PacketByteBuf.Reader<R> {
+	/**
+	 * The record types whose serializer is being built by the current thread, used to detect recursive records
+	 * which would otherwise recurse endlessly into {@link #CODECS}.
+	 */
+	private static final ThreadLocal<Set<Class<?>>> BUILDING = ThreadLocal.withInitial(HashSet::new);
+	private static final ClassValue<RecordPayloadCodec<?>> CODECS = new ClassValue<>() {
+		@Override
+		protected RecordPayloadCodec<?> computeValue(Class<?> type) {
+			Set<Class<?>> building = BUILDING.get();
+
+			if (!building.add(type)) {
+				throw new IllegalArgumentException("recursive record " + type.getName() + " is not supported");
+			}
+
+			try {
+				return new RecordPayloadCodec<>(type.asSubclass(Record.class));
+			} finally {
+				building.remove(type);
+			}
+		}
+	};
+
+	private final Class<R> type;
+	private final RecordPayloadSerializer serializer;
+	/**
+	 * The smallest size of a written record in bytes.
+	 */
+	private final int minSize;
+
+	private RecordPayloadCodec(Class<R> type) {
+		if (!type.isRecord()) {
+			throw new IllegalArgumentException("Cannot create a payload codec for " + type.getName() + ", which is not a record");
+		}
+
+		this.type = type;
+
+		var components = new ArrayList<RecordPayloadSerializers.Component>();
+		int minSize = 0;
+
+		for (RecordComponent component : type.getRecordComponents()) {
+			Serializer<?> serializer;
+
+			try {
+				serializer = serializer(component.getAnnotatedType());
+			} catch (IllegalArgumentException e) {
+				throw new IllegalArgumentException("Cannot serialize component " + component.getName() + " of " + type.getName() + ": " + e.getMessage(), e);
+			}
+
+			components.add(new RecordPayloadSerializers.Component(component, serializer.direct(), serializer.writer(), serializer.reader()));
+			minSize += serializer.minSize();
+		}
+
+		this.minSize = minSize;
+
+		try {
+			this.serializer = RecordPayloadSerializers.generate(type, components);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalArgumentException("Cannot access the components of " + type.getName(), e);
+		}
+	}
+
+	/**
+	 * Gets the serializer of the given record type.
+	 *
+	 * @param type the record type
+	 * @param <R>  the type of the record
+	 * @return the serializer
+	 * @throws IllegalArgumentException if a component of the record has an unsupported type, or if the record references itself
+	 */
+	@SuppressWarnings("unchecked")
+	public static <R extends Record> RecordPayloadCodec<R> of(Class<R> type) {
+		Objects.requireNonNull(type, "Type cannot be null");
+
+		return (RecordPayloadCodec<R>) CODECS.get(type);
+	}
+
+	/**
+	 * {@return the record type serialized by this serializer}
+	 */
+	public Class<R> getType() {
+		return this.type;
+	}
+
+	/**
+	 * Writes a record to a buffer.
+	 *
+	 * @param buf   the buffer
+	 * @param value the record
+	 */
+	public void write(PacketByteBuf buf, R value) {
+		this.serializer.write(buf, value);
+	}
+
+	/**
+	 * Reads a record from a buffer.
+	 *
+	 * @param buf the buffer
+	 * @return the record
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public R apply(PacketByteBuf buf) {
+		return (R) this.serializer.read(buf);
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static Serializer<?> serializer(AnnotatedType annotatedType) {
+		boolean varInt = annotatedType.isAnnotationPresent(VarInt.class);
+		Class<?> type = rawType(annotatedType);
+
+		if (varInt && type != int.class && type != Integer.class && type != long.class && type != Long.class) {
+			throw new IllegalArgumentException("only int and long values may be written as var-ints, found " + type.getName());
+		}
+
+		if (type == boolean.class || type == Boolean.class) {
+			return new Serializer<Boolean>(PacketByteBuf::writeBoolean, PacketByteBuf::readBoolean, 1, "Boolean");
+		} else if (type == byte.class || type == Byte.class) {
+			return new Serializer<Byte>((buf, value) -> buf.writeByte(value), PacketByteBuf::readByte, 1, "Byte");
+		} else if (type == short.class || type == Short.class) {
+			return new Serializer<Short>((buf, value) -> buf.writeShort(value), PacketByteBuf::readShort, 2, "Short");
+		} else if (type == char.class || type == Character.class) {
+			return new Serializer<Character>((buf, value) -> buf.writeChar(value), PacketByteBuf::readChar, 2, "Char");
+		} else if (type == int.class || type == Integer.class) {
+			return varInt ? new Serializer<Integer>(PacketByteBuf::writeVarInt, PacketByteBuf::readVarInt, 1, "VarInt")
+					: new Serializer<Integer>(PacketByteBuf::writeInt, PacketByteBuf::readInt, 4, "Int");
+		} else if (type == long.class || type == Long.class) {
+			return varInt ? new Serializer<Long>(PacketByteBuf::writeVarLong, PacketByteBuf::readVarLong, 1, "VarLong")
+					: new Serializer<Long>(PacketByteBuf::writeLong, PacketByteBuf::readLong, 8, "Long");
+		} else if (type == float.class || type == Float.class) {
+			return new Serializer<Float>(PacketByteBuf::writeFloat, PacketByteBuf::readFloat, 4, "Float");
+		} else if (type == double.class || type == Double.class) {
+			return new Serializer<Double>(PacketByteBuf::writeDouble, PacketByteBuf::readDouble, 8, "Double");
+		} else if (type == String.class) {
+			return new Serializer<String>(PacketByteBuf::writeString, PacketByteBuf::readString, 1, "String");
+		} else if (type == Identifier.class) {
+			return new Serializer<Identifier>(PacketByteBuf::writeIdentifier, PacketByteBuf::readIdentifier, 1, "Identifier");
+		} else if (type == BlockPos.class) {
+			return new Serializer<BlockPos>(PacketByteBuf::writeBlockPos, PacketByteBuf::readBlockPos, 8, "BlockPos");
+		} else if (type == UUID.class) {
+			return new Serializer<UUID>(PacketByteBuf::writeUuid, PacketByteBuf::readUuid, 16, "Uuid");
+		} else if (type == ItemStack.class) {
+			return new Serializer<ItemStack>(PacketByteBuf::writeItemStack, PacketByteBuf::readItemStack, 1, "ItemStack");
+		} else if (type == NbtCompound.class) {
+			return new Serializer<NbtCompound>(PacketByteBuf::writeNbt, PacketByteBuf::readNbt, 1, "Nbt");
+		} else if (type == Text.class) {
+			return new Serializer<Text>(PacketByteBuf::writeText, PacketByteBuf::readText, 1, "Text");
+		} else if (type == byte[].class) {
+			return new Serializer<byte[]>(PacketByteBuf::writeByteArray, PacketByteBuf::readByteArray, 1, "ByteArray");
+		} else if (type == int[].class) {
+			return new Serializer<int[]>(PacketByteBuf::writeIntArray, PacketByteBuf::readIntArray, 1, "IntArray");
+		} else if (type.isEnum()) {
+			Class<? extends Enum> enumType = type.asSubclass(Enum.class);
+			return new Serializer<Enum>(PacketByteBuf::writeEnumConstant, buf -> buf.readEnumConstant(enumType), 1, null);
+		} else if (type.isRecord()) {
+			RecordPayloadCodec codec = of(type.asSubclass(Record.class));
+			return new Serializer<Record>(codec::write, codec, codec.minSize, null);
+		} else if (type == List.class) {
+			Serializer element = serializer(typeArgument(annotatedType));
+			return new Serializer<List>((buf, list) -> buf.writeCollection(list, element.writer()),
+					buf -> RecordPayloadSerializers.readList(buf, element.reader(), element.minSize()), 1, null);
+		} else if (type == Optional.class) {
+			Serializer element = serializer(typeArgument(annotatedType));
+			return new Serializer<Optional>((buf, optional) -> buf.writeOptional(optional, element.writer()), buf -> buf.readOptional(element.reader()), 1, null);
+		}
+
+		throw new IllegalArgumentException("unsupported type " + annotatedType.getType().getTypeName());
+	}
+
+	private static Class<?> rawType(AnnotatedType annotatedType) {
+		if (annotatedType.getType() instanceof Class<?> type) {
+			return type;
+		} else if (annotatedType.getType() instanceof ParameterizedType parameterized && parameterized.getRawType() instanceof Class<?> type) {
+			return type;
+		}
+
+		throw new IllegalArgumentException("unsupported type " + annotatedType.getType().getTypeName());
+	}
+
+	private static AnnotatedType typeArgument(AnnotatedType annotatedType) {
+		if (annotatedType instanceof AnnotatedParameterizedType parameterized) {
+			return parameterized.getAnnotatedActualTypeArguments()[0];
+		}
+
+		throw new IllegalArgumentException("raw type " + annotatedType.getType().getTypeName());
+	}
+
+	/**
+	 * How values of a type are serialized.
+	 *
+	 * @param writer  the writer
+	 * @param reader  the reader
+	 * @param minSize the smallest size of a written value in bytes
+	 * @param direct  the direct representation called by the generated serializers, or {@code null} to go through the writer and reader
+	 * @param <T>     the type of the values
+	 */
+	private record Serializer<T>(PacketByteBuf.Writer<T> writer, PacketByteBuf.Reader<T> reader, int minSize, @Nullable String direct) {
+	}
+
+	/**
+	 * Marks an {@code int} or {@code long} value to be written as a var-int,
+	 * which takes less space for small positive values.
+	 */
+	@Documented
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target(ElementType.TYPE_USE)
+	public @interface VarInt {
+	}
+}
@@ -27,7 +27,7 @@
 /**
  * Offers access to events related to the connection to a client on a logical server while a client is in game.
  */
-// TODO: Double check these events with fabric. Also make sure that the add tasks event is invoked or fold it into the ready event.
+// TODO: Double check these events with fabric.
 public final class ServerConfigurationConnectionEvents {
 	/**
 	 * Event indicating a connection entered the CONFIGURATION state, ready for registering channel handlers.
@@ -64,7 +64,12 @@ public final class ServerConfigurationConnectionEvents {
 
 	/**
 	 * An event for adding tasks to a server configuration network handler.
-	 * Called once per connection when the optional tasks are also added.
+	 * Called once per connection when the configuration starts, before the vanilla tasks are added.
+	 * <p>
+	 * <strong>Important Note</strong>: this event is invoked before the channels of the client are discovered,
+	 * {@link ServerConfigurationNetworking#canSend(ServerConfigurationPacketHandler, Identifier)} is therefore always {@code false} at this point.
+	 * Tasks which send packets only to clients supporting them should check it when started instead,
+	 * and be {@linkplain PipelinedConfigurationTask pipelined tasks} depending on {@link PipelinedConfigurationTask#CHANNEL_DISCOVERY}.
 	 */
 	public static final Event<AddTasks> ADD_TASKS = Event.create(AddTasks.class, callbacks -> (handler, server) -> {
 		for (AddTasks callback : callbacks) {
@@ -30,13 +30,17 @@
 public interface ServerConfigurationTaskManager {
 	/**
 	 * Adds a task to the handler that must complete before joining.
+	 * <p>
+	 * {@linkplain PipelinedConfigurationTask Pipelined tasks} are started together with the other pipelined tasks of the handler,
+	 * as soon as their dependencies are finished, while other tasks are started one after the other.
 	 *
 	 * @param task the task to add
 	 */
 	void addTask(ConfigurationTask task);
 
 	/**
-	 * Finishes the task of the specified type. Will throw an error if a different or no task is running.
+	 * Finishes the task of the specified type. Will throw an error if a different or no task is running,
+	 * unless the task is a running {@linkplain PipelinedConfigurationTask pipelined task}.
 	 *
 	 * @param type the type to finish
 	 */
@@ -44,8 +48,19 @@ public interface ServerConfigurationTaskManager {
 
 	/**
 	 * Gets the currently running task for the configuration handler.
+	 * <p>
+	 * While {@linkplain PipelinedConfigurationTask pipelined tasks} are running, this is the task running the whole pipeline,
+	 * use {@link #getRunningTask(ConfigurationTask.Type)} to get a specific task instead.
 	 *
 	 * @return the current task
 	 */
 	@Nullable ConfigurationTask getCurrentTask();
+
+	/**
+	 * Gets the running task of the specified type, either the current task or a running {@linkplain PipelinedConfigurationTask pipelined task}.
+	 *
+	 * @param type the type of the task
+	 * @return the running task of the specified type, or {@code null} if no such task is running
+	 */
+	@Nullable ConfigurationTask getRunningTask(ConfigurationTask.Type type);
 }
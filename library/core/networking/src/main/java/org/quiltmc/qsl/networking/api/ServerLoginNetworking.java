@@ -16,6 +16,8 @@
 
 package org.quiltmc.qsl.networking.api;
 
+import java.time.Duration;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.Future;
@@ -29,6 +31,7 @@
 import net.minecraft.util.Identifier;
 
 import org.quiltmc.qsl.networking.api.client.ClientLoginNetworking;
+import org.quiltmc.qsl.networking.impl.server.LoginQueryMetrics;
 import org.quiltmc.qsl.networking.impl.server.ServerNetworkingImpl;
 import org.quiltmc.qsl.networking.mixin.accessor.ServerLoginNetworkHandlerAccessor;
 
@@ -116,6 +119,52 @@ public static ServerLoginNetworking.QueryResponseReceiver unregisterReceiver(Ser
 		return ServerNetworkingImpl.getAddon(networkHandler).unregisterChannel(channelName);
 	}
 
+	/**
+	 * Sets how long the server waits for the client to respond to queries on a channel.
+	 * <p>
+	 * A query that times out is rejected early: its receiver is invoked on the server thread as if the client didn't understand the query,
+	 * so it doesn't hold back the log-in, and a late response is ignored.
+	 * By default, queries don't time out, unless the {@code quilt.networking.login_query_timeout} system property
+	 * sets a default as a positive number of milliseconds.
+	 * Use {@link #disableQueryTimeout(Identifier)} to make queries of a channel never time out regardless of that default.
+	 *
+	 * @param channelName the identifier of the channel
+	 * @param timeout     the timeout, which must be positive, or {@code null} to use the default timeout
+	 * @throws IllegalArgumentException if the timeout is zero or negative
+	 */
+	public static void setQueryTimeout(Identifier channelName, @Nullable Duration timeout) {
+		Objects.requireNonNull(channelName, "Channel name cannot be null");
+
+		if (timeout != null && (timeout.isZero() || timeout.isNegative())) {
+			throw new IllegalArgumentException("Query timeout must be positive, got " + timeout);
+		}
+
+		LoginQueryMetrics.setTimeout(channelName, timeout);
+	}
+
+	/**
+	 * Makes queries on a channel never time out, even if the {@code quilt.networking.login_query_timeout} system property sets a default.
+	 * <p>
+	 * Calling {@link #setQueryTimeout(Identifier, Duration)} afterwards replaces this.
+	 *
+	 * @param channelName the identifier of the channel
+	 */
+	public static void disableQueryTimeout(Identifier channelName) {
+		Objects.requireNonNull(channelName, "Channel name cannot be null");
+
+		LoginQueryMetrics.disableTimeout(channelName);
+	}
+
+	/**
+	 * Gets statistics about the queries sent on each channel since the server started,
+	 * which helps finding the queries that slow down log-in.
+	 *
+	 * @return the statistics of each channel a query was answered or timed out on
+	 */
+	public static Map<Identifier, QueryStatistics> getQueryStatistics() {
+		return LoginQueryMetrics.getStatistics();
+	}
+
 	// Helper methods
 
 	/**
@@ -132,6 +181,21 @@ public static MinecraftServer getServer(ServerLoginNetworkHandler handler) {
 	private ServerLoginNetworking() {
 	}
 
+	/**
+	 * Statistics about the queries sent on a channel.
+	 * <p>
+	 * Percentiles are estimated from a histogram with power of two buckets, and are rounded up to the upper bound of their bucket.
+	 *
+	 * @param responses the count of responses
+	 * @param timeouts  the count of queries which timed out
+	 * @param mean      the mean latency of responses
+	 * @param max       the highest latency of responses
+	 * @param median    the estimated median latency of responses
+	 * @param p95       the estimated 95th percentile latency of responses
+	 */
+	public record QueryStatistics(long responses, long timeouts, Duration mean, Duration max, Duration median, Duration p95) {
+	}
+
 	@FunctionalInterface
 	public interface QueryResponseReceiver {
 		/**
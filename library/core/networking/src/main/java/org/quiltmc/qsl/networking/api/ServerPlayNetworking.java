@@ -35,7 +35,9 @@
 
 import org.quiltmc.qsl.networking.api.client.ClientPlayNetworking;
 import org.quiltmc.qsl.networking.impl.payload.PacketByteBufPayload;
+import org.quiltmc.qsl.networking.impl.payload.PooledPacketByteBuf;
 import org.quiltmc.qsl.networking.impl.server.ServerNetworkingImpl;
+import org.quiltmc.qsl.networking.impl.server.ThreadedReceivers;
 
 /**
  * Offers access to play stage server-side networking functionalities.
@@ -68,6 +70,51 @@ public static <T extends CustomPayload> boolean registerGlobalReceiver(Identifie
 		return ServerNetworkingImpl.PLAY.registerGlobalReceiver(channelName, channelHandler);
 	}
 
+	/**
+	 * Registers a handler to a channel, executed on the thread declared by the given threading model.
+	 * A global receiver is registered to all connections, in the present and future.
+	 * <p>
+	 * If a handler is already registered to the {@code channel}, this method will return {@code false}, and no change will be made.
+	 * Use {@link #unregisterReceiver(ServerPlayNetworkHandler, Identifier)} to unregister the existing handler.
+	 *
+	 * @param channelName    the identifier of the channel
+	 * @param threading      the thread on which the handler is executed
+	 * @param channelHandler the handler
+	 * @return {@code false} if a handler is already registered to the channel, otherwise {@code true}
+	 * @see ServerPlayNetworking#registerGlobalReceiver(Identifier, CustomChannelReceiver)
+	 */
+	public static <T extends CustomPayload> boolean registerGlobalReceiver(Identifier channelName, ReceiverThreading threading, CustomChannelReceiver<T> channelHandler) {
+		Objects.requireNonNull(threading, "Threading model cannot be null");
+		Objects.requireNonNull(channelHandler, "Channel handler cannot be null");
+
+		return registerGlobalReceiver(channelName, ThreadedReceivers.wrap(threading, channelHandler));
+	}
+
+	/**
+	 * Registers a handler to a channel, whose received payloads are first processed on the shared worker pool,
+	 * then whose results are handed to the handler on the main thread.
+	 * A global receiver is registered to all connections, in the present and future.
+	 * <p>
+	 * This allows expensive work which doesn't touch the game state, like decompressing or validating large uploads,
+	 * to be kept off both the connection and the main thread.
+	 * <p>
+	 * If a handler is already registered to the {@code channel}, this method will return {@code false}, and no change will be made.
+	 * Use {@link #unregisterReceiver(ServerPlayNetworkHandler, Identifier)} to unregister the existing handler.
+	 *
+	 * @param channelName    the identifier of the channel
+	 * @param processor      the processor, executed on the worker pool
+	 * @param channelHandler the handler of the processed results, executed on the main thread
+	 * @param <T>            the type of the payload
+	 * @param <R>            the type of the processed result
+	 * @return {@code false} if a handler is already registered to the channel, otherwise {@code true}
+	 */
+	public static <T extends CustomPayload, R> boolean registerGlobalReceiver(Identifier channelName, PayloadProcessor<T, R> processor, ProcessedPayloadReceiver<R> channelHandler) {
+		Objects.requireNonNull(processor, "Payload processor cannot be null");
+		Objects.requireNonNull(channelHandler, "Channel handler cannot be null");
+
+		return registerGlobalReceiver(channelName, ThreadedReceivers.processing(processor, channelHandler));
+	}
+
 	/**
 	 * Registers a handler to a channel.
 	 * A global receiver is registered to all connections, in the present and future.
@@ -136,6 +183,27 @@ public static <T extends CustomPayload> boolean registerReceiver(ServerPlayNetwo
 		return ServerNetworkingImpl.getAddon(networkHandler).registerChannel(channelName, channelHandler);
 	}
 
+	/**
+	 * Registers a handler to a channel, executed on the thread declared by the given threading model.
+	 * This method differs from {@link ServerPlayNetworking#registerGlobalReceiver(Identifier, ReceiverThreading, CustomChannelReceiver)} since
+	 * the channel handler will only be applied to the player represented by the {@link ServerPlayNetworkHandler}.
+	 * <p>
+	 * If a handler is already registered to the {@code channelName}, this method will return {@code false}, and no change will be made.
+	 * Use {@link #unregisterReceiver(ServerPlayNetworkHandler, Identifier)} to unregister the existing handler.
+	 *
+	 * @param networkHandler the handler
+	 * @param channelName    the identifier of the channel
+	 * @param threading      the thread on which the handler is executed
+	 * @param channelHandler the handler
+	 * @return {@code false} if a handler is already registered to the channel name, otherwise {@code true}
+	 */
+	public static <T extends CustomPayload> boolean registerReceiver(ServerPlayNetworkHandler networkHandler, Identifier channelName, ReceiverThreading threading, CustomChannelReceiver<T> channelHandler) {
+		Objects.requireNonNull(threading, "Threading model cannot be null");
+		Objects.requireNonNull(channelHandler, "Channel handler cannot be null");
+
+		return registerReceiver(networkHandler, channelName, ThreadedReceivers.wrap(threading, channelHandler));
+	}
+
 	/**
 	 * Registers a handler to a channel.
 	 * This method differs from {@link ServerPlayNetworking#registerGlobalReceiver(Identifier, ChannelReceiver)} since
@@ -315,7 +383,7 @@ public static void send(ServerPlayerEntity player, Identifier channelName, Packe
 		Objects.requireNonNull(channelName, "Channel name cannot be null");
 		Objects.requireNonNull(buf, "Packet byte data cannot be null");
 
-		player.networkHandler.send(createS2CPacket(channelName, buf));
+		ServerNetworkingImpl.getAddon(player.networkHandler).sendPacket(createS2CPacket(channelName, buf));
 	}
 
 	/**
@@ -327,8 +395,78 @@ public static void send(ServerPlayerEntity player, Identifier channelName, Packe
 	 */
 	public static void send(Collection<ServerPlayerEntity> players, Identifier channelName, PacketByteBuf buf) {
 		Objects.requireNonNull(players, "Players collection cannot be null");
+		Objects.requireNonNull(buf, "Packet byte data cannot be null");
+
+		// Each packet gets its own view of the data, pooled data being retained once per packet
+		boolean pooled = PacketByteBufs.isPooled(buf);
+
+		try {
+			for (ServerPlayerEntity player : players) {
+				send(player, channelName, pooled ? new PooledPacketByteBuf(buf.retainedDuplicate()) : PacketByteBufs.duplicate(buf));
+			}
+		} finally {
+			if (pooled) {
+				buf.release();
+			}
+		}
+	}
+
+	/**
+	 * Sets whether the custom payloads sent to a player are coalesced.
+	 * <p>
+	 * While coalescing, the custom payloads sent through this API or the player's {@linkplain #getSender(ServerPlayNetworkHandler) packet sender}
+	 * are queued and sent at the end of the server tick as a single bundle, which the client handles in one go.
+	 * This reduces the amount of network flushes when many payloads are sent to the same player in a tick.
+	 * <p>
+	 * Coalesced payloads are still received in order relatively to each other and to the packets sent through the packet sender,
+	 * but not relatively to the packets sent directly through the network handler.
+	 * Latency-sensitive payloads may be sent right away using {@link #flush(ServerPlayNetworkHandler)}.
+	 * <p>
+	 * Coalescing is disabled by default, unless the {@code quilt.networking.coalesce_payloads} system property is set to {@code true}.
+	 *
+	 * @param handler  the network handler, representing the connection to the player/client
+	 * @param coalesce {@code true} to coalesce the custom payloads sent to the player, or {@code false} to send them right away
+	 */
+	public static void setPayloadCoalescing(ServerPlayNetworkHandler handler, boolean coalesce) {
+		Objects.requireNonNull(handler, "Server play network handler cannot be null");
+
+		ServerNetworkingImpl.getAddon(handler).setCoalescing(coalesce);
+	}
+
+	/**
+	 * {@return {@code true} if the custom payloads sent to the player are coalesced, or {@code false} otherwise}
+	 *
+	 * @param handler the network handler, representing the connection to the player/client
+	 * @see #setPayloadCoalescing(ServerPlayNetworkHandler, boolean)
+	 */
+	public static boolean isPayloadCoalescing(ServerPlayNetworkHandler handler) {
+		Objects.requireNonNull(handler, "Server play network handler cannot be null");
+
+		return ServerNetworkingImpl.getAddon(handler).isCoalescing();
+	}
+
+	/**
+	 * Sends right away the custom payloads coalesced for a player.
+	 *
+	 * @param player the player
+	 * @see #setPayloadCoalescing(ServerPlayNetworkHandler, boolean)
+	 */
+	public static void flush(ServerPlayerEntity player) {
+		Objects.requireNonNull(player, "Server player entity cannot be null");
+
+		flush(player.networkHandler);
+	}
+
+	/**
+	 * Sends right away the custom payloads coalesced for a player.
+	 *
+	 * @param handler the network handler, representing the connection to the player/client
+	 * @see #setPayloadCoalescing(ServerPlayNetworkHandler, boolean)
+	 */
+	public static void flush(ServerPlayNetworkHandler handler) {
+		Objects.requireNonNull(handler, "Server play network handler cannot be null");
 
-		players.forEach(player -> send(player, channelName, buf));
+		ServerNetworkingImpl.getAddon(handler).flush();
 	}
 
 	// Helper methods
@@ -354,7 +492,8 @@ private ServerPlayNetworking() {
 		/**
 		 * Receives an incoming packet.
 		 * <p>
-		 * This method is executed on {@linkplain io.netty.channel.EventLoop netty's event loops}.
+		 * This method is executed on {@linkplain io.netty.channel.EventLoop netty's event loops},
+		 * unless it was registered with another {@linkplain ReceiverThreading threading model}.
 		 * Modification to the game should be {@linkplain net.minecraft.util.thread.ThreadExecutor#submit(Runnable) scheduled} using the provided Minecraft server instance.
 		 * <p>
 		 * An example usage of this is to create an explosion where the player is looking:
@@ -378,6 +517,53 @@ private ServerPlayNetworking() {
 		void receive(MinecraftServer server, ServerPlayerEntity player, ServerPlayNetworkHandler handler, T payload, PacketSender<CustomPayload> responseSender);
 	}
 
+	/**
+	 * Processes received payloads off the main thread.
+	 *
+	 * @param <T> the type of the payload
+	 * @param <R> the type of the processed result
+	 * @see ServerPlayNetworking#registerGlobalReceiver(Identifier, PayloadProcessor, ProcessedPayloadReceiver)
+	 */
+	@FunctionalInterface
+	public interface PayloadProcessor<T extends CustomPayload, R> {
+		/**
+		 * Processes a received payload.
+		 * <p>
+		 * This method is executed on the shared worker pool, and must not access the game state.
+		 * Throwing an exception disconnects the player.
+		 * <p>
+		 * The payloads of a connection are processed one after the other, in the order they were received in,
+		 * and their results are handed to the main thread in that same order.
+		 *
+		 * @param player  the player who sent the payload
+		 * @param payload the payload of the packet
+		 * @return the result to hand to the main thread, or {@code null} to drop the payload
+		 */
+		@Nullable R process(ServerPlayerEntity player, T payload);
+	}
+
+	/**
+	 * Receives the results of processed payloads on the main thread.
+	 *
+	 * @param <R> the type of the processed result
+	 * @see ServerPlayNetworking#registerGlobalReceiver(Identifier, PayloadProcessor, ProcessedPayloadReceiver)
+	 */
+	@FunctionalInterface
+	public interface ProcessedPayloadReceiver<R> {
+		/**
+		 * Receives the result of a processed payload.
+		 * <p>
+		 * This method is executed on the main thread, and may freely modify the game.
+		 *
+		 * @param server         the server
+		 * @param player         the player
+		 * @param handler        the network handler that received the packet, representing the player/client who sent the packet
+		 * @param result         the processed result
+		 * @param responseSender the packet sender
+		 */
+		void receive(MinecraftServer server, ServerPlayerEntity player, ServerPlayNetworkHandler handler, R result, PacketSender<CustomPayload> responseSender);
+	}
+
 	/**
 	 * This functional interface should only be used when sending a raw {@link PacketByteBuf} is necessary.
 	 *
@@ -39,6 +39,7 @@
 import org.quiltmc.qsl.networking.impl.common.CommonPacketHandler;
 import org.quiltmc.qsl.networking.impl.common.CommonRegisterPayload;
 import org.quiltmc.qsl.networking.impl.payload.ChannelPayload;
+import org.quiltmc.qsl.networking.impl.payload.PacketByteBufPayload;
 
 /**
  * A network addon which is aware of the channels the other side may receive.
@@ -50,11 +51,13 @@
 	protected final ClientConnection connection;
 	protected final GlobalReceiverRegistry<H> receiver;
 	protected final Set<Identifier> sendableChannels;
+	private final TrafficMetrics metrics;
 
-	protected AbstractChanneledNetworkAddon(GlobalReceiverRegistry<H> receiver, ClientConnection connection, String description) {
+	protected AbstractChanneledNetworkAddon(GlobalReceiverRegistry<H> receiver, ClientConnection connection, TrafficMetrics metrics, String description) {
 		super(receiver, description);
 		this.connection = connection;
 		this.receiver = receiver;
+		this.metrics = metrics;
 		this.sendableChannels = Collections.synchronizedSet(new HashSet<>());
 	}
 
@@ -70,9 +73,15 @@ protected void registerPendingChannels(ChannelInfoHolder holder, NetworkState st
 	}
 
 	// always supposed to handle async!
+	@SuppressWarnings("unchecked")
 	public <T extends CustomPayload> boolean handle(T payload) {
 		this.logger.debug("Handling inbound packet from channel with name \"{}\"", payload.id());
 
+		// Pooled payloads are only released when written, which doesn't happen over local connections
+		if (payload instanceof PacketByteBufPayload bufPayload && bufPayload.isPooled()) {
+			payload = (T) bufPayload.toUnpooled();
+		}
+
 		// Handle reserved packets
 		if (NetworkingImpl.REGISTER_CHANNEL.equals(payload.id())) {
 			this.receiveRegistration(true, ((ChannelPayload) payload));
@@ -90,11 +99,17 @@ public <T extends CustomPayload> boolean handle(T payload) {
 			return false;
 		}
 
+		long start = System.nanoTime();
+
 		try {
 			this.receive(handler, payload);
 		} catch (Throwable ex) {
 			this.logger.error("Encountered exception while handling in channel with name \"{}\"", payload.id(), ex);
 			throw ex;
+		} finally {
+			if (this.recordsHandlerTime(handler)) {
+				this.metrics.recordHandlerTime(payload.id(), System.nanoTime() - start);
+			}
 		}
 
 		return true;
@@ -102,8 +117,25 @@ public <T extends CustomPayload> boolean handle(T payload) {
 
 	protected abstract <T extends CustomPayload> void receive(H handler, T buf);
 
+	/**
+	 * {@return {@code true} if the time spent in the given handler should be recorded when it receives a payload,
+	 * or {@code false} if it hands the payload off to another thread and records the time spent there itself}
+	 *
+	 * @param handler the handler
+	 */
+	protected boolean recordsHandlerTime(H handler) {
+		return true;
+	}
+
 	protected void sendInitialChannelRegistrationPacket() {
-		final ChannelPayload payload = this.createRegistrationPacket(List.copyOf(this.getReceivableChannels()), true);
+		final ChannelPayload payload;
+
+		// Most connections only have the global channels, whose payload is shared
+		if (this.hasChannels(this.receiver.getReceivers().keySet())) {
+			payload = this.receiver.getRegistrationPayload();
+		} else {
+			payload = this.createRegistrationPacket(List.copyOf(this.getReceivableChannels()), true);
+		}
 
 		if (payload != null) {
 			this.sendPacket(this.createPacket(payload));
@@ -138,6 +170,10 @@ void unregister(List<Identifier> ids) {
 	public void sendPacket(Packet<?> packet) {
 		Objects.requireNonNull(packet, "Packet cannot be null");
 
+		if (this.releaseIfClosed(packet)) {
+			return;
+		}
+
 		this.connection.send(packet);
 	}
 
@@ -145,9 +181,23 @@ public void sendPacket(Packet<?> packet) {
 	public void sendPacket(Packet<?> packet, PacketSendListener callback) {
 		Objects.requireNonNull(packet, "Packet cannot be null");
 
+		if (this.releaseIfClosed(packet)) {
+			return;
+		}
+
 		this.connection.send(packet, callback);
 	}
 
+	private boolean releaseIfClosed(Packet<?> packet) {
+		if (this.connection.isOpen()) {
+			return false;
+		}
+
+		// A closed connection silently drops the packet without writing it, which would leak pooled payloads
+		PacketByteBufPayload.releaseDropped(packet);
+		return true;
+	}
+
 	/**
 	 * Schedules a task to run on the main thread.
 	 */
@@ -197,7 +247,10 @@ public void onCommonRegisterPacket(CommonRegisterPayload payload) {
 
 	@Override
 	public CommonRegisterPayload createRegisterPayload() {
-		return new CommonRegisterPayload(this.getNegotiatedVersion(), this.getPhase(), this.getReceivableChannels());
+		Set<Identifier> globalChannels = this.receiver.getReceivers().keySet();
+		Set<Identifier> channels = this.hasChannels(globalChannels) ? globalChannels : this.getReceivableChannels();
+
+		return new CommonRegisterPayload(this.getNegotiatedVersion(), this.getPhase(), channels);
 	}
 
 	@Override
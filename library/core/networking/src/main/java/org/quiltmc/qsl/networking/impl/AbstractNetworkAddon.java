@@ -124,6 +124,20 @@ public Set<Identifier> getReceivableChannels() {
 		}
 	}
 
+	/**
+	 * {@return {@code true} if the channels of this addon are exactly the given channels}
+	 */
+	protected boolean hasChannels(Set<Identifier> channels) {
+		Lock lock = this.lock.readLock();
+		lock.lock();
+
+		try {
+			return this.handlers.keySet().equals(channels);
+		} finally {
+			lock.unlock();
+		}
+	}
+
 	protected abstract void handleRegistration(Identifier channelName);
 
 	protected abstract void handleUnregistration(Identifier channelName);
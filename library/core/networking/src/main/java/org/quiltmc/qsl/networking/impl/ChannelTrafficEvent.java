@@ -0,0 +1,86 @@
+/*
+ * Copyright 2023 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.networking.impl;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * A periodic Java Flight Recorder event reporting the total traffic of each channel.
+ */
+@ApiStatus.Internal
+@Name("org.quiltmc.qsl.networking.ChannelTraffic")
+@Label("Channel Traffic")
+@Description("Total custom payload traffic of a networking channel")
+@Category({"Quilt Standard Libraries", "Networking"})
+@Period("10 s")
+@StackTrace(false)
+public final class ChannelTrafficEvent extends Event {
+	@Label("Side")
+	String side;
+
+	@Label("Channel")
+	String channel;
+
+	@Label("Packets Sent")
+	long packetsSent;
+
+	@Label("Bytes Sent")
+	@DataAmount
+	long bytesSent;
+
+	@Label("Packets Received")
+	long packetsReceived;
+
+	@Label("Bytes Received")
+	@DataAmount
+	long bytesReceived;
+
+	@Label("Handler Time")
+	@Timespan
+	long handlerTime;
+
+	public static void register() {
+		FlightRecorder.addPeriodicEvent(ChannelTrafficEvent.class, () -> {
+			emit("server", TrafficMetrics.SERVER);
+			emit("client", TrafficMetrics.CLIENT);
+		});
+	}
+
+	private static void emit(String side, TrafficMetrics metrics) {
+		metrics.getTraffic().forEach((channel, traffic) -> {
+			var event = new ChannelTrafficEvent();
+			event.side = side;
+			event.channel = channel.toString();
+			event.packetsSent = traffic.packetsSent();
+			event.bytesSent = traffic.bytesSent();
+			event.packetsReceived = traffic.packetsReceived();
+			event.bytesReceived = traffic.bytesReceived();
+			event.handlerTime = traffic.handlerTime().toNanos();
+			event.commit();
+		});
+	}
+}
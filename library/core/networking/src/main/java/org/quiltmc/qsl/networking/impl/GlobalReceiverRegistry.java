@@ -17,6 +17,7 @@
 package org.quiltmc.qsl.networking.impl;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -31,6 +32,8 @@
 import net.minecraft.network.NetworkState;
 import net.minecraft.util.Identifier;
 
+import org.quiltmc.qsl.networking.impl.payload.ChannelPayload;
+
 @ApiStatus.Internal
 public final class GlobalReceiverRegistry<H> {
 	private final NetworkState state;
@@ -38,6 +41,10 @@
 	private final ReadWriteLock lock = new ReentrantReadWriteLock();
 	private final Map<Identifier, H> receivers;
 	private final Set<AbstractNetworkAddon<H>> trackedAddons = new HashSet<>();
+	// Shared by every connection, only recreated once the receivers change
+	// Cleared under the write lock and set under the read lock, so a stale snapshot can never be stored
+	@Nullable
+	private volatile Snapshot<H> snapshot;
 
 	public GlobalReceiverRegistry(NetworkState state) {
 		this(state, new Object2ObjectOpenHashMap<>()); // sync map should be fine as there is little read write competitions
@@ -75,6 +82,7 @@ public boolean registerGlobalReceiver(Identifier channelName, H handler) {
 			final boolean inserted = this.receivers.putIfAbsent(channelName, handler) == null;
 
 			if (inserted) {
+				this.snapshot = null;
 				this.handleRegistration(channelName, handler);
 			}
 
@@ -98,6 +106,7 @@ public H unregisterGlobalReceiver(Identifier channelName) {
 			final H removed = this.receivers.remove(channelName);
 
 			if (removed != null) {
+				this.snapshot = null;
 				this.handleUnregistration(channelName);
 			}
 
@@ -107,15 +116,37 @@ public H unregisterGlobalReceiver(Identifier channelName) {
 		}
 	}
 
+	/**
+	 * {@return an immutable snapshot of the global receivers}
+	 */
 	public Map<Identifier, H> getReceivers() {
-		Lock lock = this.lock.writeLock();
-		lock.lock();
+		return this.getSnapshot().receivers;
+	}
 
-		try {
-			return new Object2ObjectOpenHashMap<>(this.receivers);
-		} finally {
-			lock.unlock();
+	/**
+	 * {@return the registration payload of every global channel}
+	 * The payload is encoded only once and shared by every connection until the receivers change.
+	 */
+	public ChannelPayload getRegistrationPayload() {
+		return this.getSnapshot().getRegistrationPayload();
+	}
+
+	private Snapshot<H> getSnapshot() {
+		Snapshot<H> snapshot = this.snapshot;
+
+		if (snapshot == null) {
+			Lock lock = this.lock.readLock();
+			lock.lock();
+
+			try {
+				snapshot = new Snapshot<>(Map.copyOf(this.receivers));
+				this.snapshot = snapshot;
+			} finally {
+				lock.unlock();
+			}
 		}
+
+		return snapshot;
 	}
 
 	public Set<Identifier> getChannels() {
@@ -182,4 +213,26 @@ private void handleUnregistration(Identifier channelName) {
 	public NetworkState getState() {
 		return this.state;
 	}
+
+	private static final class Snapshot<H> {
+		private final Map<Identifier, H> receivers;
+		@Nullable
+		private volatile ChannelPayload registrationPayload;
+
+		private Snapshot(Map<Identifier, H> receivers) {
+			this.receivers = receivers;
+		}
+
+		private ChannelPayload getRegistrationPayload() {
+			ChannelPayload payload = this.registrationPayload;
+
+			if (payload == null) {
+				// Racing threads would only encode the same payload twice
+				payload = new ChannelPayload.EncodedChannelPayload(List.copyOf(this.receivers.keySet()), true);
+				this.registrationPayload = payload;
+			}
+
+			return payload;
+		}
+	}
 }
@@ -20,6 +20,7 @@
 import java.util.Collection;
 import java.util.List;
 
+import io.netty.util.ResourceLeakDetector;
 import org.jetbrains.annotations.ApiStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,6 +33,8 @@
 import net.minecraft.util.Identifier;
 
 import org.quiltmc.loader.api.ModContainer;
+import org.quiltmc.loader.api.QuiltLoader;
+import org.quiltmc.qsl.lifecycle.api.event.ServerTickEvents;
 import org.quiltmc.qsl.networking.api.CustomPayloads;
 import org.quiltmc.qsl.networking.api.PacketByteBufs;
 import org.quiltmc.qsl.networking.api.PacketSender;
@@ -39,6 +42,7 @@
 import org.quiltmc.qsl.networking.api.ServerLoginNetworking;
 import org.quiltmc.qsl.networking.api.ServerPlayNetworking;
 import org.quiltmc.qsl.networking.impl.payload.ChannelPayload;
+import org.quiltmc.qsl.networking.impl.server.ServerNetworkingImpl;
 import org.quiltmc.qsl.networking.mixin.accessor.ServerLoginNetworkHandlerAccessor;
 
 @ApiStatus.Internal
@@ -67,6 +71,12 @@ public final class NetworkingImpl {
 	public static final Identifier EARLY_REGISTRATION_CHANNEL_FABRIC = new Identifier("fabric-networking-api-v1", "early_registration");
 
 	public static void init(ModContainer mod) {
+		// Report pooled buffers which are never released, unless the leak detection level was set explicitly
+		if (QuiltLoader.isDevelopmentEnvironment() && System.getProperty("io.netty.leakDetection.level") == null
+				&& ResourceLeakDetector.getLevel().ordinal() < ResourceLeakDetector.Level.ADVANCED.ordinal()) {
+			ResourceLeakDetector.setLevel(ResourceLeakDetector.Level.ADVANCED);
+		}
+
 		// Login setup
 		ServerLoginConnectionEvents.QUERY_START.register((handler, server, sender, synchronizer) -> {
 			// Send early registration packet
@@ -90,6 +100,17 @@ public static void init(ModContainer mod) {
 		CustomPayloads.registerS2CPayload(UNREGISTER_CHANNEL, ChannelPayload.UnregisterChannelPayload::new);
 		CustomPayloads.registerC2SPayload(REGISTER_CHANNEL, ChannelPayload.RegisterChannelPayload::new);
 		CustomPayloads.registerC2SPayload(UNREGISTER_CHANNEL, ChannelPayload.UnregisterChannelPayload::new);
+
+		ChannelTrafficEvent.register();
+
+		// Dispatch the tracking changes, then send the payloads coalesced during the tick
+		ServerTickEvents.END.register(server -> {
+			for (var player : server.getPlayerManager().getPlayerList()) {
+				var addon = ServerNetworkingImpl.getAddon(player.networkHandler);
+				addon.getTrackingBatch().dispatch(player);
+				addon.flush();
+			}
+		});
 	}
 
 	public static boolean isReservedCommonChannel(Identifier channelName) {
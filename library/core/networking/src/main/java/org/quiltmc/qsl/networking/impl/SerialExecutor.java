@@ -0,0 +1,71 @@
+/*
+ * Copyright 2022 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.networking.impl;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * Runs tasks one after the other in the order they were submitted on a shared executor,
+ * without holding onto one of its threads while there is nothing to run.
+ */
+@ApiStatus.Internal
+public final class SerialExecutor implements Executor {
+	private final Executor delegate;
+	private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+	private final AtomicBoolean scheduled = new AtomicBoolean();
+
+	public SerialExecutor(Executor delegate) {
+		this.delegate = delegate;
+	}
+
+	@Override
+	public void execute(Runnable task) {
+		this.tasks.add(task);
+		this.schedule();
+	}
+
+	private void schedule() {
+		if (!this.tasks.isEmpty() && this.scheduled.compareAndSet(false, true)) {
+			try {
+				this.delegate.execute(this::drain);
+			} catch (RejectedExecutionException e) {
+				this.scheduled.set(false);
+				throw e;
+			}
+		}
+	}
+
+	private void drain() {
+		try {
+			Runnable task;
+
+			while ((task = this.tasks.poll()) != null) {
+				task.run();
+			}
+		} finally {
+			this.scheduled.set(false);
+			// A task may have been submitted after the queue was found empty but before the flag was cleared.
+			this.schedule();
+		}
+	}
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2023 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.networking.impl;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.util.Identifier;
+
+import org.quiltmc.qsl.networking.api.ChannelTrafficMetrics;
+
+/**
+ * Counts the custom payload traffic of each channel on one side of the connections.
+ * <p>
+ * Counters are striped so that concurrent connections don't contend on them.
+ */
+@ApiStatus.Internal
+public final class TrafficMetrics {
+	public static final TrafficMetrics SERVER = new TrafficMetrics();
+	public static final TrafficMetrics CLIENT = new TrafficMetrics();
+
+	/**
+	 * The writer index of the buffer a payload is being written to, when its write started, for each network thread.
+	 */
+	private static final ThreadLocal<int[]> WRITE_START = ThreadLocal.withInitial(() -> new int[1]);
+
+	private final Map<Identifier, Counters> channels = new ConcurrentHashMap<>();
+
+	private TrafficMetrics() {
+	}
+
+	private Counters get(Identifier channel) {
+		Counters counters = this.channels.get(channel);
+		return counters != null ? counters : this.channels.computeIfAbsent(channel, c -> new Counters());
+	}
+
+	public void recordSent(Identifier channel, int bytes) {
+		Counters counters = this.get(channel);
+		counters.packetsSent.increment();
+		counters.bytesSent.add(bytes);
+	}
+
+	/**
+	 * Marks the start of the write of a payload to the given buffer on this thread.
+	 *
+	 * @param buf the buffer the payload is written to
+	 */
+	public static void markWriteStart(PacketByteBuf buf) {
+		WRITE_START.get()[0] = buf.writerIndex();
+	}
+
+	/**
+	 * Records a payload sent on the given channel, whose size is what has been written to the buffer since {@link #markWriteStart(PacketByteBuf)}.
+	 *
+	 * @param channel the channel of the payload
+	 * @param buf     the buffer the payload has been written to
+	 */
+	public void recordWritten(Identifier channel, PacketByteBuf buf) {
+		this.recordSent(channel, buf.writerIndex() - WRITE_START.get()[0]);
+	}
+
+	public void recordReceived(Identifier channel, int bytes) {
+		Counters counters = this.get(channel);
+		counters.packetsReceived.increment();
+		counters.bytesReceived.add(bytes);
+	}
+
+	public void recordHandlerTime(Identifier channel, long nanos) {
+		this.get(channel).handlerTime.add(nanos);
+	}
+
+	public Map<Identifier, ChannelTrafficMetrics.Traffic> getTraffic() {
+		var traffic = new HashMap<Identifier, ChannelTrafficMetrics.Traffic>();
+		this.channels.forEach((channel, counters) -> traffic.put(channel, counters.toTraffic()));
+		return traffic;
+	}
+
+	public void reset() {
+		// Counters are reset in place, as clearing the map would lose the traffic recorded concurrently in removed counters.
+		this.channels.values().forEach(Counters::reset);
+	}
+
+	private static final class Counters {
+		private final LongAdder packetsSent = new LongAdder();
+		private final LongAdder bytesSent = new LongAdder();
+		private final LongAdder packetsReceived = new LongAdder();
+		private final LongAdder bytesReceived = new LongAdder();
+		private final LongAdder handlerTime = new LongAdder();
+
+		private void reset() {
+			this.packetsSent.reset();
+			this.bytesSent.reset();
+			this.packetsReceived.reset();
+			this.bytesReceived.reset();
+			this.handlerTime.reset();
+		}
+
+		private ChannelTrafficMetrics.Traffic toTraffic() {
+			return new ChannelTrafficMetrics.Traffic(
+					this.packetsSent.sum(), this.bytesSent.sum(),
+					this.packetsReceived.sum(), this.bytesReceived.sum(),
+					Duration.ofNanos(this.handlerTime.sum())
+			);
+		}
+	}
+}
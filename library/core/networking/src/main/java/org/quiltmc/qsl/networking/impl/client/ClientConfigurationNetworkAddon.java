@@ -37,6 +37,7 @@
 import org.quiltmc.qsl.networking.impl.AbstractChanneledNetworkAddon;
 import org.quiltmc.qsl.networking.impl.ChannelInfoHolder;
 import org.quiltmc.qsl.networking.impl.NetworkingImpl;
+import org.quiltmc.qsl.networking.impl.TrafficMetrics;
 import org.quiltmc.qsl.networking.impl.payload.ChannelPayload;
 import org.quiltmc.qsl.networking.mixin.accessor.ClientConfigurationNetworkHandlerAccessor;
 
@@ -50,6 +51,7 @@ public final class ClientConfigurationNetworkAddon extends AbstractChanneledNetw
 	public ClientConfigurationNetworkAddon(ClientConfigurationNetworkHandler handler, MinecraftClient client) {
 		super(ClientNetworkingImpl.CONFIGURATION,
 				((ClientConfigurationNetworkHandlerAccessor) handler).getConnection(),
+				TrafficMetrics.CLIENT,
 				"ClientConfigurationNetworkAddon for " + ((ClientConfigurationNetworkHandlerAccessor) handler).getProfile().getName());
 		this.handler = handler;
 		this.client = client;
@@ -18,6 +18,7 @@
 package org.quiltmc.qsl.networking.impl.common;
 
 import java.util.Arrays;
+import java.util.Set;
 import java.util.function.Consumer;
 
 import net.minecraft.network.NetworkState;
@@ -30,6 +31,7 @@
 import org.quiltmc.loader.api.ModContainer;
 import org.quiltmc.qsl.networking.api.CustomPayloads;
 import org.quiltmc.qsl.networking.api.PacketSender;
+import org.quiltmc.qsl.networking.api.PipelinedConfigurationTask;
 import org.quiltmc.qsl.networking.api.ServerConfigurationConnectionEvents;
 import org.quiltmc.qsl.networking.api.ServerConfigurationNetworking;
 import org.quiltmc.qsl.networking.api.ServerConfigurationTaskManager;
@@ -40,6 +42,8 @@
 public class CommonPacketsImpl {
 	public static final int PACKET_VERSION_1 = 1;
 	public static final int[] SUPPORTED_COMMON_PACKET_VERSIONS = new int[]{PACKET_VERSION_1};
+	public static final ConfigurationTask.Type VERSION_TASK_TYPE = PipelinedConfigurationTask.COMMON_VERSION;
+	public static final ConfigurationTask.Type REGISTER_TASK_TYPE = PipelinedConfigurationTask.COMMON_REGISTER;
 
 	public static void init(ModContainer mod) {
 		CustomPayloads.registerC2SPayload(CommonVersionPayload.PACKET_ID, CommonVersionPayload::new);
@@ -48,18 +52,13 @@ public static void init(ModContainer mod) {
 		ServerConfigurationNetworking.registerGlobalReceiver(CommonVersionPayload.PACKET_ID, CommonPacketsImpl::handleCommonVersion);
 		ServerConfigurationNetworking.registerGlobalReceiver(CommonRegisterPayload.PACKET_ID, CommonPacketsImpl::handleCommonRegister);
 
-		// Create a configuration task to send and receive the common packets
+		// Create a configuration task to send and receive the common packets.
+		// The channels of the client aren't known yet, the tasks check whether the client supports the common packets once started.
 		ServerConfigurationConnectionEvents.ADD_TASKS.register((handler, server) -> {
 			final ServerConfigurationNetworkAddon addon = ServerNetworkingImpl.getAddon(handler);
 
-			if (ServerConfigurationNetworking.canSend(handler, CommonVersionPayload.PACKET_ID)) {
-				// Tasks are processed in order.
-				((ServerConfigurationTaskManager) handler).addTask(new CommonVersionConfigurationTask(addon));
-
-				if (ServerConfigurationNetworking.canSend(handler, CommonRegisterPayload.PACKET_ID)) {
-					((ServerConfigurationTaskManager) handler).addTask(new CommonRegisterConfigurationTask(addon));
-				}
-			}
+			((ServerConfigurationTaskManager) handler).addTask(new CommonVersionConfigurationTask(handler, addon));
+			((ServerConfigurationTaskManager) handler).addTask(new CommonRegisterConfigurationTask(handler, addon));
 		});
 	}
 
@@ -88,12 +87,22 @@ private static void handleCommonRegister(MinecraftServer server, ServerConfigura
 	}
 
 	// A configuration phase task to send and receive the version packets.
-	private record CommonVersionConfigurationTask(ServerConfigurationNetworkAddon addon) implements ConfigurationTask {
-		public static final Type KEY = new Type(CommonVersionPayload.PACKET_ID.toString());
+	private record CommonVersionConfigurationTask(ServerConfigurationPacketHandler handler, ServerConfigurationNetworkAddon addon) implements PipelinedConfigurationTask {
+		public static final Type KEY = VERSION_TASK_TYPE;
 
 		@Override
 		public void start(Consumer<Packet<?>> sender) {
-			this.addon.sendPayload(new CommonVersionPayload(SUPPORTED_COMMON_PACKET_VERSIONS));
+			if (ServerConfigurationNetworking.canSend(this.handler, CommonVersionPayload.PACKET_ID)) {
+				this.addon.sendPayload(new CommonVersionPayload(SUPPORTED_COMMON_PACKET_VERSIONS));
+			} else {
+				((ServerConfigurationTaskManager) this.handler).finishTask(KEY);
+			}
+		}
+
+		@Override
+		public Set<Type> getDependencies() {
+			// The version packet may only be sent once the client declared it can receive it.
+			return Set.of(SEND_CHANNELS);
 		}
 
 		@Override
@@ -103,12 +112,22 @@ public Type getType() {
 	}
 
 	// A configuration phase task to send and receive the registration packets.
-	private record CommonRegisterConfigurationTask(ServerConfigurationNetworkAddon addon) implements ConfigurationTask {
-		public static final Type KEY = new Type(CommonRegisterPayload.PACKET_ID.toString());
+	private record CommonRegisterConfigurationTask(ServerConfigurationPacketHandler handler, ServerConfigurationNetworkAddon addon) implements PipelinedConfigurationTask {
+		public static final Type KEY = REGISTER_TASK_TYPE;
 
 		@Override
 		public void start(Consumer<Packet<?>> sender) {
-			this.addon.sendPayload(this.addon.createRegisterPayload());
+			// A negative version means the client doesn't support the common packets.
+			if (this.addon.getNegotiatedVersion() > 0 && ServerConfigurationNetworking.canSend(this.handler, CommonRegisterPayload.PACKET_ID)) {
+				this.addon.sendPayload(this.addon.createRegisterPayload());
+			} else {
+				((ServerConfigurationTaskManager) this.handler).finishTask(KEY);
+			}
+		}
+
+		@Override
+		public Set<Type> getDependencies() {
+			return Set.of(SEND_CHANNELS, VERSION_TASK_TYPE);
 		}
 
 		@Override
@@ -20,6 +20,8 @@
 import java.util.ArrayList;
 import java.util.List;
 
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
 import io.netty.util.AsciiString;
 
 import net.minecraft.network.PacketByteBuf;
@@ -107,4 +109,38 @@ public Identifier id() {
 			return NetworkingImpl.UNREGISTER_CHANNEL;
 		}
 	}
+
+	/**
+	 * A channel payload whose channels are encoded once, so it can be sent to many connections without encoding it again.
+	 */
+	final class EncodedChannelPayload implements ChannelPayload {
+		private final List<Identifier> channels;
+		private final boolean register;
+		private final byte[] encoded;
+
+		public EncodedChannelPayload(List<Identifier> channels, boolean register) {
+			this.channels = List.copyOf(channels);
+			this.register = register;
+
+			var buf = new PacketByteBuf(Unpooled.buffer());
+			ChannelPayload.write(this.channels, buf);
+			this.encoded = ByteBufUtil.getBytes(buf);
+			buf.release();
+		}
+
+		@Override
+		public List<Identifier> channels() {
+			return this.channels;
+		}
+
+		@Override
+		public void write(PacketByteBuf buf) {
+			buf.writeBytes(this.encoded);
+		}
+
+		@Override
+		public Identifier id() {
+			return this.register ? NetworkingImpl.REGISTER_CHANNEL : NetworkingImpl.UNREGISTER_CHANNEL;
+		}
+	}
 }
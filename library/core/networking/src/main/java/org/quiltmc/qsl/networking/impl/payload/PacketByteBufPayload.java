@@ -17,12 +17,74 @@
 package org.quiltmc.qsl.networking.impl.payload;
 
 import net.minecraft.network.PacketByteBuf;
+import net.minecraft.network.packet.Packet;
+import net.minecraft.network.packet.PacketBundle;
+import net.minecraft.network.packet.c2s.common.CustomPayloadC2SPacket;
 import net.minecraft.network.packet.payload.CustomPayload;
+import net.minecraft.network.packet.s2c.common.CustomPayloadS2CPacket;
 import net.minecraft.util.Identifier;
 
+import org.quiltmc.qsl.networking.api.PacketByteBufs;
+
 public record PacketByteBufPayload(Identifier id, PacketByteBuf data) implements CustomPayload {
 	@Override
 	public void write(PacketByteBuf byteBuf) {
-		byteBuf.writeBytes(this.data);
+		if (this.data instanceof PooledPacketByteBuf) {
+			// Pooled buffers are owned by the payload, and are released once written
+			try {
+				byteBuf.writeBytes(this.data);
+			} finally {
+				this.data.release();
+			}
+		} else {
+			byteBuf.writeBytes(this.data);
+		}
+	}
+
+	/**
+	 * {@return {@code true} if the data of this payload is pooled, and must be released by the payload}
+	 */
+	public boolean isPooled() {
+		return this.data instanceof PooledPacketByteBuf;
+	}
+
+	/**
+	 * Copies the pooled data of this payload into a heap buffer, and releases the pooled data.
+	 * <p>
+	 * This is used when the payload is received without being written, as is the case with local connections,
+	 * so receivers never have to care about the lifetime of the buffer.
+	 *
+	 * @return the unpooled payload
+	 */
+	public PacketByteBufPayload toUnpooled() {
+		try {
+			return new PacketByteBufPayload(this.id, PacketByteBufs.copy(this.data));
+		} finally {
+			this.data.release();
+		}
+	}
+
+	/**
+	 * Releases the pooled data of the payloads of the given packet, which is dropped without ever being written.
+	 *
+	 * @param packet the dropped packet
+	 */
+	public static void releaseDropped(Packet<?> packet) {
+		if (packet instanceof PacketBundle<?> bundle) {
+			for (var child : bundle.getPackets()) {
+				releaseDropped(child);
+			}
+		} else if (packet instanceof CustomPayloadS2CPacket s2c) {
+			releaseDropped(s2c.payload());
+		} else if (packet instanceof CustomPayloadC2SPacket c2s) {
+			releaseDropped(c2s.payload());
+		}
+	}
+
+	private static void releaseDropped(CustomPayload payload) {
+		// The data may have been released already if the packet was written before being dropped
+		if (payload instanceof PacketByteBufPayload bufPayload && bufPayload.isPooled() && bufPayload.data.refCnt() > 0) {
+			bufPayload.data.release();
+		}
 	}
 }
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2023 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.networking.impl.payload;
+
+import io.netty.buffer.ByteBuf;
+import org.jetbrains.annotations.ApiStatus;
+
+import net.minecraft.network.PacketByteBuf;
+
+/**
+ * A packet byte buffer backed by pooled memory, which is owned by the payload it is sent with.
+ * <p>
+ * The payload releases the buffer once it has been written to the connection.
+ */
+@ApiStatus.Internal
+public final class PooledPacketByteBuf extends PacketByteBuf {
+	public PooledPacketByteBuf(ByteBuf parent) {
+		super(parent);
+	}
+}
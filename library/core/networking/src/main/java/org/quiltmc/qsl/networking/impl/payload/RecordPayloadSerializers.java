@@ -0,0 +1,403 @@
+/*
+ * Copyright 2022 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.networking.impl.payload;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import io.netty.handler.codec.DecoderException;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.text.Text;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * Generates the serializers of records, as hidden classes calling the buffer for each component in turn.
+ * <p>
+ * Components of a type with a direct representation call the static {@code write} and {@code read} methods of this class,
+ * which the generated code references by the runtime name of the component type, so primitives are never boxed.
+ * Other components go through the writer and reader given for them.
+ */
+@ApiStatus.Internal
+public final class RecordPayloadSerializers {
+	private static final String SERIALIZER = Type.getInternalName(RecordPayloadSerializer.class);
+	private static final String HELPERS = Type.getInternalName(RecordPayloadSerializers.class);
+	private static final String BUF = Type.getDescriptor(PacketByteBuf.class);
+	private static final String WRITER = Type.getInternalName(PacketByteBuf.Writer.class);
+	private static final String READER = Type.getInternalName(PacketByteBuf.Reader.class);
+
+	private RecordPayloadSerializers() {
+	}
+
+	/**
+	 * Generates the serializer of a record.
+	 *
+	 * @param type       the record type
+	 * @param components how each component of the record is serialized, in declaration order
+	 * @return the serializer
+	 * @throws ReflectiveOperationException if the record cannot be accessed
+	 */
+	public static RecordPayloadSerializer generate(Class<? extends Record> type, List<Component> components) throws ReflectiveOperationException {
+		String record = Type.getInternalName(type);
+		String name = record + "$QuiltPayloadSerializer";
+		var delegates = new ArrayList<>();
+
+		var classWriter = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+		classWriter.visit(Opcodes.V17, Opcodes.ACC_FINAL | Opcodes.ACC_SUPER | Opcodes.ACC_SYNTHETIC, name, null,
+				"java/lang/Object", new String[]{SERIALIZER});
+
+		for (int i = 0; i < components.size(); i++) {
+			if (components.get(i).direct() == null) {
+				classWriter.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL, "writer" + i, "L" + WRITER + ";", null, null).visitEnd();
+				classWriter.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL, "reader" + i, "L" + READER + ";", null, null).visitEnd();
+			}
+		}
+
+		// The constructor takes the writers and readers of the components without a direct representation.
+		MethodVisitor init = classWriter.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "([Ljava/lang/Object;)V", null, null);
+		init.visitCode();
+		init.visitVarInsn(Opcodes.ALOAD, 0);
+		init.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+
+		for (int i = 0; i < components.size(); i++) {
+			Component component = components.get(i);
+
+			if (component.direct() == null) {
+				storeDelegate(init, name, "writer" + i, WRITER, delegates.size());
+				delegates.add(component.writer());
+				storeDelegate(init, name, "reader" + i, READER, delegates.size());
+				delegates.add(component.reader());
+			}
+		}
+
+		init.visitInsn(Opcodes.RETURN);
+		init.visitMaxs(0, 0);
+		init.visitEnd();
+
+		MethodVisitor write = classWriter.visitMethod(Opcodes.ACC_PUBLIC, "write", "(" + BUF + "Ljava/lang/Object;)V", null, null);
+		write.visitCode();
+		write.visitVarInsn(Opcodes.ALOAD, 2);
+		write.visitTypeInsn(Opcodes.CHECKCAST, record);
+		write.visitVarInsn(Opcodes.ASTORE, 3);
+
+		for (int i = 0; i < components.size(); i++) {
+			Component component = components.get(i);
+			Method accessor = component.component().getAccessor();
+
+			if (component.direct() == null) {
+				write.visitVarInsn(Opcodes.ALOAD, 0);
+				write.visitFieldInsn(Opcodes.GETFIELD, name, "writer" + i, "L" + WRITER + ";");
+				write.visitVarInsn(Opcodes.ALOAD, 1);
+				write.visitVarInsn(Opcodes.ALOAD, 3);
+				write.visitMethodInsn(Opcodes.INVOKEVIRTUAL, record, accessor.getName(), Type.getMethodDescriptor(accessor), false);
+				write.visitMethodInsn(Opcodes.INVOKEINTERFACE, WRITER, "accept", "(Ljava/lang/Object;Ljava/lang/Object;)V", true);
+			} else {
+				Class<?> valueType = component.component().getType();
+				Class<?> directType = unwrap(valueType);
+				Method helper = RecordPayloadSerializers.class.getMethod("write" + component.direct(), PacketByteBuf.class, directType);
+
+				write.visitVarInsn(Opcodes.ALOAD, 1);
+				write.visitVarInsn(Opcodes.ALOAD, 3);
+				write.visitMethodInsn(Opcodes.INVOKEVIRTUAL, record, accessor.getName(), Type.getMethodDescriptor(accessor), false);
+
+				if (valueType != directType) {
+					write.visitMethodInsn(Opcodes.INVOKEVIRTUAL, Type.getInternalName(valueType), directType.getName() + "Value",
+							"()" + Type.getDescriptor(directType), false);
+				}
+
+				write.visitMethodInsn(Opcodes.INVOKESTATIC, HELPERS, helper.getName(), Type.getMethodDescriptor(helper), false);
+			}
+		}
+
+		write.visitInsn(Opcodes.RETURN);
+		write.visitMaxs(0, 0);
+		write.visitEnd();
+
+		MethodVisitor read = classWriter.visitMethod(Opcodes.ACC_PUBLIC, "read", "(" + BUF + ")Ljava/lang/Object;", null, null);
+		read.visitCode();
+		read.visitTypeInsn(Opcodes.NEW, record);
+		read.visitInsn(Opcodes.DUP);
+
+		for (int i = 0; i < components.size(); i++) {
+			Component component = components.get(i);
+			Class<?> valueType = component.component().getType();
+
+			if (component.direct() == null) {
+				read.visitVarInsn(Opcodes.ALOAD, 0);
+				read.visitFieldInsn(Opcodes.GETFIELD, name, "reader" + i, "L" + READER + ";");
+				read.visitVarInsn(Opcodes.ALOAD, 1);
+				read.visitMethodInsn(Opcodes.INVOKEINTERFACE, READER, "apply", "(Ljava/lang/Object;)Ljava/lang/Object;", true);
+				read.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(valueType));
+			} else {
+				Class<?> directType = unwrap(valueType);
+				Method helper = RecordPayloadSerializers.class.getMethod("read" + component.direct(), PacketByteBuf.class);
+
+				read.visitVarInsn(Opcodes.ALOAD, 1);
+				read.visitMethodInsn(Opcodes.INVOKESTATIC, HELPERS, helper.getName(), Type.getMethodDescriptor(helper), false);
+
+				if (valueType != directType) {
+					read.visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(valueType), "valueOf",
+							"(" + Type.getDescriptor(directType) + ")" + Type.getDescriptor(valueType), false);
+				}
+			}
+		}
+
+		Class<?>[] parameters = components.stream().map(component -> component.component().getType()).toArray(Class<?>[]::new);
+		read.visitMethodInsn(Opcodes.INVOKESPECIAL, record, "<init>", Type.getConstructorDescriptor(type.getDeclaredConstructor(parameters)), false);
+		read.visitInsn(Opcodes.ARETURN);
+		read.visitMaxs(0, 0);
+		read.visitEnd();
+
+		classWriter.visitEnd();
+
+		// Defined as a nestmate of the record, so records private to their enclosing class are supported.
+		var lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup())
+				.defineHiddenClass(classWriter.toByteArray(), true, MethodHandles.Lookup.ClassOption.NESTMATE);
+
+		try {
+			return (RecordPayloadSerializer) lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class, Object[].class))
+					.invoke(delegates.toArray());
+		} catch (RuntimeException | Error | ReflectiveOperationException e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new IllegalStateException("Failed to create the serializer of " + type.getName(), e);
+		}
+	}
+
+	private static void storeDelegate(MethodVisitor init, String owner, String field, String type, int index) {
+		init.visitVarInsn(Opcodes.ALOAD, 0);
+		init.visitVarInsn(Opcodes.ALOAD, 1);
+		init.visitLdcInsn(index);
+		init.visitInsn(Opcodes.AALOAD);
+		init.visitTypeInsn(Opcodes.CHECKCAST, type);
+		init.visitFieldInsn(Opcodes.PUTFIELD, owner, field, "L" + type + ";");
+	}
+
+	/**
+	 * {@return the primitive type of the given boxed type, or the given type if it is not a boxed type}
+	 */
+	private static Class<?> unwrap(Class<?> type) {
+		return MethodType.methodType(type).unwrap().returnType();
+	}
+
+	/**
+	 * Reads a list, rejecting sizes which cannot fit in the remaining bytes of the buffer before allocating for them.
+	 *
+	 * @param buf            the buffer
+	 * @param reader         the reader of the elements
+	 * @param minElementSize the smallest size of an element in bytes
+	 * @param <T>            the type of the elements
+	 * @return the list
+	 * @throws DecoderException if the size of the list is invalid
+	 */
+	public static <T> List<T> readList(PacketByteBuf buf, PacketByteBuf.Reader<T> reader, int minElementSize) {
+		int size = buf.readVarInt();
+
+		// Elements taking no space are still limited, so a few bytes cannot amount to a huge list.
+		if (size < 0 || size > buf.readableBytes() / Math.max(minElementSize, 1)) {
+			throw new DecoderException("List of size " + size + " cannot fit in the " + buf.readableBytes() + " remaining bytes");
+		}
+
+		var list = new ArrayList<T>(size);
+
+		for (int i = 0; i < size; i++) {
+			list.add(reader.apply(buf));
+		}
+
+		return list;
+	}
+
+	/**
+	 * How a component of a record is serialized.
+	 *
+	 * @param component the component
+	 * @param direct    the suffix of the {@code write} and {@code read} methods of this class serializing the component,
+	 *                  or {@code null} if it is serialized through its writer and reader
+	 * @param writer    the writer of the component
+	 * @param reader    the reader of the component
+	 */
+	public record Component(RecordComponent component, @Nullable String direct, PacketByteBuf.Writer<?> writer, PacketByteBuf.Reader<?> reader) {
+	}
+
+	// Direct representations, called by the generated serializers.
+
+	public static void writeBoolean(PacketByteBuf buf, boolean value) {
+		buf.writeBoolean(value);
+	}
+
+	public static boolean readBoolean(PacketByteBuf buf) {
+		return buf.readBoolean();
+	}
+
+	public static void writeByte(PacketByteBuf buf, byte value) {
+		buf.writeByte(value);
+	}
+
+	public static byte readByte(PacketByteBuf buf) {
+		return buf.readByte();
+	}
+
+	public static void writeShort(PacketByteBuf buf, short value) {
+		buf.writeShort(value);
+	}
+
+	public static short readShort(PacketByteBuf buf) {
+		return buf.readShort();
+	}
+
+	public static void writeChar(PacketByteBuf buf, char value) {
+		buf.writeChar(value);
+	}
+
+	public static char readChar(PacketByteBuf buf) {
+		return buf.readChar();
+	}
+
+	public static void writeInt(PacketByteBuf buf, int value) {
+		buf.writeInt(value);
+	}
+
+	public static int readInt(PacketByteBuf buf) {
+		return buf.readInt();
+	}
+
+	public static void writeVarInt(PacketByteBuf buf, int value) {
+		buf.writeVarInt(value);
+	}
+
+	public static int readVarInt(PacketByteBuf buf) {
+		return buf.readVarInt();
+	}
+
+	public static void writeLong(PacketByteBuf buf, long value) {
+		buf.writeLong(value);
+	}
+
+	public static long readLong(PacketByteBuf buf) {
+		return buf.readLong();
+	}
+
+	public static void writeVarLong(PacketByteBuf buf, long value) {
+		buf.writeVarLong(value);
+	}
+
+	public static long readVarLong(PacketByteBuf buf) {
+		return buf.readVarLong();
+	}
+
+	public static void writeFloat(PacketByteBuf buf, float value) {
+		buf.writeFloat(value);
+	}
+
+	public static float readFloat(PacketByteBuf buf) {
+		return buf.readFloat();
+	}
+
+	public static void writeDouble(PacketByteBuf buf, double value) {
+		buf.writeDouble(value);
+	}
+
+	public static double readDouble(PacketByteBuf buf) {
+		return buf.readDouble();
+	}
+
+	public static void writeString(PacketByteBuf buf, String value) {
+		buf.writeString(value);
+	}
+
+	public static String readString(PacketByteBuf buf) {
+		return buf.readString();
+	}
+
+	public static void writeIdentifier(PacketByteBuf buf, Identifier value) {
+		buf.writeIdentifier(value);
+	}
+
+	public static Identifier readIdentifier(PacketByteBuf buf) {
+		return buf.readIdentifier();
+	}
+
+	public static void writeBlockPos(PacketByteBuf buf, BlockPos value) {
+		buf.writeBlockPos(value);
+	}
+
+	public static BlockPos readBlockPos(PacketByteBuf buf) {
+		return buf.readBlockPos();
+	}
+
+	public static void writeUuid(PacketByteBuf buf, UUID value) {
+		buf.writeUuid(value);
+	}
+
+	public static UUID readUuid(PacketByteBuf buf) {
+		return buf.readUuid();
+	}
+
+	public static void writeItemStack(PacketByteBuf buf, ItemStack value) {
+		buf.writeItemStack(value);
+	}
+
+	public static ItemStack readItemStack(PacketByteBuf buf) {
+		return buf.readItemStack();
+	}
+
+	public static void writeNbt(PacketByteBuf buf, NbtCompound value) {
+		buf.writeNbt(value);
+	}
+
+	public static NbtCompound readNbt(PacketByteBuf buf) {
+		return buf.readNbt();
+	}
+
+	public static void writeText(PacketByteBuf buf, Text value) {
+		buf.writeText(value);
+	}
+
+	public static Text readText(PacketByteBuf buf) {
+		return buf.readText();
+	}
+
+	public static void writeByteArray(PacketByteBuf buf, byte[] value) {
+		buf.writeByteArray(value);
+	}
+
+	public static byte[] readByteArray(PacketByteBuf buf) {
+		return buf.readByteArray();
+	}
+
+	public static void writeIntArray(PacketByteBuf buf, int[] value) {
+		buf.writeIntArray(value);
+	}
+
+	public static int[] readIntArray(PacketByteBuf buf) {
+		return buf.readIntArray();
+	}
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2023 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.networking.impl.server;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.network.configuration.ConfigurationTask;
+import net.minecraft.network.packet.Packet;
+
+import org.quiltmc.qsl.networking.api.PipelinedConfigurationTask;
+
+/**
+ * Runs the pipelined configuration tasks of a connection concurrently, as a single task of the vanilla task queue.
+ */
+@ApiStatus.Internal
+public final class ConfigurationTaskPipeline {
+	public static final ConfigurationTask.Type TYPE = new ConfigurationTask.Type("qsl:pipeline");
+
+	private final Runnable onComplete;
+	private final List<PipelinedConfigurationTask> pending = new ArrayList<>();
+	private final Map<ConfigurationTask.Type, PipelinedConfigurationTask> running = new HashMap<>();
+	/**
+	 * The packet sender of the pipeline, only present while the pipeline is the current task of the handler.
+	 */
+	@Nullable
+	private Consumer<Packet<?>> sender;
+	private boolean queued;
+
+	/**
+	 * @param onComplete finishes the pipeline task in the handler, once all tasks are finished
+	 */
+	public ConfigurationTaskPipeline(Runnable onComplete) {
+		this.onComplete = onComplete;
+	}
+
+	/**
+	 * Adds a task to the pipeline, starting it right away if the pipeline is running and its dependencies are finished.
+	 *
+	 * @param task the task
+	 * @return {@code true} if the pipeline must be queued in the handler, or {@code false} otherwise
+	 */
+	public synchronized boolean add(PipelinedConfigurationTask task) {
+		this.pending.add(task);
+
+		if (this.sender != null) {
+			this.startReadyTasks();
+			return false;
+		} else if (!this.queued) {
+			this.queued = true;
+			return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Finishes a running task of the pipeline, and starts the tasks which were waiting on it.
+	 *
+	 * @param type the type of the task to finish
+	 * @return {@code true} if the task was part of the pipeline, or {@code false} otherwise
+	 */
+	public synchronized boolean finish(ConfigurationTask.Type type) {
+		if (this.running.remove(type) == null) {
+			return false;
+		}
+
+		this.startReadyTasks();
+		this.checkCompletion();
+		return true;
+	}
+
+	/**
+	 * {@return the running task of the specified type, or {@code null} if no such task is running}
+	 *
+	 * @param type the type of the task
+	 */
+	@Nullable
+	public synchronized PipelinedConfigurationTask getRunning(ConfigurationTask.Type type) {
+		return this.running.get(type);
+	}
+
+	public ConfigurationTask createTask() {
+		return new Task();
+	}
+
+	private synchronized void start(Consumer<Packet<?>> sender) {
+		this.sender = sender;
+		this.startReadyTasks();
+		this.checkCompletion();
+	}
+
+	private void startReadyTasks() {
+		// Tasks may finish or add tasks while starting, so the pending tasks are scanned again after each start
+		PipelinedConfigurationTask task;
+
+		while (this.sender != null && (task = this.pollReadyTask()) != null) {
+			this.running.put(task.getType(), task);
+			task.start(this.sender);
+		}
+
+		if (this.sender != null && this.running.isEmpty() && !this.pending.isEmpty()) {
+			throw new IllegalStateException("Configuration tasks have cyclic dependencies: " + this.pending.stream().map(t -> t.getType().id()).toList());
+		}
+	}
+
+	@Nullable
+	private PipelinedConfigurationTask pollReadyTask() {
+		for (Iterator<PipelinedConfigurationTask> iterator = this.pending.iterator(); iterator.hasNext(); ) {
+			PipelinedConfigurationTask task = iterator.next();
+
+			if (this.isReady(task)) {
+				iterator.remove();
+				return task;
+			}
+		}
+
+		return null;
+	}
+
+	private boolean isReady(PipelinedConfigurationTask task) {
+		for (ConfigurationTask.Type dependency : task.getDependencies()) {
+			if (this.running.containsKey(dependency)) {
+				return false;
+			}
+
+			for (PipelinedConfigurationTask pendingTask : this.pending) {
+				if (pendingTask != task && pendingTask.getType().equals(dependency)) {
+					return false;
+				}
+			}
+		}
+
+		return true;
+	}
+
+	private void checkCompletion() {
+		if (this.sender != null && this.pending.isEmpty() && this.running.isEmpty()) {
+			this.sender = null;
+			this.queued = false;
+			this.onComplete.run();
+		}
+	}
+
+	private final class Task implements ConfigurationTask {
+		@Override
+		public void start(Consumer<Packet<?>> sender) {
+			ConfigurationTaskPipeline.this.start(sender);
+		}
+
+		@Override
+		public Type getType() {
+			return TYPE;
+		}
+	}
+}
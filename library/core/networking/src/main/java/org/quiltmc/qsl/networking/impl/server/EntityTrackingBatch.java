@@ -0,0 +1,66 @@
+/*
+ * Copyright 2023 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.networking.impl.server;
+
+import java.util.List;
+
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
+import org.jetbrains.annotations.ApiStatus;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+import org.quiltmc.qsl.networking.api.EntityTrackingEvents;
+
+/**
+ * Collects the tracking changes of a player during a tick, for {@link EntityTrackingEvents#TRACKING_CHANGES}.
+ */
+@ApiStatus.Internal
+public final class EntityTrackingBatch {
+	public static final EntityTrackingEvents.TrackingChanges NO_LISTENERS = (player, startedTracking, stoppedTracking) -> {};
+
+	private final ReferenceLinkedOpenHashSet<Entity> startedTracking = new ReferenceLinkedOpenHashSet<>();
+	private final ReferenceLinkedOpenHashSet<Entity> stoppedTracking = new ReferenceLinkedOpenHashSet<>();
+
+	public static boolean isEnabled() {
+		return EntityTrackingEvents.TRACKING_CHANGES.invoker() != NO_LISTENERS;
+	}
+
+	public void onStartTracking(Entity entity) {
+		this.startedTracking.add(entity);
+	}
+
+	public void onStopTracking(Entity entity) {
+		// An entity which started and stopped being tracked in the same tick was never seen by listeners
+		if (!this.startedTracking.remove(entity)) {
+			this.stoppedTracking.add(entity);
+		}
+	}
+
+	public void dispatch(ServerPlayerEntity player) {
+		if (this.startedTracking.isEmpty() && this.stoppedTracking.isEmpty()) {
+			return;
+		}
+
+		List<Entity> started = List.copyOf(this.startedTracking);
+		List<Entity> stopped = List.copyOf(this.stoppedTracking);
+		this.startedTracking.clear();
+		this.stoppedTracking.clear();
+
+		EntityTrackingEvents.TRACKING_CHANGES.invoker().onTrackingChanges(player, started, stopped);
+	}
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2023 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.networking.impl.server;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.util.Identifier;
+
+import org.quiltmc.qsl.networking.api.ServerLoginNetworking;
+
+/**
+ * Tracks the timeouts and latencies of login queries per channel.
+ */
+@ApiStatus.Internal
+public final class LoginQueryMetrics {
+	// Bucket i holds latencies in [2^i, 2^(i+1)) microseconds, the last one holds everything above
+	private static final int BUCKETS = 32;
+	/**
+	 * The timeout of the queries which never time out.
+	 */
+	static final long NO_TIMEOUT = 0;
+	private static final Duration MAX_TIMEOUT = Duration.ofNanos(Long.MAX_VALUE);
+	// A default of zero or lower means the queries never time out
+	private static final long DEFAULT_TIMEOUT = TimeUnit.MILLISECONDS.toNanos(
+			Math.max(Long.getLong("quilt.networking.login_query_timeout", NO_TIMEOUT), NO_TIMEOUT)
+	);
+	private static final Map<Identifier, Long> TIMEOUTS = new ConcurrentHashMap<>();
+	private static final Map<Identifier, ChannelMetrics> CHANNELS = new ConcurrentHashMap<>();
+
+	private LoginQueryMetrics() {
+	}
+
+	/**
+	 * Sets the timeout of queries of the given channel.
+	 *
+	 * @param channel the channel
+	 * @param timeout the positive timeout, or {@code null} to use the default timeout
+	 */
+	public static void setTimeout(Identifier channel, @Nullable Duration timeout) {
+		if (timeout == null) {
+			TIMEOUTS.remove(channel);
+		} else {
+			// Durations too long to be represented in nanoseconds are as good as never timing out
+			TIMEOUTS.put(channel, timeout.compareTo(MAX_TIMEOUT) >= 0 ? Long.MAX_VALUE : timeout.toNanos());
+		}
+	}
+
+	public static void disableTimeout(Identifier channel) {
+		TIMEOUTS.put(channel, NO_TIMEOUT);
+	}
+
+	/**
+	 * {@return the timeout of queries of the given channel in nanoseconds, or {@link #NO_TIMEOUT} if they never time out}
+	 */
+	static long getTimeout(Identifier channel) {
+		return TIMEOUTS.getOrDefault(channel, DEFAULT_TIMEOUT);
+	}
+
+	static void recordResponse(Identifier channel, long latency) {
+		CHANNELS.computeIfAbsent(channel, c -> new ChannelMetrics()).record(latency);
+	}
+
+	static void recordTimeout(Identifier channel) {
+		CHANNELS.computeIfAbsent(channel, c -> new ChannelMetrics()).timeouts.increment();
+	}
+
+	public static Map<Identifier, ServerLoginNetworking.QueryStatistics> getStatistics() {
+		var statistics = new HashMap<Identifier, ServerLoginNetworking.QueryStatistics>();
+		CHANNELS.forEach((channel, metrics) -> statistics.put(channel, metrics.toStatistics()));
+		return statistics;
+	}
+
+	private static final class ChannelMetrics {
+		private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+		private final LongAdder count = new LongAdder();
+		private final LongAdder total = new LongAdder();
+		private final LongAdder timeouts = new LongAdder();
+		private final AtomicLong max = new AtomicLong();
+
+		private void record(long latency) {
+			long micros = Math.max(TimeUnit.NANOSECONDS.toMicros(latency), 1);
+			this.buckets.incrementAndGet(Math.min(63 - Long.numberOfLeadingZeros(micros), BUCKETS - 1));
+			this.count.increment();
+			this.total.add(latency);
+			this.max.accumulateAndGet(latency, Math::max);
+		}
+
+		private ServerLoginNetworking.QueryStatistics toStatistics() {
+			long count = this.count.sum();
+
+			return new ServerLoginNetworking.QueryStatistics(
+					count,
+					this.timeouts.sum(),
+					Duration.ofNanos(count == 0 ? 0 : this.total.sum() / count),
+					Duration.ofNanos(this.max.get()),
+					this.percentile(count, 0.5),
+					this.percentile(count, 0.95)
+			);
+		}
+
+		/**
+		 * Estimates a percentile as the upper bound of the bucket it falls in.
+		 */
+		private Duration percentile(long count, double percentile) {
+			long target = (long) Math.ceil(count * percentile);
+			long seen = 0;
+
+			for (int i = 0; i < BUCKETS && target > 0; i++) {
+				seen += this.buckets.get(i);
+
+				if (seen >= target) {
+					return Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(1L << (i + 1)));
+				}
+			}
+
+			return Duration.ZERO;
+		}
+	}
+}
@@ -21,8 +21,10 @@
 import net.minecraft.network.configuration.ConfigurationTask;
 import net.minecraft.network.packet.Packet;
 
-public class SendChannelsTask implements ConfigurationTask {
-	public static final ConfigurationTask.Type TYPE = new ConfigurationTask.Type("qsl:send_channels");
+import org.quiltmc.qsl.networking.api.PipelinedConfigurationTask;
+
+public class SendChannelsTask implements PipelinedConfigurationTask {
+	public static final ConfigurationTask.Type TYPE = PipelinedConfigurationTask.SEND_CHANNELS;
 	private final ServerConfigurationNetworkAddon addon;
 
 	public SendChannelsTask(ServerConfigurationNetworkAddon addon) {
@@ -33,12 +33,13 @@
 import org.quiltmc.qsl.networking.api.S2CConfigurationChannelEvents;
 import org.quiltmc.qsl.networking.api.ServerConfigurationConnectionEvents;
 import org.quiltmc.qsl.networking.api.ServerConfigurationNetworking;
+import org.quiltmc.qsl.networking.api.ServerConfigurationTaskManager;
 import org.quiltmc.qsl.networking.impl.AbstractChanneledNetworkAddon;
 import org.quiltmc.qsl.networking.impl.ChannelInfoHolder;
 import org.quiltmc.qsl.networking.impl.NetworkingImpl;
+import org.quiltmc.qsl.networking.impl.TrafficMetrics;
 import org.quiltmc.qsl.networking.impl.payload.ChannelPayload;
 import org.quiltmc.qsl.networking.mixin.accessor.AbstractServerPacketHandlerAccessor;
-import org.quiltmc.qsl.networking.mixin.accessor.ServerConfigurationPacketHandlerAccessor;
 
 @ApiStatus.Internal
 public final class ServerConfigurationNetworkAddon extends AbstractChanneledNetworkAddon<ServerConfigurationNetworking.CustomChannelReceiver<?>> {
@@ -47,7 +48,7 @@ public final class ServerConfigurationNetworkAddon extends AbstractChanneledNetw
 	private boolean sentInitialRegisterPacket = false;
 
 	public ServerConfigurationNetworkAddon(ServerConfigurationPacketHandler handler, MinecraftServer server) {
-		super(ServerNetworkingImpl.CONFIGURATION, ((AbstractServerPacketHandlerAccessor) handler).getConnection(), "ServerConfigurationNetworkAddon for " + handler.getHost().getName());
+		super(ServerNetworkingImpl.CONFIGURATION, ((AbstractServerPacketHandlerAccessor) handler).getConnection(), TrafficMetrics.SERVER, "ServerConfigurationNetworkAddon for " + handler.getHost().getName());
 		this.handler = handler;
 		this.server = server;
 
@@ -78,7 +79,7 @@ public void onConfigureReady() {
 	public <T extends CustomPayload> boolean handle(T payload) {
 		boolean handled = super.handle(payload);
 		if (handled && payload.id().equals(NetworkingImpl.REGISTER_CHANNEL)) {
-			((ServerConfigurationPacketHandlerAccessor) this.handler).invokeFinishCurrentTask(SendChannelsTask.TYPE);
+			((ServerConfigurationTaskManager) this.handler).finishTask(SendChannelsTask.TYPE);
 		}
 
 		return handled;
@@ -19,11 +19,13 @@
 import java.util.Collection;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.jetbrains.annotations.ApiStatus;
@@ -58,7 +60,9 @@ public final class ServerLoginNetworkAddon extends AbstractNetworkAddon<ServerLo
 	private final MinecraftServer server;
 	private final QueryIdFactory queryIdFactory;
 	private final Collection<Future<?>> waits = new ConcurrentLinkedQueue<>();
-	private final Map<Integer, Identifier> channels = new ConcurrentHashMap<>();
+	// Queries whose response is awaited, removing a query claims the right to handle it, either on response or on timeout
+	private final Map<Integer, PendingQuery> queries = new ConcurrentHashMap<>();
+	private final Set<Integer> timedOutQueries = ConcurrentHashMap.newKeySet();
 	private boolean firstQueryTick = true;
 
 	public ServerLoginNetworkAddon(ServerLoginNetworkHandler handler) {
@@ -87,6 +91,10 @@ public boolean queryTick() {
 			this.firstQueryTick = false;
 		}
 
+		if (!this.queries.isEmpty()) {
+			this.expireQueries();
+		}
+
 		var error = new AtomicReference<Throwable>();
 		this.waits.removeIf(future -> {
 			if (!future.isDone()) {
@@ -112,7 +120,24 @@ public boolean queryTick() {
 			return true;
 		});
 
-		return this.channels.isEmpty() && this.waits.isEmpty();
+		return this.queries.isEmpty() && this.waits.isEmpty();
+	}
+
+	private void expireQueries() {
+		long now = System.nanoTime();
+
+		for (var entry : this.queries.entrySet()) {
+			var query = entry.getValue();
+
+			if (query.hasTimedOut(now) && this.queries.remove(entry.getKey(), query)) {
+				this.timedOutQueries.add(entry.getKey());
+				LoginQueryMetrics.recordTimeout(query.channel());
+				this.logger.warn("Query {} on channel {} timed out after {} ms in {}, treating it as not understood",
+						entry.getKey(), query.channel(), TimeUnit.NANOSECONDS.toMillis(now - query.sentTime()), this.connection);
+
+				this.receive(query.channel(), null);
+			}
+		}
 	}
 
 	private void sendCompressionPacket() {
@@ -134,13 +159,13 @@ public boolean handle(LoginQueryResponseC2SPacket packet) {
 		if (packet.payload() instanceof PacketByteBufLoginQueryResponsePayload payload) {
 			return this.handle(packet.transactionId(), payload.data());
 		} else if (packet.payload() instanceof DiscardedLoginQueryResponsePayload) {
-			Identifier channel = this.channels.remove(packet.transactionId());
-			if (channel == null) {
-				this.logger.warn("Query ID {} was received but no query has been associated in {}!", packet.transactionId(), this.connection);
-				return false;
+			PendingQuery query = this.claimQuery(packet.transactionId());
+
+			if (query == null) {
+				return this.timedOutQueries.remove(packet.transactionId());
 			}
 
-			this.logger.warn("Known channel {} response was received but not handled by {}!", channel, this.connection);
+			this.logger.warn("Known channel {} response was received but not handled by {}!", query.channel(), this.connection);
 			return true;
 		}
 
@@ -149,13 +174,35 @@ public boolean handle(LoginQueryResponseC2SPacket packet) {
 
 	private boolean handle(int queryId, @Nullable PacketByteBuf originalBuf) {
 		this.logger.debug("Handling inbound login query with id {}", queryId);
-		Identifier channel = this.channels.remove(queryId);
+		PendingQuery query = this.claimQuery(queryId);
 
-		if (channel == null) {
-			this.logger.warn("Query ID {} was received but no query has been associated in {}!", queryId, this.connection);
-			return false;
+		if (query == null) {
+			// The query was already rejected, the late response is dropped
+			return this.timedOutQueries.remove(queryId);
 		}
 
+		return this.receive(query.channel(), originalBuf);
+	}
+
+	@Nullable
+	private PendingQuery claimQuery(int queryId) {
+		PendingQuery query = this.queries.remove(queryId);
+
+		if (query == null) {
+			if (!this.timedOutQueries.contains(queryId)) {
+				this.logger.warn("Query ID {} was received but no query has been associated in {}!", queryId, this.connection);
+			}
+
+			return null;
+		}
+
+		long latency = System.nanoTime() - query.sentTime();
+		LoginQueryMetrics.recordResponse(query.channel(), latency);
+		this.logger.debug("Query {} on channel {} was answered after {} ms", queryId, query.channel(), TimeUnit.NANOSECONDS.toMillis(latency));
+		return query;
+	}
+
+	private boolean receive(Identifier channel, @Nullable PacketByteBuf originalBuf) {
 		boolean understood = originalBuf != null;
 		@Nullable ServerLoginNetworking.QueryResponseReceiver handler = ServerNetworkingImpl.LOGIN.getReceiver(channel);
 
@@ -202,7 +249,8 @@ public void sendPacket(Packet<?> packet, PacketSendListener listener) {
 	}
 
 	public void registerOutgoingPacket(LoginQueryRequestS2CPacket packet) {
-		this.channels.put(packet.transactionId(), packet.payload().id());
+		Identifier channel = packet.payload().id();
+		this.queries.put(packet.transactionId(), new PendingQuery(channel, System.nanoTime(), LoginQueryMetrics.getTimeout(channel)));
 	}
 
 	@Override
@@ -217,14 +265,35 @@ protected void handleUnregistration(Identifier channelName) {
 	protected void invokeDisconnectEvent() {
 		ServerLoginConnectionEvents.DISCONNECT.invoker().onLoginDisconnect(this.handler, this.server);
 		this.receiver.endSession(this);
+		this.clearQueries();
 	}
 
 	public void handlePlayTransition() {
 		this.receiver.endSession(this);
+		this.clearQueries();
+	}
+
+	private void clearQueries() {
+		// Queries which timed out are only forgotten when their late response arrives, which may never happen
+		this.queries.clear();
+		this.timedOutQueries.clear();
 	}
 
 	@Override
 	protected boolean isReservedChannel(Identifier channelName) {
 		return false;
 	}
+
+	/**
+	 * Represents a query whose response is awaited.
+	 *
+	 * @param channel  the channel of the query
+	 * @param sentTime the time the query has been sent at, in nanoseconds
+	 * @param timeout  the timeout of the query in nanoseconds, or {@link LoginQueryMetrics#NO_TIMEOUT}
+	 */
+	private record PendingQuery(Identifier channel, long sentTime, long timeout) {
+		boolean hasTimedOut(long now) {
+			return this.timeout != LoginQueryMetrics.NO_TIMEOUT && now - this.sentTime >= this.timeout;
+		}
+	}
 }
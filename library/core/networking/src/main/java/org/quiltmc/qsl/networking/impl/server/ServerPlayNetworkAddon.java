@@ -16,37 +16,57 @@
 
 package org.quiltmc.qsl.networking.impl.server;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 import org.jetbrains.annotations.ApiStatus;
 
 import net.minecraft.network.NetworkState;
 import net.minecraft.network.PacketByteBuf;
+import net.minecraft.network.PacketSendListener;
+import net.minecraft.network.listener.ClientPlayPacketListener;
 import net.minecraft.network.packet.Packet;
 import net.minecraft.network.packet.payload.CustomPayload;
+import net.minecraft.network.packet.s2c.PacketBundleS2CPacket;
 import net.minecraft.network.packet.s2c.common.CustomPayloadS2CPacket;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.network.ServerPlayNetworkHandler;
 import net.minecraft.util.Identifier;
+import net.minecraft.util.Util;
 
+import org.quiltmc.qsl.base.api.util.TriState;
 import org.quiltmc.qsl.networking.api.S2CPlayChannelEvents;
 import org.quiltmc.qsl.networking.api.ServerPlayConnectionEvents;
 import org.quiltmc.qsl.networking.api.ServerPlayNetworking;
 import org.quiltmc.qsl.networking.impl.AbstractChanneledNetworkAddon;
 import org.quiltmc.qsl.networking.impl.ChannelInfoHolder;
 import org.quiltmc.qsl.networking.impl.NetworkingImpl;
+import org.quiltmc.qsl.networking.impl.SerialExecutor;
+import org.quiltmc.qsl.networking.impl.TrafficMetrics;
 import org.quiltmc.qsl.networking.impl.payload.ChannelPayload;
+import org.quiltmc.qsl.networking.impl.payload.PacketByteBufPayload;
 import org.quiltmc.qsl.networking.mixin.accessor.AbstractServerPacketHandlerAccessor;
 
 @ApiStatus.Internal
 public final class ServerPlayNetworkAddon extends AbstractChanneledNetworkAddon<ServerPlayNetworking.CustomChannelReceiver<?>> {
+	private static final boolean COALESCE_BY_DEFAULT = TriState.fromProperty("quilt.networking.coalesce_payloads").toBooleanOrElse(false);
+	/**
+	 * The maximum amount of packets the client accepts in a single bundle.
+	 */
+	private static final int MAX_BUNDLE_SIZE = 4096;
+
 	private final ServerPlayNetworkHandler handler;
 	private final MinecraftServer server;
 	private boolean sentInitialRegisterPacket;
+	private volatile boolean coalescing = COALESCE_BY_DEFAULT;
+	private final List<Packet<ClientPlayPacketListener>> queuedPayloads = new ArrayList<>();
+	private final EntityTrackingBatch trackingBatch = new EntityTrackingBatch();
+	private final SerialExecutor workerQueue = new SerialExecutor(Util.getMainWorkerExecutor());
 
 	public ServerPlayNetworkAddon(ServerPlayNetworkHandler handler, MinecraftServer server) {
-		super(ServerNetworkingImpl.PLAY, ((AbstractServerPacketHandlerAccessor) handler).getConnection(), "ServerPlayNetworkAddon for " + handler.player.getEntityName());
+		super(ServerNetworkingImpl.PLAY, ((AbstractServerPacketHandlerAccessor) handler).getConnection(), TrafficMetrics.SERVER, "ServerPlayNetworkAddon for " + handler.player.getEntityName());
 		this.handler = handler;
 		this.server = server;
 
@@ -79,6 +99,86 @@ protected <T extends CustomPayload> void receive(ServerPlayNetworking.CustomChan
 		((ServerPlayNetworking.CustomChannelReceiver<T>) handler).receive(this.server, this.handler.player, this.handler, buf, this);
 	}
 
+	@Override
+	protected boolean recordsHandlerTime(ServerPlayNetworking.CustomChannelReceiver<?> handler) {
+		return !(handler instanceof ThreadedReceivers.HandOff<?>);
+	}
+
+	/**
+	 * {@return the executor running the off-thread work of this connection on the worker pool, in the order it was received}
+	 */
+	public Executor getWorkerQueue() {
+		return this.workerQueue;
+	}
+
+	public EntityTrackingBatch getTrackingBatch() {
+		return this.trackingBatch;
+	}
+
+	public boolean isCoalescing() {
+		return this.coalescing;
+	}
+
+	public void setCoalescing(boolean coalescing) {
+		this.coalescing = coalescing;
+
+		if (!coalescing) {
+			this.flush();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public void sendPacket(Packet<?> packet) {
+		synchronized (this.queuedPayloads) {
+			if (this.coalescing && packet instanceof CustomPayloadS2CPacket) {
+				this.queuedPayloads.add((Packet<ClientPlayPacketListener>) packet);
+				return;
+			}
+
+			// Queued payloads must still be received before this packet
+			this.flushQueue();
+			super.sendPacket(packet);
+		}
+	}
+
+	@Override
+	public void sendPacket(Packet<?> packet, PacketSendListener callback) {
+		synchronized (this.queuedPayloads) {
+			this.flushQueue();
+			super.sendPacket(packet, callback);
+		}
+	}
+
+	/**
+	 * Sends all the payloads queued while coalescing, bundled together so the client handles them in one go.
+	 */
+	public void flush() {
+		synchronized (this.queuedPayloads) {
+			this.flushQueue();
+		}
+	}
+
+	/**
+	 * Sends the queued payloads.
+	 * <p>
+	 * The lock of the queue must be held until the packets are handed to the connection,
+	 * so that no packet sent concurrently may overtake them.
+	 */
+	private void flushQueue() {
+		int size = this.queuedPayloads.size();
+
+		if (size == 1) {
+			super.sendPacket(this.queuedPayloads.get(0));
+		} else {
+			for (int i = 0; i < size; i += MAX_BUNDLE_SIZE) {
+				super.sendPacket(new PacketBundleS2CPacket(List.copyOf(this.queuedPayloads.subList(i, Math.min(size, i + MAX_BUNDLE_SIZE)))));
+			}
+		}
+
+		this.queuedPayloads.clear();
+	}
+
 	// impl details
 
 	@Override
@@ -132,6 +232,12 @@ protected void handleUnregistration(Identifier channelName) {
 
 	@Override
 	protected void invokeDisconnectEvent() {
+		synchronized (this.queuedPayloads) {
+			// The queued payloads will never be written, their pooled data must be released
+			this.queuedPayloads.forEach(PacketByteBufPayload::releaseDropped);
+			this.queuedPayloads.clear();
+		}
+
 		ServerPlayConnectionEvents.DISCONNECT.invoker().onPlayDisconnect(this.handler, this.server);
 		this.receiver.endSession(this);
 	}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2023 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.networking.impl.server;
+
+import java.util.concurrent.Executor;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import net.minecraft.network.packet.payload.CustomPayload;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayNetworkHandler;
+import net.minecraft.text.Text;
+
+import org.quiltmc.qsl.networking.api.ReceiverThreading;
+import org.quiltmc.qsl.networking.api.ServerPlayNetworking;
+import org.quiltmc.qsl.networking.impl.NetworkingImpl;
+import org.quiltmc.qsl.networking.impl.TrafficMetrics;
+
+/**
+ * Adapts play receivers declaring their threading model to receivers executed on the event loop.
+ * <p>
+ * Payloads handed off to the worker pool go through the {@linkplain ServerPlayNetworkAddon#getWorkerQueue() worker queue}
+ * of their connection, so the payloads of a connection are never handled concurrently and keep the order they were received in.
+ */
+@ApiStatus.Internal
+public final class ThreadedReceivers {
+	private ThreadedReceivers() {
+	}
+
+	public static <T extends CustomPayload> ServerPlayNetworking.CustomChannelReceiver<T> wrap(ReceiverThreading threading,
+			ServerPlayNetworking.CustomChannelReceiver<T> receiver) {
+		return switch (threading) {
+			case EVENT_LOOP -> receiver;
+			case MAIN_THREAD -> (HandOff<T>) (server, player, handler, payload, responseSender) ->
+					execute(server, server, handler, payload, () -> receiver.receive(server, player, handler, payload, responseSender));
+			case WORKER_POOL -> (HandOff<T>) (server, player, handler, payload, responseSender) ->
+					execute(getWorkerQueue(handler), server, handler, payload, () -> receiver.receive(server, player, handler, payload, responseSender));
+		};
+	}
+
+	public static <T extends CustomPayload, R> ServerPlayNetworking.CustomChannelReceiver<T> processing(ServerPlayNetworking.PayloadProcessor<T, R> processor,
+			ServerPlayNetworking.ProcessedPayloadReceiver<R> receiver) {
+		return (HandOff<T>) (server, player, handler, payload, responseSender) -> execute(getWorkerQueue(handler), server, handler, payload, () -> {
+			R result = processor.process(player, payload);
+
+			if (result != null) {
+				// Scheduled from the worker queue, so the results reach the main thread in the order the payloads were received.
+				execute(server, server, handler, payload, () -> receiver.receive(server, player, handler, result, responseSender));
+			}
+		});
+	}
+
+	private static Executor getWorkerQueue(ServerPlayNetworkHandler handler) {
+		return ServerNetworkingImpl.getAddon(handler).getWorkerQueue();
+	}
+
+	private static void execute(Executor executor, MinecraftServer server, ServerPlayNetworkHandler handler, CustomPayload payload, Runnable task) {
+		executor.execute(() -> {
+			// Timed here rather than by the network addon, which only sees the handoff.
+			long start = System.nanoTime();
+
+			try {
+				task.run();
+			} catch (RuntimeException e) {
+				NetworkingImpl.LOGGER.error("Encountered exception while handling a packet of {}", handler.player.getEntityName(), e);
+				server.execute(() -> handler.disconnect(Text.translatable("disconnect.genericReason", "Internal Exception: " + e)));
+			} finally {
+				TrafficMetrics.SERVER.recordHandlerTime(payload.id(), System.nanoTime() - start);
+			}
+		});
+	}
+
+	/**
+	 * A receiver handing the payloads off to another thread, where the time spent handling them is recorded.
+	 *
+	 * @param <T> the type of the payload
+	 */
+	@FunctionalInterface
+	public interface HandOff<T extends CustomPayload> extends ServerPlayNetworking.CustomChannelReceiver<T> {
+	}
+}
@@ -34,6 +34,7 @@
 import net.minecraft.util.Identifier;
 
 import org.quiltmc.qsl.networking.api.PacketByteBufs;
+import org.quiltmc.qsl.networking.impl.TrafficMetrics;
 import org.quiltmc.qsl.networking.impl.payload.PacketByteBufPayload;
 
 @Mixin(CustomPayloadC2SPacket.class)
@@ -54,4 +55,19 @@ private static void inject(Identifier id, PacketByteBuf buf, CallbackInfoReturna
 		cir.setReturnValue(new PacketByteBufPayload(id, copied));
 		buf.skipBytes(buf.readableBytes());
 	}
+
+	@Inject(method = "write", at = @At(value = "INVOKE", target = "Lnet/minecraft/network/packet/payload/CustomPayload;write(Lnet/minecraft/network/PacketByteBuf;)V"))
+	private void quilt$markPayloadStart(PacketByteBuf buf, CallbackInfo ci) {
+		TrafficMetrics.markWriteStart(buf);
+	}
+
+	@Inject(method = "write", at = @At(value = "INVOKE", target = "Lnet/minecraft/network/packet/payload/CustomPayload;write(Lnet/minecraft/network/PacketByteBuf;)V", shift = At.Shift.AFTER))
+	private void quilt$countSentBytes(PacketByteBuf buf, CallbackInfo ci) {
+		TrafficMetrics.CLIENT.recordWritten(((CustomPayloadC2SPacket) (Object) this).payload().id(), buf);
+	}
+
+	@Inject(method = "readPayload", at = @At("HEAD"))
+	private static void quilt$countReceivedBytes(Identifier id, PacketByteBuf buf, CallbackInfoReturnable<CustomPayload> cir) {
+		TrafficMetrics.SERVER.recordReceived(id, buf.readableBytes());
+	}
 }
@@ -28,6 +28,8 @@
 import net.minecraft.server.network.ServerPlayerEntity;
 
 import org.quiltmc.qsl.networking.api.EntityTrackingEvents;
+import org.quiltmc.qsl.networking.impl.server.EntityTrackingBatch;
+import org.quiltmc.qsl.networking.impl.server.ServerNetworkingImpl;
 
 @Mixin(EntityTrackerEntry.class)
 abstract class EntityTrackerEntryMixin {
@@ -43,10 +45,18 @@ private void beforeStartTracking(ServerPlayerEntity player, CallbackInfo ci) {
 	@Inject(method = "startTracking", at = @At(value = "INVOKE", target = "Lnet/minecraft/entity/Entity;onStartedTrackingBy(Lnet/minecraft/server/network/ServerPlayerEntity;)V"))
 	private void afterStartTracking(ServerPlayerEntity player, CallbackInfo ci) {
 		EntityTrackingEvents.AFTER_START_TRACKING.invoker().afterStartTracking(this.entity, player);
+
+		if (EntityTrackingBatch.isEnabled()) {
+			ServerNetworkingImpl.getAddon(player.networkHandler).getTrackingBatch().onStartTracking(this.entity);
+		}
 	}
 
 	@Inject(method = "stopTracking", at = @At("TAIL"))
 	private void onStopTracking(ServerPlayerEntity player, CallbackInfo ci) {
 		EntityTrackingEvents.STOP_TRACKING.invoker().onStopTracking(this.entity, player);
+
+		if (EntityTrackingBatch.isEnabled()) {
+			ServerNetworkingImpl.getAddon(player.networkHandler).getTrackingBatch().onStopTracking(this.entity);
+		}
 	}
 }
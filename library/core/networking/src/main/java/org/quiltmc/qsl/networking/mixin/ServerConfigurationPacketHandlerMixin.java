@@ -37,9 +37,12 @@
 import net.minecraft.text.Text;
 import net.minecraft.unmapped.C_eyqfalbd;
 
+import org.quiltmc.qsl.networking.api.PipelinedConfigurationTask;
+import org.quiltmc.qsl.networking.api.ServerConfigurationConnectionEvents;
 import org.quiltmc.qsl.networking.api.ServerConfigurationTaskManager;
 import org.quiltmc.qsl.networking.impl.DisconnectPacketSource;
 import org.quiltmc.qsl.networking.impl.NetworkHandlerExtensions;
+import org.quiltmc.qsl.networking.impl.server.ConfigurationTaskPipeline;
 import org.quiltmc.qsl.networking.impl.server.SendChannelsTask;
 import org.quiltmc.qsl.networking.impl.server.ServerConfigurationNetworkAddon;
 
@@ -58,6 +61,8 @@ abstract class ServerConfigurationPacketHandlerMixin extends AbstractServerPacke
 
 	@Unique
 	private ServerConfigurationNetworkAddon addon;
+	@Unique
+	private final ConfigurationTaskPipeline quilt$pipeline = new ConfigurationTaskPipeline(() -> this.finishCurrentTask(ConfigurationTaskPipeline.TYPE));
 
 	ServerConfigurationPacketHandlerMixin(MinecraftServer server, ClientConnection connection, C_eyqfalbd c_eyqfalbd) {
 		super(server, connection, c_eyqfalbd);
@@ -72,7 +77,8 @@ private void initAddon(CallbackInfo ci) {
 
 	@Inject(method = "startConfiguration", at = @At("HEAD"))
 	private void start(CallbackInfo ci) {
-		this.tasks.add(new SendChannelsTask(this.addon));
+		this.addTask(new SendChannelsTask(this.addon));
+		ServerConfigurationConnectionEvents.ADD_TASKS.invoker().onAddTasks((ServerConfigurationPacketHandler) (Object) this, this.server);
 	}
 
 	@Inject(method = "onDisconnected", at = @At("HEAD"))
@@ -92,12 +98,20 @@ public Packet<?> createDisconnectPacket(Text message) {
 
 	@Override
 	public void addTask(ConfigurationTask task) {
-		this.tasks.add(task);
+		if (task instanceof PipelinedConfigurationTask pipelinedTask) {
+			if (this.quilt$pipeline.add(pipelinedTask)) {
+				this.tasks.add(this.quilt$pipeline.createTask());
+			}
+		} else {
+			this.tasks.add(task);
+		}
 	}
 
 	@Override
 	public void finishTask(ConfigurationTask.Type type) {
-		this.finishCurrentTask(type);
+		if (!this.quilt$pipeline.finish(type)) {
+			this.finishCurrentTask(type);
+		}
 	}
 
 	@Nullable
@@ -105,4 +119,16 @@ public void finishTask(ConfigurationTask.Type type) {
 	public ConfigurationTask getCurrentTask() {
 		return this.currentTask;
 	}
+
+	@Nullable
+	@Override
+	public ConfigurationTask getRunningTask(ConfigurationTask.Type type) {
+		var task = this.quilt$pipeline.getRunning(type);
+
+		if (task != null) {
+			return task;
+		}
+
+		return this.currentTask != null && this.currentTask.getType().equals(type) ? this.currentTask : null;
+	}
 }
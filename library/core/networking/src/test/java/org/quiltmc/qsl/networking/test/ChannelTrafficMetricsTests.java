@@ -0,0 +1,68 @@
+/*
+ * Copyright 2023 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.networking.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.network.packet.s2c.common.CustomPayloadS2CPacket;
+import net.minecraft.util.Identifier;
+
+import org.quiltmc.qsl.networking.api.ChannelTrafficMetrics;
+import org.quiltmc.qsl.networking.api.PacketByteBufs;
+import org.quiltmc.qsl.networking.impl.payload.PacketByteBufPayload;
+
+public class ChannelTrafficMetricsTests {
+	private static final Identifier CHANNEL = new Identifier("quilt", "traffic");
+
+	private static void write(int size) {
+		PacketByteBuf data = PacketByteBufs.create();
+		data.writeZero(size);
+
+		PacketByteBuf out = PacketByteBufs.create();
+		// Bytes before the payload must not be counted
+		out.writeZero(7);
+		new CustomPayloadS2CPacket(new PacketByteBufPayload(CHANNEL, data)).write(out);
+	}
+
+	@Test
+	void sentPayloadsAreCounted() {
+		ChannelTrafficMetrics.reset();
+		write(10);
+		write(32);
+
+		var traffic = ChannelTrafficMetrics.getServerTraffic().get(CHANNEL);
+		assertEquals(2, traffic.packetsSent());
+		assertEquals(42, traffic.bytesSent());
+	}
+
+	@Test
+	void resetKeepsCountingInPlace() {
+		write(10);
+		ChannelTrafficMetrics.reset();
+
+		var traffic = ChannelTrafficMetrics.getServerTraffic().get(CHANNEL);
+		assertNotNull(traffic, "Channels are kept on reset");
+		assertEquals(0, traffic.packetsSent());
+		assertEquals(0, traffic.bytesSent());
+
+		write(5);
+		assertEquals(5, ChannelTrafficMetrics.getServerTraffic().get(CHANNEL).bytesSent());
+	}
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2023 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.networking.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.network.ServerConfigurationPacketHandler;
+import net.minecraft.network.configuration.ConfigurationTask;
+import net.minecraft.network.packet.Packet;
+
+import org.quiltmc.qsl.networking.api.PipelinedConfigurationTask;
+import org.quiltmc.qsl.networking.api.ServerConfigurationConnectionEvents;
+import org.quiltmc.qsl.networking.api.ServerConfigurationTaskManager;
+import org.quiltmc.qsl.networking.impl.common.CommonPacketsImpl;
+import org.quiltmc.qsl.networking.impl.common.CommonRegisterPayload;
+import org.quiltmc.qsl.networking.impl.common.CommonVersionPayload;
+import org.quiltmc.qsl.networking.impl.server.ConfigurationTaskPipeline;
+import org.quiltmc.qsl.networking.impl.server.SendChannelsTask;
+import org.quiltmc.qsl.networking.impl.server.ServerConfigurationNetworkAddon;
+import org.quiltmc.qsl.networking.impl.server.ServerNetworkingImpl;
+
+public class ConfigurationTaskPipelineTests {
+	private ServerConfigurationPacketHandler handler;
+	private ServerConfigurationNetworkAddon addon;
+	private ConfigurationTaskPipeline pipeline;
+	private AtomicBoolean completed;
+
+	@BeforeAll
+	static void beforeAll() {
+		// Other tests may have initialized the common packets already, the tasks must only be added once
+		if (ServerNetworkingImpl.CONFIGURATION.getReceiver(CommonVersionPayload.PACKET_ID) == null) {
+			CommonPacketsImpl.init(null);
+		}
+	}
+
+	@BeforeEach
+	void setUp() {
+		this.completed = new AtomicBoolean();
+		this.pipeline = new ConfigurationTaskPipeline(() -> this.completed.set(true));
+
+		this.handler = mock(ServerConfigurationPacketHandler.class);
+		this.addon = mock(ServerConfigurationNetworkAddon.class);
+		when(ServerNetworkingImpl.getAddon(this.handler)).thenReturn(this.addon);
+
+		var taskManager = (ServerConfigurationTaskManager) this.handler;
+		doAnswer(invocation -> {
+			this.pipeline.add(invocation.getArgument(0));
+			return null;
+		}).when(taskManager).addTask(any());
+		doAnswer(invocation -> {
+			this.pipeline.finish(invocation.getArgument(0));
+			return null;
+		}).when(taskManager).finishTask(any());
+	}
+
+	private void addTasks() {
+		// Same order as the handler mixin
+		((ServerConfigurationTaskManager) this.handler).addTask(new SendChannelsTask(this.addon));
+		ServerConfigurationConnectionEvents.ADD_TASKS.invoker().onAddTasks(this.handler, null);
+		this.pipeline.createTask().start(packet -> {
+		});
+	}
+
+	@Test
+	void commonTasksWaitForChannelDiscovery() {
+		when(this.addon.getSendableChannels()).thenReturn(Set.of(CommonVersionPayload.PACKET_ID, CommonRegisterPayload.PACKET_ID));
+		when(this.addon.getNegotiatedVersion()).thenReturn(1);
+		when(this.addon.createRegisterPayload()).thenReturn(new CommonRegisterPayload(1, CommonRegisterPayload.PLAY_PHASE, Set.of()));
+
+		this.addTasks();
+
+		// The client didn't send its channels yet
+		verify(this.addon, never()).sendPayload(any());
+		assertNotNull(this.pipeline.getRunning(PipelinedConfigurationTask.SEND_CHANNELS));
+
+		this.pipeline.finish(PipelinedConfigurationTask.SEND_CHANNELS);
+		verify(this.addon).sendPayload(any(CommonVersionPayload.class));
+		verify(this.addon, never()).sendPayload(any(CommonRegisterPayload.class));
+
+		this.pipeline.finish(PipelinedConfigurationTask.COMMON_VERSION);
+		verify(this.addon).sendPayload(any(CommonRegisterPayload.class));
+		assertFalse(this.completed.get());
+
+		this.pipeline.finish(PipelinedConfigurationTask.COMMON_REGISTER);
+		assertTrue(this.completed.get());
+	}
+
+	@Test
+	void commonTasksSkippedWithoutSupport() {
+		when(this.addon.getSendableChannels()).thenReturn(Set.of());
+		when(this.addon.getNegotiatedVersion()).thenReturn(-1);
+
+		this.addTasks();
+		this.pipeline.finish(PipelinedConfigurationTask.SEND_CHANNELS);
+
+		verify(this.addon, never()).sendPayload(any());
+		assertTrue(this.completed.get());
+	}
+
+	@Test
+	void independentTasksStartTogether() {
+		var first = new TestTask(new ConfigurationTask.Type("quilt:first"), Set.of());
+		var second = new TestTask(new ConfigurationTask.Type("quilt:second"), Set.of());
+		var dependent = new TestTask(new ConfigurationTask.Type("quilt:dependent"), Set.of(first.getType(), second.getType()));
+
+		this.pipeline.add(dependent);
+		this.pipeline.add(first);
+		this.pipeline.add(second);
+		this.pipeline.createTask().start(packet -> {
+		});
+
+		assertTrue(first.started && second.started);
+		assertFalse(dependent.started);
+
+		// Tasks may finish in any order
+		this.pipeline.finish(second.getType());
+		assertFalse(dependent.started);
+		this.pipeline.finish(first.getType());
+		assertTrue(dependent.started);
+
+		this.pipeline.finish(dependent.getType());
+		assertTrue(this.completed.get());
+	}
+
+	@Test
+	void cyclicDependenciesFail() {
+		var a = new ConfigurationTask.Type("quilt:a");
+		var b = new ConfigurationTask.Type("quilt:b");
+
+		this.pipeline.add(new TestTask(a, Set.of(b)));
+		this.pipeline.add(new TestTask(b, Set.of(a)));
+
+		assertThrows(IllegalStateException.class, () -> this.pipeline.createTask().start(packet -> {
+		}));
+	}
+
+	private static final class TestTask implements PipelinedConfigurationTask {
+		private final Type type;
+		private final Set<Type> dependencies;
+		private boolean started;
+
+		private TestTask(Type type, Set<Type> dependencies) {
+			this.type = type;
+			this.dependencies = dependencies;
+		}
+
+		@Override
+		public void start(Consumer<Packet<?>> sender) {
+			this.started = true;
+		}
+
+		@Override
+		public Set<Type> getDependencies() {
+			return this.dependencies;
+		}
+
+		@Override
+		public Type getType() {
+			return this.type;
+		}
+	}
+}
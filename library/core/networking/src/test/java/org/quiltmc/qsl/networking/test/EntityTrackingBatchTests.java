@@ -0,0 +1,140 @@
+/*
+ * Copyright 2023 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.networking.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+import org.quiltmc.qsl.networking.api.EntityTrackingEvents;
+import org.quiltmc.qsl.networking.impl.server.EntityTrackingBatch;
+
+public class EntityTrackingBatchTests {
+	private static final List<Changes> DISPATCHED = new ArrayList<>();
+
+	private ServerPlayerEntity player;
+	private EntityTrackingBatch batch;
+
+	@BeforeAll
+	static void registerListener() {
+		EntityTrackingEvents.TRACKING_CHANGES.register((player, startedTracking, stoppedTracking) ->
+				DISPATCHED.add(new Changes(player, startedTracking, stoppedTracking)));
+	}
+
+	@BeforeEach
+	void setUp() {
+		DISPATCHED.clear();
+		this.player = mock(ServerPlayerEntity.class);
+		this.batch = new EntityTrackingBatch();
+	}
+
+	@Test
+	void enabledWithListeners() {
+		assertTrue(EntityTrackingBatch.isEnabled());
+	}
+
+	@Test
+	void changesAreDispatchedOnceInOrder() {
+		var first = mock(Entity.class);
+		var second = mock(Entity.class);
+		var third = mock(Entity.class);
+
+		this.batch.onStartTracking(first);
+		this.batch.onStopTracking(third);
+		this.batch.onStartTracking(second);
+		this.batch.dispatch(this.player);
+
+		assertEquals(List.of(new Changes(this.player, List.of(first, second), List.of(third))), DISPATCHED);
+
+		// The batch is emptied by the dispatch.
+		this.batch.dispatch(this.player);
+		assertEquals(1, DISPATCHED.size());
+	}
+
+	@Test
+	void startThenStopWithinATickIsCancelled() {
+		var entity = mock(Entity.class);
+
+		this.batch.onStartTracking(entity);
+		this.batch.onStopTracking(entity);
+		this.batch.dispatch(this.player);
+
+		assertTrue(DISPATCHED.isEmpty());
+	}
+
+	@Test
+	void startThenStopOnlyCancelsThatEntity() {
+		var cancelled = mock(Entity.class);
+		var kept = mock(Entity.class);
+
+		this.batch.onStartTracking(cancelled);
+		this.batch.onStartTracking(kept);
+		this.batch.onStopTracking(cancelled);
+		this.batch.dispatch(this.player);
+
+		assertEquals(List.of(new Changes(this.player, List.of(kept), List.of())), DISPATCHED);
+	}
+
+	@Test
+	void stopThenStartWithinATickIsKept() {
+		var entity = mock(Entity.class);
+
+		this.batch.onStopTracking(entity);
+		this.batch.onStartTracking(entity);
+		this.batch.dispatch(this.player);
+
+		assertEquals(List.of(new Changes(this.player, List.of(entity), List.of(entity))), DISPATCHED);
+	}
+
+	@Test
+	void startAndStopAcrossTicksAreBothDispatched() {
+		var entity = mock(Entity.class);
+
+		this.batch.onStartTracking(entity);
+		this.batch.dispatch(this.player);
+		this.batch.onStopTracking(entity);
+		this.batch.dispatch(this.player);
+
+		assertEquals(List.of(
+				new Changes(this.player, List.of(entity), List.of()),
+				new Changes(this.player, List.of(), List.of(entity))
+		), DISPATCHED);
+	}
+
+	@Test
+	void repeatedStartsAreDeduplicated() {
+		var entity = mock(Entity.class);
+
+		this.batch.onStartTracking(entity);
+		this.batch.onStartTracking(entity);
+		this.batch.dispatch(this.player);
+
+		assertEquals(List.of(new Changes(this.player, List.of(entity), List.of())), DISPATCHED);
+	}
+
+	private record Changes(ServerPlayerEntity player, List<Entity> startedTracking, List<Entity> stoppedTracking) {
+	}
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2023 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.networking.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.network.ClientConnection;
+import net.minecraft.network.packet.c2s.login.LoginQueryResponseC2SPacket;
+import net.minecraft.network.packet.s2c.login.LoginQueryRequestS2CPacket;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerLoginNetworkHandler;
+import net.minecraft.util.Identifier;
+
+import org.quiltmc.qsl.networking.api.PacketByteBufs;
+import org.quiltmc.qsl.networking.api.ServerLoginNetworking;
+import org.quiltmc.qsl.networking.impl.payload.PacketByteBufLoginQueryRequestPayload;
+import org.quiltmc.qsl.networking.impl.payload.PacketByteBufLoginQueryResponsePayload;
+import org.quiltmc.qsl.networking.impl.server.ServerLoginNetworkAddon;
+import org.quiltmc.qsl.networking.impl.server.ServerNetworkingImpl;
+import org.quiltmc.qsl.networking.mixin.accessor.ServerLoginNetworkHandlerAccessor;
+
+public class LoginQueryTimeoutTests {
+	private static int channelCount = 0;
+
+	private Identifier channel;
+	private ServerLoginNetworkAddon addon;
+	private List<Boolean> responses;
+
+	@BeforeEach
+	void setUp() {
+		// Statistics are global, each test gets its own channel
+		this.channel = new Identifier("quilt", "login_query_" + channelCount++);
+		this.responses = new ArrayList<>();
+		ServerLoginNetworking.registerGlobalReceiver(this.channel, (server, handler, understood, buf, synchronizer, responseSender) ->
+				this.responses.add(understood)
+		);
+
+		var handler = mock(ServerLoginNetworkHandler.class);
+		when(((ServerLoginNetworkHandlerAccessor) handler).getConnection()).thenReturn(mock(ClientConnection.class));
+		when(((ServerLoginNetworkHandlerAccessor) handler).getServer()).thenReturn(mock(MinecraftServer.class));
+
+		this.addon = new ServerLoginNetworkAddon(handler);
+		when(ServerNetworkingImpl.getAddon(handler)).thenReturn(this.addon);
+
+		// The first tick starts the queries
+		this.addon.queryTick();
+	}
+
+	@AfterEach
+	void tearDown() {
+		ServerLoginNetworking.unregisterGlobalReceiver(this.channel);
+		ServerLoginNetworking.setQueryTimeout(this.channel, null);
+	}
+
+	private void sendQuery(int id) {
+		this.addon.registerOutgoingPacket(new LoginQueryRequestS2CPacket(id, new PacketByteBufLoginQueryRequestPayload(this.channel, PacketByteBufs.empty())));
+	}
+
+	private boolean respond(int id) {
+		return this.addon.handle(new LoginQueryResponseC2SPacket(id, new PacketByteBufLoginQueryResponsePayload(PacketByteBufs.create())));
+	}
+
+	private ServerLoginNetworking.QueryStatistics statistics() {
+		return ServerLoginNetworking.getQueryStatistics().get(this.channel);
+	}
+
+	@Test
+	void answeredQueriesAreRecorded() {
+		this.sendQuery(1);
+		assertFalse(this.addon.queryTick());
+
+		assertTrue(this.respond(1));
+		assertEquals(List.of(true), this.responses);
+		assertTrue(this.addon.queryTick());
+
+		var statistics = this.statistics();
+		assertEquals(1, statistics.responses());
+		assertEquals(0, statistics.timeouts());
+		assertFalse(statistics.max().isNegative());
+	}
+
+	@Test
+	void queriesExpire() throws InterruptedException {
+		ServerLoginNetworking.setQueryTimeout(this.channel, Duration.ofMillis(1));
+		this.sendQuery(2);
+		Thread.sleep(10);
+
+		assertTrue(this.addon.queryTick(), "The expired query must no longer hold back the login");
+		assertEquals(List.of(false), this.responses);
+		assertEquals(1, this.statistics().timeouts());
+		assertEquals(0, this.statistics().responses());
+
+		// The late response is dropped
+		assertTrue(this.respond(2));
+		assertEquals(List.of(false), this.responses);
+	}
+
+	@Test
+	void queriesWithoutTimeoutNeverExpire() throws InterruptedException {
+		this.sendQuery(3);
+		Thread.sleep(10);
+
+		assertFalse(this.addon.queryTick());
+		assertTrue(this.responses.isEmpty());
+	}
+
+	@Test
+	void disabledTimeoutsNeverExpire() throws InterruptedException {
+		ServerLoginNetworking.setQueryTimeout(this.channel, Duration.ofMillis(1));
+		ServerLoginNetworking.disableQueryTimeout(this.channel);
+		this.sendQuery(5);
+		Thread.sleep(10);
+
+		assertFalse(this.addon.queryTick());
+		assertTrue(this.responses.isEmpty());
+	}
+
+	@Test
+	void overlongTimeoutsNeverExpire() throws InterruptedException {
+		ServerLoginNetworking.setQueryTimeout(this.channel, Duration.ofSeconds(Long.MAX_VALUE));
+		this.sendQuery(6);
+		Thread.sleep(10);
+
+		assertFalse(this.addon.queryTick());
+		assertTrue(this.responses.isEmpty());
+	}
+
+	@Test
+	void nonPositiveTimeoutsAreRejected() {
+		assertThrows(IllegalArgumentException.class, () -> ServerLoginNetworking.setQueryTimeout(this.channel, Duration.ZERO));
+		assertThrows(IllegalArgumentException.class, () -> ServerLoginNetworking.setQueryTimeout(this.channel, Duration.ofMillis(-1)));
+	}
+
+	@Test
+	void timedOutQueriesAreForgottenWhenLoginEnds() throws InterruptedException {
+		ServerLoginNetworking.setQueryTimeout(this.channel, Duration.ofMillis(1));
+		this.sendQuery(4);
+		Thread.sleep(10);
+		this.addon.queryTick();
+
+		this.addon.handlePlayTransition();
+
+		assertFalse(this.respond(4), "The timed out query must have been forgotten");
+	}
+}
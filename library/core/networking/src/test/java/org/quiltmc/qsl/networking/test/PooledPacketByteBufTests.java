@@ -0,0 +1,181 @@
+/*
+ * Copyright 2023 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.networking.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.netty.util.IllegalReferenceCountException;
+import io.netty.util.ResourceLeakDetector;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.Property;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.network.listener.ClientPlayPacketListener;
+import net.minecraft.network.packet.Packet;
+import net.minecraft.network.packet.s2c.PacketBundleS2CPacket;
+import net.minecraft.network.packet.s2c.common.CustomPayloadS2CPacket;
+import net.minecraft.util.Identifier;
+
+import org.quiltmc.qsl.networking.api.PacketByteBufs;
+import org.quiltmc.qsl.networking.impl.payload.PacketByteBufPayload;
+
+public class PooledPacketByteBufTests {
+	private static final Identifier CHANNEL = new Identifier("quilt", "pooled");
+	private static ResourceLeakDetector.Level previousLevel;
+
+	@BeforeAll
+	static void beforeAll() {
+		// Track every buffer so that the tests exercise the same paths as development environments
+		previousLevel = ResourceLeakDetector.getLevel();
+		ResourceLeakDetector.setLevel(ResourceLeakDetector.Level.PARANOID);
+	}
+
+	@AfterAll
+	static void afterAll() {
+		ResourceLeakDetector.setLevel(previousLevel);
+	}
+
+	@Test
+	void createPooled() {
+		PacketByteBuf buf = PacketByteBufs.createPooled();
+
+		assertTrue(PacketByteBufs.isPooled(buf));
+		assertTrue(buf.isDirect());
+		assertFalse(PacketByteBufs.isPooled(PacketByteBufs.create()));
+
+		buf.release();
+	}
+
+	@Test
+	void pooledPayloadIsReleasedOnceWritten() {
+		PacketByteBuf data = PacketByteBufs.createPooled();
+		data.writeVarInt(42);
+		data.writeString("quilt");
+
+		var payload = new PacketByteBufPayload(CHANNEL, data);
+		PacketByteBuf out = PacketByteBufs.create();
+		payload.write(out);
+
+		assertEquals(0, data.refCnt());
+		assertEquals(42, out.readVarInt());
+		assertEquals("quilt", out.readString());
+
+		// The payload can only be written once
+		assertThrows(IllegalReferenceCountException.class, () -> payload.write(PacketByteBufs.create()));
+	}
+
+	@Test
+	void heapPayloadIsNotReleased() {
+		PacketByteBuf data = PacketByteBufs.create();
+		data.writeVarInt(42);
+
+		new PacketByteBufPayload(CHANNEL, data).write(PacketByteBufs.create());
+
+		assertEquals(1, data.refCnt());
+	}
+
+	@Test
+	void toUnpooledCopiesAndReleases() {
+		PacketByteBuf data = PacketByteBufs.createPooled();
+		data.writeVarInt(42);
+
+		var payload = new PacketByteBufPayload(CHANNEL, data);
+		PacketByteBufPayload unpooled = payload.toUnpooled();
+
+		assertEquals(0, data.refCnt());
+		assertFalse(unpooled.isPooled());
+		assertEquals(CHANNEL, unpooled.id());
+		assertEquals(42, unpooled.data().readVarInt());
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Packet<ClientPlayPacketListener> packet(PacketByteBuf data) {
+		return (Packet<ClientPlayPacketListener>) (Packet<?>) new CustomPayloadS2CPacket(new PacketByteBufPayload(CHANNEL, data));
+	}
+
+	@Test
+	void droppedPacketsAreReleased() {
+		PacketByteBuf first = PacketByteBufs.createPooled();
+		PacketByteBuf second = PacketByteBufs.createPooled();
+		PacketByteBuf heap = PacketByteBufs.create();
+
+		PacketByteBufPayload.releaseDropped(new PacketBundleS2CPacket(List.of(packet(first), packet(second), packet(heap))));
+
+		assertEquals(0, first.refCnt());
+		assertEquals(0, second.refCnt());
+		assertEquals(1, heap.refCnt());
+	}
+
+	@Test
+	void writtenPacketsAreNotReleasedTwice() {
+		PacketByteBuf data = PacketByteBufs.createPooled();
+		var packet = new CustomPayloadS2CPacket(new PacketByteBufPayload(CHANNEL, data));
+
+		packet.payload().write(PacketByteBufs.create());
+
+		assertDoesNotThrow(() -> PacketByteBufPayload.releaseDropped(packet));
+		assertEquals(0, data.refCnt());
+	}
+
+	@Test
+	void leaksAreReported() throws InterruptedException {
+		var leaks = new CopyOnWriteArrayList<String>();
+		var appender = new AbstractAppender("quilt_networking_leaks", null, null, true, Property.EMPTY_ARRAY) {
+			@Override
+			public void append(LogEvent event) {
+				String message = event.getMessage().getFormattedMessage();
+
+				if (message.contains("LEAK")) {
+					leaks.add(message);
+				}
+			}
+		};
+		var logger = (Logger) LogManager.getLogger(ResourceLeakDetector.class);
+
+		appender.start();
+		logger.addAppender(appender);
+
+		try {
+			leakPooledBuffer();
+
+			for (int i = 0; i < 100 && leaks.isEmpty(); i++) {
+				System.gc();
+				Thread.sleep(10);
+				// Leaks are only reported when the detector tracks another buffer
+				PacketByteBufs.createPooled().release();
+			}
+
+			assertFalse(leaks.isEmpty(), "The leaked pooled buffer must be reported");
+		} finally {
+			logger.removeAppender(appender);
+			appender.stop();
+		}
+	}
+
+	private static void leakPooledBuffer() {
+		PacketByteBufs.createPooled().writeVarInt(42);
+	}
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2023 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.networking.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import io.netty.handler.codec.DecoderException;
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+
+import org.quiltmc.qsl.networking.api.PacketByteBufs;
+import org.quiltmc.qsl.networking.api.RecordPayloadCodec;
+
+public class RecordPayloadCodecTests {
+	enum Mode {
+		FIRST,
+		SECOND
+	}
+
+	record Primitives(boolean b, byte b2, short s, char c, int i, long l, float f, double d) {
+	}
+
+	record References(String string, Identifier id, BlockPos pos, UUID uuid, Mode mode, byte[] bytes, int[] ints) {
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof References other && this.string.equals(other.string) && this.id.equals(other.id) && this.pos.equals(other.pos)
+					&& this.uuid.equals(other.uuid) && this.mode == other.mode
+					&& Arrays.equals(this.bytes, other.bytes) && Arrays.equals(this.ints, other.ints);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.string.hashCode();
+		}
+	}
+
+	record Nested(List<Identifier> ids, Optional<BlockPos> pos, Optional<Primitives> primitives, List<List<@RecordPayloadCodec.VarInt Integer>> matrix) {
+	}
+
+	record VarInts(@RecordPayloadCodec.VarInt int i, @RecordPayloadCodec.VarInt long l) {
+	}
+
+	record Unsupported(Map<String, String> map) {
+	}
+
+	record BadVarInt(@RecordPayloadCodec.VarInt String string) {
+	}
+
+	record Node(int value, Optional<Node> next) {
+	}
+
+	record Tree(List<Tree> children) {
+	}
+
+	record Ping(Optional<Pong> pong) {
+	}
+
+	record Pong(Ping ping) {
+	}
+
+	record Holder(Primitives first, Primitives second) {
+	}
+
+	record Boxed(Boolean b, Character c, Integer i, @RecordPayloadCodec.VarInt Long l, Double d) {
+	}
+
+	private record Hidden(int value, String name) {
+	}
+
+	record Many(List<Primitives> values) {
+	}
+
+	record Flags(List<Boolean> flags) {
+	}
+
+	private static <R extends Record> R roundTrip(R value) {
+		@SuppressWarnings("unchecked")
+		var codec = RecordPayloadCodec.of((Class<R>) value.getClass());
+		PacketByteBuf buf = PacketByteBufs.create();
+		codec.write(buf, value);
+
+		R read = codec.apply(buf);
+		assertEquals(0, buf.readableBytes(), "The whole record should be read");
+		return read;
+	}
+
+	@Test
+	void primitives() {
+		var value = new Primitives(true, (byte) -3, (short) 1234, 'q', -42, Long.MAX_VALUE, 1.5f, -2.25);
+		assertEquals(value, roundTrip(value));
+	}
+
+	@Test
+	void objects() {
+		var value = new References("quilt", new Identifier("quilt", "test"), new BlockPos(1, -64, 300), UUID.randomUUID(), Mode.SECOND,
+				new byte[]{1, 2, 3}, new int[]{-1, 0, 1});
+		assertEquals(value, roundTrip(value));
+	}
+
+	@Test
+	void nested() {
+		var value = new Nested(List.of(new Identifier("quilt", "a"), new Identifier("quilt", "b")), Optional.of(new BlockPos(0, 0, 0)),
+				Optional.empty(), List.of(List.of(1, 2), List.of(), List.of(300)));
+		assertEquals(value, roundTrip(value));
+	}
+
+	@Test
+	void varInts() {
+		var value = new VarInts(1, 2L);
+		PacketByteBuf buf = PacketByteBufs.create();
+		RecordPayloadCodec.of(VarInts.class).write(buf, value);
+
+		assertEquals(2, buf.readableBytes());
+		assertEquals(value, RecordPayloadCodec.of(VarInts.class).apply(buf));
+	}
+
+	@Test
+	void codecsAreCached() {
+		assertSame(RecordPayloadCodec.of(Primitives.class), RecordPayloadCodec.of(Primitives.class));
+	}
+
+	@Test
+	void unsupportedTypes() {
+		assertThrows(IllegalArgumentException.class, () -> RecordPayloadCodec.of(Unsupported.class));
+		assertThrows(IllegalArgumentException.class, () -> RecordPayloadCodec.of(BadVarInt.class));
+	}
+
+	@Test
+	void recursiveRecords() {
+		assertThrows(IllegalArgumentException.class, () -> RecordPayloadCodec.of(Node.class));
+		assertThrows(IllegalArgumentException.class, () -> RecordPayloadCodec.of(Tree.class));
+		assertThrows(IllegalArgumentException.class, () -> RecordPayloadCodec.of(Ping.class));
+		assertThrows(IllegalArgumentException.class, () -> RecordPayloadCodec.of(Pong.class));
+		// A failed attempt must not be cached or leave the record marked as being built.
+		assertThrows(IllegalArgumentException.class, () -> RecordPayloadCodec.of(Node.class));
+	}
+
+	@Test
+	void repeatedRecordsAreNotRecursive() {
+		var value = new Holder(new Primitives(false, (byte) 1, (short) 2, 'a', 3, 4L, 5f, 6.0),
+				new Primitives(true, (byte) -1, (short) -2, 'b', -3, -4L, -5f, -6.0));
+		assertEquals(value, roundTrip(value));
+	}
+
+	@Test
+	void boxedComponents() {
+		var value = new Boxed(true, 'q', -42, 300L, 0.5);
+		assertEquals(value, roundTrip(value));
+	}
+
+	@Test
+	void privateRecords() {
+		var value = new Hidden(7, "quilt");
+		assertEquals(value, roundTrip(value));
+	}
+
+	@Test
+	void oversizedListsAreRejected() {
+		PacketByteBuf buf = PacketByteBufs.create();
+		buf.writeVarInt(Integer.MAX_VALUE);
+		buf.writeBoolean(true);
+		assertThrows(DecoderException.class, () -> RecordPayloadCodec.of(Flags.class).apply(buf));
+
+		PacketByteBuf negative = PacketByteBufs.create();
+		negative.writeVarInt(-1);
+		assertThrows(DecoderException.class, () -> RecordPayloadCodec.of(Flags.class).apply(negative));
+
+		// Two records of 30 bytes each cannot fit in 40 bytes.
+		PacketByteBuf records = PacketByteBufs.create();
+		records.writeVarInt(2);
+		records.writeZero(40);
+		assertThrows(DecoderException.class, () -> RecordPayloadCodec.of(Many.class).apply(records));
+	}
+
+	@Test
+	void fullListsAreAccepted() {
+		var value = new Flags(List.of(true, false, true));
+		PacketByteBuf buf = PacketByteBufs.create();
+		RecordPayloadCodec.of(Flags.class).write(buf, value);
+
+		assertEquals(4, buf.readableBytes());
+		assertEquals(value, RecordPayloadCodec.of(Flags.class).apply(buf));
+	}
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2023 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.networking.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.network.ClientConnection;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.network.packet.Packet;
+import net.minecraft.network.packet.s2c.PacketBundleS2CPacket;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayNetworkHandler;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.Identifier;
+
+import org.quiltmc.qsl.networking.api.PacketByteBufs;
+import org.quiltmc.qsl.networking.api.ServerPlayNetworking;
+import org.quiltmc.qsl.networking.impl.server.ServerPlayNetworkAddon;
+import org.quiltmc.qsl.networking.mixin.accessor.AbstractServerPacketHandlerAccessor;
+
+public class ServerPlayNetworkAddonTests {
+	private static final Identifier CHANNEL = new Identifier("quilt", "addon");
+
+	private ClientConnection connection;
+	private ServerPlayNetworkAddon addon;
+	private List<Packet<?>> sent;
+
+	@BeforeEach
+	void setUp() throws ReflectiveOperationException {
+		this.sent = new CopyOnWriteArrayList<>();
+		this.connection = mock(ClientConnection.class);
+		when(this.connection.isOpen()).thenReturn(true);
+		doAnswer(invocation -> this.sent.add(invocation.getArgument(0))).when(this.connection).send(any());
+		doAnswer(invocation -> this.sent.add(invocation.getArgument(0))).when(this.connection).send(any(), any());
+
+		var handler = mock(ServerPlayNetworkHandler.class);
+		when(((AbstractServerPacketHandlerAccessor) handler).getConnection()).thenReturn(this.connection);
+		var player = ServerPlayNetworkHandler.class.getDeclaredField("player");
+		player.setAccessible(true);
+		player.set(handler, mock(ServerPlayerEntity.class));
+
+		this.addon = new ServerPlayNetworkAddon(handler, mock(MinecraftServer.class));
+	}
+
+	private static Packet<?> payload(PacketByteBuf data) {
+		return ServerPlayNetworking.createS2CPacket(CHANNEL, data);
+	}
+
+	@Test
+	void queuedPooledPayloadsAreReleasedOnDisconnect() {
+		PacketByteBuf data = PacketByteBufs.createPooled();
+		this.addon.setCoalescing(true);
+		this.addon.sendPacket(payload(data));
+
+		this.addon.handleDisconnect();
+
+		assertEquals(0, data.refCnt());
+		assertTrue(this.sent.isEmpty());
+	}
+
+	@Test
+	void pooledPayloadsSentToClosedConnectionsAreReleased() {
+		PacketByteBuf data = PacketByteBufs.createPooled();
+		when(this.connection.isOpen()).thenReturn(false);
+
+		this.addon.sendPacket(payload(data));
+
+		assertEquals(0, data.refCnt());
+		assertTrue(this.sent.isEmpty());
+	}
+
+	private static List<Packet<?>> unbundle(Packet<?> packet) {
+		var packets = new ArrayList<Packet<?>>();
+		((PacketBundleS2CPacket) packet).getPackets().forEach(packets::add);
+		return packets;
+	}
+
+	@Test
+	void queuedPayloadsAreBundled() {
+		var first = payload(PacketByteBufs.create());
+		var second = payload(PacketByteBufs.create());
+		var third = payload(PacketByteBufs.create());
+
+		this.addon.setCoalescing(true);
+		this.addon.sendPacket(first);
+		this.addon.sendPacket(second);
+		this.addon.sendPacket(third);
+		assertTrue(this.sent.isEmpty());
+
+		this.addon.flush();
+
+		assertEquals(1, this.sent.size());
+		assertEquals(List.of(first, second, third), unbundle(this.sent.get(0)));
+	}
+
+	@Test
+	void singlePayloadIsNotBundled() {
+		var packet = payload(PacketByteBufs.create());
+
+		this.addon.setCoalescing(true);
+		this.addon.sendPacket(packet);
+		this.addon.flush();
+
+		assertEquals(List.of(packet), this.sent);
+	}
+
+	@Test
+	void largeQueuesAreSplit() {
+		var packets = new ArrayList<Packet<?>>();
+		this.addon.setCoalescing(true);
+
+		for (int i = 0; i < 5000; i++) {
+			var packet = payload(PacketByteBufs.create());
+			packets.add(packet);
+			this.addon.sendPacket(packet);
+		}
+
+		this.addon.flush();
+
+		assertEquals(2, this.sent.size());
+		assertEquals(4096, unbundle(this.sent.get(0)).size());
+
+		var received = new ArrayList<Packet<?>>(unbundle(this.sent.get(0)));
+		received.addAll(unbundle(this.sent.get(1)));
+		assertEquals(packets, received);
+	}
+
+	@Test
+	void queueIsFlushedBeforeDirectSends() {
+		var queued = payload(PacketByteBufs.create());
+		var direct = mock(Packet.class);
+
+		this.addon.setCoalescing(true);
+		this.addon.sendPacket(queued);
+		this.addon.sendPacket(direct);
+
+		assertEquals(List.of(queued, direct), this.sent);
+	}
+
+	@Test
+	void disablingCoalescingFlushes() {
+		var queued = payload(PacketByteBufs.create());
+
+		this.addon.setCoalescing(true);
+		this.addon.sendPacket(queued);
+		this.addon.setCoalescing(false);
+
+		assertEquals(List.of(queued), this.sent);
+	}
+
+	@Test
+	void concurrentSendsWaitForTheFlush() throws InterruptedException {
+		var first = payload(PacketByteBufs.create());
+		var second = payload(PacketByteBufs.create());
+		var direct = mock(Packet.class);
+		var concurrentSend = new Thread(() -> this.addon.sendPacket(direct));
+		var blocked = new AtomicBoolean();
+
+		doAnswer(invocation -> {
+			Packet<?> packet = invocation.getArgument(0);
+
+			if (packet instanceof PacketBundleS2CPacket) {
+				// Another thread sends a packet while the bundle is being handed to the connection
+				concurrentSend.start();
+				concurrentSend.join(100);
+				blocked.set(concurrentSend.isAlive());
+			}
+
+			return this.sent.add(packet);
+		}).when(this.connection).send(any());
+
+		this.addon.setCoalescing(true);
+		this.addon.sendPacket(first);
+		this.addon.sendPacket(second);
+		this.addon.flush();
+		concurrentSend.join();
+
+		assertTrue(blocked.get(), "The concurrent send must wait for the flush to complete");
+		assertEquals(2, this.sent.size());
+		assertInstanceOf(PacketBundleS2CPacket.class, this.sent.get(0));
+		assertSame(direct, this.sent.get(1));
+	}
+}
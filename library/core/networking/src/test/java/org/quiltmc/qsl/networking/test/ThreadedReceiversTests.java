@@ -0,0 +1,254 @@
+/*
+ * Copyright 2022 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.networking.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.network.ClientConnection;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayNetworkHandler;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.text.Text;
+import net.minecraft.util.Identifier;
+
+import org.quiltmc.qsl.networking.api.PacketByteBufs;
+import org.quiltmc.qsl.networking.api.ReceiverThreading;
+import org.quiltmc.qsl.networking.api.ServerPlayNetworking;
+import org.quiltmc.qsl.networking.impl.TrafficMetrics;
+import org.quiltmc.qsl.networking.impl.payload.PacketByteBufPayload;
+import org.quiltmc.qsl.networking.impl.server.ServerNetworkingImpl;
+import org.quiltmc.qsl.networking.impl.server.ServerPlayNetworkAddon;
+import org.quiltmc.qsl.networking.impl.server.ThreadedReceivers;
+import org.quiltmc.qsl.networking.mixin.accessor.AbstractServerPacketHandlerAccessor;
+
+public class ThreadedReceiversTests {
+	private static final int PAYLOADS = 50;
+	private static int channelCount = 0;
+
+	private Identifier channel;
+	private ServerPlayNetworkHandler handler;
+	private ServerPlayNetworkAddon addon;
+	// Tasks sent to the main thread, run by the test thread which stands in for it
+	private Queue<Runnable> mainTasks;
+
+	@BeforeEach
+	void setUp() throws ReflectiveOperationException {
+		// Traffic metrics are global, each test gets its own channel
+		this.channel = new Identifier("quilt", "threaded_receivers_" + channelCount++);
+		this.mainTasks = new ConcurrentLinkedQueue<>();
+
+		var connection = mock(ClientConnection.class);
+		when(connection.isOpen()).thenReturn(true);
+
+		this.handler = mock(ServerPlayNetworkHandler.class);
+		when(((AbstractServerPacketHandlerAccessor) this.handler).getConnection()).thenReturn(connection);
+		var player = ServerPlayNetworkHandler.class.getDeclaredField("player");
+		player.setAccessible(true);
+		player.set(this.handler, mock(ServerPlayerEntity.class));
+
+		var server = mock(MinecraftServer.class);
+		doAnswer(invocation -> this.mainTasks.add(invocation.getArgument(0))).when(server).execute(any());
+
+		this.addon = new ServerPlayNetworkAddon(this.handler, server);
+		when(ServerNetworkingImpl.getAddon(this.handler)).thenReturn(this.addon);
+	}
+
+	private void register(ServerPlayNetworking.CustomChannelReceiver<PacketByteBufPayload> receiver) {
+		assertTrue(this.addon.registerChannel(this.channel, receiver));
+	}
+
+	private void send(int index) {
+		var buf = PacketByteBufs.create();
+		buf.writeInt(index);
+		assertTrue(this.addon.handle(new PacketByteBufPayload(this.channel, buf)));
+	}
+
+	private static int index(PacketByteBufPayload payload) {
+		return payload.data().getInt(0);
+	}
+
+	/**
+	 * Waits for everything sent to the worker queue of the connection so far to be done.
+	 */
+	private void awaitWorkerQueue() throws InterruptedException {
+		var done = new CountDownLatch(1);
+		this.addon.getWorkerQueue().execute(done::countDown);
+		assertTrue(done.await(10, TimeUnit.SECONDS), "The worker queue must make progress");
+	}
+
+	private void runMainTasks() {
+		Runnable task;
+
+		while ((task = this.mainTasks.poll()) != null) {
+			task.run();
+		}
+	}
+
+	private Duration handlerTime() {
+		var traffic = TrafficMetrics.SERVER.getTraffic().get(this.channel);
+		return traffic == null ? Duration.ZERO : traffic.handlerTime();
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	@Test
+	void mainThreadReceiversAreHandedOff() {
+		var received = new CopyOnWriteArrayList<Integer>();
+		this.register(ThreadedReceivers.wrap(ReceiverThreading.MAIN_THREAD, (server, player, handler, payload, sender) ->
+				received.add(index(payload))
+		));
+
+		for (int i = 0; i < PAYLOADS; i++) {
+			this.send(i);
+		}
+
+		assertTrue(received.isEmpty(), "Receivers must wait for the main thread");
+
+		this.runMainTasks();
+
+		assertEquals(IntStream.range(0, PAYLOADS).boxed().toList(), received);
+	}
+
+	@Test
+	void workerPoolPayloadsAreHandledOneAtATimeInOrder() throws InterruptedException {
+		var received = new CopyOnWriteArrayList<Integer>();
+		var running = new AtomicInteger();
+		var maxRunning = new AtomicInteger();
+		this.register(ThreadedReceivers.wrap(ReceiverThreading.WORKER_POOL, (server, player, handler, payload, sender) -> {
+			maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			// Earlier payloads take longer, they would be overtaken if handled concurrently
+			sleep((PAYLOADS - index(payload)) % 5);
+			received.add(index(payload));
+			running.decrementAndGet();
+		}));
+
+		for (int i = 0; i < PAYLOADS; i++) {
+			this.send(i);
+		}
+
+		this.awaitWorkerQueue();
+
+		assertEquals(IntStream.range(0, PAYLOADS).boxed().toList(), received);
+		assertEquals(1, maxRunning.get());
+	}
+
+	@Test
+	void processedResultsReachTheMainThreadInOrder() throws InterruptedException {
+		var received = new CopyOnWriteArrayList<Integer>();
+		this.register(ThreadedReceivers.processing(
+				(player, payload) -> {
+					sleep((PAYLOADS - index(payload)) % 5);
+					// Odd payloads are dropped
+					return index(payload) % 2 == 0 ? index(payload) : null;
+				},
+				(server, player, handler, result, sender) -> received.add(result)
+		));
+
+		for (int i = 0; i < PAYLOADS; i++) {
+			this.send(i);
+		}
+
+		this.awaitWorkerQueue();
+		this.runMainTasks();
+
+		assertEquals(IntStream.range(0, PAYLOADS).filter(i -> i % 2 == 0).boxed().toList(), received);
+	}
+
+	@Test
+	void exceptionsDisconnectThePlayer() throws InterruptedException {
+		var received = new CopyOnWriteArrayList<Integer>();
+		this.register(ThreadedReceivers.wrap(ReceiverThreading.WORKER_POOL, (server, player, handler, payload, sender) -> {
+			if (index(payload) == 0) {
+				throw new IllegalStateException("Invalid payload");
+			}
+
+			received.add(index(payload));
+		}));
+
+		this.send(0);
+		this.send(1);
+		this.awaitWorkerQueue();
+
+		// The disconnection happens on the main thread
+		verify(this.handler, never()).disconnect(any(Text.class));
+		this.runMainTasks();
+		verify(this.handler).disconnect(any(Text.class));
+
+		// The exception doesn't stall the worker queue of the connection
+		assertEquals(List.of(1), received);
+	}
+
+	@Test
+	void exceptionsInProcessorsDisconnectThePlayer() throws InterruptedException {
+		var received = new CopyOnWriteArrayList<Integer>();
+		this.register(ThreadedReceivers.processing(
+				(player, payload) -> {
+					throw new IllegalStateException("Invalid payload");
+				},
+				(server, player, handler, result, sender) -> received.add(1)
+		));
+
+		this.send(0);
+		this.awaitWorkerQueue();
+		this.runMainTasks();
+
+		verify(this.handler).disconnect(any(Text.class));
+		assertTrue(received.isEmpty());
+	}
+
+	@Test
+	void handlerTimeIsRecordedWhereThePayloadIsHandled() throws InterruptedException {
+		this.register(ThreadedReceivers.wrap(ReceiverThreading.WORKER_POOL, (server, player, handler, payload, sender) -> sleep(20)));
+
+		this.send(0);
+		this.awaitWorkerQueue();
+
+		assertTrue(this.handlerTime().compareTo(Duration.ofMillis(20)) >= 0, () -> "Recorded " + this.handlerTime());
+	}
+
+	@Test
+	void handOffTimeIsNotRecorded() {
+		this.register(ThreadedReceivers.wrap(ReceiverThreading.MAIN_THREAD, (server, player, handler, payload, sender) -> {
+		}));
+
+		this.send(0);
+
+		assertEquals(Duration.ZERO, this.handlerTime(), "Only the time spent on the main thread must be recorded");
+		this.runMainTasks();
+	}
+}
@@ -20,6 +20,7 @@
 import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -221,6 +222,8 @@ public static void listenAll(@NotNull Object listener, @NotNull Event<?>... even
 	private final Lock lock = new ReentrantLock();
 	/**
 	 * The invoker field used to execute callbacks.
+	 * <p>
+	 * It is {@code null} when it has been invalidated and needs to be rebuilt before the next dispatch.
 	 */
 	private volatile T invoker;
 	/**
@@ -235,6 +238,10 @@ public static void listenAll(@NotNull Object listener, @NotNull Event<?>... even
 	 * Phases sorted in the correct dependency order.
 	 */
 	private final List<EventPhaseData<T>> sortedPhases = new ArrayList<>();
+	/**
+	 * Whether the phases need to be sorted again before the next invoker rebuild.
+	 */
+	private boolean phasesDirty = false;
 
 	@SuppressWarnings("unchecked")
 	private Event(Class<? super T> type, Function<T[], T> implementation) {
@@ -269,9 +276,13 @@ public void register(@NotNull T callback) {
 
 	/**
 	 * Registers a callback to a specific phase of the event.
+	 * <p>
+	 * The invoker is rebuilt lazily on the next dispatch of the event, registering many callbacks in a row
+	 * only rebuilds it once.
 	 *
 	 * @param phaseIdentifier the phase identifier
 	 * @param callback        the callback
+	 * @see #register(Identifier, Collection)
 	 */
 	public void register(@NotNull Identifier phaseIdentifier, @NotNull T callback) {
 		Objects.requireNonNull(phaseIdentifier, "Tried to register a callback for a null phase!");
@@ -279,8 +290,40 @@ public void register(@NotNull Identifier phaseIdentifier, @NotNull T callback) {
 
 		this.lock.lock();
 		try {
-			this.getOrCreatePhase(phaseIdentifier, true).addListener(callback);
-			this.rebuildInvoker(this.callbacks.length + 1);
+			this.getOrCreatePhase(phaseIdentifier).addListener(callback);
+			this.invoker = null;
+		} finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Registers multiple callbacks at once to a specific phase of the event.
+	 * <p>
+	 * The callbacks are executed in the iteration order of the given collection.
+	 *
+	 * @param phaseIdentifier the phase identifier
+	 * @param callbacks       the callbacks
+	 * @see #register(Identifier, Object)
+	 */
+	public void register(@NotNull Identifier phaseIdentifier, @NotNull Collection<? extends T> callbacks) {
+		Objects.requireNonNull(phaseIdentifier, "Tried to register callbacks for a null phase!");
+		Objects.requireNonNull(callbacks, "Tried to register a null collection of callbacks!");
+
+		List<T> newCallbacks = new ArrayList<>(callbacks);
+
+		for (var callback : newCallbacks) {
+			Objects.requireNonNull(callback, "Tried to register a null callback!");
+		}
+
+		if (newCallbacks.isEmpty()) {
+			return;
+		}
+
+		this.lock.lock();
+		try {
+			this.getOrCreatePhase(phaseIdentifier).addListeners(newCallbacks);
+			this.invoker = null;
 		} finally {
 			this.lock.unlock();
 		}
@@ -296,7 +339,13 @@ public void register(@NotNull Identifier phaseIdentifier, @NotNull T callback) {
 	 */
 	@Contract(pure = true)
 	public @NotNull T invoker() {
-		return this.invoker;
+		T invoker = this.invoker;
+
+		if (invoker == null) {
+			invoker = this.rebuildInvalidatedInvoker();
+		}
+
+		return invoker;
 	}
 
 	/**
@@ -318,39 +367,72 @@ public void addPhaseOrdering(@NotNull Identifier firstPhase, @NotNull Identifier
 			throw new IllegalArgumentException("Tried to add a phase that depends on itself.");
 		}
 
-		synchronized (this.lock) {
-			var first = this.getOrCreatePhase(firstPhase, false);
-			var second = this.getOrCreatePhase(secondPhase, false);
+		this.lock.lock();
+		try {
+			var first = this.getOrCreatePhase(firstPhase);
+			var second = this.getOrCreatePhase(secondPhase);
 			PhaseData.link(first, second);
-			PhaseSorting.sortPhases(this.sortedPhases);
-			this.rebuildInvoker(this.callbacks.length);
+
+			if (!this.phasesDirty && PhaseSorting.isOrderingRespected(this.sortedPhases, first, second)) {
+				// The current order already satisfies the new constraint, nothing changes.
+				return;
+			}
+
+			// Defer the sort and the invoker rebuild to the next dispatch,
+			// so that many orderings added in a row only cost a single sort.
+			this.phasesDirty = true;
+			this.invoker = null;
+		} finally {
+			this.lock.unlock();
 		}
 	}
 
 	/* Implementation */
 
-	private EventPhaseData<T> getOrCreatePhase(Identifier id, boolean sortIfCreate) {
+	private EventPhaseData<T> getOrCreatePhase(Identifier id) {
 		var phase = this.phases.get(id);
 
 		if (phase == null) {
 			phase = new EventPhaseData<>(id, this.callbacks.getClass().getComponentType());
 			this.phases.put(id, phase);
 			this.sortedPhases.add(phase);
-
-			if (sortIfCreate) {
-				PhaseSorting.sortPhases(this.sortedPhases);
-			}
+			this.phasesDirty = true;
 		}
 
 		return phase;
 	}
 
-	private void rebuildInvoker(int newLength) {
+	private T rebuildInvalidatedInvoker() {
+		this.lock.lock();
+		try {
+			// Another thread may have rebuilt the invoker while we were waiting for the lock.
+			if (this.invoker == null) {
+				this.rebuildInvoker();
+			}
+
+			return this.invoker;
+		} finally {
+			this.lock.unlock();
+		}
+	}
+
+	private void rebuildInvoker() {
+		if (this.phasesDirty) {
+			PhaseSorting.sortPhases(this.sortedPhases);
+			this.phasesDirty = false;
+		}
+
 		// Rebuild handlers.
 		if (this.sortedPhases.size() == 1) {
 			// Special case with a single phase: use the array of the phase directly.
 			this.callbacks = this.sortedPhases.get(0).getData();
 		} else {
+			int newLength = 0;
+
+			for (var existingPhase : this.sortedPhases) {
+				newLength += existingPhase.getData().length;
+			}
+
 			@SuppressWarnings("unchecked")
 			var newCallbacks = (T[]) Array.newInstance(this.callbacks.getClass().getComponentType(), newLength);
 			int newHandlersIndex = 0;
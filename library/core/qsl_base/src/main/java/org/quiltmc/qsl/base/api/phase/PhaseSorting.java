@@ -25,6 +25,7 @@
 import java.util.PriorityQueue;
 
 import com.google.common.annotations.VisibleForTesting;
+import org.jetbrains.annotations.ApiStatus;
 
 import org.quiltmc.qsl.base.impl.QuiltBaseImpl;
 
@@ -122,6 +123,42 @@ public static <T, P extends PhaseData<T, P>> void sortPhases(List<P> sortedPhase
 		}
 	}
 
+	/**
+	 * Checks whether a list of phases sorted by {@link #sortPhases(List)} is still correctly sorted
+	 * after an ordering constraint from {@code first} to {@code second} is added.
+	 * <p>
+	 * {@link #sortPhases(List)} produces the ordering with the lowest ids which respects all constraints,
+	 * as such a new constraint that the current ordering already respects cannot change the result of a new sort,
+	 * and the costly sort can be skipped entirely.
+	 * <p>
+	 * This is only meant to be used by {@link org.quiltmc.qsl.base.api.event.Event} to avoid re-sorting its phases,
+	 * it is public only because events live in another package.
+	 *
+	 * @param sortedPhases the phases, as previously sorted by {@link #sortPhases(List)}
+	 * @param first        the phase that should be ordered first
+	 * @param second       the phase that should be ordered second
+	 * @param <T>          the type of data held in a phase
+	 * @param <P>          the type of the phase data
+	 * @return {@code true} if the phases are still correctly sorted, or {@code false} if they need to be sorted again
+	 */
+	@ApiStatus.Internal
+	public static <T, P extends PhaseData<T, P>> boolean isOrderingRespected(List<P> sortedPhases, P first, P second) {
+		int firstIndex = -1;
+
+		for (int i = 0; i < sortedPhases.size(); i++) {
+			var phase = sortedPhases.get(i);
+
+			if (phase == first) {
+				firstIndex = i;
+			} else if (phase == second) {
+				// The second phase is found before the first, the new constraint is not respected yet.
+				return firstIndex != -1;
+			}
+		}
+
+		return false;
+	}
+
 	private static <T, P extends PhaseData<T, P>> void forwardVisit(P phase, P parent, List<P> toposort) {
 		if (phase.visitStatus == PhaseData.VisitStatus.NOT_VISITED) {
 			// Not yet visited.
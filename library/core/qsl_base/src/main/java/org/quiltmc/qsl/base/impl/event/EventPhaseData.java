@@ -18,6 +18,7 @@
 
 import java.lang.reflect.Array;
 import java.util.Arrays;
+import java.util.Collection;
 
 import org.jetbrains.annotations.ApiStatus;
 
@@ -39,4 +40,13 @@ public void addListener(T listener) {
 		this.data = Arrays.copyOf(data, oldLength + 1);
 		this.data[oldLength] = listener;
 	}
+
+	public void addListeners(Collection<? extends T> listeners) {
+		int index = this.data.length;
+		this.data = Arrays.copyOf(this.data, index + listeners.size());
+
+		for (T listener : listeners) {
+			this.data[index++] = listener;
+		}
+	}
 }
@@ -40,8 +40,10 @@ public void run() {
 
 		testDefaultPhaseOnly();
 		testMultipleDefaultPhases();
+		testBulkRegistration();
 		testAddedPhases();
 		testCycle();
+		testOrderingChangedAfterInvoke();
 		PhaseSorting.ENABLE_CYCLE_WARNING = false;
 		testDeterministicOrdering();
 		testTwoCycles();
@@ -98,6 +100,23 @@ private static void testMultipleDefaultPhases() {
 		}
 	}
 
+	private static void testBulkRegistration() {
+		var event = createEvent();
+		var late = new Identifier("quilt", "late");
+
+		event.addPhaseOrdering(Event.DEFAULT_PHASE, late);
+		event.register(late, List.of(ensureOrder(3), ensureOrder(4)));
+		event.register(ensureOrder(0));
+		event.register(Event.DEFAULT_PHASE, List.of(ensureOrder(1), ensureOrder(2)));
+		event.register(late, List.of());
+
+		for (int i = 0; i < 5; ++i) {
+			event.invoker().onTest();
+			assertEquals(5, currentListener);
+			currentListener = 0;
+		}
+	}
+
 	private static void testAddedPhases() {
 		var event = createEvent();
 
@@ -161,6 +180,33 @@ private static void testCycle() {
 		}
 	}
 
+	private static void testOrderingChangedAfterInvoke() {
+		var event = createEvent();
+
+		var early = new Identifier("quilt", "early");
+		var late = new Identifier("quilt", "late");
+
+		event.register(late, ensureOrder(1));
+		event.register(early, ensureOrder(0));
+		event.addPhaseOrdering(early, late);
+
+		event.invoker().onTest();
+		assertEquals(2, currentListener);
+		currentListener = 0;
+
+		// Already respected ordering, the invoker must keep working as-is.
+		event.addPhaseOrdering(early, Event.DEFAULT_PHASE);
+		event.addPhaseOrdering(early, late);
+		event.register(ensureOrder(2));
+		event.addPhaseOrdering(late, Event.DEFAULT_PHASE);
+
+		for (int i = 0; i < 5; ++i) {
+			event.invoker().onTest();
+			assertEquals(3, currentListener);
+			currentListener = 0;
+		}
+	}
+
 	/**
 	 * Ensure that phases get sorted deterministically regardless of the order in which constraints are registered.
 	 *
@@ -53,6 +53,22 @@ public static <V> Event<EntryAdded<V>> getEntryAddEvent(Registry<V> registry) {
 		return RegistryEventStorage.as((SimpleRegistry<V>) registry).quilt$getEntryAddedEvent();
 	}
 
+	/**
+	 * Gets the raw ids changed event for a specific Minecraft registry.
+	 * <p>
+	 * The event is invoked after the raw ids of existing entries in the specified registry have been reassigned,
+	 * which happens when applying or reverting the registry sync data received from a server.
+	 * Callbacks caching raw ids of the registry should invalidate them.
+	 *
+	 * @param registry the {@link Registry} for this event to listen for. Must be an instance of {@link SimpleRegistry}.
+	 * @param <V>      the entry type of the {@link Registry} to listen for
+	 * @return the raw ids changed event for the specified registry, which can have callbacks registered to it
+	 * @throws ClassCastException if the registry is not a {@link SimpleRegistry}
+	 */
+	public static <V> Event<RawIdsChanged<V>> getRawIdsChangedEvent(Registry<V> registry) {
+		return RegistryEventStorage.as((SimpleRegistry<V>) registry).quilt$getRawIdsChangedEvent();
+	}
+
 	/**
 	 * This event gets triggered when a new {@link DynamicRegistryManager} gets created,
 	 * but before it gets filled.
@@ -108,6 +124,22 @@ public static <V> Event<EntryAdded<V>> getEntryAddEvent(Registry<V> registry) {
 		void onAdded(RegistryEntryContext<V> context);
 	}
 
+	/**
+	 * Functional interface to be implemented on callbacks for {@link #getRawIdsChangedEvent(Registry)}.
+	 *
+	 * @param <V> the entry type of the {@link Registry} being listened for
+	 * @see #getRawIdsChangedEvent(Registry)
+	 */
+	@FunctionalInterface
+	public interface RawIdsChanged<V> {
+		/**
+		 * Called when the raw ids of the entries in this callback's event's {@link Registry} have been reassigned.
+		 *
+		 * @param registry the registry whose raw ids changed
+		 */
+		void onRawIdsChanged(Registry<V> registry);
+	}
+
 	@FunctionalInterface
 	public interface DynamicRegistrySetupCallback extends EventAwareListener {
 		/**
@@ -34,6 +34,11 @@
 	 */
 	Event<RegistryEvents.EntryAdded<V>> quilt$getEntryAddedEvent();
 
+	/**
+	 * {@return the raw ids changed event}
+	 */
+	Event<RegistryEvents.RawIdsChanged<V>> quilt$getRawIdsChangedEvent();
+
 	/**
 	 * Casts a {@link Registry} to the duck interface.
 	 */
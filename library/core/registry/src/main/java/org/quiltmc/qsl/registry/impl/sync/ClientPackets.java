@@ -16,7 +16,13 @@
 
 package org.quiltmc.qsl.registry.impl.sync;
 
+import java.util.List;
+
+import io.netty.handler.codec.DecoderException;
 import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongMaps;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import org.jetbrains.annotations.ApiStatus;
 
@@ -31,25 +37,66 @@
 public final class ClientPackets {
 	/**
 	 * Response for {@link ServerPackets.Handshake#ID}. Selects the registry sync version to be used from the server's supported options.
+	 * <p>
+	 * Starting with protocol version 4, the client also sends hashes of the vanilla entries of its synchronized registries,
+	 * allowing the server to omit them when they match its own.
 	 *
 	 * <pre><code>
 	 * {
 	 *     Supported Version: VarInt
+	 *     // Version 4 or higher
+	 *     Count of Registries: VarInt
+	 *     [
+	 *         Registry: Identifier
+	 *         Vanilla Entries Hash: Long
+	 *     ]
 	 * }
 	 * </code></pre>
 	 */
-	public record Handshake(int version) implements CustomPayload {
+	public record Handshake(int version, Object2LongMap<Identifier> vanillaHashes) implements CustomPayload {
 		public static final Identifier ID = ClientPackets.id("registry_sync/handshake");
+		/**
+		 * The smallest size of a hash entry, an identifier takes at least one byte and a hash 8 bytes.
+		 */
+		private static final int MIN_HASH_ENTRY_SIZE = 1 + Long.BYTES;
 
 		public Handshake(PacketByteBuf buf) {
-			this(
-					buf.readVarInt()
-			);
+			this(buf.readVarInt(), buf);
+		}
+
+		private Handshake(int version, PacketByteBuf buf) {
+			this(version, version >= ProtocolVersions.COMPACT_DATA_VERSION ? readHashes(buf) : Object2LongMaps.emptyMap());
+		}
+
+		private static Object2LongMap<Identifier> readHashes(PacketByteBuf buf) {
+			int count = buf.readVarInt();
+
+			// The count comes from the client, make sure it can fit in the packet before allocating for it.
+			if (count < 0 || count > buf.readableBytes() / MIN_HASH_ENTRY_SIZE) {
+				throw new DecoderException("Invalid vanilla entries hash count " + count);
+			}
+
+			var hashes = new Object2LongOpenHashMap<Identifier>(count);
+
+			while (count-- > 0) {
+				hashes.put(buf.readIdentifier(), buf.readLong());
+			}
+
+			return hashes;
 		}
 
 		@Override
 		public void write(PacketByteBuf buf) {
 			buf.writeVarInt(this.version);
+
+			if (this.version >= ProtocolVersions.COMPACT_DATA_VERSION) {
+				buf.writeVarInt(this.vanillaHashes.size());
+
+				for (var entry : this.vanillaHashes.object2LongEntrySet()) {
+					buf.writeIdentifier(entry.getKey());
+					buf.writeLong(entry.getLongValue());
+				}
+			}
 		}
 
 		@Override
@@ -117,6 +164,36 @@ public Identifier id() {
 		}
 	}
 
+	/**
+	 * Response for {@link ServerPackets.ValidateStateHashes#ID}, lists the namespaces whose state hashes don't match the client ones.
+	 * Requires protocol version 5 or higher.
+	 *
+	 * <pre><code>
+	 * {
+	 *     Type: Enum
+	 *     Namespaces: List&lt;String&gt;
+	 * }
+	 * </code></pre>
+	 */
+	public record MismatchedStates(ServerPackets.ValidateStates.StateType type, List<String> namespaces) implements CustomPayload {
+		public static final Identifier ID = ClientPackets.id("registry_sync/mismatched_states");
+
+		public MismatchedStates(PacketByteBuf buf) {
+			this(buf.readEnumConstant(ServerPackets.ValidateStates.StateType.class), buf.readList(PacketByteBuf::readString));
+		}
+
+		@Override
+		public void write(PacketByteBuf buf) {
+			buf.writeEnumConstant(this.type);
+			buf.writeCollection(this.namespaces, PacketByteBuf::writeString);
+		}
+
+		@Override
+		public Identifier id() {
+			return ID;
+		}
+	}
+
 	/**
 	 * Sent after receiving Mod Protocol request packet from server.
 	 * Returns all latest supported by client version of requested Mod Protocols see {@link ServerPackets.ModProtocol#ID}
@@ -23,13 +23,23 @@
 import it.unimi.dsi.fastutil.ints.IntSet;
 
 public class ProtocolVersions {
-	public static final int CURRENT_VERSION = 3;
+	public static final int CURRENT_VERSION = 5;
 	public static final int OLDEST_SUPPORTED_VERSION = 3;
 	public static final IntSet IMPL_SUPPORTED_VERSIONS = IntSet.of(IntStream.rangeClosed(OLDEST_SUPPORTED_VERSION, CURRENT_VERSION).toArray());
 
 	public static final int NO_PROTOCOL = -1;
 	public static final int FAPI_PROTOCOL = -2;
 
+	/**
+	 * The first version using {@link ServerPackets.CompactRegistryData} and vanilla entry baselines.
+	 */
+	public static final int COMPACT_DATA_VERSION = 4;
+
+	/**
+	 * The first version validating states with {@link ServerPackets.ValidateStateHashes} first.
+	 */
+	public static final int STATE_HASH_VERSION = 5;
+
 	public static int getHighestSupportedLocal(IntList supportedRemote) {
 		return getHighestSupported(IMPL_SUPPORTED_VERSIONS, supportedRemote);
 	}
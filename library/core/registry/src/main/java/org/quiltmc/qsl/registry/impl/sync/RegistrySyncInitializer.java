@@ -67,9 +67,11 @@ public void onInitialize(ModContainer mod) {
 		CustomPayloads.registerS2CPayload(ServerPackets.End.ID, ServerPackets.End::new);
 		CustomPayloads.registerS2CPayload(ServerPackets.RegistryStart.ID, ServerPackets.RegistryStart::new);
 		CustomPayloads.registerS2CPayload(ServerPackets.RegistryData.ID, ServerPackets.RegistryData::new);
+		CustomPayloads.registerS2CPayload(ServerPackets.CompactRegistryData.ID, ServerPackets.CompactRegistryData::new);
 		CustomPayloads.registerS2CPayload(ServerPackets.RegistryApply.ID, ServerPackets.RegistryApply::new);
 		CustomPayloads.registerS2CPayload(ServerPackets.ValidateStates.StateType.BLOCK.packetId(), ServerPackets.ValidateStates::newBlock);
 		CustomPayloads.registerS2CPayload(ServerPackets.ValidateStates.StateType.FLUID.packetId(), ServerPackets.ValidateStates::newFluid);
+		CustomPayloads.registerS2CPayload(ServerPackets.ValidateStateHashes.ID, ServerPackets.ValidateStateHashes::new);
 		CustomPayloads.registerS2CPayload(ServerPackets.RegistryRestore.ID, ServerPackets.RegistryRestore::new);
 		CustomPayloads.registerS2CPayload(ServerPackets.ErrorStyle.ID, ServerPackets.ErrorStyle::new);
 		CustomPayloads.registerS2CPayload(ServerPackets.ModProtocol.ID, ServerPackets.ModProtocol::new);
@@ -77,6 +79,7 @@ public void onInitialize(ModContainer mod) {
 		CustomPayloads.registerC2SPayload(ClientPackets.Handshake.ID, ClientPackets.Handshake::new);
 		CustomPayloads.registerC2SPayload(ClientPackets.SyncFailed.ID, ClientPackets.SyncFailed::new);
 		CustomPayloads.registerC2SPayload(ClientPackets.UnknownEntry.ID, ClientPackets.UnknownEntry::new);
+		CustomPayloads.registerC2SPayload(ClientPackets.MismatchedStates.ID, ClientPackets.MismatchedStates::new);
 		CustomPayloads.registerC2SPayload(ClientPackets.ModProtocol.ID, ClientPackets.ModProtocol::new);
 		CustomPayloads.registerC2SPayload(ClientPackets.End.ID, ClientPackets.End::new);
 	}
@@ -16,16 +16,27 @@
 
 package org.quiltmc.qsl.registry.impl.sync;
 
+import java.io.ByteArrayOutputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.DecoderException;
 import it.unimi.dsi.fastutil.ints.Int2ObjectArrayMap;
 import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
 import org.jetbrains.annotations.ApiStatus;
 
 import net.minecraft.network.PacketByteBuf;
+import net.minecraft.network.encoding.VarInts;
 import net.minecraft.network.packet.payload.CustomPayload;
 import net.minecraft.registry.Registries;
 import net.minecraft.registry.Registry;
@@ -206,6 +217,254 @@ public Identifier id() {
 		}
 	}
 
+	/**
+	 * Compact variant of {@link RegistryData}, used from protocol version 4.
+	 * <p>
+	 * Entries of each namespace are front-coded: every path only stores the suffix that differs from the previous path,
+	 * and raw ids are stored as a zigzag-encoded difference to the previous raw id.
+	 * Sorting the entries of a namespace by path before sending them gives the best results.
+	 * When the vanilla baseline flag is set, the entries of the vanilla namespaces were omitted as the client already
+	 * has identical ones, see {@link ClientPackets.Handshake}.
+	 * Bodies larger than {@link #COMPRESSION_THRESHOLD} bytes are deflated when it makes them smaller.
+	 *
+	 * <pre><code>
+	 * {
+	 *   Flags: byte (0x1 = vanilla baseline, 0x2 = deflated)
+	 *   // If deflated
+	 *   Uncompressed Size: VarInt
+	 *   Body: byte[] (deflated)
+	 *   // Body
+	 *   Count of Namespaces: VarInt
+	 *   [
+	 *     Common Namespace: String
+	 *     Count of Entries: VarInt
+	 *     [
+	 *       Shared Path Prefix Length: VarInt
+	 *       Path Suffix: String
+	 *       Id Difference: VarInt (zigzag)
+	 *       Flags: byte
+	 *     ]
+	 *   ]
+	 * }
+	 * </code></pre>
+	 */
+	public record CompactRegistryData(boolean vanillaBaseline, Map<String, List<SynchronizedRegistry.SyncEntry>> packetData) implements CustomPayload {
+		public static final Identifier ID = ServerPackets.id("registry_sync/compact_registry_data");
+		public static final int COMPRESSION_THRESHOLD = 1024;
+		private static final int MAX_UNCOMPRESSED_SIZE = 8 * 1024 * 1024;
+		private static final byte FLAG_VANILLA_BASELINE = 0x1;
+		private static final byte FLAG_DEFLATED = 0x2;
+
+		public CompactRegistryData(PacketByteBuf buf) {
+			this(buf.readByte(), buf);
+		}
+
+		private CompactRegistryData(byte flags, PacketByteBuf buf) {
+			this((flags & FLAG_VANILLA_BASELINE) != 0, read((flags & FLAG_DEFLATED) != 0 ? inflate(buf) : buf));
+		}
+
+		/**
+		 * {@return the exact size of the body header of a namespace}
+		 *
+		 * @param namespace the namespace
+		 * @param count     the count of entries of the namespace
+		 */
+		public static int sizeOfNamespace(String namespace, int count) {
+			return sizeOfString(namespace) + VarInts.getSizeBytes(count);
+		}
+
+		/**
+		 * {@return the exact size of an entry in the body}
+		 *
+		 * @param previousPath the path of the previous entry of the namespace, or an empty string for the first one
+		 * @param previousId   the raw id of the previous entry of the namespace, or {@code 0} for the first one
+		 * @param entry        the entry
+		 */
+		public static int sizeOfEntry(String previousPath, int previousId, SynchronizedRegistry.SyncEntry entry) {
+			int shared = sharedPrefixLength(previousPath, entry.path());
+
+			return VarInts.getSizeBytes(shared) + sizeOfString(entry.path().substring(shared))
+					+ VarInts.getSizeBytes(zigzag(entry.rawId() - previousId)) + 1;
+		}
+
+		private static int sizeOfString(String string) {
+			int length = ByteBufUtil.utf8Bytes(string);
+			return VarInts.getSizeBytes(length) + length;
+		}
+
+		private static int sharedPrefixLength(String previous, String current) {
+			int max = Math.min(previous.length(), current.length());
+			int i = 0;
+
+			while (i < max && previous.charAt(i) == current.charAt(i)) {
+				i++;
+			}
+
+			// Never split a surrogate pair between the prefix and the suffix.
+			if (i > 0 && Character.isHighSurrogate(current.charAt(i - 1))) {
+				i--;
+			}
+
+			return i;
+		}
+
+		private static int zigzag(int value) {
+			return (value << 1) ^ (value >> 31);
+		}
+
+		private static int unzigzag(int value) {
+			return (value >>> 1) ^ -(value & 1);
+		}
+
+		private static Map<String, List<SynchronizedRegistry.SyncEntry>> read(PacketByteBuf buf) {
+			var data = new HashMap<String, List<SynchronizedRegistry.SyncEntry>>();
+			int countNamespace = buf.readVarInt();
+
+			while (countNamespace-- > 0) {
+				var namespace = buf.readString();
+				int countLocal = buf.readVarInt();
+				var entries = new ArrayList<SynchronizedRegistry.SyncEntry>(Math.min(countLocal, buf.readableBytes()));
+				var previousPath = "";
+				int previousId = 0;
+
+				while (countLocal-- > 0) {
+					int shared = buf.readVarInt();
+
+					if (shared > previousPath.length()) {
+						throw new DecoderException("Shared path prefix length " + shared + " is longer than the previous path");
+					}
+
+					var path = previousPath.substring(0, shared) + buf.readString();
+					int id = previousId + unzigzag(buf.readVarInt());
+					byte flags = buf.readByte();
+
+					entries.add(new SynchronizedRegistry.SyncEntry(path, id, flags));
+					previousPath = path;
+					previousId = id;
+				}
+
+				data.computeIfAbsent(namespace, n -> new ArrayList<>()).addAll(entries);
+			}
+
+			return data;
+		}
+
+		private static PacketByteBuf inflate(PacketByteBuf buf) {
+			int size = buf.readVarInt();
+
+			if (size < 0 || size > MAX_UNCOMPRESSED_SIZE) {
+				throw new DecoderException("Invalid uncompressed registry data size " + size);
+			}
+
+			var inflater = new Inflater();
+			var output = new byte[size];
+
+			try {
+				inflater.setInput(buf.readByteArray());
+				int offset = 0;
+
+				while (offset < size && !inflater.finished()) {
+					int read = inflater.inflate(output, offset, size - offset);
+
+					if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+						break;
+					}
+
+					offset += read;
+				}
+
+				if (offset != size || !inflater.finished()) {
+					throw new DecoderException("Registry data doesn't match its uncompressed size " + size);
+				}
+			} catch (DataFormatException e) {
+				throw new DecoderException("Invalid compressed registry data", e);
+			} finally {
+				inflater.end();
+			}
+
+			return new PacketByteBuf(Unpooled.wrappedBuffer(output));
+		}
+
+		private void writeBody(PacketByteBuf buf) {
+			buf.writeVarInt(this.packetData.size());
+
+			for (var namespace : this.packetData.entrySet()) {
+				var list = namespace.getValue();
+				buf.writeString(namespace.getKey());
+				buf.writeVarInt(list.size());
+
+				var previousPath = "";
+				int previousId = 0;
+
+				for (var entry : list) {
+					int shared = sharedPrefixLength(previousPath, entry.path());
+					buf.writeVarInt(shared);
+					buf.writeString(entry.path().substring(shared));
+					buf.writeVarInt(zigzag(entry.rawId() - previousId));
+					buf.writeByte(entry.flags());
+
+					previousPath = entry.path();
+					previousId = entry.rawId();
+				}
+			}
+		}
+
+		@Override
+		public void write(PacketByteBuf buf) {
+			byte flags = this.vanillaBaseline ? FLAG_VANILLA_BASELINE : 0;
+			var body = new PacketByteBuf(Unpooled.buffer());
+
+			try {
+				this.writeBody(body);
+				int size = body.readableBytes();
+
+				if (size >= COMPRESSION_THRESHOLD) {
+					var deflated = deflate(body);
+
+					if (deflated.length < size) {
+						buf.writeByte(flags | FLAG_DEFLATED);
+						buf.writeVarInt(size);
+						buf.writeByteArray(deflated);
+						return;
+					}
+				}
+
+				buf.writeByte(flags);
+				buf.writeBytes(body);
+			} finally {
+				body.release();
+			}
+		}
+
+		private static byte[] deflate(PacketByteBuf body) {
+			var input = new byte[body.readableBytes()];
+			body.getBytes(body.readerIndex(), input);
+
+			var deflater = new Deflater();
+			var output = new ByteArrayOutputStream(input.length / 2);
+			var buffer = new byte[8192];
+
+			try {
+				deflater.setInput(input);
+				deflater.finish();
+
+				while (!deflater.finished()) {
+					int length = deflater.deflate(buffer);
+					output.write(buffer, 0, length);
+				}
+			} finally {
+				deflater.end();
+			}
+
+			return output.toByteArray();
+		}
+
+		@Override
+		public Identifier id() {
+			return ID;
+		}
+	}
+
 	/**
 	 * Applies changes to current registry, doesn't have any data.
 	 */
@@ -298,6 +557,58 @@ public Identifier packetId() {
 		}
 	}
 
+	/**
+	 * This packet requests client to validate the states of {@link net.minecraft.block.Block#STATE_IDS} or {@link net.minecraft.fluid.Fluid#STATE_IDS}
+	 * using a hash per namespace, used from protocol version 5.
+	 * The client answers with {@link ClientPackets.MismatchedStates}, after which the server sends {@link ValidateStates}
+	 * only for the namespaces whose hashes didn't match.
+	 *
+	 * <pre><code>
+	 * {
+	 *   Type: Enum
+	 *   Count of Namespaces: VarInt
+	 *   [
+	 *     Namespace: String
+	 *     Hash: Long
+	 *   ]
+	 * }
+	 * </code></pre>
+	 */
+	public record ValidateStateHashes(ValidateStates.StateType type, Object2LongMap<String> hashes) implements CustomPayload {
+		public static final Identifier ID = ServerPackets.id("registry_sync/validate/state_hashes");
+
+		public ValidateStateHashes(PacketByteBuf buf) {
+			this(buf.readEnumConstant(ValidateStates.StateType.class), read(buf));
+		}
+
+		private static Object2LongMap<String> read(PacketByteBuf buf) {
+			int count = buf.readVarInt();
+			var hashes = new Object2LongOpenHashMap<String>(count);
+
+			while (count-- > 0) {
+				hashes.put(buf.readString(), buf.readLong());
+			}
+
+			return hashes;
+		}
+
+		@Override
+		public void write(PacketByteBuf buf) {
+			buf.writeEnumConstant(this.type);
+			buf.writeVarInt(this.hashes.size());
+
+			for (var entry : this.hashes.object2LongEntrySet()) {
+				buf.writeString(entry.getKey());
+				buf.writeLong(entry.getLongValue());
+			}
+		}
+
+		@Override
+		public Identifier id() {
+			return ID;
+		}
+	}
+
 	/**
 	 * Applies changes to current registry, doesn't have any data.
 	 */
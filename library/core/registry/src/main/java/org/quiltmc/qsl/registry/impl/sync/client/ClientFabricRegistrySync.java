@@ -184,7 +184,7 @@ private static void applyRegistry(ClientConfigurationNetworkHandler handler) {
 			}
 		}
 
-		ClientRegistrySync.rebuildEverything(MinecraftClient.getInstance());
+		ClientRegistrySync.rebuildChanged(MinecraftClient.getInstance());
 		ClientConfigurationNetworking.send(ServerFabricRegistrySync.SYNC_COMPLETE_ID, PacketByteBufs.empty());
 	}
 }
@@ -29,6 +29,9 @@
 import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntList;
 import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongMaps;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
@@ -105,11 +108,13 @@ public static void registerHandlers() {
 		ClientConfigurationNetworking.registerGlobalReceiver(ServerPackets.Handshake.ID, ClientRegistrySync::handleHelloPacket);
 		ClientConfigurationNetworking.registerGlobalReceiver(ServerPackets.RegistryStart.ID, ClientRegistrySync::handleStartPacket);
 		ClientConfigurationNetworking.registerGlobalReceiver(ServerPackets.RegistryData.ID, ClientRegistrySync::handleDataPacket);
+		ClientConfigurationNetworking.registerGlobalReceiver(ServerPackets.CompactRegistryData.ID, ClientRegistrySync::handleCompactDataPacket);
 		ClientConfigurationNetworking.registerGlobalReceiver(ServerPackets.RegistryApply.ID, ClientRegistrySync::handleApplyPacket);
 		ClientConfigurationNetworking.registerGlobalReceiver(ServerPackets.End.ID, ClientRegistrySync::handleGoodbyePacket);
 		ClientConfigurationNetworking.registerGlobalReceiver(ServerPackets.RegistryRestore.ID, ClientRegistrySync::handleRestorePacket);
 		ClientConfigurationNetworking.registerGlobalReceiver(ServerPackets.ValidateStates.StateType.BLOCK.packetId(), handleStateValidation(Registries.BLOCK, Block.STATE_IDS, BlockState::getBlock));
 		ClientConfigurationNetworking.registerGlobalReceiver(ServerPackets.ValidateStates.StateType.FLUID.packetId(), handleStateValidation(Registries.FLUID, Fluid.STATE_IDS, FluidState::getFluid));
+		ClientConfigurationNetworking.registerGlobalReceiver(ServerPackets.ValidateStateHashes.ID, ClientRegistrySync::handleStateHashes);
 		ClientConfigurationNetworking.registerGlobalReceiver(ServerPackets.ErrorStyle.ID, ClientRegistrySync::handleErrorStylePacket);
 		ClientConfigurationNetworking.registerGlobalReceiver(ServerPackets.ModProtocol.ID, ClientRegistrySync::handleModProtocol);
 	}
@@ -181,7 +186,7 @@ private static void handleErrorStylePacket(MinecraftClient client, ClientConfigu
 
 	private static void handleHelloPacket(MinecraftClient client, ClientConfigurationNetworkHandler handler, ServerPackets.Handshake handshake, PacketSender<CustomPayload> sender) {
 		syncVersion = ProtocolVersions.getHighestSupportedLocal(handshake.supportedVersions());
-		sender.sendPayload(new ClientPackets.Handshake(syncVersion));
+		sender.sendPayload(new ClientPackets.Handshake(syncVersion, syncVersion >= ProtocolVersions.COMPACT_DATA_VERSION ? getVanillaEntriesHashes() : Object2LongMaps.emptyMap()));
 		builder.clear();
 	}
 
@@ -228,7 +233,27 @@ private static void handleStartPacket(MinecraftClient client, ClientConfiguratio
 		}
 	}
 
+	private static Object2LongMap<Identifier> getVanillaEntriesHashes() {
+		var hashes = new Object2LongOpenHashMap<Identifier>();
+
+		for (var registry : Registries.REGISTRY) {
+			if (registry instanceof SynchronizedRegistry<?> synchronizedRegistry && synchronizedRegistry.quilt$requiresSyncing()) {
+				hashes.put(Registries.REGISTRY.getId(registry), ServerRegistrySync.getVanillaEntriesHash(registry));
+			}
+		}
+
+		return hashes;
+	}
+
 	private static void handleDataPacket(MinecraftClient client, ClientConfigurationNetworkHandler handler, ServerPackets.RegistryData data, PacketSender<CustomPayload> sender) {
+		acceptData(data.packetData(), false, sender);
+	}
+
+	private static void handleCompactDataPacket(MinecraftClient client, ClientConfigurationNetworkHandler handler, ServerPackets.CompactRegistryData data, PacketSender<CustomPayload> sender) {
+		acceptData(data.packetData(), data.vanillaBaseline(), sender);
+	}
+
+	private static void acceptData(Map<String, ? extends Collection<SynchronizedRegistry.SyncEntry>> packetData, boolean vanillaBaseline, PacketSender<CustomPayload> sender) {
 		if (currentRegistry == null || syncMap == null) {
 			if (optionalRegistry) {
 				if (syncMap != null && !syncMap.isEmpty()) {
@@ -249,7 +274,31 @@ private static void handleDataPacket(MinecraftClient client, ClientConfiguration
 			return;
 		}
 
-		syncMap.putAll(data.packetData());
+		// A namespace can be split across multiple packets, so entries are merged instead of replaced.
+		for (var entry : packetData.entrySet()) {
+			syncMap.computeIfAbsent(entry.getKey(), n -> new ArrayList<>()).addAll(entry.getValue());
+		}
+
+		if (vanillaBaseline) {
+			addVanillaEntries(Registries.REGISTRY.get(currentRegistryId), syncMap);
+		}
+	}
+
+	/**
+	 * Adds the vanilla entries of a registry as they currently are, which the server confirmed to be identical to its own ones.
+	 */
+	private static <T> void addVanillaEntries(Registry<T> registry, Map<String, Collection<SynchronizedRegistry.SyncEntry>> syncMap) {
+		var synchronizedRegistry = SynchronizedRegistry.as(registry);
+
+		for (var entry : registry) {
+			var id = registry.getId(entry);
+			byte flags = synchronizedRegistry.quilt$getEntryFlag(entry);
+
+			if (id != null && ServerRegistrySync.isNamespaceVanilla(id.getNamespace()) && !RegistryFlag.isSkipped(flags)) {
+				syncMap.computeIfAbsent(id.getNamespace(), n -> new ArrayList<>())
+						.add(new SynchronizedRegistry.SyncEntry(id.getPath(), registry.getRawId(entry), flags));
+			}
+		}
 	}
 
 	@SuppressWarnings("EqualsBetweenInconvertibleTypes")
@@ -262,7 +311,6 @@ private static void handleApplyPacket(MinecraftClient client, ClientConfiguratio
 			return;
 		}
 
-		var reg = currentRegistry;
 		var missingEntries = currentRegistry.quilt$applySyncMap(syncMap);
 
 		if (!optionalRegistry && checkMissingAndDisconnect(handler, currentRegistryId, missingEntries, sender)) {
@@ -270,15 +318,7 @@ private static void handleApplyPacket(MinecraftClient client, ClientConfiguratio
 			return;
 		}
 
-		if (reg == Registries.BLOCK) {
-			rebuildBlocks(client);
-		} else if (reg == Registries.FLUID) {
-			rebuildFluidStates();
-		} else if (reg == Registries.ITEM) {
-			rebuildItems(client);
-		} else if (reg == Registries.PARTICLE_TYPE) {
-			rebuildParticles(client);
-		}
+		rebuildChanged(client);
 
 		var optionalMissing = new IntArrayList();
 		for (var entry : missingEntries) {
@@ -321,6 +361,20 @@ private static <T, S> ClientConfigurationNetworking.CustomChannelReceiver<Server
 		};
 	}
 
+	private static void handleStateHashes(MinecraftClient client, ClientConfigurationNetworkHandler handler, ServerPackets.ValidateStateHashes hashes, PacketSender<CustomPayload> sender) {
+		var localHashes = ServerRegistrySync.getStateHashes(hashes.type());
+		var mismatched = new ArrayList<String>();
+
+		for (var entry : hashes.hashes().object2LongEntrySet()) {
+			if (!localHashes.containsKey(entry.getKey()) || localHashes.getLong(entry.getKey()) != entry.getLongValue()) {
+				mismatched.add(entry.getKey());
+			}
+		}
+
+		// The server sends the full state lists of mismatched namespaces, which are then validated as usual.
+		sender.sendPayload(new ClientPackets.MismatchedStates(hashes.type(), mismatched));
+	}
+
 	private static void clearState() {
 		currentRegistry = null;
 		currentRegistryId = null;
@@ -363,11 +417,33 @@ public static void rebuildFluidStates() {
 		}
 	}
 
-	public static void rebuildEverything(MinecraftClient client) {
-		rebuildBlocks(client);
-		rebuildFluidStates();
-		rebuildItems(client);
-		rebuildParticles(client);
+	/**
+	 * Rebuilds only the structures depending on registries whose raw ids changed since they were last rebuilt.
+	 * Notably, this does nothing when reconnecting to a server with identical ids.
+	 */
+	public static void rebuildChanged(MinecraftClient client) {
+		if (pollIdsChanged(Registries.BLOCK)) {
+			rebuildBlocks(client);
+		}
+
+		if (pollIdsChanged(Registries.FLUID)) {
+			rebuildFluidStates();
+		}
+
+		if (pollIdsChanged(Registries.ITEM)) {
+			rebuildItems(client);
+		}
+
+		if (pollIdsChanged(Registries.PARTICLE_TYPE)) {
+			rebuildParticles(client);
+		}
+	}
+
+	private static boolean pollIdsChanged(Registry<?> registry) {
+		var synchronizedRegistry = (SynchronizedRegistry<?>) registry;
+		boolean changed = synchronizedRegistry.quilt$haveIdsChanged();
+		synchronizedRegistry.quilt$clearIdsChanged();
+		return changed;
 	}
 
 	public static boolean checkMissingAndDisconnect(ClientConfigurationNetworkHandler handler, Identifier registry, Collection<SynchronizedRegistry.MissingEntry> missingEntries, PacketSender<CustomPayload> sender) {
@@ -433,7 +509,7 @@ public static void restoreSnapshot(MinecraftClient client) {
 			}
 		}
 
-		rebuildEverything(client);
+		rebuildChanged(client);
 	}
 
 	public static void disconnectCleanup(MinecraftClient client) {
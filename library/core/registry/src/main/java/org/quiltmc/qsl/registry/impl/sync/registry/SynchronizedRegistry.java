@@ -42,6 +42,14 @@
 
 	Collection<MissingEntry> quilt$applySyncMap(Map<String, Collection<SyncEntry>> map);
 
+	/**
+	 * {@return {@code true} if applying a sync map or restoring the snapshot changed the raw ids of this registry}
+	 * This stays set until {@link #quilt$clearIdsChanged()} is called, once the structures depending on them are rebuilt.
+	 */
+	boolean quilt$haveIdsChanged();
+
+	void quilt$clearIdsChanged();
+
 	@SuppressWarnings("unchecked")
 	static <T> SynchronizedRegistry<T> as(Registry<T> registry) {
 		return (SynchronizedRegistry<T>) registry;
@@ -19,12 +19,12 @@
 import java.util.function.Consumer;
 
 import net.minecraft.network.ServerConfigurationPacketHandler;
-import net.minecraft.network.configuration.ConfigurationTask;
 import net.minecraft.network.packet.Packet;
 
+import org.quiltmc.qsl.networking.api.PipelinedConfigurationTask;
 import org.quiltmc.qsl.networking.api.ServerConfigurationTaskManager;
 
-public class FabricSyncTask implements ConfigurationTask {
+public class FabricSyncTask implements PipelinedConfigurationTask {
 	public static final Type TYPE = new Type("fabric:registry_sync");
 	private final ServerConfigurationPacketHandler packetHandler;
 
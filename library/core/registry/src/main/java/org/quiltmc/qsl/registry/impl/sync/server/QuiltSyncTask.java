@@ -16,28 +16,36 @@
 
 package org.quiltmc.qsl.registry.impl.sync.server;
 
+import java.util.EnumSet;
+import java.util.Set;
 import java.util.function.Consumer;
 
 import com.mojang.logging.LogUtils;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongMaps;
 import org.slf4j.Logger;
 
 import net.minecraft.network.ClientConnection;
 import net.minecraft.network.ServerConfigurationPacketHandler;
-import net.minecraft.network.configuration.ConfigurationTask;
 import net.minecraft.network.packet.Packet;
 import net.minecraft.registry.Registries;
+import net.minecraft.util.Identifier;
 
+import org.quiltmc.qsl.networking.api.PipelinedConfigurationTask;
 import org.quiltmc.qsl.networking.api.ServerConfigurationTaskManager;
 import org.quiltmc.qsl.registry.impl.sync.ClientPackets;
 import org.quiltmc.qsl.registry.impl.sync.ProtocolVersions;
+import org.quiltmc.qsl.registry.impl.sync.ServerPackets;
 
-public class QuiltSyncTask implements ConfigurationTask {
+public class QuiltSyncTask implements PipelinedConfigurationTask {
 	public static final Type TYPE = new Type("qsl:registry_sync");
 	private static final Logger LOGGER = LogUtils.getLogger();
 	private final ServerConfigurationPacketHandler packetHandler;
 	private final ExtendedConnectionClient extendedConnection;
 	private Consumer<Packet<?>> sender;
 	private int syncVersion = ProtocolVersions.NO_PROTOCOL;
+	private Object2LongMap<Identifier> vanillaHashes = Object2LongMaps.emptyMap();
+	private final Set<ServerPackets.ValidateStates.StateType> pendingStateHashes = EnumSet.noneOf(ServerPackets.ValidateStates.StateType.class);
 
 	public QuiltSyncTask(ServerConfigurationPacketHandler packetHandler, ClientConnection connection) {
 		this.packetHandler = packetHandler;
@@ -57,11 +65,17 @@ public Type getType() {
 
 	private void sendSyncPackets(Consumer<Packet<?>> sender) {
 		this.extendedConnection.quilt$setUnderstandsOptional();
-		ServerRegistrySync.sendSyncPackets(sender, this.syncVersion);
+
+		if (ServerRegistrySync.awaitsStateHashes(this.syncVersion)) {
+			this.pendingStateHashes.addAll(EnumSet.allOf(ServerPackets.ValidateStates.StateType.class));
+		}
+
+		ServerRegistrySync.sendSyncPackets(sender, this.syncVersion, this.vanillaHashes);
 	}
 
 	public void handleHandshake(ClientPackets.Handshake handshake) {
 		this.syncVersion = handshake.version();
+		this.vanillaHashes = handshake.vanillaHashes();
 		this.sendSyncPackets(this.sender);
 	}
 
@@ -85,6 +99,22 @@ public void handleUnknownEntry(ClientPackets.UnknownEntry unknownEntry) {
 		});
 	}
 
+	public void handleMismatchedStates(ClientPackets.MismatchedStates mismatchedStates) {
+		if (!this.pendingStateHashes.remove(mismatchedStates.type())) {
+			LOGGER.warn("Received unexpected {} state hash answer from {}", mismatchedStates.type(), this.packetHandler.getHost().getName());
+			return;
+		}
+
+		if (!mismatchedStates.namespaces().isEmpty()) {
+			var namespaces = Set.copyOf(mismatchedStates.namespaces());
+			ServerRegistrySync.sendStateValidation(this.sender, mismatchedStates.type(), namespaces::contains);
+		}
+
+		if (this.pendingStateHashes.isEmpty()) {
+			ServerRegistrySync.sendEndPacket(this.sender);
+		}
+	}
+
 	public void handleEnd(ClientPackets.End end) {
 		if (this.syncVersion == ProtocolVersions.NO_PROTOCOL && ServerRegistrySync.requiresSync()) {
 			this.packetHandler.disconnect(ServerRegistrySync.noRegistrySyncMessage);
@@ -18,16 +18,25 @@
 
 import static org.quiltmc.qsl.networking.api.ServerConfigurationNetworking.createS2CPacket;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.Hashing;
+import it.unimi.dsi.fastutil.HashCommon;
 import it.unimi.dsi.fastutil.ints.Int2ObjectArrayMap;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
 import org.jetbrains.annotations.ApiStatus;
 
 import net.minecraft.block.Block;
@@ -55,11 +64,14 @@
 import org.quiltmc.qsl.registry.impl.sync.ProtocolVersions;
 import org.quiltmc.qsl.registry.impl.sync.ServerPackets;
 import org.quiltmc.qsl.registry.impl.sync.mod_protocol.ModProtocolImpl;
+import org.quiltmc.qsl.registry.impl.sync.registry.RegistryFlag;
 import org.quiltmc.qsl.registry.impl.sync.registry.SynchronizedRegistry;
 
 @ApiStatus.Internal
 public final class ServerRegistrySync {
-	private static final int MAX_SAFE_PACKET_SIZE = 734003;
+	@VisibleForTesting
+	public static final int MAX_SAFE_PACKET_SIZE = 734003;
+	private static final int MAX_VAR_INT_SIZE = 5;
 
 	public static Text noRegistrySyncMessage = Text.empty();
 	public static Text errorStyleHeader = Text.empty();
@@ -76,28 +88,42 @@ public static void registerHandlers() {
 		ServerConfigurationNetworking.registerGlobalReceiver(ClientPackets.Handshake.ID, ServerRegistrySync::handleHandshake);
 		ServerConfigurationNetworking.registerGlobalReceiver(ClientPackets.SyncFailed.ID, ServerRegistrySync::handleSyncFailed);
 		ServerConfigurationNetworking.registerGlobalReceiver(ClientPackets.UnknownEntry.ID, ServerRegistrySync::handleUnknownEntry);
+		ServerConfigurationNetworking.registerGlobalReceiver(ClientPackets.MismatchedStates.ID, ServerRegistrySync::handleMismatchedStates);
 		ServerConfigurationNetworking.registerGlobalReceiver(ClientPackets.ModProtocol.ID, ServerRegistrySync::handleModProtocol);
 		ServerConfigurationNetworking.registerGlobalReceiver(ClientPackets.End.ID, ServerRegistrySync::handleEnd);
 	}
 
 	public static void handleHandshake(MinecraftServer server, ServerConfigurationPacketHandler handler, ClientPackets.Handshake handshake, PacketSender<CustomPayload> responseSender) {
-		((QuiltSyncTask) ((ServerConfigurationTaskManager) handler).getCurrentTask()).handleHandshake(handshake);
+		getSyncTask(handler).handleHandshake(handshake);
 	}
 
 	public static void handleSyncFailed(MinecraftServer server, ServerConfigurationPacketHandler handler, ClientPackets.SyncFailed syncFailed, PacketSender<CustomPayload> responseSender) {
-		((QuiltSyncTask) ((ServerConfigurationTaskManager) handler).getCurrentTask()).handleSyncFailed(syncFailed);
+		getSyncTask(handler).handleSyncFailed(syncFailed);
 	}
 
 	public static void handleModProtocol(MinecraftServer server, ServerConfigurationPacketHandler handler, ClientPackets.ModProtocol modProtocol, PacketSender<CustomPayload> responseSender) {
-		((QuiltSyncTask) ((ServerConfigurationTaskManager) handler).getCurrentTask()).handleModProtocol(modProtocol);
+		getSyncTask(handler).handleModProtocol(modProtocol);
 	}
 
 	public static void handleUnknownEntry(MinecraftServer server, ServerConfigurationPacketHandler handler, ClientPackets.UnknownEntry unknownEntry, PacketSender<CustomPayload> responseSender) {
-		((QuiltSyncTask) ((ServerConfigurationTaskManager) handler).getCurrentTask()).handleUnknownEntry(unknownEntry);
+		getSyncTask(handler).handleUnknownEntry(unknownEntry);
+	}
+
+	public static void handleMismatchedStates(MinecraftServer server, ServerConfigurationPacketHandler handler, ClientPackets.MismatchedStates mismatchedStates, PacketSender<CustomPayload> responseSender) {
+		getSyncTask(handler).handleMismatchedStates(mismatchedStates);
 	}
 
 	public static void handleEnd(MinecraftServer server, ServerConfigurationPacketHandler handler, ClientPackets.End end, PacketSender<CustomPayload> responseSender) {
-		((QuiltSyncTask) ((ServerConfigurationTaskManager) handler).getCurrentTask()).handleEnd(end);
+		getSyncTask(handler).handleEnd(end);
+	}
+
+	private static QuiltSyncTask getSyncTask(ServerConfigurationPacketHandler handler) {
+		// The sync task is pipelined, so it isn't necessarily the current task of the handler.
+		if (((ServerConfigurationTaskManager) handler).getRunningTask(QuiltSyncTask.TYPE) instanceof QuiltSyncTask task) {
+			return task;
+		}
+
+		throw new IllegalStateException("Received a registry sync packet while no registry sync is running");
 	}
 
 	public static void readConfig() {
@@ -199,7 +225,7 @@ public static boolean requiresSync() {
 		return false;
 	}
 
-	public static void sendSyncPackets(Consumer<Packet<?>> sender, int syncVersion) {
+	public static void sendSyncPackets(Consumer<Packet<?>> sender, int syncVersion, Object2LongMap<Identifier> clientVanillaHashes) {
 		sendErrorStylePacket(sender);
 
 		if (ModProtocolImpl.enabled) {
@@ -211,47 +237,95 @@ public static void sendSyncPackets(Consumer<Packet<?>> sender, int syncVersion)
 					&& synchronizedRegistry.quilt$requiresSyncing() && synchronizedRegistry.quilt$getContentStatus() != SynchronizedRegistry.Status.VANILLA) {
 				var map = synchronizedRegistry.quilt$getSyncMap();
 
-				var packetData = new HashMap<String, ArrayList<SynchronizedRegistry.SyncEntry>>();
-
 				sendStartPacket(sender, registry);
-				int dataLength = 0;
-
-				for (var key : map.keySet()) {
-					dataLength += key.length();
-					var collection = map.get(key);
-					for (var entry : collection) {
-						packetData.computeIfAbsent(key, (k) -> new ArrayList<>()).add(entry);
-						dataLength += entry.path().length() + 4 + 1;
-
-						if (dataLength > MAX_SAFE_PACKET_SIZE) {
-							sendDataPacket(sender, packetData);
-							dataLength = 0;
-						}
-					}
-
-					if (!packetData.isEmpty()) {
-						sendDataPacket(sender, packetData);
-					}
+
+				if (syncVersion >= ProtocolVersions.COMPACT_DATA_VERSION) {
+					var registryId = Registries.REGISTRY.getId(registry);
+					boolean vanillaBaseline = clientVanillaHashes.containsKey(registryId)
+							&& clientVanillaHashes.getLong(registryId) == getVanillaEntriesHash(registry);
+
+					sendCompactData(sender, map, vanillaBaseline);
+				} else {
+					sendData(sender, map);
 				}
 
 				sender.accept(createS2CPacket(new ServerPackets.RegistryApply()));
 			}
 		}
 
+		if (awaitsStateHashes(syncVersion)) {
+			// The end packet is sent once the client answered every hash, see QuiltSyncTask.
+			for (var type : ServerPackets.ValidateStates.StateType.values()) {
+				sender.accept(createS2CPacket(new ServerPackets.ValidateStateHashes(type, getStateHashes(type))));
+			}
+
+			return;
+		}
+
 		if (stateValidation) {
-			sendStateValidationRequest(sender, ServerPackets.ValidateStates.StateType.BLOCK, Registries.BLOCK, Block.STATE_IDS, block -> block.getStateManager().getStates());
-			sendStateValidationRequest(sender, ServerPackets.ValidateStates.StateType.FLUID, Registries.FLUID, Fluid.STATE_IDS, fluid -> fluid.getStateManager().getStates());
+			sendStateValidation(sender, ServerPackets.ValidateStates.StateType.BLOCK, namespace -> true);
+			sendStateValidation(sender, ServerPackets.ValidateStates.StateType.FLUID, namespace -> true);
 		}
 
+		sendEndPacket(sender);
+	}
+
+	public static void sendEndPacket(Consumer<Packet<?>> sender) {
 		sender.accept(createS2CPacket(new ServerPackets.End()));
 	}
 
-	private static <T, B> void sendStateValidationRequest(Consumer<Packet<?>> sender, ServerPackets.ValidateStates.StateType type, Registry<T> registry, IdList<B> stateList, Function<T, Collection<B>> toStates) {
+	/**
+	 * {@return {@code true} if states are validated by namespace hashes first for the given protocol version, delaying the end packet}
+	 */
+	public static boolean awaitsStateHashes(int syncVersion) {
+		return stateValidation && syncVersion >= ProtocolVersions.STATE_HASH_VERSION;
+	}
+
+	public static void sendStateValidation(Consumer<Packet<?>> sender, ServerPackets.ValidateStates.StateType type, Predicate<String> namespaceFilter) {
+		switch (type) {
+			case BLOCK -> sendStateValidationRequest(sender, type, Registries.BLOCK, Block.STATE_IDS, block -> block.getStateManager().getStates(), namespaceFilter);
+			case FLUID -> sendStateValidationRequest(sender, type, Registries.FLUID, Fluid.STATE_IDS, fluid -> fluid.getStateManager().getStates(), namespaceFilter);
+		}
+	}
+
+	public static Object2LongMap<String> getStateHashes(ServerPackets.ValidateStates.StateType type) {
+		return switch (type) {
+			case BLOCK -> getStateHashes(Registries.BLOCK, Block.STATE_IDS, block -> block.getStateManager().getStates());
+			case FLUID -> getStateHashes(Registries.FLUID, Fluid.STATE_IDS, fluid -> fluid.getStateManager().getStates());
+		};
+	}
+
+	/**
+	 * Computes a hash of the state ids of the entries of each namespace, which is independent of the iteration order.
+	 * Entries are skipped the same way as in the full state validation.
+	 */
+	private static <T, B> Object2LongMap<String> getStateHashes(Registry<T> registry, IdList<B> stateList, Function<T, Collection<B>> toStates) {
+		var hashes = new Object2LongOpenHashMap<String>();
+
+		for (var key : registry) {
+			if (RegistrySynchronization.isEntryOptional((SimpleRegistry<? super T>) registry, key)) {
+				continue;
+			}
+
+			long hash = registry.getRawId(key);
+
+			for (var entry : toStates.apply(key)) {
+				hash = hash * 31 + stateList.getRawId(entry);
+			}
+
+			hashes.addTo(registry.getId(key).getNamespace(), HashCommon.murmurHash3(hash));
+		}
+
+		return hashes;
+	}
+
+	private static <T, B> void sendStateValidationRequest(Consumer<Packet<?>> sender, ServerPackets.ValidateStates.StateType type, Registry<T> registry, IdList<B> stateList, Function<T, Collection<B>> toStates, Predicate<String> namespaceFilter) {
 		int dataLength = 0;
 		var packetData = new Int2ObjectArrayMap<IntList>();
 
 		for (var key : registry) {
-			if (RegistrySynchronization.isEntryOptional((SimpleRegistry<? super T>) registry, key)) {
+			if (RegistrySynchronization.isEntryOptional((SimpleRegistry<? super T>) registry, key)
+					|| !namespaceFilter.test(registry.getId(key).getNamespace())) {
 				continue;
 			}
 
@@ -302,6 +376,128 @@ private static <T extends Registry<?>> void sendStartPacket(Consumer<Packet<?>>
 		sender.accept(createS2CPacket(new ServerPackets.RegistryStart<T>(registry)));
 	}
 
+	private static void sendData(Consumer<Packet<?>> sender, Map<String, Collection<SynchronizedRegistry.SyncEntry>> map) {
+		var packetData = new HashMap<String, ArrayList<SynchronizedRegistry.SyncEntry>>();
+		int dataLength = 0;
+
+		for (var key : map.keySet()) {
+			dataLength += key.length();
+			var collection = map.get(key);
+			for (var entry : collection) {
+				packetData.computeIfAbsent(key, (k) -> new ArrayList<>()).add(entry);
+				dataLength += entry.path().length() + 4 + 1;
+
+				if (dataLength > MAX_SAFE_PACKET_SIZE) {
+					sendDataPacket(sender, packetData);
+					dataLength = 0;
+				}
+			}
+
+			if (!packetData.isEmpty()) {
+				sendDataPacket(sender, packetData);
+			}
+		}
+	}
+
+	@VisibleForTesting
+	public static void sendCompactData(Consumer<Packet<?>> sender, Map<String, Collection<SynchronizedRegistry.SyncEntry>> map, boolean vanillaBaseline) {
+		var packetData = new HashMap<String, List<SynchronizedRegistry.SyncEntry>>();
+		// Unlike the original format, namespaces are packed together and sizes are exact.
+		// The size is the one of the uncompressed body, which bounds the compressed size as well.
+		int dataLength = MAX_VAR_INT_SIZE;
+		boolean baselinePending = vanillaBaseline;
+
+		for (var namespace : map.entrySet()) {
+			if (vanillaBaseline && isNamespaceVanilla(namespace.getKey())) {
+				continue;
+			}
+
+			var entries = new ArrayList<>(namespace.getValue());
+			entries.sort(Comparator.comparing(SynchronizedRegistry.SyncEntry::path));
+
+			List<SynchronizedRegistry.SyncEntry> current = null;
+			var previousPath = "";
+			int previousId = 0;
+
+			for (var entry : entries) {
+				int size = current == null
+						? ServerPackets.CompactRegistryData.sizeOfNamespace(namespace.getKey(), entries.size())
+						+ ServerPackets.CompactRegistryData.sizeOfEntry("", 0, entry)
+						: ServerPackets.CompactRegistryData.sizeOfEntry(previousPath, previousId, entry);
+
+				// Split before the entry that would make the packet exceed the limit, so no packet is ever larger than it.
+				if (dataLength + size > MAX_SAFE_PACKET_SIZE && !packetData.isEmpty()) {
+					sendCompactDataPacket(sender, baselinePending, packetData);
+					baselinePending = false;
+					dataLength = MAX_VAR_INT_SIZE;
+					current = null;
+					size = ServerPackets.CompactRegistryData.sizeOfNamespace(namespace.getKey(), entries.size())
+							+ ServerPackets.CompactRegistryData.sizeOfEntry("", 0, entry);
+				}
+
+				if (current == null) {
+					current = new ArrayList<>();
+					packetData.put(namespace.getKey(), current);
+				}
+
+				current.add(entry);
+				dataLength += size;
+				previousPath = entry.path();
+				previousId = entry.rawId();
+			}
+		}
+
+		// The vanilla baseline must be sent even if every entry is part of it.
+		if (!packetData.isEmpty() || baselinePending) {
+			sendCompactDataPacket(sender, baselinePending, packetData);
+		}
+	}
+
+	/**
+	 * Computes a hash of the vanilla entries of a registry.
+	 * <p>
+	 * Both sides compute it, so the server can skip sending vanilla entries the client already has with the same raw ids.
+	 * The full identifier, raw id and flags of every entry are digested in raw id order,
+	 * since a collision would silently desynchronize raw ids.
+	 *
+	 * @param registry the registry
+	 * @param <T>      the type of the registry entries
+	 * @return the hash of the vanilla entries
+	 */
+	public static <T> long getVanillaEntriesHash(Registry<T> registry) {
+		var synchronizedRegistry = SynchronizedRegistry.as(registry);
+		var entries = new ArrayList<T>();
+
+		for (var entry : registry) {
+			var id = registry.getId(entry);
+
+			if (id != null && isNamespaceVanilla(id.getNamespace()) && !RegistryFlag.isSkipped(synchronizedRegistry.quilt$getEntryFlag(entry))) {
+				entries.add(entry);
+			}
+		}
+
+		entries.sort(Comparator.comparingInt(registry::getRawId));
+		var hasher = Hashing.sha256().newHasher();
+
+		for (var entry : entries) {
+			var id = registry.getId(entry);
+
+			hasher.putInt(registry.getRawId(entry))
+					.putInt(id.getNamespace().length())
+					.putString(id.getNamespace(), StandardCharsets.UTF_8)
+					.putInt(id.getPath().length())
+					.putString(id.getPath(), StandardCharsets.UTF_8)
+					.putByte(synchronizedRegistry.quilt$getEntryFlag(entry));
+		}
+
+		return hasher.putInt(entries.size()).hash().asLong();
+	}
+
+	private static void sendCompactDataPacket(Consumer<Packet<?>> sender, boolean vanillaBaseline, Map<String, List<SynchronizedRegistry.SyncEntry>> packetData) {
+		sender.accept(createS2CPacket(new ServerPackets.CompactRegistryData(vanillaBaseline, Map.copyOf(packetData))));
+		packetData.clear();
+	}
+
 	private static void sendDataPacket(Consumer<Packet<?>> sender, Map<String, ArrayList<SynchronizedRegistry.SyncEntry>> packetData) {
 		sender.accept(createS2CPacket(new ServerPackets.RegistryData(Map.copyOf(packetData))));
 		packetData.clear();
@@ -16,18 +16,20 @@
 
 package org.quiltmc.qsl.registry.impl.sync.server;
 
+import java.util.Set;
 import java.util.function.Consumer;
 
 import net.minecraft.network.ServerConfigurationPacketHandler;
 import net.minecraft.network.configuration.ConfigurationTask;
 import net.minecraft.network.packet.Packet;
 
+import org.quiltmc.qsl.networking.api.PipelinedConfigurationTask;
 import org.quiltmc.qsl.networking.api.ServerConfigurationNetworking;
 import org.quiltmc.qsl.networking.api.ServerConfigurationTaskManager;
 import org.quiltmc.qsl.registry.impl.sync.ServerPackets;
 import org.quiltmc.qsl.registry.mixin.AbstractServerPacketHandlerAccessor;
 
-public record SetupSyncTask(ServerConfigurationPacketHandler handler) implements ConfigurationTask {
+public record SetupSyncTask(ServerConfigurationPacketHandler handler) implements PipelinedConfigurationTask {
 	public static final ConfigurationTask.Type TYPE = new Type("qsl:configure_sync");
 
 	@Override
@@ -46,6 +48,12 @@ public void start(Consumer<Packet<?>> task) {
 		((ServerConfigurationTaskManager) this.handler).finishTask(TYPE);
 	}
 
+	@Override
+	public Set<Type> getDependencies() {
+		// The sync method depends on the channels the client can receive
+		return CHANNEL_DISCOVERY;
+	}
+
 	@Override
 	public Type getType() {
 		return TYPE;
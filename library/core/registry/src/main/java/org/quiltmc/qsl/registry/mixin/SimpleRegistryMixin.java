@@ -28,6 +28,7 @@
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import it.unimi.dsi.fastutil.objects.ObjectList;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
 import org.jetbrains.annotations.Nullable;
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
@@ -90,6 +91,9 @@
 	@Nullable
 	private ObjectList<Holder.Reference<V>> quilt$idSnapshot;
 
+	@Unique
+	private boolean quilt$idsChanged;
+
 	@Unique
 	private byte quilt$flags;
 
@@ -103,6 +107,9 @@
 	@Unique
 	private Event<RegistryEvents.EntryAdded<V>> quilt$entryAddedEvent;
 
+	@Unique
+	private Event<RegistryEvents.RawIdsChanged<V>> quilt$rawIdsChangedEvent;
+
 	// HACK TODO for some reason initializing this like normal doesnt work. i dont care to figure out why - glitch
 	@Inject(method = "<init>(Lnet/minecraft/registry/RegistryKey;Lcom/mojang/serialization/Lifecycle;Z)V", at = @At("TAIL"))
 	private void quilt$onSimpleRegistryInit(RegistryKey key, Lifecycle lifecycle, boolean useIntrusiveHolders, CallbackInfo ci) {
@@ -124,6 +131,12 @@
 						callback.onAdded(context);
 					}
 				});
+		this.quilt$rawIdsChangedEvent = Event.create(RegistryEvents.RawIdsChanged.class,
+				callbacks -> registry -> {
+					for (var callback : callbacks) {
+						callback.onRawIdsChanged(registry);
+					}
+				});
 	}
 
 	@SuppressWarnings("InvalidInjectorMethodSignature")
@@ -233,9 +246,17 @@
 
 		var missingEntries = new ArrayList<MissingEntry>();
 
-		var holders = new ArrayList<>(this.rawIdToEntry);
+		var previous = new ObjectArrayList<>(this.rawIdToEntry);
+		// Keeps the original order for entries unknown to the server, while allowing constant time removal.
+		var holders = new ReferenceLinkedOpenHashSet<Holder.Reference<V>>(previous.size());
 		int currentId = 0;
 
+		for (var holder : previous) {
+			if (holder != null) {
+				holders.add(holder);
+			}
+		}
+
 		this.entryToRawId.clear();
 		this.rawIdToEntry.clear();
 
@@ -266,8 +287,6 @@
 		}
 
 		for (var holder : holders) {
-			if (holder == null) continue;
-
 			var id = ++currentId;
 			this.entryToRawId.put(holder.value(), id);
 			this.rawIdToEntry.set(id, holder);
@@ -275,9 +294,41 @@
 
 		this.holdersInOrder = null;
 
+		if (!quilt$sameRawIds(previous, this.rawIdToEntry)) {
+			this.quilt$idsChanged = true;
+			this.quilt$rawIdsChangedEvent.invoker().onRawIdsChanged(this);
+		}
+
 		return missingEntries;
 	}
 
+	@Unique
+	private static <V> boolean quilt$sameRawIds(List<Holder.Reference<V>> a, List<Holder.Reference<V>> b) {
+		int size = Math.max(a.size(), b.size());
+
+		for (int i = 0; i < size; i++) {
+			// Trailing padding is not a change of raw ids.
+			var holderA = i < a.size() ? a.get(i) : null;
+			var holderB = i < b.size() ? b.get(i) : null;
+
+			if (holderA != holderB) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	@Override
+	public boolean quilt$haveIdsChanged() {
+		return this.quilt$idsChanged;
+	}
+
+	@Override
+	public void quilt$clearIdsChanged() {
+		this.quilt$idsChanged = false;
+	}
+
 	@Override
 	public void quilt$markDirty() {
 		this.quilt$syncMap = null;
@@ -316,6 +367,8 @@
 	@Override
 	public void quilt$restoreIdSnapshot() {
 		if (this.quilt$idSnapshot != null) {
+			boolean changed = !quilt$sameRawIds(this.quilt$idSnapshot, this.rawIdToEntry);
+			this.quilt$idsChanged |= changed;
 			this.rawIdToEntry.clear();
 			this.rawIdToEntry.addAll(this.quilt$idSnapshot);
 			var size = this.rawIdToEntry.size();
@@ -327,7 +380,13 @@
 				}
 			}
 
+			this.holdersInOrder = null;
+
 			this.quilt$idSnapshot = null;
+
+			if (changed) {
+				this.quilt$rawIdsChangedEvent.invoker().onRawIdsChanged(this);
+			}
 		}
 	}
 
@@ -335,4 +394,9 @@
 	public Event<RegistryEvents.EntryAdded<V>> quilt$getEntryAddedEvent() {
 		return this.quilt$entryAddedEvent;
 	}
+
+	@Override
+	public Event<RegistryEvents.RawIdsChanged<V>> quilt$getRawIdsChangedEvent() {
+		return this.quilt$rawIdsChangedEvent;
+	}
 }
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2023 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.registry.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.mojang.serialization.Lifecycle;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.network.encoding.VarInts;
+import net.minecraft.network.packet.s2c.common.CustomPayloadS2CPacket;
+import net.minecraft.registry.Registry;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.registry.SimpleRegistry;
+import net.minecraft.util.Identifier;
+
+import org.quiltmc.qsl.registry.impl.sync.ServerPackets.CompactRegistryData;
+import org.quiltmc.qsl.registry.impl.sync.registry.SynchronizedRegistry.SyncEntry;
+import org.quiltmc.qsl.registry.impl.sync.server.ServerRegistrySync;
+
+public class CompactRegistryDataTests {
+	@BeforeAll
+	static void beforeAll() {
+		SharedConstants.createGameVersion();
+		Bootstrap.initialize();
+	}
+
+	private static PacketByteBuf encode(CompactRegistryData data) {
+		var buf = new PacketByteBuf(Unpooled.buffer());
+		data.write(buf);
+		return buf;
+	}
+
+	private static CompactRegistryData roundTrip(CompactRegistryData data) {
+		var buf = encode(data);
+		var decoded = new CompactRegistryData(buf);
+
+		assertEquals(0, buf.readableBytes(), "The whole packet must be read");
+		return decoded;
+	}
+
+	private static SyncEntry entry(String path, int rawId) {
+		return new SyncEntry(path, rawId, (byte) 0);
+	}
+
+	@Test
+	void roundTripsFrontCodedPaths() {
+		var data = new CompactRegistryData(false, Map.of(
+				"test", List.of(entry("stone", 1), entry("stone_bricks", 2), entry("stone_slab", 3), entry("stonecutter", 4), entry("a", 5)),
+				"other", List.of(entry("a/b", 7), entry("a/bc", 8), entry("a/b/c", 9))
+		));
+
+		assertEquals(data, roundTrip(data));
+	}
+
+	@Test
+	void roundTripsNegativeDeltasAndFlags() {
+		var data = new CompactRegistryData(true, Map.of(
+				"test", List.of(new SyncEntry("a", 1000, (byte) 3), entry("b", 0), entry("c", Integer.MAX_VALUE), entry("d", -1))
+		));
+
+		var decoded = roundTrip(data);
+		assertTrue(decoded.vanillaBaseline());
+		assertEquals(data.packetData(), decoded.packetData());
+	}
+
+	@Test
+	void roundTripsEmptyBaseline() {
+		var data = new CompactRegistryData(true, Map.of());
+
+		assertEquals(data, roundTrip(data));
+	}
+
+	@Test
+	void entrySizesAreExact() {
+		var entries = List.of(entry("stone", 1), entry("stone_bricks", 300), entry("stone_slab", 2), entry("granite", 70000));
+		int expected = 1 + VarInts.getSizeBytes(1) + CompactRegistryData.sizeOfNamespace("test", entries.size());
+		var previousPath = "";
+		int previousId = 0;
+
+		for (var entry : entries) {
+			expected += CompactRegistryData.sizeOfEntry(previousPath, previousId, entry);
+			previousPath = entry.path();
+			previousId = entry.rawId();
+		}
+
+		// The body stays below the compression threshold, so it is written as is after the flags byte.
+		assertEquals(expected, encode(new CompactRegistryData(false, Map.of("test", entries))).readableBytes());
+	}
+
+	@Test
+	void sharedPrefixesAreNotRepeated() {
+		var shared = CompactRegistryData.sizeOfEntry("stone_bricks", 1, entry("stone_slab", 2));
+		var unshared = CompactRegistryData.sizeOfEntry("", 1, entry("stone_slab", 2));
+
+		assertEquals("stone_".length(), unshared - shared);
+	}
+
+	@Test
+	void smallBodiesAreNotDeflated() {
+		var buf = encode(new CompactRegistryData(false, Map.of("test", List.of(entry("stone", 1)))));
+
+		assertEquals(0, buf.getByte(0) & 0x2);
+	}
+
+	@Test
+	void largeBodiesAreDeflated() {
+		var entries = new ArrayList<SyncEntry>();
+
+		for (int i = 0; i < 1000; i++) {
+			entries.add(entry("block_" + i, i));
+		}
+
+		var data = new CompactRegistryData(true, Map.of("test", entries));
+		var buf = encode(data);
+
+		assertNotEquals(0, buf.getByte(0) & 0x2);
+		assertEquals(data, roundTrip(data));
+	}
+
+	@Test
+	void largeRegistriesAreSplit() {
+		var entries = new ArrayList<SyncEntry>();
+		var padding = "x".repeat(200);
+
+		for (int i = 0; i < 10000; i++) {
+			entries.add(entry(i + padding, i));
+		}
+
+		var sent = new ArrayList<CompactRegistryData>();
+		ServerRegistrySync.sendCompactData(packet -> sent.add((CompactRegistryData) ((CustomPayloadS2CPacket) packet).payload()),
+				Map.of("test", entries), true);
+
+		assertTrue(sent.size() > 1, "Registry data must be split over several packets");
+
+		var received = new HashMap<String, List<SyncEntry>>();
+
+		for (int i = 0; i < sent.size(); i++) {
+			var data = sent.get(i);
+			assertEquals(i == 0, data.vanillaBaseline(), "Only the first packet carries the vanilla baseline");
+
+			int size = 0;
+
+			for (var namespace : data.packetData().entrySet()) {
+				size += CompactRegistryData.sizeOfNamespace(namespace.getKey(), namespace.getValue().size());
+				var previousPath = "";
+				int previousId = 0;
+
+				for (var entry : namespace.getValue()) {
+					size += CompactRegistryData.sizeOfEntry(previousPath, previousId, entry);
+					previousPath = entry.path();
+					previousId = entry.rawId();
+				}
+
+				received.computeIfAbsent(namespace.getKey(), n -> new ArrayList<>()).addAll(namespace.getValue());
+			}
+
+			assertTrue(size <= ServerRegistrySync.MAX_SAFE_PACKET_SIZE, "Packet body is too large: " + size);
+			assertEquals(data, roundTrip(data));
+		}
+
+		assertEquals(entries.size(), received.get("test").size());
+		assertTrue(received.get("test").containsAll(entries));
+	}
+
+	@Test
+	void vanillaNamespacesAreSkippedWithBaseline() {
+		var sent = new ArrayList<CompactRegistryData>();
+		Map<String, Collection<SyncEntry>> map = Map.of("minecraft", List.of(entry("stone", 1)), "test", List.of(entry("stone", 2)));
+
+		ServerRegistrySync.sendCompactData(packet -> sent.add((CompactRegistryData) ((CustomPayloadS2CPacket) packet).payload()), map, true);
+
+		assertEquals(1, sent.size());
+		assertEquals(Map.of("test", List.of(entry("stone", 2))), sent.get(0).packetData());
+	}
+
+	private static Registry<String> createRegistry(String... paths) {
+		var registry = new SimpleRegistry<String>(RegistryKey.ofRegistry(new Identifier("quilt_registry_testing", "hash")), Lifecycle.stable());
+
+		for (var path : paths) {
+			Registry.register(registry, new Identifier("minecraft", path), path);
+		}
+
+		return registry;
+	}
+
+	@Test
+	void vanillaHashIsStable() {
+		assertEquals(ServerRegistrySync.getVanillaEntriesHash(createRegistry("a", "b")), ServerRegistrySync.getVanillaEntriesHash(createRegistry("a", "b")));
+	}
+
+	@Test
+	void vanillaHashDependsOnRawIds() {
+		assertNotEquals(ServerRegistrySync.getVanillaEntriesHash(createRegistry("a", "b")), ServerRegistrySync.getVanillaEntriesHash(createRegistry("b", "a")));
+	}
+
+	@Test
+	void vanillaHashDistinguishesCollidingIdentifiers() {
+		// Both paths have the same String hash code.
+		assertEquals("ak".hashCode(), "c-".hashCode());
+		assertNotEquals(ServerRegistrySync.getVanillaEntriesHash(createRegistry("ak")), ServerRegistrySync.getVanillaEntriesHash(createRegistry("c-")));
+	}
+}
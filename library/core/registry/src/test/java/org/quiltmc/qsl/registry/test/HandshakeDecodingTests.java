@@ -0,0 +1,67 @@
+/*
+ * Copyright 2022 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.registry.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.DecoderException;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.util.Identifier;
+
+import org.quiltmc.qsl.registry.impl.sync.ClientPackets;
+import org.quiltmc.qsl.registry.impl.sync.ProtocolVersions;
+
+public class HandshakeDecodingTests {
+	@Test
+	void roundTripsVanillaHashes() {
+		var hashes = new Object2LongOpenHashMap<Identifier>();
+		hashes.put(new Identifier("block"), 42L);
+		hashes.put(new Identifier("item"), -1L);
+
+		var buf = new PacketByteBuf(Unpooled.buffer());
+		new ClientPackets.Handshake(ProtocolVersions.COMPACT_DATA_VERSION, hashes).write(buf);
+		var decoded = new ClientPackets.Handshake(buf);
+
+		assertEquals(0, buf.readableBytes(), "The whole packet must be read");
+		assertEquals(ProtocolVersions.COMPACT_DATA_VERSION, decoded.version());
+		assertEquals(hashes, decoded.vanillaHashes());
+	}
+
+	@Test
+	void rejectsCountsLargerThanThePacket() {
+		var buf = new PacketByteBuf(Unpooled.buffer());
+		buf.writeVarInt(ProtocolVersions.COMPACT_DATA_VERSION);
+		buf.writeVarInt(Integer.MAX_VALUE);
+		buf.writeIdentifier(new Identifier("block"));
+		buf.writeLong(42L);
+
+		assertThrows(DecoderException.class, () -> new ClientPackets.Handshake(buf));
+	}
+
+	@Test
+	void rejectsNegativeCounts() {
+		var buf = new PacketByteBuf(Unpooled.buffer());
+		buf.writeVarInt(ProtocolVersions.COMPACT_DATA_VERSION);
+		buf.writeVarInt(-1);
+
+		assertThrows(DecoderException.class, () -> new ClientPackets.Handshake(buf));
+	}
+}
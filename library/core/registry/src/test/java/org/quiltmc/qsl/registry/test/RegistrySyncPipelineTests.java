@@ -0,0 +1,129 @@
+/*
+ * Copyright 2023 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.registry.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import it.unimi.dsi.fastutil.objects.Object2LongMaps;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.network.ClientConnection;
+import net.minecraft.network.ServerConfigurationPacketHandler;
+import net.minecraft.network.configuration.ConfigurationTask;
+import net.minecraft.network.packet.Packet;
+import net.minecraft.network.packet.payload.CustomPayload;
+import net.minecraft.network.packet.s2c.common.CustomPayloadS2CPacket;
+
+import org.quiltmc.qsl.networking.api.PipelinedConfigurationTask;
+import org.quiltmc.qsl.networking.api.ServerConfigurationTaskManager;
+import org.quiltmc.qsl.networking.impl.server.ConfigurationTaskPipeline;
+import org.quiltmc.qsl.registry.impl.sync.ClientPackets;
+import org.quiltmc.qsl.registry.impl.sync.ProtocolVersions;
+import org.quiltmc.qsl.registry.impl.sync.ServerPackets;
+import org.quiltmc.qsl.registry.impl.sync.server.QuiltSyncTask;
+import org.quiltmc.qsl.registry.impl.sync.server.ServerRegistrySync;
+
+public class RegistrySyncPipelineTests {
+	private ServerConfigurationPacketHandler handler;
+	private ConfigurationTaskPipeline pipeline;
+	private AtomicBoolean completed;
+	private List<CustomPayload> sent;
+
+	@BeforeAll
+	static void beforeAll() {
+		SharedConstants.createGameVersion();
+		Bootstrap.initialize();
+	}
+
+	@BeforeEach
+	void setUp() {
+		this.completed = new AtomicBoolean();
+		this.pipeline = new ConfigurationTaskPipeline(() -> this.completed.set(true));
+		this.sent = new ArrayList<>();
+
+		// Routes the task manager of the handler to a real pipeline, like the handler mixin does
+		this.handler = mock(ServerConfigurationPacketHandler.class);
+		var taskManager = (ServerConfigurationTaskManager) this.handler;
+
+		doAnswer(invocation -> {
+			this.pipeline.add(invocation.getArgument(0));
+			return null;
+		}).when(taskManager).addTask(any());
+		doAnswer(invocation -> {
+			this.pipeline.finish(invocation.getArgument(0));
+			return null;
+		}).when(taskManager).finishTask(any());
+		when(taskManager.getRunningTask(any())).thenAnswer(invocation -> this.pipeline.getRunning(invocation.getArgument(0)));
+		// The pipeline itself is the current task, which must not be mistaken for the sync task
+		when(taskManager.getCurrentTask()).thenReturn(this.pipeline.createTask());
+	}
+
+	private void startSync() {
+		var task = new QuiltSyncTask(this.handler, mock(ClientConnection.class));
+		assertTrue(task instanceof PipelinedConfigurationTask);
+
+		((ServerConfigurationTaskManager) this.handler).addTask(task);
+		this.pipeline.createTask().start(this::send);
+	}
+
+	private void send(Packet<?> packet) {
+		this.sent.add(((CustomPayloadS2CPacket) packet).payload());
+	}
+
+	private long count(Class<? extends CustomPayload> type) {
+		return this.sent.stream().filter(type::isInstance).count();
+	}
+
+	@Test
+	void handshakeThroughPipeline() {
+		this.startSync();
+
+		assertInstanceOf(ServerPackets.Handshake.class, this.sent.get(0));
+		assertInstanceOf(QuiltSyncTask.class, ((ServerConfigurationTaskManager) this.handler).getRunningTask(QuiltSyncTask.TYPE));
+
+		// Before state hashes, the end packet directly follows the sync data
+		ServerRegistrySync.handleHandshake(null, this.handler, new ClientPackets.Handshake(ProtocolVersions.COMPACT_DATA_VERSION, Object2LongMaps.emptyMap()), null);
+		assertEquals(1, this.count(ServerPackets.End.class));
+		assertFalse(this.completed.get());
+
+		ServerRegistrySync.handleEnd(null, this.handler, new ClientPackets.End(), null);
+		assertTrue(this.completed.get());
+		assertNull(((ServerConfigurationTaskManager) this.handler).getRunningTask(QuiltSyncTask.TYPE));
+	}
+
+	@Test
+	void packetsWithoutRunningSyncAreRejected() {
+		assertThrows(IllegalStateException.class, () -> ServerRegistrySync.handleEnd(null, this.handler, new ClientPackets.End(), null));
+	}
+
+	@Test
+	void runningTaskLookupIgnoresOtherTypes() {
+		this.startSync();
+
+		assertNull(((ServerConfigurationTaskManager) this.handler).getRunningTask(new ConfigurationTask.Type("qsl:unknown")));
+	}
+}
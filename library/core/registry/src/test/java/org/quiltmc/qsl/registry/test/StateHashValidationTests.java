@@ -0,0 +1,120 @@
+/*
+ * Copyright 2023 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.registry.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import it.unimi.dsi.fastutil.objects.Object2LongMaps;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.network.ClientConnection;
+import net.minecraft.network.ServerConfigurationPacketHandler;
+import net.minecraft.network.packet.payload.CustomPayload;
+import net.minecraft.network.packet.s2c.common.CustomPayloadS2CPacket;
+
+import org.quiltmc.qsl.networking.api.ServerConfigurationTaskManager;
+import org.quiltmc.qsl.registry.impl.sync.ClientPackets;
+import org.quiltmc.qsl.registry.impl.sync.ProtocolVersions;
+import org.quiltmc.qsl.registry.impl.sync.ServerPackets;
+import org.quiltmc.qsl.registry.impl.sync.ServerPackets.ValidateStates.StateType;
+import org.quiltmc.qsl.registry.impl.sync.server.QuiltSyncTask;
+import org.quiltmc.qsl.registry.impl.sync.server.ServerRegistrySync;
+
+public class StateHashValidationTests {
+	private ServerConfigurationPacketHandler handler;
+	private List<CustomPayload> sent;
+
+	@BeforeAll
+	static void beforeAll() {
+		SharedConstants.createGameVersion();
+		Bootstrap.initialize();
+		ServerRegistrySync.stateValidation = true;
+	}
+
+	@BeforeEach
+	void setUp() {
+		this.sent = new ArrayList<>();
+		this.handler = mock(ServerConfigurationPacketHandler.class);
+
+		var task = new QuiltSyncTask(this.handler, mock(ClientConnection.class));
+		when(((ServerConfigurationTaskManager) this.handler).getRunningTask(any())).thenReturn(task);
+		task.start(packet -> this.sent.add(((CustomPayloadS2CPacket) packet).payload()));
+
+		ServerRegistrySync.handleHandshake(null, this.handler, new ClientPackets.Handshake(ProtocolVersions.STATE_HASH_VERSION, Object2LongMaps.emptyMap()), null);
+	}
+
+	private long count(Class<? extends CustomPayload> type) {
+		return this.sent.stream().filter(type::isInstance).count();
+	}
+
+	private void answer(StateType type, List<String> mismatchedNamespaces) {
+		ServerRegistrySync.handleMismatchedStates(null, this.handler, new ClientPackets.MismatchedStates(type, mismatchedNamespaces), null);
+	}
+
+	@Test
+	void hashesAreSentInsteadOfStates() {
+		assertEquals(StateType.values().length, this.count(ServerPackets.ValidateStateHashes.class));
+		assertEquals(0, this.count(ServerPackets.ValidateStates.class));
+		// The end packet waits on the answers of the client
+		assertEquals(0, this.count(ServerPackets.End.class));
+	}
+
+	@Test
+	void matchingHashesSkipStates() {
+		this.answer(StateType.BLOCK, List.of());
+		assertEquals(0, this.count(ServerPackets.End.class));
+
+		this.answer(StateType.FLUID, List.of());
+		assertEquals(0, this.count(ServerPackets.ValidateStates.class));
+		assertEquals(1, this.count(ServerPackets.End.class));
+	}
+
+	@Test
+	void mismatchedNamespacesFallBackToFullStates() {
+		this.answer(StateType.BLOCK, List.of("minecraft"));
+
+		var states = this.sent.stream()
+				.filter(ServerPackets.ValidateStates.class::isInstance)
+				.map(ServerPackets.ValidateStates.class::cast)
+				.toList();
+		assertFalse(states.isEmpty());
+		assertTrue(states.stream().allMatch(packet -> packet.type() == StateType.BLOCK));
+		assertEquals(0, this.count(ServerPackets.End.class));
+
+		this.answer(StateType.FLUID, List.of());
+		assertEquals(1, this.count(ServerPackets.End.class));
+	}
+
+	@Test
+	void unexpectedAnswersAreIgnored() {
+		this.answer(StateType.BLOCK, List.of());
+		this.answer(StateType.FLUID, List.of());
+		this.answer(StateType.FLUID, List.of("minecraft"));
+
+		assertEquals(0, this.count(ServerPackets.ValidateStates.class));
+		assertEquals(1, this.count(ServerPackets.End.class));
+	}
+}
@@ -19,25 +19,29 @@
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 import com.google.common.base.Suppliers;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.JsonObject;
 import com.mojang.logging.LogUtils;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.Unpooled;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
@@ -52,12 +56,17 @@
 
 import org.quiltmc.loader.api.QuiltLoader;
 import org.quiltmc.qsl.base.api.util.TriState;
+import org.quiltmc.qsl.resource.loader.impl.DirectResourceArena;
 import org.quiltmc.qsl.resource.loader.impl.ResourceLoaderImpl;
 
 /**
  * Represents an in-memory resource pack.
  * <p>
  * The resources of this pack are stored in memory instead of it being on-disk.
+ * They are indexed by namespace and sorted by path, which allows listing resources without looking at
+ * the resources outside the listed directory.
+ * <p>
+ * Packs which hold a lot of resources may store them {@linkplain Storage#DIRECT outside the Java heap}.
  */
 public abstract class InMemoryPack implements MutablePack {
 	private static final Logger LOGGER = LogUtils.getLogger();
@@ -65,9 +74,29 @@ public abstract class InMemoryPack implements MutablePack {
 	private static final boolean DUMP = TriState.fromProperty("quilt.resource_loader.debug.pack.dump_from_in_memory")
 			.toBooleanOrElse(QuiltLoader.isDevelopmentEnvironment());
 	private static final String VIRTUAL_ASYNC_THREADS_PROPERTY = "quilt.resource_loader.pack.virtual_async_threads";
-	private final Map<Identifier, Supplier<byte[]>> assets = new ConcurrentHashMap<>();
-	private final Map<Identifier, Supplier<byte[]>> data = new ConcurrentHashMap<>();
+	private final Map<String, NavigableMap<String, Resource>> assets = new ConcurrentHashMap<>();
+	private final Map<String, NavigableMap<String, Resource>> data = new ConcurrentHashMap<>();
 	private final Map<String, Supplier<byte[]>> root = new ConcurrentHashMap<>();
+	private final @Nullable DirectResourceArena arena;
+
+	/**
+	 * Creates a new in-memory resource pack which stores its resources {@linkplain Storage#HEAP on the Java heap}.
+	 */
+	public InMemoryPack() {
+		this(Storage.HEAP);
+	}
+
+	/**
+	 * Creates a new in-memory resource pack.
+	 *
+	 * @param storage where the resources of this pack are stored
+	 */
+	public InMemoryPack(@NotNull Storage storage) {
+		this.arena = switch (storage) {
+			case HEAP -> null;
+			case DIRECT -> new DirectResourceArena();
+		};
+	}
 
 	@Override
 	public @Nullable ResourceIoSupplier<InputStream> openRoot(String... path) {
@@ -78,7 +107,14 @@ public abstract class InMemoryPack implements MutablePack {
 
 	@Override
 	public @Nullable ResourceIoSupplier<InputStream> open(ResourceType type, Identifier id) {
-		return this.openResource(this.getResourceMap(type), id);
+		var resources = this.getResourceMap(type).get(id.getNamespace());
+
+		if (resources == null) {
+			return null;
+		}
+
+		var resource = resources.get(id.getPath());
+		return resource == null ? null : resource.open();
 	}
 
 	protected <T> @Nullable ResourceIoSupplier<InputStream> openResource(Map<T, Supplier<byte[]>> map, @NotNull T key) {
@@ -99,22 +135,30 @@ public abstract class InMemoryPack implements MutablePack {
 
 	@Override
 	public void listResources(ResourceType type, String namespace, String startingPath, ResourceConsumer consumer) {
-		this.getResourceMap(type).entrySet().stream()
-				.filter(entry -> entry.getKey().getNamespace().equals(namespace) && entry.getKey().getPath().startsWith(startingPath))
-				.forEach(entry -> {
-					byte[] bytes = entry.getValue().get();
-
-					if (bytes != null) {
-						consumer.accept(entry.getKey(), () -> new ByteArrayInputStream(bytes));
-					}
-				});
+		var resources = this.getResourceMap(type).get(namespace);
+
+		if (resources == null) {
+			return;
+		}
+
+		// Paths are sorted, so all the paths starting with the given path are next to each other.
+		for (var entry : resources.tailMap(startingPath, true).entrySet()) {
+			if (!entry.getKey().startsWith(startingPath)) {
+				break;
+			}
+
+			var resource = entry.getValue();
+			var supplier = resource.open();
+
+			if (supplier != null) {
+				consumer.accept(resource.id(), supplier);
+			}
+		}
 	}
 
 	@Override
 	public @Unmodifiable Set<String> getNamespaces(ResourceType type) {
-		return this.getResourceMap(type).keySet().stream()
-				.map(Identifier::getNamespace)
-				.collect(Collectors.toUnmodifiableSet());
+		return Set.copyOf(this.getResourceMap(type).keySet());
 	}
 
 	@Override
@@ -160,7 +204,8 @@ public void putResource(@NotNull String fileName, byte @NotNull [] resource) {
 
 	@Override
 	public void putResource(@NotNull ResourceType type, @NotNull Identifier id, byte @NotNull [] resource) {
-		this.getResourceMap(type).put(id, () -> resource);
+		var content = this.store(resource);
+		this.putResource(type, new Resource(id, () -> content));
 	}
 
 	@Override
@@ -170,7 +215,23 @@ public void putResource(@NotNull String fileName, @NotNull Supplier<byte[]> reso
 
 	@Override
 	public void putResource(@NotNull ResourceType type, @NotNull Identifier id, @NotNull Supplier<byte @NotNull []> resource) {
-		this.getResourceMap(type).put(id, Suppliers.memoize(resource::get));
+		this.putResource(type, new Resource(id, Suppliers.memoize(() -> {
+			byte[] bytes = resource.get();
+			return bytes == null ? null : this.store(bytes);
+		})));
+	}
+
+	private void putResource(ResourceType type, Resource resource) {
+		this.getResourceMap(type).computeIfAbsent(resource.id().getNamespace(), namespace -> new ConcurrentSkipListMap<>())
+				.put(resource.id().getPath(), resource);
+	}
+
+	private ByteBuffer store(byte[] bytes) {
+		if (this.arena == null) {
+			return ByteBuffer.wrap(bytes);
+		}
+
+		return this.arena.store(bytes);
 	}
 
 	@Override
@@ -211,6 +272,10 @@ public void clearResources() {
 		this.root.clear();
 		this.clearResources(ResourceType.CLIENT_RESOURCES);
 		this.clearResources(ResourceType.SERVER_DATA);
+
+		if (this.arena != null) {
+			this.arena.clear();
+		}
 	}
 
 	/**
@@ -223,10 +288,8 @@ public void dumpTo(@NotNull Path path) {
 			Files.createDirectories(path);
 
 			this.root.forEach((p, resource) -> this.dumpResource(path, p, resource.get()));
-			this.assets.forEach((p, resource) ->
-					this.dumpResource(path, QuiltPack.getResourcePath(ResourceType.CLIENT_RESOURCES, p), resource.get()));
-			this.data.forEach((p, resource) ->
-					this.dumpResource(path, QuiltPack.getResourcePath(ResourceType.SERVER_DATA, p), resource.get()));
+			this.dumpResources(path, ResourceType.CLIENT_RESOURCES);
+			this.dumpResources(path, ResourceType.SERVER_DATA);
 		} catch (IOException e) {
 			LOGGER.error("Failed to write resource pack dump from pack {} to {}.", this.getName(), path, e);
 		}
@@ -236,6 +299,20 @@ protected void dumpAll() {
 		this.dumpTo(Paths.get("debug", "packs", this.getName()));
 	}
 
+	private void dumpResources(Path parentPath, ResourceType type) {
+		for (var resources : this.getResourceMap(type).values()) {
+			for (var resource : resources.values()) {
+				ByteBuffer content = resource.content().get();
+
+				if (content != null) {
+					var bytes = new byte[content.remaining()];
+					content.duplicate().get(bytes);
+					this.dumpResource(parentPath, QuiltPack.getResourcePath(type, resource.id()), bytes);
+				}
+			}
+		}
+	}
+
 	protected void dumpResource(Path parentPath, String resourcePath, byte[] resource) {
 		try {
 			var p = parentPath.resolve(resourcePath);
@@ -247,7 +324,7 @@ protected void dumpResource(Path parentPath, String resourcePath, byte[] resourc
 		}
 	}
 
-	private Map<Identifier, Supplier<byte[]>> getResourceMap(ResourceType type) {
+	private Map<String, NavigableMap<String, Resource>> getResourceMap(ResourceType type) {
 		return switch (type) {
 			case CLIENT_RESOURCES -> this.assets;
 			case SERVER_DATA -> this.data;
@@ -272,16 +349,70 @@ private Map<Identifier, Supplier<byte[]>> getResourceMap(ResourceType type) {
 		);
 	}
 
+	/**
+	 * Represents where the resources of an in-memory resource pack are stored.
+	 * <p>
+	 * This only affects the resources stored with a {@linkplain ResourceType type}, root resources are always stored
+	 * on the Java heap.
+	 */
+	public enum Storage {
+		/**
+		 * The resources are stored as byte arrays on the Java heap.
+		 */
+		HEAP,
+		/**
+		 * The resources are copied into direct buffers outside the Java heap, and read from there without any copy.
+		 * <p>
+		 * This reduces heap pressure for packs which hold tens of thousands of resources, at the cost of a copy
+		 * when a resource is put into the pack.
+		 * Replaced resources may only be freed once the resources of the pack are cleared.
+		 */
+		DIRECT
+	}
+
+	private record Resource(Identifier id, Supplier<ByteBuffer> content) {
+		@Nullable ResourceIoSupplier<InputStream> open() {
+			ByteBuffer buffer = this.content.get();
+
+			if (buffer == null) {
+				return null;
+			} else if (buffer.hasArray()) {
+				byte[] array = buffer.array();
+				int offset = buffer.arrayOffset() + buffer.position();
+				int length = buffer.remaining();
+				return () -> new ByteArrayInputStream(array, offset, length);
+			} else {
+				return () -> new ByteBufInputStream(Unpooled.wrappedBuffer(buffer.duplicate()));
+			}
+		}
+	}
+
 	/**
 	 * Represents an in-memory resource pack with a static name.
 	 */
 	public static class Named extends InMemoryPack {
 		private final String name;
 
+		/**
+		 * Creates a new named in-memory resource pack which stores its resources {@linkplain Storage#HEAP on the Java heap}.
+		 *
+		 * @param name the name of the pack
+		 */
 		public Named(String name) {
 			this.name = name;
 		}
 
+		/**
+		 * Creates a new named in-memory resource pack.
+		 *
+		 * @param name    the name of the pack
+		 * @param storage where the resources of this pack are stored
+		 */
+		public Named(String name, @NotNull Storage storage) {
+			super(storage);
+			this.name = name;
+		}
+
 		@Override
 		public String getName() {
 			return this.name;
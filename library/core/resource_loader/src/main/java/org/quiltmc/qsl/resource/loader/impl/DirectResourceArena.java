@@ -0,0 +1,77 @@
+/*
+ * Copyright 2024 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.resource.loader.impl;
+
+import java.nio.ByteBuffer;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * Stores resource bytes outside the Java heap, in direct buffers allocated by chunks.
+ * <p>
+ * Resources are bump-allocated into the current chunk, and each returned buffer is a read-only view of its resource.
+ * A chunk is released once none of its resources are referenced anymore,
+ * replaced resources are thus only truly freed when the whole chunk is.
+ */
+@ApiStatus.Internal
+public final class DirectResourceArena {
+	@VisibleForTesting
+	static final int CHUNK_SIZE = 1 << 20;
+	/**
+	 * Resources bigger than this get their own buffer to avoid wasting the end of the current chunk.
+	 */
+	@VisibleForTesting
+	static final int MAX_CHUNKED_RESOURCE_SIZE = CHUNK_SIZE / 8;
+
+	private ByteBuffer chunk;
+
+	/**
+	 * Copies the given bytes into this arena.
+	 *
+	 * @param bytes the bytes to copy
+	 * @return a read-only view of the copied bytes
+	 */
+	public synchronized ByteBuffer store(byte[] bytes) {
+		if (bytes.length > MAX_CHUNKED_RESOURCE_SIZE) {
+			return ByteBuffer.allocateDirect(bytes.length).put(bytes).flip().asReadOnlyBuffer();
+		}
+
+		if (this.chunk == null || this.chunk.remaining() < bytes.length) {
+			this.chunk = ByteBuffer.allocateDirect(CHUNK_SIZE);
+		}
+
+		int start = this.chunk.position();
+		this.chunk.put(bytes);
+		return this.chunk.slice(start, bytes.length).asReadOnlyBuffer();
+	}
+
+	/**
+	 * Stops allocating into the current chunk, allowing it to be released once its resources are no longer referenced.
+	 */
+	public synchronized void clear() {
+		this.chunk = null;
+	}
+
+	/**
+	 * {@return the number of bytes which can still be allocated in the current chunk, or {@code -1} if there is no current chunk}
+	 */
+	@VisibleForTesting
+	synchronized int getChunkRemaining() {
+		return this.chunk == null ? -1 : this.chunk.remaining();
+	}
+}
@@ -21,7 +21,6 @@
 import java.io.InputStream;
 import java.nio.file.FileSystem;
 import java.nio.file.FileSystems;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Locale;
 import java.util.Set;
@@ -47,6 +46,7 @@
 import org.quiltmc.qsl.resource.loader.api.QuiltPack;
 import org.quiltmc.qsl.resource.loader.api.PackActivationType;
 import org.quiltmc.qsl.resource.loader.impl.cache.EntryType;
+import org.quiltmc.qsl.resource.loader.impl.cache.PersistentResourceIndex;
 import org.quiltmc.qsl.resource.loader.impl.cache.ResourceAccess;
 import org.quiltmc.qsl.resource.loader.impl.cache.ResourceTreeCache;
 
@@ -101,6 +101,9 @@ public ModNioPack(@Nullable String name, ModMetadata modInfo, @Nullable Text dis
 		if (DISABLE_CACHING || path.getFileSystem() == DEFAULT_FILESYSTEM || path.getFileSystem() instanceof CachedFileSystem cached && !cached.isPermanentlyReadOnly()) {
 			// The default file system means it's on-disk files that may change
 			this.cache = new ResourceAccess(this.io);
+		} else if (PersistentResourceIndex.ENABLED) {
+			// Allows reusing the index of the resources of mods that didn't change since the last launch.
+			this.cache = PersistentResourceIndex.createAccess(this.io, modInfo, path.toAbsolutePath().normalize());
 		} else {
 			// Allows caching for mods that don't have mutable resources.
 			this.cache = new ResourceTreeCache(this.io);
@@ -132,34 +135,26 @@ protected ResourceIoSupplier<InputStream> open(String filePath) {
 	@Override
 	public void listResources(ResourceType type, String namespace, String startingPath, ResourceConsumer consumer) {
 		String namespacePath = type.getDirectory() + '/' + namespace;
-		String nioPath = startingPath.replace("/", this.io.getSeparator());
-
-		ResourceAccess.Entry namespaceEntry = this.cache.getEntry(namespacePath);
-
-		if (namespaceEntry != null) {
-			ResourceAccess.Entry searchEntry = this.cache.getEntry(namespacePath + '/' + nioPath);
-
-			if (searchEntry != null) {
-				try (var stream = Files.walk(searchEntry.path())) {
-					stream.filter(p -> Files.isRegularFile(p) && !p.getFileName().endsWith(".mcmeta"))
-							.forEach(p -> {
-								String idPath = namespaceEntry.path().relativize(p).toString()
-										.replace(this.io.getSeparator(), "/");
-								Identifier id = Identifier.tryValidate(namespace, idPath);
-
-								if (id == null) {
-									Util.logAndPause(String.format(Locale.ROOT, "Invalid path in pack (%s [%s]): %s:%s, ignoring",
-											this.getName(), this.modInfo.id(), namespace, idPath
-									));
-								} else {
-									consumer.accept(id, ResourceIoSupplier.create(p));
-								}
-							});
-				} catch (IOException e) {
-					LOGGER.warn("findResources at " + startingPath + " in namespace " + namespace
-							+ ", mod " + this.modInfo.id() + " failed!", e);
+
+		try {
+			this.cache.listResources(namespacePath, startingPath, (idPath, p) -> {
+				if (p.getFileName().endsWith(".mcmeta")) {
+					return;
 				}
-			}
+
+				Identifier id = Identifier.tryValidate(namespace, idPath);
+
+				if (id == null) {
+					Util.logAndPause(String.format(Locale.ROOT, "Invalid path in pack (%s [%s]): %s:%s, ignoring",
+							this.getName(), this.modInfo.id(), namespace, idPath
+					));
+				} else {
+					consumer.accept(id, ResourceIoSupplier.create(p));
+				}
+			});
+		} catch (IOException e) {
+			LOGGER.warn("findResources at " + startingPath + " in namespace " + namespace
+					+ ", mod " + this.modInfo.id() + " failed!", e);
 		}
 	}
 
@@ -33,12 +33,15 @@
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.gson.JsonObject;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
 import net.fabricmc.api.EnvType;
 import org.jetbrains.annotations.ApiStatus;
@@ -98,12 +101,28 @@ public final class ResourceLoaderImpl implements ResourceLoader {
 			.toBooleanOrElse(QuiltLoader.isDevelopmentEnvironment());
 	private static final boolean DEBUG_RELOADERS_ORDER = TriState.fromProperty("quilt.resource_loader.debug.reloaders_order")
 			.toBooleanOrElse(false);
+	private static final boolean DEBUG_RELOADERS_TIMINGS = TriState.fromProperty("quilt.resource_loader.debug.reloaders_timings")
+			.toBooleanOrElse(false);
+	/**
+	 * Whether modded resource reloaders should be reloaded concurrently, off by default.
+	 * <p>
+	 * Vanilla reloaders are never grouped and keep their place, the modded reloaders between two of them are grouped
+	 * by their depth in the ordering graph so reloaders of a same group never depend on each other.
+	 * A group only starts once the whole previous group is done, even for reloaders
+	 * which only depend on some of its members.
+	 */
+	private static final boolean CONCURRENT_RELOADERS = TriState.fromProperty("quilt.resource_loader.concurrent_reloaders")
+			.toBooleanOrElse(false);
 
 	private final ResourceType type;
 	private final Set<Identifier> addedReloaderIds = new ObjectOpenHashSet<>();
 	private final Set<IdentifiableResourceReloader> addedReloaders = new LinkedHashSet<>();
 	private final Set<Pair<Identifier, Identifier>> reloadersOrdering = new LinkedHashSet<>();
 	final Set<PackProvider> resourcePackProfileProviders = new ObjectOpenHashSet<>();
+	/**
+	 * The timings of the reloaders sorted for the upcoming reload, reported once that reload is done.
+	 */
+	private @Nullable ResourceReloaderTimings pendingTimings;
 
 	private final Event<PackRegistrationContext.Callback> defaultResourcePackRegistrationEvent = createResourcePackRegistrationEvent();
 	private final Event<PackRegistrationContext.Callback> topResourcePackRegistrationEvent = createResourcePackRegistrationEvent();
@@ -152,6 +171,22 @@ public static void sort(ResourceType type, List<ResourceReloader> reloaders) {
 		get(type).sort(reloaders);
 	}
 
+	/**
+	 * Reports the timings of the resource reloaders sorted for the given reload once it is done, if enabled.
+	 *
+	 * @param type   the resource type of the reload
+	 * @param reload the future of the reload
+	 */
+	public static void reportReloaderTimings(ResourceType type, CompletableFuture<?> reload) {
+		var loader = get(type);
+		var timings = loader.pendingTimings;
+		loader.pendingTimings = null;
+
+		if (timings != null) {
+			reload.whenComplete((result, throwable) -> timings.report());
+		}
+	}
+
 	@SuppressWarnings("removal")
 	@Override
 	public void registerReloader(@NotNull IdentifiableResourceReloader resourceReloader) {
@@ -234,6 +269,7 @@ public void appendTopPacks(MultiPackResourceManager resourceManager, Consumer<Re
 	 */
 	private void sort(List<ResourceReloader> reloaders) {
 		// Remove any modded reloaders to sort properly.
+		reloaders.removeIf(reloader -> reloader instanceof ResourceReloaderGroup);
 		reloaders.removeAll(this.addedReloaders);
 
 		// General rules:
@@ -321,9 +357,14 @@ private void sort(List<ResourceReloader> reloaders) {
 		// Apply the sorting!
 		reloaders.clear();
 
-		for (var phase : phases) {
-			if (phase.getData() != null) {
-				reloaders.add(phase.getData());
+		if (CONCURRENT_RELOADERS || DEBUG_RELOADERS_TIMINGS) {
+			this.pendingTimings = DEBUG_RELOADERS_TIMINGS ? new ResourceReloaderTimings() : null;
+			groupReloaders(phases, reloaders, CONCURRENT_RELOADERS, this.pendingTimings);
+		} else {
+			for (var phase : phases) {
+				if (phase.getData() != null) {
+					reloaders.add(phase.getData());
+				}
 			}
 		}
 
@@ -340,6 +381,83 @@ private void sort(List<ResourceReloader> reloaders) {
 		}
 	}
 
+	/**
+	 * Adds the reloaders of the given sorted phases to the given list,
+	 * grouping modded reloaders which do not depend on each other so they are reloaded concurrently.
+	 * <p>
+	 * Vanilla reloaders keep their place, and the modded reloaders between two of them are grouped by their depth
+	 * in the ordering graph: a reloader is put in the group following the one of the deepest reloader it is ordered after.
+	 * As such, reloaders in the same group never depend on each other, even indirectly.
+	 *
+	 * @param phases     the sorted phases
+	 * @param reloaders  the list to add the reloaders to
+	 * @param concurrent {@code true} if independent reloaders should be grouped,
+	 *                   or {@code false} to only wrap each modded reloader to record its timings
+	 * @param timings    the timings to record the time spent by the reloaders into, or {@code null} to not record them
+	 */
+	@VisibleForTesting
+	static void groupReloaders(List<ResourceReloaderPhaseData> phases, List<ResourceReloader> reloaders,
+			boolean concurrent, @Nullable ResourceReloaderTimings timings) {
+		var modded = new ArrayList<ResourceReloaderPhaseData>();
+
+		for (var phase : phases) {
+			if (phase.vanillaStatus == ResourceReloaderPhaseData.VanillaStatus.VANILLA) {
+				addModdedReloaders(modded, reloaders, concurrent, timings);
+
+				// We *do not* touch Vanilla reloaders.
+				if (phase.getData() != null) {
+					reloaders.add(phase.getData());
+				}
+			} else {
+				modded.add(phase);
+			}
+		}
+
+		addModdedReloaders(modded, reloaders, concurrent, timings);
+	}
+
+	private static void addModdedReloaders(List<ResourceReloaderPhaseData> phases, List<ResourceReloader> reloaders,
+			boolean concurrent, @Nullable ResourceReloaderTimings timings) {
+		if (!concurrent) {
+			for (var phase : phases) {
+				addReloaderGroup(List.of(phase.getData()), reloaders, timings);
+			}
+
+			phases.clear();
+			return;
+		}
+
+		// Since the phases are sorted, every phase a phase is ordered after has already been given a depth.
+		var depths = new Reference2IntOpenHashMap<ResourceReloaderPhaseData>();
+		var groups = new ArrayList<List<ResourceReloader>>();
+
+		for (var phase : phases) {
+			int depth = phase.computeDepth(depths);
+			depths.put(phase, depth);
+
+			if (depth == groups.size()) {
+				groups.add(new ArrayList<>());
+			}
+
+			groups.get(depth).add(phase.getData());
+		}
+
+		for (var group : groups) {
+			addReloaderGroup(group, reloaders, timings);
+		}
+
+		phases.clear();
+	}
+
+	private static void addReloaderGroup(List<ResourceReloader> group, List<ResourceReloader> reloaders,
+			@Nullable ResourceReloaderTimings timings) {
+		if (group.size() == 1 && timings == null) {
+			reloaders.add(group.get(0));
+		} else {
+			reloaders.add(new ResourceReloaderGroup(List.copyOf(group), timings));
+		}
+	}
+
 	/* Mod resource pack stuff */
 
 	/**
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2024 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.resource.loader.impl;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.resource.ResourceManager;
+import net.minecraft.resource.ResourceReloader;
+import net.minecraft.util.Unit;
+import net.minecraft.util.profiler.DummyProfiler;
+import net.minecraft.util.profiler.Profiler;
+
+/**
+ * Represents a group of resource reloaders which do not depend on each other and are reloaded concurrently.
+ * <p>
+ * The group behaves as a single reloader for Vanilla: it reports itself as prepared once all of its reloaders
+ * are prepared, then each reloader applies its data as soon as possible without waiting for the others.
+ * <p>
+ * The time spent by each reloader may also be recorded, to be reported once the whole reload is done.
+ */
+@ApiStatus.Internal
+final class ResourceReloaderGroup implements ResourceReloader {
+	private final List<ResourceReloader> reloaders;
+	private final @Nullable ResourceReloaderTimings timings;
+
+	ResourceReloaderGroup(List<ResourceReloader> reloaders, @Nullable ResourceReloaderTimings timings) {
+		this.reloaders = reloaders;
+		this.timings = timings;
+	}
+
+	@Override
+	public CompletableFuture<Void> reload(Synchronizer synchronizer, ResourceManager manager,
+			Profiler prepareProfiler, Profiler applyProfiler,
+			Executor prepareExecutor, Executor applyExecutor) {
+		var waiting = new AtomicInteger(this.reloaders.size());
+		var prepared = new CompletableFuture<Unit>();
+		Synchronizer groupSynchronizer = new Synchronizer() {
+			@Override
+			public <T> CompletableFuture<T> whenPrepared(T preparedObject) {
+				if (waiting.decrementAndGet() == 0) {
+					synchronizer.whenPrepared(Unit.INSTANCE).whenComplete((unit, throwable) -> {
+						if (throwable != null) {
+							prepared.completeExceptionally(throwable);
+						} else {
+							prepared.complete(unit);
+						}
+					});
+				}
+
+				return prepared.thenApply(unit -> preparedObject);
+			}
+		};
+
+		// Profilers cannot follow reloaders running at the same time, the recorded timings are used instead.
+		if (this.reloaders.size() > 1) {
+			prepareProfiler = DummyProfiler.INSTANCE;
+			applyProfiler = DummyProfiler.INSTANCE;
+		}
+
+		var timings = new Timings[this.reloaders.size()];
+		var futures = new CompletableFuture<?>[this.reloaders.size()];
+		var result = new CompletableFuture<Void>();
+
+		for (int i = 0; i < futures.length; i++) {
+			var timing = timings[i] = new Timings(System.nanoTime());
+			futures[i] = this.reloaders.get(i).reload(groupSynchronizer, manager, prepareProfiler, applyProfiler,
+					timing.wrap(prepareExecutor, timing.prepareTime), timing.wrap(applyExecutor, timing.applyTime)
+			).whenComplete((unused, throwable) -> {
+				timing.totalTime = System.nanoTime() - timing.start;
+
+				// Fail fast, other reloaders may otherwise wait forever for this one to be prepared.
+				if (throwable != null) {
+					result.completeExceptionally(throwable);
+				}
+			});
+		}
+
+		CompletableFuture.allOf(futures).thenRun(() -> {
+			if (this.timings != null) {
+				this.record(this.timings, timings);
+			}
+
+			result.complete(null);
+		});
+
+		return result;
+	}
+
+	private void record(ResourceReloaderTimings report, Timings[] timings) {
+		for (int i = 0; i < timings.length; i++) {
+			var timing = timings[i];
+			report.record(this.reloaders.get(i).getName(),
+					timing.totalTime, timing.prepareTime.sum(), timing.applyTime.sum());
+		}
+	}
+
+	@VisibleForTesting
+	List<ResourceReloader> getReloaders() {
+		return this.reloaders;
+	}
+
+	@Override
+	public String getName() {
+		return this.reloaders.stream().map(ResourceReloader::getName)
+				.collect(Collectors.joining(", ", "ResourceReloaderGroup[", "]"));
+	}
+
+	private static final class Timings {
+		final long start;
+		final LongAdder prepareTime = new LongAdder();
+		final LongAdder applyTime = new LongAdder();
+		volatile long totalTime;
+
+		Timings(long start) {
+			this.start = start;
+		}
+
+		Executor wrap(Executor executor, LongAdder time) {
+			return runnable -> executor.execute(() -> {
+				long startTime = System.nanoTime();
+
+				try {
+					runnable.run();
+				} finally {
+					time.add(System.nanoTime() - startTime);
+				}
+			});
+		}
+	}
+}
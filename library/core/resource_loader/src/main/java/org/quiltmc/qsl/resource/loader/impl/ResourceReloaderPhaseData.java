@@ -16,6 +16,7 @@
 
 package org.quiltmc.qsl.resource.loader.impl;
 
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
@@ -60,6 +61,24 @@ void markAfter() {
 		}
 	}
 
+	/**
+	 * {@return the depth of this phase in the ordering graph, which is one more than the deepest of the given phases
+	 * this phase is directly ordered after, or {@code 0} if it is not ordered after any of them}
+	 *
+	 * @param depths the depths of the phases already visited
+	 */
+	int computeDepth(Reference2IntMap<ResourceReloaderPhaseData> depths) {
+		int depth = 0;
+
+		for (var previous : this.previousPhases) {
+			if (depths.containsKey(previous)) {
+				depth = Math.max(depth, depths.getInt(previous) + 1);
+			}
+		}
+
+		return depth;
+	}
+
 	void setVanillaStatus(VanillaStatus status) {
 		if (this.vanillaStatus == VanillaStatus.NONE) {
 			this.vanillaStatus = status;
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2024 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.resource.loader.impl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects the time spent by the resource reloaders of a single reload, so they can be reported all at once
+ * when the reload is done.
+ */
+@ApiStatus.Internal
+final class ResourceReloaderTimings {
+	private static final Logger LOGGER = LoggerFactory.getLogger("ResourceLoader");
+
+	private final List<Entry> entries = new ArrayList<>();
+	private final long start = System.nanoTime();
+
+	synchronized void record(String name, long totalTime, long prepareTime, long applyTime) {
+		this.entries.add(new Entry(name, totalTime, prepareTime, applyTime));
+	}
+
+	synchronized void report() {
+		var report = new StringBuilder(String.format("Resource reloader timings (%d ms reload):",
+				TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.start)));
+
+		this.entries.sort(Comparator.comparingLong(Entry::totalTime).reversed());
+
+		for (var entry : this.entries) {
+			report.append(String.format("%n - %s: %d ms total, %d ms preparing, %d ms applying",
+					entry.name,
+					TimeUnit.NANOSECONDS.toMillis(entry.totalTime),
+					TimeUnit.NANOSECONDS.toMillis(entry.prepareTime),
+					TimeUnit.NANOSECONDS.toMillis(entry.applyTime)
+			));
+		}
+
+		LOGGER.info(report.toString());
+	}
+
+	private record Entry(String name, long totalTime, long prepareTime, long applyTime) {}
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2024 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.resource.loader.impl.cache;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.resource.ResourceType;
+
+import org.quiltmc.qsl.resource.loader.impl.ModIoOps;
+
+/**
+ * A variant of {@link ResourceAccess} which answers queries from a {@link PersistentResourceIndex persistent index}
+ * without any I/O, and falls back to a {@link ResourceTreeCache} for the paths the index doesn't cover.
+ */
+@ApiStatus.Internal
+final class IndexedResourceAccess extends ResourceAccess {
+	private final PersistentResourceIndex.PackIndex index;
+	private final ResourceTreeCache fallback;
+
+	IndexedResourceAccess(ModIoOps io, PersistentResourceIndex.PackIndex index, ResourceTreeCache fallback) {
+		super(io);
+		this.index = index;
+		this.fallback = fallback;
+	}
+
+	@Override
+	public @Nullable Entry getEntry(String pathName) {
+		var type = this.index.getEntryType(pathName);
+
+		if (type == null) {
+			return this.fallback.getEntry(pathName);
+		} else if (type == EntryType.EMPTY) {
+			return null;
+		}
+
+		return new Entry(this.io.getNormalizedPath(pathName), type);
+	}
+
+	@Override
+	public Set<String> getNamespaces(ResourceType type) {
+		return this.index.getNamespaces(type);
+	}
+
+	@Override
+	public void listResources(String namespacePath, String startingPath, BiConsumer<String, Path> consumer) throws IOException {
+		String searchPath = startingPath.isEmpty() ? namespacePath : namespacePath + '/' + startingPath;
+
+		if (this.index.getEntryType(searchPath) == null) {
+			super.listResources(namespacePath, startingPath, consumer);
+			return;
+		}
+
+		this.index.listFiles(searchPath, file ->
+				consumer.accept(file.substring(namespacePath.length() + 1), this.io.getNormalizedPath(file))
+		);
+	}
+}
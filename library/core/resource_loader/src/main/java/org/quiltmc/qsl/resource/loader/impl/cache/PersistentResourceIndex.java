@@ -0,0 +1,531 @@
+/*
+ * Copyright 2024 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.resource.loader.impl.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.Hashing;
+import com.mojang.logging.LogUtils;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import net.minecraft.resource.ResourceType;
+
+import org.quiltmc.loader.api.ModMetadata;
+import org.quiltmc.loader.api.QuiltLoader;
+import org.quiltmc.qsl.base.api.util.TriState;
+import org.quiltmc.qsl.resource.loader.impl.ModIoOps;
+
+/**
+ * Represents an on-disk index of the resources of immutable mod resource packs, which persists across game launches.
+ * <p>
+ * Each pack is indexed once, and its index is reused as long as the files the mod has been loaded from are unchanged,
+ * which avoids walking the mod's file system on each launch.
+ * The index file is memory-mapped, and the index of a pack is only read when the pack is created.
+ */
+@ApiStatus.Internal
+public final class PersistentResourceIndex {
+	public static final boolean ENABLED = TriState.fromProperty("quilt.resource_loader.persistent_index").toBooleanOrElse(false);
+	private static final Logger LOGGER = LogUtils.getLogger();
+	private static final int MAGIC = 0x51524958; // QRIX
+	private static final int FORMAT_VERSION = 2;
+	private static final int FINGERPRINT_SIZE = 32;
+	private static final ResourceType[] TYPES = ResourceType.values();
+
+	private static Path indexPath = QuiltLoader.getGameDir().resolve(".quilt").resolve("qsl").resolve("resource_index.bin");
+	private static @Nullable Map<String, Section> sections;
+	private static boolean dirty = false;
+
+	private PersistentResourceIndex() {
+		throw new UnsupportedOperationException("PersistentResourceIndex only contains static definitions.");
+	}
+
+	/**
+	 * Creates the resource access of the given mod resource pack, backed by the persistent index.
+	 *
+	 * @param io      the I/O operations of the pack
+	 * @param modInfo the mod which owns the pack
+	 * @param path    the root path of the pack
+	 * @return the resource access
+	 */
+	public static ResourceAccess createAccess(ModIoOps io, ModMetadata modInfo, Path path) {
+		var fallback = new ResourceTreeCache(io);
+		byte[] fingerprint = computeFingerprint(modInfo);
+
+		if (fingerprint == null) {
+			return fallback;
+		}
+
+		try {
+			var index = getIndex(modInfo.id() + ' ' + modInfo.version().raw() + ' ' + path, modInfo.id(), fingerprint, io);
+			return new IndexedResourceAccess(io, index, fallback);
+		} catch (IOException e) {
+			LOGGER.warn("Failed to index the resources of pack {} of mod {}.", path, modInfo.id(), e);
+			return fallback;
+		}
+	}
+
+	/**
+	 * Gets the index of a pack, which is read from the persistent index if its fingerprint is unchanged, or built otherwise.
+	 *
+	 * @param key         the key of the pack in the persistent index
+	 * @param modId       the identifier of the mod which owns the pack
+	 * @param fingerprint the fingerprint of the files the pack has been loaded from
+	 * @param io          the I/O operations of the pack
+	 * @return the index of the pack
+	 * @throws IOException if the pack could not be indexed
+	 */
+	@VisibleForTesting
+	static synchronized PackIndex getIndex(String key, String modId, byte[] fingerprint, ModIoOps io) throws IOException {
+		var sections = getSections();
+		var section = sections.get(key);
+
+		if (section != null && Arrays.equals(section.fingerprint(), fingerprint)) {
+			try {
+				return PackIndex.read(section.data().duplicate());
+			} catch (RuntimeException e) {
+				LOGGER.warn("Failed to read the resource index of pack {} of mod {}, re-indexing.", key, modId, e);
+			}
+		}
+
+		var index = PackIndex.build(io);
+		sections.put(key, new Section(modId, fingerprint, ByteBuffer.wrap(index.write())));
+		dirty = true;
+		return index;
+	}
+
+	/**
+	 * Writes the index to disk if any pack has been indexed since the last save.
+	 */
+	public static void save() {
+		save(QuiltLoader::isModLoaded);
+	}
+
+	/**
+	 * Writes the index to disk if any pack has been indexed since the last save.
+	 *
+	 * @param isModLoaded the predicate which tells whether the packs of a mod are still relevant
+	 */
+	@VisibleForTesting
+	static synchronized void save(Predicate<String> isModLoaded) {
+		if (!dirty || sections == null) {
+			return;
+		}
+
+		dirty = false;
+
+		try {
+			var out = new ByteArrayOutputStream();
+			var data = new DataOutputStream(out);
+			var written = new ArrayList<Map.Entry<String, Section>>();
+
+			for (var entry : sections.entrySet()) {
+				// Forget about the packs of mods that are no longer installed.
+				if (isModLoaded.test(entry.getValue().modId())) {
+					written.add(entry);
+				}
+			}
+
+			data.writeInt(MAGIC);
+			data.writeInt(FORMAT_VERSION);
+			data.writeInt(written.size());
+
+			for (var entry : written) {
+				var section = entry.getValue();
+				var bytes = new byte[section.data().remaining()];
+				section.data().duplicate().get(bytes);
+
+				writeString(data, entry.getKey());
+				writeString(data, section.modId());
+				data.write(section.fingerprint());
+				data.writeInt(bytes.length);
+				data.write(bytes);
+			}
+
+			// The sections read from the current file are slices of its mapping, which must not be alive while it is replaced:
+			// Windows refuses to replace a mapped file. Copy them to the heap so the mapping can be released.
+			for (var entry : sections.entrySet()) {
+				var section = entry.getValue();
+
+				if (section.data().isDirect()) {
+					var bytes = new byte[section.data().remaining()];
+					section.data().duplicate().get(bytes);
+					entry.setValue(new Section(section.modId(), section.fingerprint(), ByteBuffer.wrap(bytes)));
+				}
+			}
+
+			Files.createDirectories(indexPath.getParent());
+			var tempPath = indexPath.resolveSibling(indexPath.getFileName() + ".tmp");
+			Files.write(tempPath, out.toByteArray());
+
+			try {
+				Files.move(tempPath, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AccessDeniedException e) {
+				// The old mapping is only released once garbage collected, retry on the next save.
+				LOGGER.debug("Could not replace the persistent resource index yet, retrying on the next reload.", e);
+				dirty = true;
+			}
+		} catch (IOException e) {
+			LOGGER.warn("Failed to save the persistent resource index to {}.", indexPath, e);
+		}
+	}
+
+	private static Map<String, Section> getSections() {
+		if (sections == null) {
+			sections = new LinkedHashMap<>();
+
+			if (Files.isRegularFile(indexPath)) {
+				try (var channel = FileChannel.open(indexPath, StandardOpenOption.READ)) {
+					readSections(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), sections);
+				} catch (IOException | RuntimeException e) {
+					LOGGER.warn("Failed to read the persistent resource index from {}, resources will be re-indexed.", indexPath, e);
+					sections.clear();
+				}
+			}
+		}
+
+		return sections;
+	}
+
+	private static void readSections(ByteBuffer buffer, Map<String, Section> sections) {
+		if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+			return;
+		}
+
+		int count = buffer.getInt();
+
+		for (int i = 0; i < count; i++) {
+			String key = readString(buffer);
+			String modId = readString(buffer);
+			byte[] fingerprint = new byte[FINGERPRINT_SIZE];
+			buffer.get(fingerprint);
+			int length = buffer.getInt();
+
+			sections.put(key, new Section(modId, fingerprint, buffer.slice(buffer.position(), length)));
+			buffer.position(buffer.position() + length);
+		}
+	}
+
+	/**
+	 * Resets the index to the one stored at the given path, as if the game was launched again.
+	 *
+	 * @param path the path of the index file
+	 */
+	@VisibleForTesting
+	static synchronized void reset(Path path) {
+		indexPath = path;
+		sections = null;
+		dirty = false;
+	}
+
+	@VisibleForTesting
+	static synchronized boolean isDirty() {
+		return dirty;
+	}
+
+	/**
+	 * Computes a fingerprint of the files the given mod has been loaded from.
+	 *
+	 * @param modInfo the mod
+	 * @return the fingerprint, or {@code null} if the mod cannot be reliably fingerprinted, like mods loaded from a directory
+	 */
+	private static byte @Nullable [] computeFingerprint(ModMetadata modInfo) {
+		var container = QuiltLoader.getModContainer(modInfo.id());
+
+		if (container.isEmpty()) {
+			return null;
+		}
+
+		var paths = new ArrayList<Path>();
+		container.get().getSourcePaths().forEach(paths::addAll);
+		return computeFingerprint(paths);
+	}
+
+	/**
+	 * Computes a SHA-256 digest of the given source paths, and of the size and modification time of the on-disk ones.
+	 *
+	 * @param sourcePaths the paths of the files a mod has been loaded from
+	 * @return the fingerprint, or {@code null} if one of the on-disk paths is not a regular file
+	 */
+	@VisibleForTesting
+	static byte @Nullable [] computeFingerprint(List<Path> sourcePaths) {
+		var hasher = Hashing.sha256().newHasher();
+		hasher.putInt(sourcePaths.size());
+
+		for (var sourcePath : sourcePaths) {
+			var name = sourcePath.toString();
+			hasher.putInt(name.length()).putUnencodedChars(name);
+
+			if (sourcePath.getFileSystem() != FileSystems.getDefault()) {
+				// Nested in another file, which is part of the fingerprint already.
+				hasher.putBoolean(false);
+				continue;
+			}
+
+			try {
+				var attributes = Files.readAttributes(sourcePath, BasicFileAttributes.class);
+
+				if (!attributes.isRegularFile()) {
+					return null;
+				}
+
+				hasher.putBoolean(true)
+						.putLong(attributes.size())
+						.putLong(attributes.lastModifiedTime().toMillis());
+			} catch (IOException e) {
+				return null;
+			}
+		}
+
+		return hasher.hash().asBytes();
+	}
+
+	private static void writeString(DataOutputStream out, String string) throws IOException {
+		byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(ByteBuffer buffer) {
+		byte[] bytes = new byte[buffer.getInt()];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private record Section(String modId, byte[] fingerprint, ByteBuffer data) {
+	}
+
+	/**
+	 * Represents the index of a single pack: its namespaces, its root files and every file inside its resource directories.
+	 */
+	static final class PackIndex {
+		private final Map<ResourceType, Set<String>> namespaces;
+		private final Set<String> rootFiles;
+		/**
+		 * The paths of the files in the resource directories, sorted so that the files of a directory are contiguous.
+		 */
+		private final String[] files;
+
+		private PackIndex(Map<ResourceType, Set<String>> namespaces, Set<String> rootFiles, String[] files) {
+			this.namespaces = namespaces;
+			this.rootFiles = rootFiles;
+			this.files = files;
+		}
+
+		Set<String> getNamespaces(ResourceType type) {
+			return this.namespaces.get(type);
+		}
+
+		/**
+		 * {@return the type of the entry at the given path, or {@code null} if the path is not covered by this index}
+		 *
+		 * @param path the path of the entry
+		 */
+		@Nullable EntryType getEntryType(String path) {
+			if (path.contains("..") || path.contains("//") || path.contains("\\") || path.startsWith("/") || path.endsWith("/")) {
+				return null;
+			}
+
+			int separator = path.indexOf('/');
+			String root = separator == -1 ? path : path.substring(0, separator);
+
+			if (!isResourceDirectory(root)) {
+				if (separator == -1 && this.rootFiles.contains(path)) {
+					return EntryType.FILE;
+				}
+
+				return null;
+			}
+
+			int index = Arrays.binarySearch(this.files, path);
+
+			if (index >= 0) {
+				return EntryType.FILE;
+			}
+
+			String directoryPrefix = path + '/';
+			index = Arrays.binarySearch(this.files, directoryPrefix);
+			index = index >= 0 ? index : -index - 1;
+
+			if (index < this.files.length && this.files[index].startsWith(directoryPrefix)) {
+				return EntryType.DIRECTORY;
+			}
+
+			return EntryType.EMPTY;
+		}
+
+		/**
+		 * Lists the files at the given path, or inside the given directory and its subdirectories.
+		 *
+		 * @param path     the path of the file or directory
+		 * @param consumer the consumer of the found file paths
+		 */
+		void listFiles(String path, Consumer<String> consumer) {
+			String directoryPrefix = path + '/';
+			int index = Arrays.binarySearch(this.files, path);
+			index = index >= 0 ? index : -index - 1;
+
+			for (; index < this.files.length; index++) {
+				String file = this.files[index];
+
+				if (file.equals(path) || file.startsWith(directoryPrefix)) {
+					consumer.accept(file);
+				} else if (!file.startsWith(path)) {
+					// Files such as "a/b.json" or "a-b/c.json" are sorted between "a" and "a/", only stop once past the prefix.
+					break;
+				}
+			}
+		}
+
+		static PackIndex build(ModIoOps io) throws IOException {
+			var access = new ResourceAccess(io);
+			var namespaces = new EnumMap<ResourceType, Set<String>>(ResourceType.class);
+			var rootFiles = new ArrayList<String>();
+			var files = new ArrayList<String>();
+			Path root = io.getNormalizedPath("");
+
+			for (var type : TYPES) {
+				namespaces.put(type, Set.copyOf(access.getNamespaces(type)));
+			}
+
+			try (DirectoryStream<Path> stream = Files.newDirectoryStream(root)) {
+				for (Path child : stream) {
+					String name = child.getFileName().toString().replace(io.getSeparator(), "");
+
+					if (Files.isRegularFile(child)) {
+						rootFiles.add(name);
+					} else if (isResourceDirectory(name) && Files.isDirectory(child)) {
+						try (var walk = Files.walk(child)) {
+							walk.filter(Files::isRegularFile)
+									.forEach(file -> files.add(root.relativize(file).toString().replace(io.getSeparator(), "/")));
+						}
+					}
+				}
+			}
+
+			var sortedFiles = files.toArray(new String[0]);
+			Arrays.sort(sortedFiles);
+			return new PackIndex(namespaces, Set.copyOf(rootFiles), sortedFiles);
+		}
+
+		static PackIndex read(ByteBuffer buffer) {
+			var namespaces = new EnumMap<ResourceType, Set<String>>(ResourceType.class);
+
+			for (var type : TYPES) {
+				namespaces.put(type, Set.of(readStrings(buffer)));
+			}
+
+			var rootFiles = Set.of(readStrings(buffer));
+			var files = new String[buffer.getInt()];
+			String previous = "";
+
+			for (int i = 0; i < files.length; i++) {
+				// Paths are front-coded: only the part which differs from the previous path is stored.
+				int sharedLength = buffer.getInt();
+				files[i] = previous.substring(0, sharedLength) + readString(buffer);
+				previous = files[i];
+			}
+
+			return new PackIndex(namespaces, rootFiles, files);
+		}
+
+		byte[] write() {
+			try {
+				var out = new ByteArrayOutputStream();
+				var data = new DataOutputStream(out);
+
+				for (var type : TYPES) {
+					writeStrings(data, this.namespaces.get(type));
+				}
+
+				writeStrings(data, this.rootFiles);
+				data.writeInt(this.files.length);
+				String previous = "";
+
+				for (String file : this.files) {
+					int sharedLength = 0;
+					int maxLength = Math.min(previous.length(), file.length());
+
+					while (sharedLength < maxLength && previous.charAt(sharedLength) == file.charAt(sharedLength)) {
+						sharedLength++;
+					}
+
+					data.writeInt(sharedLength);
+					writeString(data, file.substring(sharedLength));
+					previous = file;
+				}
+
+				return out.toByteArray();
+			} catch (IOException e) {
+				// Cannot happen with a byte array output stream.
+				throw new IllegalStateException(e);
+			}
+		}
+
+		private static boolean isResourceDirectory(String name) {
+			for (var type : TYPES) {
+				if (type.getDirectory().equals(name)) {
+					return true;
+				}
+			}
+
+			return false;
+		}
+
+		private static String[] readStrings(ByteBuffer buffer) {
+			var strings = new String[buffer.getInt()];
+
+			for (int i = 0; i < strings.length; i++) {
+				strings[i] = readString(buffer);
+			}
+
+			return strings;
+		}
+
+		private static void writeStrings(DataOutputStream out, Set<String> strings) throws IOException {
+			out.writeInt(strings.size());
+
+			for (var string : strings) {
+				writeString(out, string);
+			}
+		}
+	}
+}
@@ -24,6 +24,7 @@
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.function.BiConsumer;
 
 import com.mojang.logging.LogUtils;
 import org.jetbrains.annotations.ApiStatus;
@@ -126,6 +127,33 @@ public Set<String> getNamespaces(ResourceType type) {
 		}
 	}
 
+	/**
+	 * Lists the files found at the given starting path inside the given namespace directory, recursively.
+	 *
+	 * @param namespacePath the path of the namespace directory
+	 * @param startingPath  the path to search, relative to the namespace directory
+	 * @param consumer      the consumer of the found files, which accepts their path relative to the namespace directory
+	 *                      using {@code /} as separator, and their actual path
+	 * @throws IOException if the files could not be listed
+	 */
+	public void listResources(String namespacePath, String startingPath, BiConsumer<String, Path> consumer) throws IOException {
+		Entry namespaceEntry = this.getEntry(namespacePath);
+
+		if (namespaceEntry != null) {
+			String nioPath = startingPath.replace("/", this.io.getSeparator());
+			Entry searchEntry = this.getEntry(namespacePath + '/' + nioPath);
+
+			if (searchEntry != null) {
+				try (var stream = Files.walk(searchEntry.path())) {
+					stream.filter(Files::isRegularFile)
+							.forEach(p -> consumer.accept(
+									namespaceEntry.path().relativize(p).toString().replace(this.io.getSeparator(), "/"), p
+							));
+				}
+			}
+		}
+	}
+
 	protected void warnInvalidNamespace(String s) {
 		LOGGER.warn("Quilt NioResourcePack: ignored invalid namespace: {} in mod ID {}", s, this.io.getModMetadata().id());
 	}
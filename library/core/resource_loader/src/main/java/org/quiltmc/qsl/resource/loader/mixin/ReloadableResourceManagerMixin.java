@@ -41,6 +41,7 @@
 import org.quiltmc.qsl.resource.loader.api.GroupPack;
 import org.quiltmc.qsl.resource.loader.impl.QuiltMultiPackResourceManagerHooks;
 import org.quiltmc.qsl.resource.loader.impl.ResourceLoaderImpl;
+import org.quiltmc.qsl.resource.loader.impl.cache.PersistentResourceIndex;
 
 @Mixin(ReloadableResourceManager.class)
 public class ReloadableResourceManagerMixin {
@@ -62,9 +63,17 @@ private void reload(Executor prepareExecutor, Executor applyExecutor, Completabl
 			hooks.quilt$appendTopPacks();
 		}
 
+		// Every pack of the reload is open by now, persist the ones which have been indexed once per reload.
+		PersistentResourceIndex.save();
 		ResourceLoaderImpl.sort(this.type, this.reloaders);
 	}
 
+	@Inject(method = "reload", at = @At("RETURN"))
+	private void onReloadStarted(Executor prepareExecutor, Executor applyExecutor, CompletableFuture<Unit> initialStage,
+			List<ResourcePack> packs, CallbackInfoReturnable<ResourceReload> info) {
+		ResourceLoaderImpl.reportReloaderTimings(this.type, info.getReturnValue().whenComplete());
+	}
+
 	/**
 	 * private static synthetic method_29491(Ljava/util/List;)Ljava/lang/Object;
 	 * Supplier lambda in beginMonitoredReload method.
@@ -36,6 +36,7 @@
 
 import org.quiltmc.qsl.resource.loader.impl.QuiltMultiPackResourceManagerHooks;
 import org.quiltmc.qsl.resource.loader.impl.ResourceLoaderImpl;
+import org.quiltmc.qsl.resource.loader.impl.cache.PersistentResourceIndex;
 
 @Mixin(ServerReloadableResources.class)
 public class ServerReloadableResourcesMixin {
@@ -55,5 +56,15 @@ private static void onLoadResources(ResourceManager resources, DynamicRegistryMa
 		if (resources instanceof QuiltMultiPackResourceManagerHooks hooks) {
 			hooks.quilt$appendTopPacks();
 		}
+
+		// Every pack of the reload is open by now, persist the ones which have been indexed once per reload.
+		PersistentResourceIndex.save();
+	}
+
+	@Inject(method = "loadResources", at = @At("RETURN"))
+	private static void onResourcesLoading(ResourceManager resources, DynamicRegistryManager.Frozen registry, FeatureFlagBitSet featureFlagBitSet,
+			CommandManager.RegistrationEnvironment environment, int level, Executor prepareExecutor, Executor applyExecutor,
+			CallbackInfoReturnable<CompletableFuture<ServerReloadableResources>> cir) {
+		ResourceLoaderImpl.reportReloaderTimings(ResourceType.SERVER_DATA, cir.getReturnValue());
 	}
 }
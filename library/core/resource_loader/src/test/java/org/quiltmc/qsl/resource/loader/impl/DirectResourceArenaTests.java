@@ -0,0 +1,135 @@
+/*
+ * Copyright 2023 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.resource.loader.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+public class DirectResourceArenaTests {
+	private static byte[] bytes(int length, int seed) {
+		var bytes = new byte[length];
+
+		for (int i = 0; i < length; i++) {
+			bytes[i] = (byte) (seed + i);
+		}
+
+		return bytes;
+	}
+
+	private static byte[] read(ByteBuffer buffer) {
+		var bytes = new byte[buffer.remaining()];
+		buffer.duplicate().get(bytes);
+		return bytes;
+	}
+
+	@Test
+	void storedResourcesAreReadOnlyDirectCopies() {
+		var arena = new DirectResourceArena();
+		var original = bytes(64, 1);
+
+		var stored = arena.store(original);
+		Arrays.fill(original, (byte) 0);
+
+		assertTrue(stored.isDirect());
+		assertTrue(stored.isReadOnly());
+		assertArrayEquals(bytes(64, 1), read(stored));
+	}
+
+	@Test
+	void resourcesAreBumpAllocatedInTheSameChunk() {
+		var arena = new DirectResourceArena();
+		assertEquals(-1, arena.getChunkRemaining());
+
+		var first = arena.store(bytes(100, 1));
+		assertEquals(DirectResourceArena.CHUNK_SIZE - 100, arena.getChunkRemaining());
+
+		var second = arena.store(bytes(50, 2));
+		assertEquals(DirectResourceArena.CHUNK_SIZE - 150, arena.getChunkRemaining());
+
+		// Views must not overlap.
+		assertArrayEquals(bytes(100, 1), read(first));
+		assertArrayEquals(bytes(50, 2), read(second));
+		assertEquals(0, first.position());
+		assertEquals(100, first.capacity());
+		assertEquals(50, second.capacity());
+	}
+
+	@Test
+	void emptyResourcesDoNotTakeSpace() {
+		var arena = new DirectResourceArena();
+		arena.store(bytes(10, 0));
+
+		var empty = arena.store(new byte[0]);
+
+		assertEquals(0, empty.remaining());
+		assertEquals(DirectResourceArena.CHUNK_SIZE - 10, arena.getChunkRemaining());
+	}
+
+	@Test
+	void bigResourcesGetTheirOwnBuffer() {
+		var arena = new DirectResourceArena();
+		arena.store(bytes(10, 0));
+
+		var big = arena.store(bytes(DirectResourceArena.MAX_CHUNKED_RESOURCE_SIZE + 1, 3));
+
+		assertTrue(big.isDirect());
+		assertArrayEquals(bytes(DirectResourceArena.MAX_CHUNKED_RESOURCE_SIZE + 1, 3), read(big));
+		assertEquals(DirectResourceArena.CHUNK_SIZE - 10, arena.getChunkRemaining());
+
+		// A resource of exactly the maximum size is still chunked.
+		arena.store(bytes(DirectResourceArena.MAX_CHUNKED_RESOURCE_SIZE, 4));
+		assertEquals(DirectResourceArena.CHUNK_SIZE - 10 - DirectResourceArena.MAX_CHUNKED_RESOURCE_SIZE, arena.getChunkRemaining());
+	}
+
+	@Test
+	void fullChunksAreReplaced() {
+		var arena = new DirectResourceArena();
+		int size = DirectResourceArena.MAX_CHUNKED_RESOURCE_SIZE;
+		int perChunk = DirectResourceArena.CHUNK_SIZE / size;
+		var stored = new ByteBuffer[perChunk + 1];
+
+		for (int i = 0; i < perChunk; i++) {
+			stored[i] = arena.store(bytes(size, i));
+		}
+
+		assertEquals(0, arena.getChunkRemaining());
+
+		stored[perChunk] = arena.store(bytes(size, perChunk));
+		assertEquals(DirectResourceArena.CHUNK_SIZE - size, arena.getChunkRemaining());
+
+		for (int i = 0; i < stored.length; i++) {
+			assertArrayEquals(bytes(size, i), read(stored[i]));
+		}
+	}
+
+	@Test
+	void clearKeepsStoredResourcesReadable() {
+		var arena = new DirectResourceArena();
+		var stored = arena.store(bytes(32, 5));
+
+		arena.clear();
+		assertEquals(-1, arena.getChunkRemaining());
+
+		arena.store(bytes(32, 6));
+		assertEquals(DirectResourceArena.CHUNK_SIZE - 32, arena.getChunkRemaining());
+		assertArrayEquals(bytes(32, 5), read(stored));
+	}
+}
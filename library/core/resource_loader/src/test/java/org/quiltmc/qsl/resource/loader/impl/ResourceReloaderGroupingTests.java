@@ -0,0 +1,224 @@
+/*
+ * Copyright 2023 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.resource.loader.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.resource.ResourceManager;
+import net.minecraft.resource.ResourceReloader;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.profiler.Profiler;
+
+import org.quiltmc.qsl.base.api.phase.PhaseData;
+import org.quiltmc.qsl.base.api.phase.PhaseSorting;
+
+public class ResourceReloaderGroupingTests {
+	private static ResourceReloaderPhaseData vanilla(String name) {
+		var phase = new ResourceReloaderPhaseData(new Identifier("minecraft", name), new NamedReloader(name));
+		phase.setVanillaStatus(ResourceReloaderPhaseData.VanillaStatus.VANILLA);
+		return phase;
+	}
+
+	private static ResourceReloaderPhaseData modded(String name) {
+		return new ResourceReloaderPhaseData(new Identifier("quilt_resource_loader_testmod", name), new NamedReloader(name));
+	}
+
+	private static List<ResourceReloader> group(List<ResourceReloaderPhaseData> phases, boolean concurrent,
+			ResourceReloaderTimings timings) {
+		var reloaders = new ArrayList<ResourceReloader>();
+		ResourceLoaderImpl.groupReloaders(phases, reloaders, concurrent, timings);
+		return reloaders;
+	}
+
+	private static List<ResourceReloader> members(ResourceReloader reloader) {
+		return reloader instanceof ResourceReloaderGroup group ? group.getReloaders() : List.of(reloader);
+	}
+
+	/**
+	 * {@return all the phases the given phase is ordered after, directly or not}
+	 *
+	 * @param phase   the phase
+	 * @param parents the phases each phase is directly ordered after
+	 */
+	private static Set<ResourceReloaderPhaseData> ancestors(ResourceReloaderPhaseData phase,
+			Map<ResourceReloaderPhaseData, Set<ResourceReloaderPhaseData>> parents) {
+		var ancestors = new HashSet<ResourceReloaderPhaseData>();
+		var frontier = new ArrayDeque<>(parents.getOrDefault(phase, Set.of()));
+
+		while (!frontier.isEmpty()) {
+			var ancestor = frontier.poll();
+
+			if (ancestors.add(ancestor)) {
+				frontier.addAll(parents.getOrDefault(ancestor, Set.of()));
+			}
+		}
+
+		return ancestors;
+	}
+
+	@Test
+	void consecutiveIndependentReloadersAreGrouped() {
+		var first = vanilla("first");
+		var a = modded("a");
+		var b = modded("b");
+		var c = modded("c");
+		PhaseData.link(first, a);
+		PhaseData.link(first, b);
+		PhaseData.link(first, c);
+
+		var reloaders = group(List.of(first, a, b, c), true, null);
+
+		assertEquals(2, reloaders.size());
+		assertSame(first.getData(), reloaders.get(0));
+		assertEquals(List.of(a.getData(), b.getData(), c.getData()), members(reloaders.get(1)));
+	}
+
+	@Test
+	void dependentReloadersAreNeverGrouped() {
+		var a = modded("a");
+		var b = modded("b");
+		var c = modded("c");
+		var d = modded("d");
+		PhaseData.link(a, c);
+
+		var reloaders = group(List.of(a, b, c, d), true, null);
+
+		assertEquals(2, reloaders.size());
+		assertEquals(List.of(a.getData(), b.getData(), d.getData()), members(reloaders.get(0)));
+		assertEquals(List.of(c.getData()), members(reloaders.get(1)));
+	}
+
+	@Test
+	void independentReloadersSortedApartAreGrouped() {
+		var a = modded("a");
+		var b = modded("b");
+		var c = modded("c");
+		var d = modded("d");
+		PhaseData.link(a, b);
+		PhaseData.link(b, d);
+
+		// c only sits between dependent reloaders, it must still be grouped with a.
+		var reloaders = group(List.of(a, b, c, d), true, null);
+
+		assertEquals(3, reloaders.size());
+		assertEquals(List.of(a.getData(), c.getData()), members(reloaders.get(0)));
+		assertEquals(List.of(b.getData()), members(reloaders.get(1)));
+		assertEquals(List.of(d.getData()), members(reloaders.get(2)));
+	}
+
+	@Test
+	void vanillaReloadersSplitGroups() {
+		var a = modded("a");
+		var vanilla = vanilla("vanilla");
+		var b = modded("b");
+		var c = modded("c");
+
+		var reloaders = group(List.of(a, vanilla, b, c), true, null);
+
+		assertEquals(3, reloaders.size());
+		assertSame(a.getData(), reloaders.get(0));
+		assertSame(vanilla.getData(), reloaders.get(1));
+		assertEquals(List.of(b.getData(), c.getData()), members(reloaders.get(2)));
+	}
+
+	@Test
+	void reloadersAreOnlyWrappedToRecordTimings() {
+		var a = modded("a");
+		var b = modded("b");
+
+		assertEquals(List.of(a.getData(), b.getData()), group(List.of(a, b), false, null));
+
+		var reloaders = group(List.of(a, b), false, new ResourceReloaderTimings());
+
+		assertEquals(2, reloaders.size());
+		assertEquals(List.of(a.getData()), members(reloaders.get(0)));
+		assertEquals(List.of(b.getData()), members(reloaders.get(1)));
+	}
+
+	@Test
+	void sortedRandomOrderingsAreRespected() {
+		var random = new Random(42);
+
+		for (int iteration = 0; iteration < 100; iteration++) {
+			var phases = new ArrayList<ResourceReloaderPhaseData>();
+			var parents = new HashMap<ResourceReloaderPhaseData, Set<ResourceReloaderPhaseData>>();
+
+			for (int i = 0; i < 20; i++) {
+				phases.add(modded("reloader_" + i));
+			}
+
+			// Only link forward to keep the graph acyclic.
+			for (int i = 0; i < 20; i++) {
+				for (int j = i + 1; j < 20; j++) {
+					if (random.nextInt(10) == 0) {
+						PhaseData.link(phases.get(i), phases.get(j));
+						parents.computeIfAbsent(phases.get(j), phase -> new HashSet<>()).add(phases.get(i));
+					}
+				}
+			}
+
+			PhaseSorting.sortPhases(phases);
+
+			var reloaders = group(phases, true, null);
+			var groupIndices = new HashMap<ResourceReloader, Integer>();
+
+			for (int i = 0; i < reloaders.size(); i++) {
+				for (var member : members(reloaders.get(i))) {
+					groupIndices.put(member, i);
+				}
+			}
+
+			assertEquals(phases.size(), groupIndices.size());
+
+			for (var phase : phases) {
+				int index = groupIndices.get(phase.getData());
+
+				for (var ancestor : ancestors(phase, parents)) {
+					assertTrue(groupIndices.get(ancestor.getData()) < index,
+							() -> phase.getId() + " is not reloaded after " + ancestor.getId() + " which it depends on.");
+				}
+			}
+		}
+	}
+
+	private record NamedReloader(String name) implements ResourceReloader {
+		@Override
+		public CompletableFuture<Void> reload(Synchronizer synchronizer, ResourceManager manager,
+				Profiler prepareProfiler, Profiler applyProfiler,
+				Executor prepareExecutor, Executor applyExecutor) {
+			return synchronizer.whenPrepared(null);
+		}
+
+		@Override
+		public String getName() {
+			return this.name;
+		}
+	}
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2023 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.resource.loader.impl.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import net.minecraft.resource.ResourceType;
+
+import org.quiltmc.qsl.resource.loader.impl.ModIoOps;
+
+public class PersistentResourceIndexTests {
+	private static final byte[] FINGERPRINT = new byte[32];
+	private static final byte[] OTHER_FINGERPRINT = new byte[32];
+
+	static {
+		OTHER_FINGERPRINT[0] = 1;
+	}
+
+	@TempDir
+	Path directory;
+	private Path pack;
+	private Path indexFile;
+	private ModIoOps io;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		this.pack = this.directory.resolve("pack");
+		this.indexFile = this.directory.resolve("index.bin");
+
+		for (var file : List.of("pack.mcmeta", "assets/test/textures/a.png", "assets/test/textures/ab/b.png",
+				"assets/test/textures/a-b/c.png", "data/test/recipes/x.json")) {
+			var path = this.pack.resolve(file);
+			Files.createDirectories(path.getParent());
+			Files.writeString(path, file);
+		}
+
+		this.io = new ModIoOps(this.pack, null) {
+			@Override
+			public @Nullable Path getPath(String path) {
+				var normalized = this.getNormalizedPath(path);
+				return Files.exists(normalized) ? normalized : null;
+			}
+
+			@Override
+			public EntryType getEntryType(String path) {
+				return this.getEntryType(this.getNormalizedPath(path));
+			}
+
+			@Override
+			public EntryType getEntryType(Path path) {
+				return Files.isDirectory(path) ? EntryType.DIRECTORY : Files.isRegularFile(path) ? EntryType.FILE : EntryType.EMPTY;
+			}
+		};
+
+		PersistentResourceIndex.reset(this.indexFile);
+	}
+
+	private static List<String> list(PersistentResourceIndex.PackIndex index, String path) {
+		var files = new ArrayList<String>();
+		index.listFiles(path, files::add);
+		return files;
+	}
+
+	private void relaunch() {
+		PersistentResourceIndex.reset(this.indexFile);
+	}
+
+	@Test
+	void indexesPacks() throws IOException {
+		var index = PersistentResourceIndex.getIndex("pack", "minecraft", FINGERPRINT, this.io);
+
+		assertEquals(Set.of("test"), index.getNamespaces(ResourceType.CLIENT_RESOURCES));
+		assertEquals(Set.of("test"), index.getNamespaces(ResourceType.SERVER_DATA));
+		assertEquals(EntryType.FILE, index.getEntryType("pack.mcmeta"));
+		assertEquals(EntryType.FILE, index.getEntryType("assets/test/textures/a.png"));
+		assertEquals(EntryType.DIRECTORY, index.getEntryType("assets/test/textures/ab"));
+		assertEquals(EntryType.EMPTY, index.getEntryType("assets/test/textures/missing.png"));
+		assertNull(index.getEntryType("unknown/file.json"));
+		assertTrue(PersistentResourceIndex.isDirty());
+	}
+
+	@Test
+	void listingStopsAtPrefixBoundaries() throws IOException {
+		var index = PersistentResourceIndex.getIndex("pack", "minecraft", FINGERPRINT, this.io);
+
+		assertEquals(List.of("assets/test/textures/ab/b.png"), list(index, "assets/test/textures/ab"));
+		assertEquals(List.of("assets/test/textures/a-b/c.png"), list(index, "assets/test/textures/a-b"));
+		assertEquals(List.of(), list(index, "assets/test/textures/a"));
+		assertEquals(List.of("assets/test/textures/a.png"), list(index, "assets/test/textures/a.png"));
+		assertEquals(3, list(index, "assets/test/textures").size());
+	}
+
+	@Test
+	void unchangedPacksAreReusedAfterRelaunch() throws IOException {
+		PersistentResourceIndex.getIndex("pack", "minecraft", FINGERPRINT, this.io);
+		PersistentResourceIndex.save(modId -> true);
+
+		assertTrue(Files.isRegularFile(this.indexFile));
+		assertFalse(PersistentResourceIndex.isDirty());
+
+		// A rebuilt index would miss this file, the persisted one doesn't.
+		Files.delete(this.pack.resolve("data/test/recipes/x.json"));
+		this.relaunch();
+
+		var index = PersistentResourceIndex.getIndex("pack", "minecraft", FINGERPRINT, this.io);
+		assertEquals(EntryType.FILE, index.getEntryType("data/test/recipes/x.json"));
+		assertFalse(PersistentResourceIndex.isDirty());
+	}
+
+	@Test
+	void changedPacksAreReindexed() throws IOException {
+		PersistentResourceIndex.getIndex("pack", "minecraft", FINGERPRINT, this.io);
+		PersistentResourceIndex.save(modId -> true);
+
+		Files.delete(this.pack.resolve("data/test/recipes/x.json"));
+		this.relaunch();
+
+		var index = PersistentResourceIndex.getIndex("pack", "minecraft", OTHER_FINGERPRINT, this.io);
+		assertEquals(EntryType.EMPTY, index.getEntryType("data/test/recipes/x.json"));
+		assertTrue(PersistentResourceIndex.isDirty());
+	}
+
+	@Test
+	void saveOnlyWritesWhenDirty() throws IOException {
+		PersistentResourceIndex.save(modId -> true);
+		assertFalse(Files.exists(this.indexFile));
+
+		PersistentResourceIndex.getIndex("pack", "minecraft", FINGERPRINT, this.io);
+		PersistentResourceIndex.save(modId -> true);
+		Files.delete(this.indexFile);
+
+		PersistentResourceIndex.save(modId -> true);
+		assertFalse(Files.exists(this.indexFile));
+	}
+
+	@Test
+	void loadedIndexCanBeReplaced() throws IOException {
+		PersistentResourceIndex.getIndex("pack", "minecraft", FINGERPRINT, this.io);
+		PersistentResourceIndex.save(modId -> true);
+		this.relaunch();
+
+		// The first pack is read from the mapped file, the second one is new: saving must replace the mapped file.
+		PersistentResourceIndex.getIndex("pack", "minecraft", FINGERPRINT, this.io);
+		PersistentResourceIndex.getIndex("other", "minecraft", FINGERPRINT, this.io);
+		PersistentResourceIndex.save(modId -> true);
+		assertFalse(PersistentResourceIndex.isDirty());
+
+		Files.delete(this.pack.resolve("data/test/recipes/x.json"));
+		this.relaunch();
+
+		assertEquals(EntryType.FILE, PersistentResourceIndex.getIndex("pack", "minecraft", FINGERPRINT, this.io).getEntryType("data/test/recipes/x.json"));
+		assertEquals(EntryType.FILE, PersistentResourceIndex.getIndex("other", "minecraft", FINGERPRINT, this.io).getEntryType("data/test/recipes/x.json"));
+	}
+
+	@Test
+	void packsOfRemovedModsAreForgotten() throws IOException {
+		PersistentResourceIndex.getIndex("pack", "removed", FINGERPRINT, this.io);
+		PersistentResourceIndex.save(modId -> !modId.equals("removed"));
+
+		Files.delete(this.pack.resolve("data/test/recipes/x.json"));
+		this.relaunch();
+
+		PersistentResourceIndex.getIndex("pack", "removed", FINGERPRINT, this.io);
+		assertTrue(PersistentResourceIndex.isDirty());
+	}
+
+	@Test
+	void fingerprintTracksFileChanges() throws IOException {
+		var jar = this.directory.resolve("mod.jar");
+		Files.writeString(jar, "content");
+		Files.setLastModifiedTime(jar, FileTime.fromMillis(1000));
+
+		var fingerprint = PersistentResourceIndex.computeFingerprint(List.of(jar));
+		assertNotNull(fingerprint);
+		assertArrayEquals(fingerprint, PersistentResourceIndex.computeFingerprint(List.of(jar)));
+
+		Files.setLastModifiedTime(jar, FileTime.fromMillis(2000));
+		var touched = PersistentResourceIndex.computeFingerprint(List.of(jar));
+		assertFalse(Arrays.equals(fingerprint, touched));
+
+		Files.writeString(jar, "longer content");
+		Files.setLastModifiedTime(jar, FileTime.fromMillis(2000));
+		assertFalse(Arrays.equals(touched, PersistentResourceIndex.computeFingerprint(List.of(jar))));
+
+		assertNull(PersistentResourceIndex.computeFingerprint(List.of(this.pack)), "Directories cannot be fingerprinted");
+	}
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2023 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.resource.loader.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.resource.ResourceIoSupplier;
+import net.minecraft.resource.ResourceType;
+import net.minecraft.util.Identifier;
+
+import org.quiltmc.qsl.resource.loader.api.InMemoryPack;
+
+public class InMemoryPackTests {
+	private static final String NAMESPACE = "quilt_resource_loader_testmod";
+
+	private static Identifier id(String path) {
+		return new Identifier(NAMESPACE, path);
+	}
+
+	private static String read(ResourceIoSupplier<InputStream> supplier) {
+		try (var stream = supplier.get()) {
+			return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static Map<String, String> list(InMemoryPack pack, String startingPath) {
+		var resources = new LinkedHashMap<String, String>();
+		pack.listResources(ResourceType.SERVER_DATA, NAMESPACE, startingPath,
+				(id, supplier) -> resources.put(id.getPath(), read(supplier)));
+		return resources;
+	}
+
+	private static InMemoryPack createPack(InMemoryPack.Storage storage) {
+		var pack = new InMemoryPack.Named("test", storage);
+
+		for (var path : List.of("a/b/1.json", "a/b/2.json", "a/bc/3.json", "a/b.json", "a/a/4.json", "b/5.json", "a/b/c/6.json")) {
+			pack.putResource(ResourceType.SERVER_DATA, id(path), path.getBytes(StandardCharsets.UTF_8));
+		}
+
+		return pack;
+	}
+
+	@Test
+	void defaultStorageIsHeap() {
+		var pack = new InMemoryPack.Named("test");
+		pack.putResource(ResourceType.SERVER_DATA, id("a.json"), "content".getBytes(StandardCharsets.UTF_8));
+
+		assertEquals("content", read(pack.open(ResourceType.SERVER_DATA, id("a.json"))));
+	}
+
+	@Test
+	void resourcesCanBeReadInEveryStorage() {
+		for (var storage : InMemoryPack.Storage.values()) {
+			var pack = createPack(storage);
+
+			assertEquals("a/b/1.json", read(pack.open(ResourceType.SERVER_DATA, id("a/b/1.json"))), storage::name);
+			// Resources may be read more than once.
+			assertEquals("a/b/1.json", read(pack.open(ResourceType.SERVER_DATA, id("a/b/1.json"))), storage::name);
+			assertNull(pack.open(ResourceType.SERVER_DATA, id("a/b/missing.json")), storage::name);
+			assertNull(pack.open(ResourceType.CLIENT_RESOURCES, id("a/b/1.json")), storage::name);
+			assertEquals(Set.of(NAMESPACE), pack.getNamespaces(ResourceType.SERVER_DATA), storage::name);
+		}
+	}
+
+	@Test
+	void storedResourcesAreCopiesInDirectStorage() {
+		var pack = new InMemoryPack.Named("test", InMemoryPack.Storage.DIRECT);
+		var bytes = "content".getBytes(StandardCharsets.UTF_8);
+		pack.putResource(ResourceType.SERVER_DATA, id("a.json"), bytes);
+		bytes[0] = 'C';
+
+		assertEquals("content", read(pack.open(ResourceType.SERVER_DATA, id("a.json"))));
+	}
+
+	@Test
+	void suppliedResourcesAreStoredInEveryStorage() {
+		for (var storage : InMemoryPack.Storage.values()) {
+			var pack = new InMemoryPack.Named("test", storage);
+			var calls = new int[1];
+			pack.putResource(ResourceType.SERVER_DATA, id("a.json"), () -> {
+				calls[0]++;
+				return "supplied".getBytes(StandardCharsets.UTF_8);
+			});
+
+			assertEquals(0, calls[0], storage::name);
+			assertEquals("supplied", read(pack.open(ResourceType.SERVER_DATA, id("a.json"))), storage::name);
+			assertEquals("supplied", read(pack.open(ResourceType.SERVER_DATA, id("a.json"))), storage::name);
+			assertEquals(1, calls[0], storage::name);
+		}
+	}
+
+	@Test
+	void replacedAndClearedResources() {
+		for (var storage : InMemoryPack.Storage.values()) {
+			var pack = createPack(storage);
+			pack.putResource(ResourceType.SERVER_DATA, id("a/b/1.json"), "replaced".getBytes(StandardCharsets.UTF_8));
+
+			assertEquals("replaced", read(pack.open(ResourceType.SERVER_DATA, id("a/b/1.json"))), storage::name);
+
+			pack.clearResources();
+
+			assertNull(pack.open(ResourceType.SERVER_DATA, id("a/b/1.json")), storage::name);
+			assertTrue(list(pack, "a").isEmpty(), storage::name);
+
+			pack.putResource(ResourceType.SERVER_DATA, id("a/b/1.json"), "new".getBytes(StandardCharsets.UTF_8));
+			assertEquals("new", read(pack.open(ResourceType.SERVER_DATA, id("a/b/1.json"))), storage::name);
+		}
+	}
+
+	@Test
+	void listingStopsAtThePrefixBoundary() {
+		for (var storage : InMemoryPack.Storage.values()) {
+			var pack = createPack(storage);
+
+			// The starting path is a plain prefix, as it was before resources were sorted by path.
+			assertEquals(List.of("a/b.json", "a/b/1.json", "a/b/2.json", "a/b/c/6.json", "a/bc/3.json"),
+					new ArrayList<>(list(pack, "a/b").keySet()), storage::name);
+			assertEquals(List.of("a/b/1.json", "a/b/2.json", "a/b/c/6.json"),
+					new ArrayList<>(list(pack, "a/b/").keySet()), storage::name);
+			assertEquals(List.of("a/bc/3.json"), new ArrayList<>(list(pack, "a/bc").keySet()), storage::name);
+			assertEquals(List.of("b/5.json"), new ArrayList<>(list(pack, "b").keySet()), storage::name);
+			assertTrue(list(pack, "a/bd").isEmpty(), storage::name);
+			assertTrue(list(pack, "c").isEmpty(), storage::name);
+			assertEquals(7, list(pack, "").size(), storage::name);
+			assertEquals("a/bc/3.json", list(pack, "a/bc").get("a/bc/3.json"), storage::name);
+		}
+	}
+
+	@Test
+	void listingAnUnknownNamespaceIsEmpty() {
+		var pack = createPack(InMemoryPack.Storage.HEAP);
+		var listed = new ArrayList<Identifier>();
+
+		pack.listResources(ResourceType.SERVER_DATA, "unknown", "a", (id, supplier) -> listed.add(id));
+		pack.listResources(ResourceType.CLIENT_RESOURCES, NAMESPACE, "a", (id, supplier) -> listed.add(id));
+
+		assertTrue(listed.isEmpty());
+	}
+}
@@ -48,11 +48,12 @@ class BasicRecipeHandlerImpl implements BaseRecipeHandler {
 
 	@Override
 	public @Nullable RecipeType<?> getTypeOf(Identifier id) {
-		return this.recipes.entrySet().stream()
-				.filter(entry -> entry.getValue().containsKey(id))
-				.findFirst()
-				.map(Map.Entry::getKey)
-				.orElse(null);
+		// The global recipe map mirrors the recipe maps of each type, which are keyed by the type of their recipes.
+		RecipeHolder<?> recipeHolder = this.globalRecipes.get(id);
+
+		if (recipeHolder == null) return null;
+
+		return recipeHolder.value().getType();
 	}
 
 	@Override
@@ -59,6 +59,10 @@ public final class RecipeManagerImpl implements RegistryEvents.DynamicRegistryLo
 	private static final Map<Identifier, RecipeHolder<?>> STATIC_RECIPES = new Object2ObjectOpenHashMap<>();
 	static final boolean DEBUG_MODE = TriState.fromProperty("quilt.recipe.debug").toBooleanOrElse(QuiltLoader.isDevelopmentEnvironment());
 	private static final boolean DUMP_MODE = Boolean.getBoolean("quilt.recipe.dump");
+	/**
+	 * Whether recipe managers should index their recipes by ingredient items to speed up recipe matching.
+	 */
+	public static final boolean MATCH_INDEX = TriState.fromProperty("quilt.recipe.match_index").toBooleanOrElse(false);
 	static final Logger LOGGER = LogUtils.getLogger();
 	private static DynamicRegistryManager currentRegistryManager;
 
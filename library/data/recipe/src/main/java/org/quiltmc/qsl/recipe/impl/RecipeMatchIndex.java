@@ -0,0 +1,200 @@
+/*
+ * Copyright 2024 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.recipe.impl;
+
+import java.util.BitSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.inventory.Inventory;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.recipe.BlastingRecipe;
+import net.minecraft.recipe.CampfireCookingRecipe;
+import net.minecraft.recipe.Ingredient;
+import net.minecraft.recipe.Recipe;
+import net.minecraft.recipe.RecipeHolder;
+import net.minecraft.recipe.RecipeType;
+import net.minecraft.recipe.ShapedRecipe;
+import net.minecraft.recipe.ShapelessRecipe;
+import net.minecraft.recipe.SmeltingRecipe;
+import net.minecraft.recipe.SmokingRecipe;
+import net.minecraft.recipe.StonecuttingRecipe;
+import net.minecraft.util.Identifier;
+import net.minecraft.world.World;
+
+/**
+ * Indexes the recipes of a recipe manager by the items of their ingredients,
+ * so that finding the recipe matching an inventory only tests the recipes which can use the items of the inventory.
+ * <p>
+ * The index of a recipe type is built lazily on its first query, once tags are bound, and is rebuilt whenever
+ * the recipe map of the type is replaced.
+ */
+@ApiStatus.Internal
+public final class RecipeMatchIndex {
+	private static final Set<Class<?>> INDEXED_RECIPE_CLASSES = Set.of(
+			ShapedRecipe.class, ShapelessRecipe.class,
+			SmeltingRecipe.class, BlastingRecipe.class, SmokingRecipe.class, CampfireCookingRecipe.class,
+			StonecuttingRecipe.class
+	);
+	private final Map<RecipeType<?>, TypeIndex> indices = new ConcurrentHashMap<>();
+	/**
+	 * The set of candidate recipes reused across queries, taken by a query while it runs so concurrent or nested queries don't share it.
+	 */
+	private final AtomicReference<BitSet> scratch = new AtomicReference<>();
+
+	/**
+	 * Finds the first recipe of the given recipe map which matches the given inventory,
+	 * in the same order as a linear search would.
+	 *
+	 * @param type      the type of the recipes
+	 * @param recipes   the recipes of the given type
+	 * @param inventory the inventory to match
+	 * @param world     the world
+	 * @return the first matching recipe if any, or {@link Optional#empty()} otherwise
+	 */
+	public <C extends Inventory, T extends Recipe<C>> Optional<RecipeHolder<T>> getFirstMatch(RecipeType<T> type,
+			Map<Identifier, RecipeHolder<?>> recipes, C inventory, World world) {
+		TypeIndex index = this.indices.get(type);
+
+		if (index == null || index.source != recipes) {
+			index = new TypeIndex(recipes);
+			this.indices.put(type, index);
+		}
+
+		BitSet candidates = this.scratch.getAndSet(null);
+
+		if (candidates == null) {
+			candidates = new BitSet();
+		}
+
+		try {
+			return index.getFirstMatch(candidates, inventory, world);
+		} finally {
+			candidates.clear();
+			this.scratch.set(candidates);
+		}
+	}
+
+	/**
+	 * {@return the ingredient a recipe of a well-known type can be indexed with, or {@code null} if it cannot be indexed}
+	 * <p>
+	 * Only exact Vanilla recipe classes whose ingredients are all plain Vanilla ingredients are indexed,
+	 * as their match logic is known to require an item of each of their non-empty ingredients.
+	 * The most selective ingredient is chosen.
+	 *
+	 * @param recipe the recipe
+	 */
+	private static @Nullable Ingredient getIndexedIngredient(Recipe<?> recipe) {
+		if (!INDEXED_RECIPE_CLASSES.contains(recipe.getClass())) {
+			return null;
+		}
+
+		Ingredient selected = null;
+		int selectedSize = Integer.MAX_VALUE;
+
+		for (var ingredient : recipe.getIngredients()) {
+			// Other ingredients may match items which are not part of their matching stacks.
+			if (ingredient.getClass() != Ingredient.class) {
+				return null;
+			}
+
+			if (ingredient.isEmpty()) continue;
+
+			int size = ingredient.getMatchingStacks().length;
+
+			if (size < selectedSize) {
+				selected = ingredient;
+				selectedSize = size;
+			}
+		}
+
+		// An ingredient without any matching stack (like an unbound tag) cannot be indexed reliably.
+		return selectedSize == 0 ? null : selected;
+	}
+
+	private static final class TypeIndex {
+		final Map<Identifier, RecipeHolder<?>> source;
+		final RecipeHolder<?>[] recipes;
+		final Map<Item, int[]> byItem = new Reference2ObjectOpenHashMap<>();
+		final BitSet unindexed = new BitSet();
+
+		TypeIndex(Map<Identifier, RecipeHolder<?>> source) {
+			this.source = source;
+			this.recipes = source.values().toArray(new RecipeHolder<?>[0]);
+
+			var byItem = new Reference2ObjectOpenHashMap<Item, IntArrayList>();
+
+			for (int i = 0; i < this.recipes.length; i++) {
+				Ingredient ingredient = getIndexedIngredient(this.recipes[i].value());
+
+				if (ingredient == null) {
+					this.unindexed.set(i);
+					continue;
+				}
+
+				for (var stack : ingredient.getMatchingStacks()) {
+					var indices = byItem.computeIfAbsent(stack.getItem(), item -> new IntArrayList());
+
+					// The same item may be matched by multiple stacks of the ingredient.
+					if (indices.isEmpty() || indices.getInt(indices.size() - 1) != i) {
+						indices.add(i);
+					}
+				}
+			}
+
+			byItem.forEach((item, indices) -> this.byItem.put(item, indices.toIntArray()));
+		}
+
+		@SuppressWarnings("unchecked")
+		<C extends Inventory, T extends Recipe<C>> Optional<RecipeHolder<T>> getFirstMatch(BitSet candidates, C inventory, World world) {
+			candidates.or(this.unindexed);
+
+			for (int slot = 0; slot < inventory.size(); slot++) {
+				ItemStack stack = inventory.getStack(slot);
+
+				if (!stack.isEmpty()) {
+					int[] recipeIndices = this.byItem.get(stack.getItem());
+
+					if (recipeIndices != null) {
+						for (int recipeIndex : recipeIndices) {
+							candidates.set(recipeIndex);
+						}
+					}
+				}
+			}
+
+			for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+				var recipeHolder = (RecipeHolder<T>) this.recipes[i];
+
+				if (recipeHolder.value().matches(inventory, world)) {
+					return Optional.of(recipeHolder);
+				}
+			}
+
+			return Optional.empty();
+		}
+	}
+}
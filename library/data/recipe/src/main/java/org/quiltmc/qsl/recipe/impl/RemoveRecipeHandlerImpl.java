@@ -18,7 +18,6 @@
 
 import java.util.Map;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 import org.jetbrains.annotations.ApiStatus;
 
@@ -59,16 +58,11 @@ public void remove(Identifier id) {
 		}
 	}
 
-	@SuppressWarnings("unchecked")
+	@SuppressWarnings({"unchecked", "rawtypes"})
 	@Override
 	public <T extends Recipe<?>> void removeIf(RecipeType<T> recipeType, Predicate<RecipeHolder<T>> recipeRemovalPredicate) {
-		this.removeIfInternal(this.recipes.get(recipeType)
-				.entrySet()
-				.stream()
-				.collect(Collectors.toMap(
-					Map.Entry::getKey,
-					e -> (RecipeHolder<T>) e.getValue()
-				)), recipeRemovalPredicate);
+		// The recipes of the map are all of the given type, the map can be safely modified in-place.
+		this.removeIfInternal((Map<Identifier, RecipeHolder<T>>) (Map) this.recipes.get(recipeType), recipeRemovalPredicate);
 	}
 
 	@Override
@@ -18,18 +18,24 @@
 
 import java.util.Collections;
 import java.util.Map;
+import java.util.Optional;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.gson.JsonElement;
+import com.mojang.datafixers.util.Pair;
+import org.jetbrains.annotations.Nullable;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Overwrite;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 import org.spongepowered.asm.mixin.injection.callback.LocalCapture;
 
+import net.minecraft.inventory.Inventory;
 import net.minecraft.recipe.Recipe;
 import net.minecraft.recipe.RecipeHolder;
 import net.minecraft.recipe.RecipeManager;
@@ -37,9 +43,11 @@
 import net.minecraft.resource.ResourceManager;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.profiler.Profiler;
+import net.minecraft.world.World;
 
 import org.quiltmc.qsl.recipe.impl.ImmutableMapBuilderUtil;
 import org.quiltmc.qsl.recipe.impl.RecipeManagerImpl;
+import org.quiltmc.qsl.recipe.impl.RecipeMatchIndex;
 
 @Mixin(RecipeManager.class)
 public class RecipeManagerMixin {
@@ -49,6 +57,9 @@ public class RecipeManagerMixin {
 	@Shadow
 	private Map<Identifier, RecipeHolder<?>> recipeFlatMap;
 
+	@Unique
+	private final @Nullable RecipeMatchIndex quilt$matchIndex = RecipeManagerImpl.MATCH_INDEX ? new RecipeMatchIndex() : null;
+
 	@Inject(
 			method = "apply(Ljava/util/Map;Lnet/minecraft/resource/ResourceManager;Lnet/minecraft/util/profiler/Profiler;)V",
 			at = @At(value = "INVOKE", target = "Ljava/util/Map;entrySet()Ljava/util/Set;", remap = false, ordinal = 0),
@@ -100,4 +111,56 @@ private void onReloadEnd(Map<Identifier, JsonElement> map, ResourceManager resou
 
 		this.recipeFlatMap = Collections.unmodifiableMap(globalRecipes);
 	}
+
+	@Inject(
+			method = "getFirstMatch(Lnet/minecraft/recipe/RecipeType;Lnet/minecraft/inventory/Inventory;Lnet/minecraft/world/World;)Ljava/util/Optional;",
+			at = @At("HEAD"),
+			cancellable = true
+	)
+	private <C extends Inventory, T extends Recipe<C>> void onGetFirstMatch(RecipeType<T> type, C inventory, World world,
+			CallbackInfoReturnable<Optional<RecipeHolder<T>>> cir) {
+		if (this.quilt$matchIndex != null) {
+			cir.setReturnValue(this.quilt$getIndexedFirstMatch(type, inventory, world));
+		}
+	}
+
+	@Inject(
+			method = "getFirstMatch(Lnet/minecraft/recipe/RecipeType;Lnet/minecraft/inventory/Inventory;Lnet/minecraft/world/World;Lnet/minecraft/util/Identifier;)Ljava/util/Optional;",
+			at = @At("HEAD"),
+			cancellable = true
+	)
+	@SuppressWarnings("unchecked")
+	private <C extends Inventory, T extends Recipe<C>> void onGetFirstMatchWithCache(RecipeType<T> type, C inventory, World world,
+			@Nullable Identifier id, CallbackInfoReturnable<Optional<Pair<Identifier, RecipeHolder<T>>>> cir) {
+		if (this.quilt$matchIndex == null) {
+			return;
+		}
+
+		// Test the last matched recipe first, like Vanilla.
+		Map<Identifier, RecipeHolder<?>> recipes = this.recipes.get(type);
+
+		if (id != null && recipes != null) {
+			var recipeHolder = (RecipeHolder<T>) recipes.get(id);
+
+			if (recipeHolder != null && recipeHolder.value().matches(inventory, world)) {
+				cir.setReturnValue(Optional.of(Pair.of(id, recipeHolder)));
+				return;
+			}
+		}
+
+		cir.setReturnValue(this.quilt$getIndexedFirstMatch(type, inventory, world)
+				.map(recipeHolder -> Pair.of(recipeHolder.id(), recipeHolder)));
+	}
+
+	@Unique
+	private <C extends Inventory, T extends Recipe<C>> Optional<RecipeHolder<T>> quilt$getIndexedFirstMatch(RecipeType<T> type,
+			C inventory, World world) {
+		Map<Identifier, RecipeHolder<?>> recipes = this.recipes.get(type);
+
+		if (recipes == null) {
+			return Optional.empty();
+		}
+
+		return this.quilt$matchIndex.getFirstMatch(type, recipes, inventory, world);
+	}
 }
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2023 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.recipe.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.recipe.CookingCategory;
+import net.minecraft.recipe.Ingredient;
+import net.minecraft.recipe.Recipe;
+import net.minecraft.recipe.RecipeHolder;
+import net.minecraft.recipe.RecipeType;
+import net.minecraft.recipe.SmeltingRecipe;
+import net.minecraft.recipe.StonecuttingRecipe;
+import net.minecraft.util.Identifier;
+
+public class RemoveRecipeHandlerTests {
+	private static final Identifier STONE_SLAB = new Identifier("quilt_recipe_testing", "stone_slab");
+	private static final Identifier STONE_STAIRS = new Identifier("quilt_recipe_testing", "stone_stairs");
+	private static final Identifier GLASS = new Identifier("quilt_recipe_testing", "glass");
+
+	private Map<RecipeType<?>, Map<Identifier, RecipeHolder<?>>> recipes;
+	private Map<Identifier, RecipeHolder<?>> globalRecipes;
+
+	@BeforeAll
+	static void beforeAll() {
+		SharedConstants.createGameVersion();
+		Bootstrap.initialize();
+	}
+
+	@BeforeEach
+	void setUp() {
+		this.recipes = new HashMap<>();
+		this.globalRecipes = new HashMap<>();
+		this.add(STONE_SLAB, new StonecuttingRecipe("", Ingredient.ofItems(Items.STONE), new ItemStack(Items.STONE_SLAB, 2)));
+		this.add(STONE_STAIRS, new StonecuttingRecipe("", Ingredient.ofItems(Items.STONE), new ItemStack(Items.STONE_STAIRS)));
+		this.add(GLASS, new SmeltingRecipe("", CookingCategory.BLOCKS, Ingredient.ofItems(Items.SAND), new ItemStack(Items.GLASS), 0.1f, 200));
+	}
+
+	private void add(Identifier id, Recipe<?> recipe) {
+		var holder = new RecipeHolder<>(id, recipe);
+		this.recipes.computeIfAbsent(recipe.getType(), type -> new LinkedHashMap<>()).put(id, holder);
+		this.globalRecipes.put(id, holder);
+	}
+
+	private RemoveRecipeHandlerImpl createHandler() {
+		return new RemoveRecipeHandlerImpl(null, this.recipes, this.globalRecipes, null);
+	}
+
+	@Test
+	void typedRemoveIfRemovesFromBothMaps() {
+		var handler = this.createHandler();
+
+		handler.removeIf(RecipeType.STONECUTTING, holder -> holder.id().equals(STONE_SLAB));
+
+		assertFalse(this.recipes.get(RecipeType.STONECUTTING).containsKey(STONE_SLAB));
+		assertFalse(this.globalRecipes.containsKey(STONE_SLAB));
+		assertTrue(this.recipes.get(RecipeType.STONECUTTING).containsKey(STONE_STAIRS));
+		assertTrue(this.globalRecipes.containsKey(STONE_STAIRS));
+		assertTrue(this.globalRecipes.containsKey(GLASS));
+		assertEquals(1, handler.counter);
+	}
+
+	@Test
+	void typedRemoveIfOfAbsentTypeIsNoOp() {
+		var handler = this.createHandler();
+
+		handler.removeIf(RecipeType.BLASTING, holder -> true);
+
+		assertEquals(3, this.globalRecipes.size());
+		assertEquals(0, handler.counter);
+	}
+
+	@Test
+	void untypedRemoveIfRemovesFromEveryType() {
+		var handler = this.createHandler();
+
+		handler.removeIf(holder -> !holder.id().equals(STONE_STAIRS));
+
+		assertEquals(Map.of(STONE_STAIRS, this.recipes.get(RecipeType.STONECUTTING).get(STONE_STAIRS)), this.globalRecipes);
+		assertEquals(1, this.recipes.get(RecipeType.STONECUTTING).size());
+		assertTrue(this.recipes.get(RecipeType.SMELTING).isEmpty());
+		assertEquals(2, handler.counter);
+	}
+
+	@Test
+	void removedRecipesAreNoLongerVisible() {
+		var handler = this.createHandler();
+
+		handler.removeIf(RecipeType.STONECUTTING, holder -> true);
+
+		assertFalse(handler.contains(STONE_SLAB));
+		assertFalse(handler.contains(STONE_SLAB, RecipeType.STONECUTTING));
+		assertNull(handler.getRecipe(STONE_STAIRS, RecipeType.STONECUTTING));
+		assertNull(handler.getTypeOf(STONE_STAIRS));
+	}
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2023 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.recipe.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.inventory.Inventory;
+import net.minecraft.inventory.SimpleInventory;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.recipe.Ingredient;
+import net.minecraft.recipe.RecipeHolder;
+import net.minecraft.recipe.RecipeType;
+import net.minecraft.recipe.StonecuttingRecipe;
+import net.minecraft.registry.tag.ItemTags;
+import net.minecraft.util.Identifier;
+import net.minecraft.world.World;
+
+import org.quiltmc.qsl.recipe.impl.RecipeMatchIndex;
+
+public class RecipeMatchIndexTests {
+	private Map<Identifier, RecipeHolder<?>> recipes;
+
+	@BeforeAll
+	static void beforeAll() {
+		SharedConstants.createGameVersion();
+		Bootstrap.initialize();
+	}
+
+	@BeforeEach
+	void setUp() {
+		this.recipes = new LinkedHashMap<>();
+		this.add("stone_slab", new StonecuttingRecipe("", Ingredient.ofItems(Items.STONE), new ItemStack(Items.STONE_SLAB, 2)));
+		this.add("stone_stairs", new StonecuttingRecipe("", Ingredient.ofItems(Items.STONE), new ItemStack(Items.STONE_STAIRS)));
+		this.add("cobblestone_slab", new StonecuttingRecipe("", Ingredient.ofItems(Items.COBBLESTONE, Items.MOSSY_COBBLESTONE),
+				new ItemStack(Items.COBBLESTONE_SLAB, 2)));
+		// Tags are not bound in tests, so this recipe cannot be indexed.
+		this.add("planks", new StonecuttingRecipe("", Ingredient.ofTag(ItemTags.LOGS), new ItemStack(Items.OAK_PLANKS)));
+		// Subclasses may match anything, they must always be tested.
+		this.add("anything", new StonecuttingRecipe("", Ingredient.ofItems(Items.DIAMOND), new ItemStack(Items.DIRT)) {
+			@Override
+			public boolean matches(Inventory inventory, World world) {
+				return inventory.getStack(0).isOf(Items.DIRT) || super.matches(inventory, world);
+			}
+		});
+		this.add("late_stone", new StonecuttingRecipe("", Ingredient.ofItems(Items.STONE, Items.DIRT), new ItemStack(Items.STONE_BRICKS)));
+	}
+
+	private void add(String name, StonecuttingRecipe recipe) {
+		var id = new Identifier("quilt_recipe_testing", name);
+		this.recipes.put(id, new RecipeHolder<>(id, recipe));
+	}
+
+	@SuppressWarnings("unchecked")
+	private Optional<RecipeHolder<StonecuttingRecipe>> linearFirstMatch(Inventory inventory) {
+		return this.recipes.values().stream()
+				.map(holder -> (RecipeHolder<StonecuttingRecipe>) holder)
+				.filter(holder -> holder.value().matches(inventory, null))
+				.findFirst();
+	}
+
+	private void assertSameMatch(RecipeMatchIndex index, ItemStack stack) {
+		var inventory = new SimpleInventory(stack);
+
+		assertEquals(this.linearFirstMatch(inventory), index.getFirstMatch(RecipeType.STONECUTTING, this.recipes, inventory, null),
+				() -> "Indexed and linear matches differ for " + stack);
+	}
+
+	@Test
+	void indexedMatchesAreTheLinearMatches() {
+		var index = new RecipeMatchIndex();
+
+		for (var stack : new ItemStack[] {
+				new ItemStack(Items.STONE), new ItemStack(Items.COBBLESTONE), new ItemStack(Items.MOSSY_COBBLESTONE),
+				new ItemStack(Items.DIRT), new ItemStack(Items.DIAMOND), new ItemStack(Items.OAK_LOG), new ItemStack(Items.GRASS_BLOCK),
+				ItemStack.EMPTY
+		}) {
+			this.assertSameMatch(index, stack);
+		}
+	}
+
+	@Test
+	void firstMatchFollowsRecipeOrder() {
+		var match = new RecipeMatchIndex().getFirstMatch(RecipeType.STONECUTTING, this.recipes, new SimpleInventory(new ItemStack(Items.STONE)), null);
+
+		assertEquals(new Identifier("quilt_recipe_testing", "stone_slab"), match.orElseThrow().id());
+	}
+
+	@Test
+	void unindexedRecipesAreAlwaysTested() {
+		var match = new RecipeMatchIndex().getFirstMatch(RecipeType.STONECUTTING, this.recipes, new SimpleInventory(new ItemStack(Items.DIRT)), null);
+
+		assertEquals(new Identifier("quilt_recipe_testing", "anything"), match.orElseThrow().id());
+	}
+
+	@Test
+	void repeatedQueriesDoNotLeakCandidates() {
+		var index = new RecipeMatchIndex();
+
+		// A query must not see the candidates of the previous one.
+		this.assertSameMatch(index, new ItemStack(Items.STONE));
+		this.assertSameMatch(index, new ItemStack(Items.GRASS_BLOCK));
+		this.assertSameMatch(index, new ItemStack(Items.COBBLESTONE));
+	}
+
+	@Test
+	void indexIsRebuiltWhenRecipesChange() {
+		var index = new RecipeMatchIndex();
+		this.assertSameMatch(index, new ItemStack(Items.COBBLESTONE));
+
+		this.recipes = new LinkedHashMap<>(this.recipes);
+		this.add("early_cobblestone", new StonecuttingRecipe("", Ingredient.ofItems(Items.COBBLESTONE), new ItemStack(Items.COBBLESTONE_WALL)));
+		this.assertSameMatch(index, new ItemStack(Items.COBBLESTONE));
+	}
+}
@@ -17,15 +17,20 @@
 package org.quiltmc.qsl.entity.event.api;
 
 import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityType;
 
 import org.quiltmc.qsl.base.api.event.Event;
 import org.quiltmc.qsl.base.api.event.EventAwareListener;
+import org.quiltmc.qsl.entity.event.impl.ServerEntityTickEvents;
 
 /**
  * A callback that is invoked when an Entity is ticked on the logical server (nominally every 1/20 of a second).
  * <p>
  * There are two types of entity tick - standalone ({@link Entity#tick()}) and riding ({@link Entity#tickRiding()}).
  * This callback takes a parameter which specifies which type of tick it is.
+ * <p>
+ * Listeners only interested in some entities should register to {@link #getEvent(EntityType)} or {@link #getEvent(Class)},
+ * which are not invoked for other entities at all.
  */
 @FunctionalInterface
 public interface ServerEntityTickCallback extends EventAwareListener {
@@ -38,6 +43,26 @@ public interface ServerEntityTickCallback extends EventAwareListener {
 		}
 	});
 
+	/**
+	 * Gets the event called when an entity of the specified type is ticked, after {@link #EVENT}.
+	 *
+	 * @param type the entity type to listen for
+	 * @return the tick event of the entity type
+	 */
+	static Event<ServerEntityTickCallback> getEvent(EntityType<?> type) {
+		return ServerEntityTickEvents.getEvent(type);
+	}
+
+	/**
+	 * Gets the event called when an instance of the specified entity class, or of one of its subclasses, is ticked, after {@link #EVENT}.
+	 *
+	 * @param entityClass the entity class to listen for
+	 * @return the tick event of the entity class
+	 */
+	static Event<ServerEntityTickCallback> getEvent(Class<? extends Entity> entityClass) {
+		return ServerEntityTickEvents.getEvent(entityClass);
+	}
+
 	/**
 	 * Called when an entity is ticked on the logical server.
 	 *
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2023 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.entity.event.impl;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import org.quiltmc.qsl.base.api.event.Event;
+import org.quiltmc.qsl.entity.event.api.ServerEntityTickCallback;
+
+/**
+ * A duck interface for caching the scoped tick events which apply to an entity.
+ */
+@ApiStatus.Internal
+public interface ServerEntityTickEventCache {
+	/**
+	 * {@return the cached tick events, or {@code null} if they were resolved against an older set of scoped events}
+	 *
+	 * @param version the current version of the scoped events
+	 */
+	Event<ServerEntityTickCallback>[] quilt$getCachedTickEvents(int version);
+
+	void quilt$setCachedTickEvents(int version, Event<ServerEntityTickCallback>[] events);
+}
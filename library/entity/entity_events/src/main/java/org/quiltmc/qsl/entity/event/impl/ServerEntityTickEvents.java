@@ -0,0 +1,118 @@
+/*
+ * Copyright 2023 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.entity.event.impl;
+
+import java.util.ArrayList;
+import java.util.Map;
+
+import com.google.common.annotations.VisibleForTesting;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import org.jetbrains.annotations.ApiStatus;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityType;
+
+import org.quiltmc.qsl.base.api.event.Event;
+import org.quiltmc.qsl.entity.event.api.ServerEntityTickCallback;
+
+/**
+ * Dispatches {@link ServerEntityTickCallback} to the global listeners and to the listeners scoped to the entity type or class.
+ * <p>
+ * The scoped events applying to an entity are resolved once and cached on it,
+ * the cache is only invalidated when a new scoped event is created.
+ */
+@ApiStatus.Internal
+public final class ServerEntityTickEvents {
+	@SuppressWarnings("unchecked")
+	private static final Event<ServerEntityTickCallback>[] NO_EVENTS = new Event[0];
+	private static final Map<EntityType<?>, Event<ServerEntityTickCallback>> TYPE_EVENTS = new Reference2ObjectOpenHashMap<>();
+	private static final Map<Class<? extends Entity>, Event<ServerEntityTickCallback>> CLASS_EVENTS = new Reference2ObjectOpenHashMap<>();
+	private static volatile int version = 0;
+
+	private ServerEntityTickEvents() {
+		throw new UnsupportedOperationException("ServerEntityTickEvents only contains static definitions.");
+	}
+
+	public static synchronized Event<ServerEntityTickCallback> getEvent(EntityType<?> type) {
+		return TYPE_EVENTS.computeIfAbsent(type, t -> {
+			version++;
+			return createEvent();
+		});
+	}
+
+	public static synchronized Event<ServerEntityTickCallback> getEvent(Class<? extends Entity> entityClass) {
+		return CLASS_EVENTS.computeIfAbsent(entityClass, c -> {
+			version++;
+			return createEvent();
+		});
+	}
+
+	/**
+	 * {@return the current version of the scoped events, incremented whenever a scoped event is created}
+	 */
+	@VisibleForTesting
+	public static int getVersion() {
+		return version;
+	}
+
+	public static void onServerEntityTick(Entity entity, boolean isPassengerTick) {
+		ServerEntityTickCallback.EVENT.invoker().onServerEntityTick(entity, isPassengerTick);
+
+		var cache = (ServerEntityTickEventCache) entity;
+		int currentVersion = version;
+		var events = cache.quilt$getCachedTickEvents(currentVersion);
+
+		if (events == null) {
+			events = resolve(entity);
+			cache.quilt$setCachedTickEvents(currentVersion, events);
+		}
+
+		for (var event : events) {
+			event.invoker().onServerEntityTick(entity, isPassengerTick);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static synchronized Event<ServerEntityTickCallback>[] resolve(Entity entity) {
+		if (TYPE_EVENTS.isEmpty() && CLASS_EVENTS.isEmpty()) {
+			return NO_EVENTS;
+		}
+
+		var events = new ArrayList<Event<ServerEntityTickCallback>>();
+		var typeEvent = TYPE_EVENTS.get(entity.getType());
+
+		if (typeEvent != null) {
+			events.add(typeEvent);
+		}
+
+		for (var entry : CLASS_EVENTS.entrySet()) {
+			if (entry.getKey().isInstance(entity)) {
+				events.add(entry.getValue());
+			}
+		}
+
+		return events.isEmpty() ? NO_EVENTS : events.toArray(new Event[0]);
+	}
+
+	private static Event<ServerEntityTickCallback> createEvent() {
+		return Event.create(ServerEntityTickCallback.class, callbacks -> (entity, isPassengerTick) -> {
+			for (ServerEntityTickCallback callback : callbacks) {
+				callback.onServerEntityTick(entity, isPassengerTick);
+			}
+		});
+	}
+}
@@ -21,6 +21,7 @@
 
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
@@ -31,12 +32,21 @@
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.world.World;
 
+import org.quiltmc.qsl.base.api.event.Event;
 import org.quiltmc.qsl.entity.event.api.EntityWorldChangeEvents;
+import org.quiltmc.qsl.entity.event.api.ServerEntityTickCallback;
+import org.quiltmc.qsl.entity.event.impl.ServerEntityTickEventCache;
 
 @Mixin(Entity.class)
-public abstract class EntityMixin {
+public abstract class EntityMixin implements ServerEntityTickEventCache {
 	@Shadow public World world;
 
+	@Unique
+	private Event<ServerEntityTickCallback>[] quilt$tickEvents;
+
+	@Unique
+	private int quilt$tickEventsVersion;
+
 	@Inject(method = "moveToWorld", at = @At("RETURN"))
 	private void quilt$afterWorldChanged(ServerWorld destination, CallbackInfoReturnable<Entity> cir) {
 		// Ret will only have an entity if the teleport worked (entity not removed, teleportTarget was valid, entity was successfully created)
@@ -56,4 +66,15 @@ public abstract class EntityMixin {
 												   float pitch, CallbackInfoReturnable<Boolean> ci, float f, Entity newEntity) {
 		EntityWorldChangeEvents.AFTER_ENTITY_WORLD_CHANGE.invoker().afterWorldChange((Entity) (Object) this, newEntity, ((ServerWorld) this.world), destination);
 	}
+
+	@Override
+	public Event<ServerEntityTickCallback>[] quilt$getCachedTickEvents(int version) {
+		return this.quilt$tickEventsVersion == version ? this.quilt$tickEvents : null;
+	}
+
+	@Override
+	public void quilt$setCachedTickEvents(int version, Event<ServerEntityTickCallback>[] events) {
+		this.quilt$tickEvents = events;
+		this.quilt$tickEventsVersion = version;
+	}
 }
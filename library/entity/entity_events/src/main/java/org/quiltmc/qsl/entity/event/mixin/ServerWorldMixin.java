@@ -24,17 +24,17 @@
 import net.minecraft.entity.Entity;
 import net.minecraft.server.world.ServerWorld;
 
-import org.quiltmc.qsl.entity.event.api.ServerEntityTickCallback;
+import org.quiltmc.qsl.entity.event.impl.ServerEntityTickEvents;
 
 @Mixin(ServerWorld.class)
 public abstract class ServerWorldMixin {
 	@Inject(method = "tickEntity", at = @At(value = "INVOKE", target = "Lnet/minecraft/entity/Entity;tick()V"))
 	void invokeEntityTickEvent(Entity entity, CallbackInfo ci) {
-		ServerEntityTickCallback.EVENT.invoker().onServerEntityTick(entity, false);
+		ServerEntityTickEvents.onServerEntityTick(entity, false);
 	}
 
 	@Inject(method = "tickPassenger", at = @At(value = "INVOKE", target = "Lnet/minecraft/entity/Entity;tickRiding()V"))
 	void invokePassengerEntityTickEvent(Entity vehicle, Entity passenger, CallbackInfo ci) {
-		ServerEntityTickCallback.EVENT.invoker().onServerEntityTick(passenger, true);
+		ServerEntityTickEvents.onServerEntityTick(passenger, true);
 	}
 }
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2023 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.entity.event.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityType;
+import net.minecraft.entity.mob.HostileEntity;
+import net.minecraft.entity.mob.SkeletonEntity;
+import net.minecraft.entity.mob.ZombieEntity;
+import net.minecraft.entity.passive.CowEntity;
+import net.minecraft.entity.passive.PigEntity;
+
+import org.quiltmc.qsl.entity.event.api.ServerEntityTickCallback;
+import org.quiltmc.qsl.entity.event.impl.ServerEntityTickEventCache;
+import org.quiltmc.qsl.entity.event.impl.ServerEntityTickEvents;
+
+public class ServerEntityTickDispatchTests {
+	private static final List<String> CALLS = new ArrayList<>();
+
+	@BeforeAll
+	static void beforeAll() {
+		SharedConstants.createGameVersion();
+		Bootstrap.initialize();
+
+		ServerEntityTickCallback.EVENT.register((entity, isPassengerTick) -> CALLS.add("global " + isPassengerTick));
+		ServerEntityTickCallback.getEvent(EntityType.ZOMBIE).register((entity, isPassengerTick) -> CALLS.add("zombie type"));
+		ServerEntityTickCallback.getEvent(HostileEntity.class).register((entity, isPassengerTick) -> CALLS.add("hostile class"));
+	}
+
+	@BeforeEach
+	void setUp() {
+		CALLS.clear();
+	}
+
+	private static <E extends Entity> E entity(Class<E> entityClass, EntityType<E> type) {
+		var entity = mock(entityClass, withSettings().defaultAnswer(CALLS_REAL_METHODS));
+		doReturn(type).when(entity).getType();
+		return entity;
+	}
+
+	@Test
+	void typeAndClassListenersAreCalledAfterGlobalListeners() {
+		ServerEntityTickEvents.onServerEntityTick(entity(ZombieEntity.class, EntityType.ZOMBIE), true);
+
+		assertEquals(List.of("global true", "zombie type", "hostile class"), CALLS);
+	}
+
+	@Test
+	void classListenersAreCalledForSubclasses() {
+		ServerEntityTickEvents.onServerEntityTick(entity(SkeletonEntity.class, EntityType.SKELETON), false);
+
+		assertEquals(List.of("global false", "hostile class"), CALLS);
+	}
+
+	@Test
+	void scopedListenersAreNotCalledForOtherEntities() {
+		ServerEntityTickEvents.onServerEntityTick(entity(PigEntity.class, EntityType.PIG), false);
+
+		assertEquals(List.of("global false"), CALLS);
+	}
+
+	@Test
+	void scopedEventsAreCachedUntilANewOneIsCreated() {
+		var cow = entity(CowEntity.class, EntityType.COW);
+		var cache = (ServerEntityTickEventCache) cow;
+
+		ServerEntityTickEvents.onServerEntityTick(cow, false);
+		int version = ServerEntityTickEvents.getVersion();
+		var events = cache.quilt$getCachedTickEvents(version);
+		assertNotNull(events);
+
+		// Ticking again reuses the resolved events.
+		ServerEntityTickEvents.onServerEntityTick(cow, false);
+		assertSame(events, cache.quilt$getCachedTickEvents(version));
+		assertEquals(List.of("global false", "global false"), CALLS);
+
+		// Getting an existing event does not invalidate the cache.
+		ServerEntityTickCallback.getEvent(EntityType.ZOMBIE);
+		assertEquals(version, ServerEntityTickEvents.getVersion());
+
+		ServerEntityTickCallback.getEvent(CowEntity.class).register((entity, isPassengerTick) -> CALLS.add("cow class"));
+		assertNotEquals(version, ServerEntityTickEvents.getVersion());
+		assertNull(cache.quilt$getCachedTickEvents(ServerEntityTickEvents.getVersion()));
+
+		CALLS.clear();
+		ServerEntityTickEvents.onServerEntityTick(cow, false);
+		assertEquals(List.of("global false", "cow class"), CALLS);
+	}
+}
@@ -18,12 +18,14 @@
 
 import java.util.List;
 
+import io.netty.buffer.ByteBuf;
 import net.minecraft.entity.Entity;
 import net.minecraft.network.PacketByteBuf;
 import net.minecraft.network.listener.ClientPlayPacketListener;
 import net.minecraft.network.packet.Packet;
 import net.minecraft.network.packet.s2c.PacketBundleS2CPacket;
 import net.minecraft.network.packet.s2c.play.EntitySpawnS2CPacket;
+import org.quiltmc.qsl.entity.extensions.impl.networking.ExtendedSpawnDataCache;
 import org.quiltmc.qsl.entity.extensions.impl.networking.QuiltEntityNetworkingInitializer;
 import org.quiltmc.qsl.networking.api.PacketByteBufs;
 import org.quiltmc.qsl.networking.api.ServerPlayNetworking;
@@ -31,6 +33,9 @@
 /**
  * An entity with additional data sent in its spawn packet. To use, simply implement this interface on your entity.
  * If not overridden, {@link Entity#createSpawnPacket()} will return a packet containing the written data.
+ * <p>
+ * The additional data is written once per tick, and shared by all the players starting to track the entity during that tick.
+ * If the data changes during a tick after it was written, {@link #invalidateAdditionalSpawnData()} must be called.
  */
 public interface QuiltExtendedSpawnDataEntity {
 	/**
@@ -45,6 +50,16 @@ public interface QuiltExtendedSpawnDataEntity {
 	 */
 	void readAdditionalSpawnData(PacketByteBuf buffer);
 
+	/**
+	 * Discards the additional spawn data written during the current tick,
+	 * so that it is written again for the next player starting to track this entity.
+	 * <p>
+	 * This must be called when the data changes during a tick after it may have been written.
+	 */
+	default void invalidateAdditionalSpawnData() {
+		((ExtendedSpawnDataCache) this).quilt$invalidateSpawnData();
+	}
+
 	/**
 	 * Given an entity with extra spawn data and a base spawn packet, create an extended spawn packet.
 	 * By default, a mod does not need to touch this, as packet creation is handled by QSL.
@@ -57,11 +72,21 @@ static Packet<ClientPlayPacketListener> createExtendedPacket(QuiltExtendedSpawnD
 			throw new IllegalArgumentException(extended.getClass() + " does not extend Entity!");
 		}
 
-		var buf = PacketByteBufs.create();
-		buf.writeVarInt(entity.getId());
-		extended.writeAdditionalSpawnData(buf);
+		// Every player starting to track the entity during this tick shares the same encoded data
+		var cache = (ExtendedSpawnDataCache) entity;
+		long time = entity.getWorld().getTime();
+		ByteBuf data = cache.quilt$getCachedSpawnData(time);
+
+		if (data == null) {
+			var buf = PacketByteBufs.create();
+			buf.writeVarInt(entity.getId());
+			extended.writeAdditionalSpawnData(buf);
+			data = buf;
+			cache.quilt$setCachedSpawnData(data, time);
+		}
+
 		var additionalPacket = ServerPlayNetworking.createS2CPacket(
-				QuiltEntityNetworkingInitializer.EXTENDED_SPAWN_PACKET_ID, buf
+				QuiltEntityNetworkingInitializer.EXTENDED_SPAWN_PACKET_ID, PacketByteBufs.duplicate(data)
 		);
 
 		return new PacketBundleS2CPacket(List.of(basePacket, (Packet<ClientPlayPacketListener>) (Object) additionalPacket));
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2023 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.entity.extensions.impl.networking;
+
+import io.netty.buffer.ByteBuf;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Caches the encoded extended spawn data of an entity for the tick it was encoded in,
+ * so that all the players starting to track the entity during that tick share it.
+ */
+@ApiStatus.Internal
+public interface ExtendedSpawnDataCache {
+	/**
+	 * {@return the cached spawn data encoded during the given tick, or {@code null} if there is none}
+	 *
+	 * @param time the current time of the world of the entity
+	 */
+	@Nullable ByteBuf quilt$getCachedSpawnData(long time);
+
+	void quilt$setCachedSpawnData(ByteBuf data, long time);
+
+	void quilt$invalidateSpawnData();
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2023 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.entity.extensions.impl.networking;
+
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.entity.data.TrackedDataHandler;
+
+import org.quiltmc.qsl.registry.api.event.RegistryEvents;
+
+/**
+ * Caches the raw ids of the tracked data handler registry, as they are resolved for every entry of every entity data packet.
+ * <p>
+ * The cache is dropped whenever an entry is added or the raw ids are remapped by registry sync, and lazily rebuilt on the next lookup.
+ * Rebuilding and dropping the cache share a lock, so a snapshot built from the previous raw ids cannot be published
+ * after it was dropped.
+ */
+@ApiStatus.Internal
+public final class TrackedDataHandlerIds {
+	private static final Object LOCK = new Object();
+	private static volatile @Nullable Snapshot snapshot;
+
+	static {
+		RegistryEvents.getEntryAddEvent(QuiltEntityNetworkingInitializer.TRACKED_DATA_HANDLER_REGISTRY).register(context -> invalidate());
+		RegistryEvents.getRawIdsChangedEvent(QuiltEntityNetworkingInitializer.TRACKED_DATA_HANDLER_REGISTRY).register(registry -> invalidate());
+	}
+
+	private TrackedDataHandlerIds() {
+	}
+
+	public static int getId(TrackedDataHandler<?> handler) {
+		return getSnapshot().ids.getInt(handler);
+	}
+
+	public static @Nullable TrackedDataHandler<?> get(int id) {
+		var handlers = getSnapshot().handlers;
+		return id >= 0 && id < handlers.length ? handlers[id] : null;
+	}
+
+	public static void invalidate() {
+		synchronized (LOCK) {
+			snapshot = null;
+		}
+	}
+
+	private static Snapshot getSnapshot() {
+		var current = snapshot;
+
+		if (current != null) {
+			return current;
+		}
+
+		synchronized (LOCK) {
+			current = snapshot;
+
+			if (current == null) {
+				current = Snapshot.create();
+				snapshot = current;
+			}
+
+			return current;
+		}
+	}
+
+	private record Snapshot(Reference2IntMap<TrackedDataHandler<?>> ids, TrackedDataHandler<?>[] handlers) {
+		private static Snapshot create() {
+			var registry = QuiltEntityNetworkingInitializer.TRACKED_DATA_HANDLER_REGISTRY;
+			var ids = new Reference2IntOpenHashMap<TrackedDataHandler<?>>(registry.size());
+			ids.defaultReturnValue(-1);
+			int maxId = -1;
+
+			for (var handler : registry) {
+				int id = registry.getRawId(handler);
+				ids.put(handler, id);
+				maxId = Math.max(maxId, id);
+			}
+
+			var handlers = new TrackedDataHandler<?>[maxId + 1];
+
+			for (var entry : ids.reference2IntEntrySet()) {
+				handlers[entry.getIntValue()] = entry.getKey();
+			}
+
+			return new Snapshot(ids, handlers);
+		}
+	}
+}
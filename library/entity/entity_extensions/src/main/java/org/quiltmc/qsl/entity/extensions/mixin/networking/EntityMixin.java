@@ -16,8 +16,12 @@
 
 package org.quiltmc.qsl.entity.extensions.mixin.networking;
 
+import io.netty.buffer.ByteBuf;
+import org.jetbrains.annotations.Nullable;
 import org.quiltmc.qsl.entity.extensions.api.networking.QuiltExtendedSpawnDataEntity;
+import org.quiltmc.qsl.entity.extensions.impl.networking.ExtendedSpawnDataCache;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
@@ -27,7 +31,13 @@
 import net.minecraft.network.packet.Packet;
 
 @Mixin(Entity.class)
-public abstract class EntityMixin {
+public abstract class EntityMixin implements ExtendedSpawnDataCache {
+	@Unique
+	@Nullable
+	private ByteBuf quilt$cachedSpawnData;
+	@Unique
+	private long quilt$cachedSpawnDataTime;
+
 	@Inject(method = "createSpawnPacket", at = @At("RETURN"), cancellable = true)
 	private void quilt$createExtendedSpawnPacket(CallbackInfoReturnable<Packet<ClientPlayPacketListener>> cir) {
 		if (this instanceof QuiltExtendedSpawnDataEntity extended) {
@@ -36,4 +46,21 @@ public abstract class EntityMixin {
 			cir.setReturnValue(extendedPacket);
 		}
 	}
+
+	@Nullable
+	@Override
+	public ByteBuf quilt$getCachedSpawnData(long time) {
+		return this.quilt$cachedSpawnDataTime == time ? this.quilt$cachedSpawnData : null;
+	}
+
+	@Override
+	public void quilt$setCachedSpawnData(ByteBuf data, long time) {
+		this.quilt$cachedSpawnData = data;
+		this.quilt$cachedSpawnDataTime = time;
+	}
+
+	@Override
+	public void quilt$invalidateSpawnData() {
+		this.quilt$cachedSpawnData = null;
+	}
 }
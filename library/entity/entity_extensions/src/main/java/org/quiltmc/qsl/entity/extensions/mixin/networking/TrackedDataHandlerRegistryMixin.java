@@ -19,6 +19,7 @@
 import com.mojang.logging.LogUtils;
 import org.jetbrains.annotations.Nullable;
 import org.quiltmc.qsl.entity.extensions.impl.networking.QuiltEntityNetworkingInitializer;
+import org.quiltmc.qsl.entity.extensions.impl.networking.TrackedDataHandlerIds;
 import org.slf4j.Logger;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Overwrite;
@@ -56,7 +57,7 @@ public class TrackedDataHandlerRegistryMixin {
 	 */
 	@Overwrite
 	public static int getId(TrackedDataHandler<?> handler) {
-		return QuiltEntityNetworkingInitializer.TRACKED_DATA_HANDLER_REGISTRY.getRawId(handler);
+		return TrackedDataHandlerIds.getId(handler);
 	}
 
 	/**
@@ -66,7 +67,7 @@ public static int getId(TrackedDataHandler<?> handler) {
 	@Nullable
 	@Overwrite
 	public static TrackedDataHandler<?> get(int id) {
-		return QuiltEntityNetworkingInitializer.TRACKED_DATA_HANDLER_REGISTRY.get(id);
+		return TrackedDataHandlerIds.get(id);
 	}
 
 	@Inject(method = "register(Lnet/minecraft/entity/data/TrackedDataHandler;)V", at = @At("HEAD"))
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2023 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.entity.extensions.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.network.listener.ClientPlayPacketListener;
+import net.minecraft.network.packet.Packet;
+import net.minecraft.network.packet.s2c.PacketBundleS2CPacket;
+import net.minecraft.network.packet.s2c.common.CustomPayloadS2CPacket;
+import net.minecraft.world.World;
+
+import org.quiltmc.qsl.entity.extensions.api.networking.QuiltExtendedSpawnDataEntity;
+import org.quiltmc.qsl.networking.api.PacketByteBufs;
+
+public class ExtendedSpawnDataCacheTests {
+	private World world;
+	private Entity entity;
+	private AtomicInteger writes;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		this.world = mock(World.class);
+		this.writes = new AtomicInteger();
+		this.entity = mock(Entity.class, withSettings()
+				.extraInterfaces(QuiltExtendedSpawnDataEntity.class)
+				.defaultAnswer(CALLS_REAL_METHODS));
+		doReturn(this.world).when(this.entity).getWorld();
+		doReturn(42).when(this.entity).getId();
+		doAnswer(invocation -> {
+			invocation.<PacketByteBuf>getArgument(0).writeVarInt(this.writes.incrementAndGet());
+			return null;
+		}).when((QuiltExtendedSpawnDataEntity) this.entity).writeAdditionalSpawnData(any());
+		this.setTime(100L);
+	}
+
+	private void setTime(long time) {
+		when(this.world.getTime()).thenReturn(time);
+	}
+
+	@SuppressWarnings("unchecked")
+	private PacketByteBuf createSpawnData() {
+		var base = (Packet<ClientPlayPacketListener>) mock(Packet.class);
+		var packet = QuiltExtendedSpawnDataEntity.createExtendedPacket((QuiltExtendedSpawnDataEntity) this.entity, base);
+		var packets = new ArrayList<Packet<?>>();
+		((PacketBundleS2CPacket) packet).getPackets().forEach(packets::add);
+
+		assertEquals(2, packets.size());
+		assertSame(base, packets.get(0));
+
+		PacketByteBuf buf = PacketByteBufs.create();
+		((CustomPayloadS2CPacket) packets.get(1)).payload().write(buf);
+		assertEquals(42, buf.readVarInt(), "The spawn data should start with the entity id");
+		return buf;
+	}
+
+	@Test
+	void dataIsSharedWithinATick() {
+		var first = this.createSpawnData();
+		var second = this.createSpawnData();
+
+		assertEquals(1, this.writes.get());
+		assertEquals(1, first.readVarInt());
+		assertEquals(1, second.readVarInt());
+	}
+
+	@Test
+	void readingSharedDataDoesNotConsumeIt() {
+		this.createSpawnData().readVarInt();
+
+		var second = this.createSpawnData();
+		assertEquals(1, second.readableBytes());
+		assertEquals(1, second.readVarInt());
+	}
+
+	@Test
+	void dataIsWrittenAgainOnTheNextTick() {
+		this.createSpawnData();
+		this.setTime(101L);
+
+		assertEquals(2, this.createSpawnData().readVarInt());
+		assertEquals(2, this.writes.get());
+	}
+
+	@Test
+	void invalidatedDataIsWrittenAgainWithinATick() {
+		this.createSpawnData();
+		((QuiltExtendedSpawnDataEntity) this.entity).invalidateAdditionalSpawnData();
+
+		assertEquals(2, this.createSpawnData().readVarInt());
+		assertEquals(2, this.createSpawnData().readVarInt());
+		assertEquals(2, this.writes.get());
+	}
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2023 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.entity.extensions.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.entity.data.TrackedDataHandler;
+import net.minecraft.entity.data.TrackedDataHandlerRegistry;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.registry.Registry;
+import net.minecraft.util.Identifier;
+
+import org.quiltmc.qsl.entity.extensions.impl.networking.QuiltEntityNetworkingInitializer;
+import org.quiltmc.qsl.entity.extensions.impl.networking.TrackedDataHandlerIds;
+import org.quiltmc.qsl.registry.impl.sync.registry.SynchronizedRegistry;
+
+public class TrackedDataHandlerIdsTests {
+	private static final Registry<TrackedDataHandler<?>> REGISTRY = QuiltEntityNetworkingInitializer.TRACKED_DATA_HANDLER_REGISTRY;
+
+	@BeforeAll
+	static void registerVanillaHandlers() {
+		// Initializing the Vanilla registry registers its handlers into the Quilt registry.
+		assertNotNull(TrackedDataHandlerRegistry.BYTE);
+	}
+
+	@AfterEach
+	void restoreIds() {
+		SynchronizedRegistry.as(REGISTRY).quilt$restoreIdSnapshot();
+	}
+
+	private static void assertIdsMatchRegistry() {
+		for (var handler : REGISTRY) {
+			int rawId = REGISTRY.getRawId(handler);
+			assertEquals(rawId, TrackedDataHandlerIds.getId(handler), () -> "Stale id for " + REGISTRY.getId(handler));
+			assertSame(handler, TrackedDataHandlerIds.get(rawId));
+		}
+	}
+
+	/**
+	 * Applies sync data giving each of the given handlers the raw id of the other one.
+	 */
+	private static void swapRawIds(TrackedDataHandler<?> first, TrackedDataHandler<?> second) {
+		var entries = new HashMap<String, Collection<SynchronizedRegistry.SyncEntry>>();
+
+		for (var handler : REGISTRY) {
+			var id = REGISTRY.getId(handler);
+			var rawIdOf = handler == first ? second : handler == second ? first : handler;
+			entries.computeIfAbsent(id.getNamespace(), namespace -> new ArrayList<>())
+					.add(new SynchronizedRegistry.SyncEntry(id.getPath(), REGISTRY.getRawId(rawIdOf), (byte) 0));
+		}
+
+		assertTrue(SynchronizedRegistry.as(REGISTRY).quilt$applySyncMap(Map.copyOf(entries)).isEmpty());
+	}
+
+	@Test
+	void idsMatchTheRegistry() {
+		assertIdsMatchRegistry();
+		assertNull(TrackedDataHandlerIds.get(-1));
+		assertNull(TrackedDataHandlerIds.get(REGISTRY.size() + 100));
+	}
+
+	@Test
+	void idsAreRebuiltAfterRawIdsChange() {
+		var byteHandler = TrackedDataHandlerRegistry.BYTE;
+		var integerHandler = TrackedDataHandlerRegistry.INTEGER;
+		int byteId = TrackedDataHandlerIds.getId(byteHandler);
+		int integerId = TrackedDataHandlerIds.getId(integerHandler);
+
+		swapRawIds(byteHandler, integerHandler);
+
+		assertEquals(integerId, TrackedDataHandlerIds.getId(byteHandler));
+		assertEquals(byteId, TrackedDataHandlerIds.getId(integerHandler));
+		assertSame(integerHandler, TrackedDataHandlerIds.get(byteId));
+		assertIdsMatchRegistry();
+
+		SynchronizedRegistry.as(REGISTRY).quilt$restoreIdSnapshot();
+
+		assertEquals(byteId, TrackedDataHandlerIds.getId(byteHandler));
+		assertEquals(integerId, TrackedDataHandlerIds.getId(integerHandler));
+		assertIdsMatchRegistry();
+	}
+
+	@Test
+	void idsAreRebuiltAfterAnEntryIsAdded() {
+		// Build the cache before adding the entry.
+		assertIdsMatchRegistry();
+
+		TrackedDataHandler<Integer> handler = new TrackedDataHandler.SimpleHandler<>() {
+			@Override
+			public void write(PacketByteBuf buf, Integer value) {
+				buf.writeVarInt(value);
+			}
+
+			@Override
+			public Integer read(PacketByteBuf buf) {
+				return buf.readVarInt();
+			}
+		};
+		assertEquals(-1, TrackedDataHandlerIds.getId(handler));
+
+		Registry.register(REGISTRY, new Identifier("quilt_entity_extensions_testing", "added"), handler);
+
+		assertEquals(REGISTRY.getRawId(handler), TrackedDataHandlerIds.getId(handler));
+		assertSame(handler, TrackedDataHandlerIds.get(REGISTRY.getRawId(handler)));
+	}
+}
@@ -19,11 +19,15 @@
 import org.jetbrains.annotations.NotNull;
 
 import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.effect.StatusEffect;
 import net.minecraft.entity.effect.StatusEffectInstance;
+import net.minecraft.registry.tag.TagKey;
 
 import org.quiltmc.qsl.base.api.event.Event;
 import org.quiltmc.qsl.base.api.event.EventAwareListener;
 import org.quiltmc.qsl.base.api.util.TriState;
+import org.quiltmc.qsl.entity.effect.impl.StatusEffectEventDispatcher;
+import org.quiltmc.qsl.entity.effect.impl.StatusEffectEventStorage;
 
 /**
  * Events pertaining to status effects.
@@ -35,6 +39,9 @@ private StatusEffectEvents() {
 
 	/**
 	 * An event that is called after a status effect is added.
+	 * <p>
+	 * Listeners only interested in specific status effects should prefer {@link #getOnAppliedEvent(StatusEffect)}
+	 * or {@link #getOnAppliedEvent(TagKey)}, which are not invoked for any other status effect.
 	 */
 	public static final Event<OnApplied> ON_APPLIED = Event.create(OnApplied.class, listeners -> (entity, effect, upgradeReapplying) -> {
 		for (var listener : listeners) {
@@ -58,6 +65,9 @@ private StatusEffectEvents() {
 
 	/**
 	 * An event that is called after a status effect is removed.
+	 * <p>
+	 * Listeners only interested in specific status effects should prefer {@link #getOnRemovedEvent(StatusEffect)}
+	 * or {@link #getOnRemovedEvent(TagKey)}, which are not invoked for any other status effect.
 	 */
 	public static final Event<OnRemoved> ON_REMOVED = Event.create(OnRemoved.class, listeners -> (entity, effect, reason) -> {
 		for (var listener : listeners) {
@@ -65,6 +75,54 @@ private StatusEffectEvents() {
 		}
 	});
 
+	/**
+	 * Gets the event that is called after the specified status effect is added.
+	 * <p>
+	 * The event is invoked after {@link #ON_APPLIED}.
+	 *
+	 * @param effect the status effect to listen for
+	 * @return the applied event of the status effect
+	 */
+	public static Event<OnApplied> getOnAppliedEvent(@NotNull StatusEffect effect) {
+		return StatusEffectEventStorage.as(effect).quilt$getOrCreateOnAppliedEvent();
+	}
+
+	/**
+	 * Gets the event that is called after a status effect in the specified tag is added.
+	 * <p>
+	 * The event is invoked after {@link #ON_APPLIED} and the event of the specific status effect.
+	 *
+	 * @param tag the tag of the status effects to listen for
+	 * @return the applied event of the status effects in the tag
+	 */
+	public static Event<OnApplied> getOnAppliedEvent(@NotNull TagKey<StatusEffect> tag) {
+		return StatusEffectEventDispatcher.getOnAppliedEvent(tag);
+	}
+
+	/**
+	 * Gets the event that is called after the specified status effect is removed.
+	 * <p>
+	 * The event is invoked after {@link #ON_REMOVED}.
+	 *
+	 * @param effect the status effect to listen for
+	 * @return the removed event of the status effect
+	 */
+	public static Event<OnRemoved> getOnRemovedEvent(@NotNull StatusEffect effect) {
+		return StatusEffectEventStorage.as(effect).quilt$getOrCreateOnRemovedEvent();
+	}
+
+	/**
+	 * Gets the event that is called after a status effect in the specified tag is removed.
+	 * <p>
+	 * The event is invoked after {@link #ON_REMOVED} and the event of the specific status effect.
+	 *
+	 * @param tag the tag of the status effects to listen for
+	 * @return the removed event of the status effects in the tag
+	 */
+	public static Event<OnRemoved> getOnRemovedEvent(@NotNull TagKey<StatusEffect> tag) {
+		return StatusEffectEventDispatcher.getOnRemovedEvent(tag);
+	}
+
 	/**
 	 * Callback interface for {@link #ON_APPLIED}.
 	 *
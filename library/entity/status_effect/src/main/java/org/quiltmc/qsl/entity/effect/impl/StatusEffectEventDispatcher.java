@@ -0,0 +1,132 @@
+/*
+ * Copyright 2023 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.entity.effect.impl;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.effect.StatusEffect;
+import net.minecraft.entity.effect.StatusEffectInstance;
+import net.minecraft.registry.Holder;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.tag.TagKey;
+
+import org.quiltmc.qsl.base.api.event.Event;
+import org.quiltmc.qsl.entity.effect.api.StatusEffectEvents;
+import org.quiltmc.qsl.entity.effect.api.StatusEffectRemovalReason;
+
+/**
+ * Dispatches the status effect events to the global listeners and to the listeners scoped to the changed effect or its tags.
+ */
+@ApiStatus.Internal
+public final class StatusEffectEventDispatcher {
+	private static final List<TagSubscription> TAG_SUBSCRIPTIONS = new CopyOnWriteArrayList<>();
+
+	private StatusEffectEventDispatcher() {
+		throw new UnsupportedOperationException("StatusEffectEventDispatcher only contains static definitions.");
+	}
+
+	public static Event<StatusEffectEvents.OnApplied> getOnAppliedEvent(TagKey<StatusEffect> tag) {
+		return getTagSubscription(tag).applied;
+	}
+
+	public static Event<StatusEffectEvents.OnRemoved> getOnRemovedEvent(TagKey<StatusEffect> tag) {
+		return getTagSubscription(tag).removed;
+	}
+
+	private static synchronized TagSubscription getTagSubscription(TagKey<StatusEffect> tag) {
+		for (var subscription : TAG_SUBSCRIPTIONS) {
+			if (subscription.tag.equals(tag)) {
+				return subscription;
+			}
+		}
+
+		var subscription = new TagSubscription(tag, createOnAppliedEvent(), createOnRemovedEvent());
+		TAG_SUBSCRIPTIONS.add(subscription);
+		return subscription;
+	}
+
+	public static void onApplied(@NotNull LivingEntity entity, @NotNull StatusEffectInstance effect, boolean upgradeReapplying) {
+		StatusEffectEvents.ON_APPLIED.invoker().onApplied(entity, effect, upgradeReapplying);
+
+		var type = effect.getEffectType();
+		var event = StatusEffectEventStorage.as(type).quilt$getOnAppliedEvent();
+
+		if (event != null) {
+			event.invoker().onApplied(entity, effect, upgradeReapplying);
+		}
+
+		if (!TAG_SUBSCRIPTIONS.isEmpty()) {
+			var holder = getHolder(type);
+
+			for (var subscription : TAG_SUBSCRIPTIONS) {
+				if (holder != null && holder.isIn(subscription.tag)) {
+					subscription.applied.invoker().onApplied(entity, effect, upgradeReapplying);
+				}
+			}
+		}
+	}
+
+	public static void onRemoved(@NotNull LivingEntity entity, @NotNull StatusEffectInstance effect, @NotNull StatusEffectRemovalReason reason) {
+		StatusEffectEvents.ON_REMOVED.invoker().onRemoved(entity, effect, reason);
+
+		var type = effect.getEffectType();
+		var event = StatusEffectEventStorage.as(type).quilt$getOnRemovedEvent();
+
+		if (event != null) {
+			event.invoker().onRemoved(entity, effect, reason);
+		}
+
+		if (!TAG_SUBSCRIPTIONS.isEmpty()) {
+			var holder = getHolder(type);
+
+			for (var subscription : TAG_SUBSCRIPTIONS) {
+				if (holder != null && holder.isIn(subscription.tag)) {
+					subscription.removed.invoker().onRemoved(entity, effect, reason);
+				}
+			}
+		}
+	}
+
+	private static Holder.Reference<StatusEffect> getHolder(StatusEffect type) {
+		return Registries.STATUS_EFFECT.getKey(type).flatMap(Registries.STATUS_EFFECT::getHolder).orElse(null);
+	}
+
+	public static Event<StatusEffectEvents.OnApplied> createOnAppliedEvent() {
+		return Event.create(StatusEffectEvents.OnApplied.class, listeners -> (entity, effect, upgradeReapplying) -> {
+			for (var listener : listeners) {
+				listener.onApplied(entity, effect, upgradeReapplying);
+			}
+		});
+	}
+
+	public static Event<StatusEffectEvents.OnRemoved> createOnRemovedEvent() {
+		return Event.create(StatusEffectEvents.OnRemoved.class, listeners -> (entity, effect, reason) -> {
+			for (var listener : listeners) {
+				listener.onRemoved(entity, effect, reason);
+			}
+		});
+	}
+
+	private record TagSubscription(TagKey<StatusEffect> tag, Event<StatusEffectEvents.OnApplied> applied,
+			Event<StatusEffectEvents.OnRemoved> removed) {
+	}
+}
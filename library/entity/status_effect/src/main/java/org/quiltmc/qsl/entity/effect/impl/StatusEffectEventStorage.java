@@ -0,0 +1,58 @@
+/*
+ * Copyright 2023 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.entity.effect.impl;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.entity.effect.StatusEffect;
+
+import org.quiltmc.qsl.base.api.event.Event;
+import org.quiltmc.qsl.entity.effect.api.StatusEffectEvents;
+
+/**
+ * A duck interface for getting the status effect events scoped to a single {@link StatusEffect}.
+ */
+@ApiStatus.Internal
+public interface StatusEffectEventStorage {
+	/**
+	 * {@return the applied event of this status effect, or {@code null} if nothing subscribed to it yet}
+	 */
+	@Nullable Event<StatusEffectEvents.OnApplied> quilt$getOnAppliedEvent();
+
+	/**
+	 * {@return the applied event of this status effect, created if needed}
+	 */
+	Event<StatusEffectEvents.OnApplied> quilt$getOrCreateOnAppliedEvent();
+
+	/**
+	 * {@return the removed event of this status effect, or {@code null} if nothing subscribed to it yet}
+	 */
+	@Nullable Event<StatusEffectEvents.OnRemoved> quilt$getOnRemovedEvent();
+
+	/**
+	 * {@return the removed event of this status effect, created if needed}
+	 */
+	Event<StatusEffectEvents.OnRemoved> quilt$getOrCreateOnRemovedEvent();
+
+	/**
+	 * Casts a {@link StatusEffect} to the duck interface.
+	 */
+	static StatusEffectEventStorage as(StatusEffect effect) {
+		return (StatusEffectEventStorage) effect;
+	}
+}
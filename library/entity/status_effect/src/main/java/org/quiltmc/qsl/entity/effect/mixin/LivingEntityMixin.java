@@ -36,10 +36,10 @@
 import net.minecraft.entity.effect.StatusEffectInstance;
 
 import org.quiltmc.qsl.entity.effect.api.QuiltLivingEntityStatusEffectExtensions;
-import org.quiltmc.qsl.entity.effect.api.StatusEffectEvents;
 import org.quiltmc.qsl.entity.effect.api.StatusEffectRemovalReason;
 import org.quiltmc.qsl.entity.effect.api.StatusEffectUtils;
 import org.quiltmc.qsl.entity.effect.impl.QuiltStatusEffectInternals;
+import org.quiltmc.qsl.entity.effect.impl.StatusEffectEventDispatcher;
 
 @Mixin(LivingEntity.class)
 public abstract class LivingEntityMixin extends Entity implements QuiltLivingEntityStatusEffectExtensions {
@@ -113,7 +113,7 @@ public void onStatusEffectRemoved(@NotNull StatusEffectInstance effect, @NotNull
 			)
 	)
 	private void quilt$callOnAppliedEvent(StatusEffectInstance effect, Entity source, CallbackInfo ci) {
-		StatusEffectEvents.ON_APPLIED.invoker().onApplied((LivingEntity) (Object) this, effect, false);
+		StatusEffectEventDispatcher.onApplied((LivingEntity) (Object) this, effect, false);
 	}
 
 	@Redirect(
@@ -126,7 +126,7 @@ public void onStatusEffectRemoved(@NotNull StatusEffectInstance effect, @NotNull
 	private void quilt$callOnRemovedWithReason(StatusEffect instance, AttributeContainer attributes) {
 		StatusEffectInstance effect = this.activeStatusEffects.get(instance);
 		instance.onRemoved((LivingEntity) (Object) this, attributes, effect, this.quilt$lastRemovalReason);
-		StatusEffectEvents.ON_REMOVED.invoker().onRemoved((LivingEntity) (Object) this, effect, this.quilt$lastRemovalReason);
+		StatusEffectEventDispatcher.onRemoved((LivingEntity) (Object) this, effect, this.quilt$lastRemovalReason);
 	}
 
 	/**
@@ -153,7 +153,7 @@ public boolean clearStatusEffects() {
 	)
 	private void quilt$removeWithExpiredReason(LivingEntity instance, StatusEffectInstance effect) {
 		instance.onStatusEffectRemoved(effect, StatusEffectRemovalReason.EXPIRED);
-		StatusEffectEvents.ON_REMOVED.invoker().onRemoved(instance, effect, StatusEffectRemovalReason.EXPIRED);
+		StatusEffectEventDispatcher.onRemoved(instance, effect, StatusEffectRemovalReason.EXPIRED);
 	}
 
 	@SuppressWarnings("ConstantConditions")
@@ -166,7 +166,7 @@ public boolean clearStatusEffects() {
 			)
 	)
 	private void quilt$callOnAppliedEvent_upgradeReapplying(StatusEffectInstance effect, boolean reapplyEffect, Entity source, CallbackInfo ci) {
-		StatusEffectEvents.ON_APPLIED.invoker().onApplied((LivingEntity) (Object) this, effect, true);
+		StatusEffectEventDispatcher.onApplied((LivingEntity) (Object) this, effect, true);
 	}
 
 	@Redirect(method = "onStatusEffectUpgraded", at = @At(
@@ -176,6 +176,6 @@ public boolean clearStatusEffects() {
 	private void quilt$removeWithUpgradeApplyingReason(StatusEffect instance, AttributeContainer attributes) {
 		StatusEffectInstance effect = this.activeStatusEffects.get(instance);
 		instance.onRemoved((LivingEntity) (Object) this, attributes, effect, StatusEffectRemovalReason.UPGRADE_REAPPLYING);
-		StatusEffectEvents.ON_REMOVED.invoker().onRemoved((LivingEntity) (Object) this, effect, StatusEffectRemovalReason.UPGRADE_REAPPLYING);
+		StatusEffectEventDispatcher.onRemoved((LivingEntity) (Object) this, effect, StatusEffectRemovalReason.UPGRADE_REAPPLYING);
 	}
 }
@@ -17,19 +17,31 @@
 package org.quiltmc.qsl.entity.effect.mixin;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
 
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.attribute.AttributeContainer;
 import net.minecraft.entity.effect.StatusEffect;
 import net.minecraft.entity.effect.StatusEffectInstance;
 
+import org.quiltmc.qsl.base.api.event.Event;
 import org.quiltmc.qsl.entity.effect.api.QuiltStatusEffectExtensions;
+import org.quiltmc.qsl.entity.effect.api.StatusEffectEvents;
 import org.quiltmc.qsl.entity.effect.api.StatusEffectRemovalReason;
+import org.quiltmc.qsl.entity.effect.impl.StatusEffectEventDispatcher;
+import org.quiltmc.qsl.entity.effect.impl.StatusEffectEventStorage;
 
 @Mixin(StatusEffect.class)
-public abstract class StatusEffectMixin implements QuiltStatusEffectExtensions {
+public abstract class StatusEffectMixin implements QuiltStatusEffectExtensions, StatusEffectEventStorage {
+	@Unique
+	private volatile @Nullable Event<StatusEffectEvents.OnApplied> quilt$onAppliedEvent;
+
+	@Unique
+	private volatile @Nullable Event<StatusEffectEvents.OnRemoved> quilt$onRemovedEvent;
+
 	@Shadow
 	public abstract void onRemoved(AttributeContainer attributes);
 
@@ -37,4 +49,32 @@ public abstract class StatusEffectMixin implements QuiltStatusEffectExtensions {
 	public void onRemoved(@NotNull LivingEntity entity, @NotNull AttributeContainer attributes, @NotNull StatusEffectInstance effect, @NotNull StatusEffectRemovalReason reason) {
 		this.onRemoved(attributes);
 	}
+
+	@Override
+	public @Nullable Event<StatusEffectEvents.OnApplied> quilt$getOnAppliedEvent() {
+		return this.quilt$onAppliedEvent;
+	}
+
+	@Override
+	public synchronized Event<StatusEffectEvents.OnApplied> quilt$getOrCreateOnAppliedEvent() {
+		if (this.quilt$onAppliedEvent == null) {
+			this.quilt$onAppliedEvent = StatusEffectEventDispatcher.createOnAppliedEvent();
+		}
+
+		return this.quilt$onAppliedEvent;
+	}
+
+	@Override
+	public @Nullable Event<StatusEffectEvents.OnRemoved> quilt$getOnRemovedEvent() {
+		return this.quilt$onRemovedEvent;
+	}
+
+	@Override
+	public synchronized Event<StatusEffectEvents.OnRemoved> quilt$getOrCreateOnRemovedEvent() {
+		if (this.quilt$onRemovedEvent == null) {
+			this.quilt$onRemovedEvent = StatusEffectEventDispatcher.createOnRemovedEvent();
+		}
+
+		return this.quilt$onRemovedEvent;
+	}
 }
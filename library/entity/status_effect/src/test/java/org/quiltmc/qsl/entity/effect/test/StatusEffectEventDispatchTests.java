@@ -0,0 +1,128 @@
+/*
+ * Copyright 2023 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.entity.effect.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.effect.StatusEffect;
+import net.minecraft.entity.effect.StatusEffectInstance;
+import net.minecraft.entity.effect.StatusEffects;
+import net.minecraft.registry.Holder;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.registry.tag.TagKey;
+import net.minecraft.util.Identifier;
+
+import org.quiltmc.qsl.entity.effect.api.StatusEffectEvents;
+import org.quiltmc.qsl.entity.effect.api.StatusEffectRemovalReason;
+import org.quiltmc.qsl.entity.effect.impl.StatusEffectEventDispatcher;
+import org.quiltmc.qsl.entity.effect.impl.StatusEffectEventStorage;
+
+public class StatusEffectEventDispatchTests {
+	private static final TagKey<StatusEffect> HARMFUL = TagKey.of(RegistryKeys.STATUS_EFFECT, new Identifier("quilt_status_effect_testing", "harmful"));
+	private static final TagKey<StatusEffect> UNBOUND = TagKey.of(RegistryKeys.STATUS_EFFECT, new Identifier("quilt_status_effect_testing", "unbound"));
+	private static final List<String> CALLS = new ArrayList<>();
+
+	private LivingEntity entity;
+
+	@BeforeAll
+	static void beforeAll() {
+		SharedConstants.createGameVersion();
+		Bootstrap.initialize();
+
+		Registries.STATUS_EFFECT.bindTags(Map.of(HARMFUL, List.of(holder(StatusEffects.POISON), holder(StatusEffects.WITHER))));
+
+		StatusEffectEvents.ON_APPLIED.register((entity, effect, upgradeReapplying) -> CALLS.add("applied global " + name(effect)));
+		StatusEffectEvents.getOnAppliedEvent(StatusEffects.POISON).register((entity, effect, upgradeReapplying) ->
+				CALLS.add("applied poison " + name(effect) + " " + upgradeReapplying));
+		StatusEffectEvents.getOnAppliedEvent(HARMFUL).register((entity, effect, upgradeReapplying) -> CALLS.add("applied harmful " + name(effect)));
+		StatusEffectEvents.getOnAppliedEvent(UNBOUND).register((entity, effect, upgradeReapplying) -> CALLS.add("applied unbound " + name(effect)));
+
+		StatusEffectEvents.ON_REMOVED.register((entity, effect, reason) -> CALLS.add("removed global " + name(effect)));
+		StatusEffectEvents.getOnRemovedEvent(StatusEffects.POISON).register((entity, effect, reason) ->
+				CALLS.add("removed poison " + name(effect) + " " + (reason == StatusEffectRemovalReason.EXPIRED)));
+		StatusEffectEvents.getOnRemovedEvent(HARMFUL).register((entity, effect, reason) -> CALLS.add("removed harmful " + name(effect)));
+	}
+
+	private static Holder<StatusEffect> holder(StatusEffect effect) {
+		return Registries.STATUS_EFFECT.getKey(effect).flatMap(Registries.STATUS_EFFECT::getHolder).orElseThrow();
+	}
+
+	private static String name(StatusEffectInstance effect) {
+		return Registries.STATUS_EFFECT.getId(effect.getEffectType()).getPath();
+	}
+
+	@BeforeEach
+	void setUp() {
+		CALLS.clear();
+		this.entity = mock(LivingEntity.class);
+	}
+
+	@Test
+	void effectAndTagListenersAreCalledAfterGlobalListeners() {
+		StatusEffectEventDispatcher.onApplied(this.entity, new StatusEffectInstance(StatusEffects.POISON, 100), true);
+
+		assertEquals(List.of("applied global poison", "applied poison poison true", "applied harmful poison"), CALLS);
+	}
+
+	@Test
+	void tagListenersAreCalledForEveryEffectOfTheTag() {
+		StatusEffectEventDispatcher.onApplied(this.entity, new StatusEffectInstance(StatusEffects.WITHER, 100), false);
+
+		assertEquals(List.of("applied global wither", "applied harmful wither"), CALLS);
+	}
+
+	@Test
+	void scopedListenersAreNotCalledForOtherEffects() {
+		StatusEffectEventDispatcher.onApplied(this.entity, new StatusEffectInstance(StatusEffects.SPEED, 100), false);
+		StatusEffectEventDispatcher.onRemoved(this.entity, new StatusEffectInstance(StatusEffects.SPEED, 100), StatusEffectRemovalReason.GENERIC_ONE);
+
+		assertEquals(List.of("applied global speed", "removed global speed"), CALLS);
+	}
+
+	@Test
+	void removedListenersAreScopedToo() {
+		StatusEffectEventDispatcher.onRemoved(this.entity, new StatusEffectInstance(StatusEffects.POISON, 100), StatusEffectRemovalReason.EXPIRED);
+		StatusEffectEventDispatcher.onRemoved(this.entity, new StatusEffectInstance(StatusEffects.WITHER, 100), StatusEffectRemovalReason.DRANK_MILK);
+
+		assertEquals(List.of(
+				"removed global poison", "removed poison poison true", "removed harmful poison",
+				"removed global wither", "removed harmful wither"
+		), CALLS);
+	}
+
+	@Test
+	void effectEventsAreOnlyCreatedWhenSubscribedTo() {
+		assertNull(StatusEffectEventStorage.as(StatusEffects.SPEED).quilt$getOnAppliedEvent());
+		assertNull(StatusEffectEventStorage.as(StatusEffects.SPEED).quilt$getOnRemovedEvent());
+		assertNotNull(StatusEffectEventStorage.as(StatusEffects.POISON).quilt$getOnAppliedEvent());
+		assertSame(StatusEffectEvents.getOnAppliedEvent(StatusEffects.POISON), StatusEffectEvents.getOnAppliedEvent(StatusEffects.POISON));
+		assertSame(StatusEffectEvents.getOnAppliedEvent(HARMFUL), StatusEffectEvents.getOnAppliedEvent(HARMFUL));
+	}
+}
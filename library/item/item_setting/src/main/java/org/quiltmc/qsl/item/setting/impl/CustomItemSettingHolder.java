@@ -0,0 +1,52 @@
+/*
+ * Copyright 2023 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.item.setting.impl;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.item.Item;
+
+/**
+ * A duck interface for the custom setting values stored on an {@link Item}, indexed by the id of their setting.
+ */
+@ApiStatus.Internal
+public interface CustomItemSettingHolder {
+	/**
+	 * {@return the stored value of the setting, or {@code null} if none is stored yet}
+	 *
+	 * @param id the id of the setting
+	 */
+	@Nullable Object quilt$getCustomSetting(int id);
+
+	/**
+	 * Stores the value of the setting.
+	 *
+	 * @param id    the id of the setting
+	 * @param value the value
+	 */
+	void quilt$setCustomSetting(int id, Object value);
+
+	/**
+	 * Stores the value of the setting if none is stored yet.
+	 *
+	 * @param id    the id of the setting
+	 * @param value the value
+	 * @return the value stored after this call
+	 */
+	Object quilt$setCustomSettingIfAbsent(int id, Object value);
+}
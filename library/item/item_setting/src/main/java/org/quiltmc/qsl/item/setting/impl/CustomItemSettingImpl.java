@@ -17,12 +17,12 @@
 package org.quiltmc.qsl.item.setting.impl;
 
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 import org.jetbrains.annotations.ApiStatus;
@@ -52,10 +52,16 @@ public void apply(Item.Settings settings, Item item) {
 		}
 	};
 
+	// Settings are only attached while items are constructed, which is rare compared to lookups,
+	// so a single lock guards the settings side while the item side is lock-free for readers.
+	private static final Object LOCK = new Object();
 	private static final Map<Item.Settings, Collection<CustomItemSettingImpl<?>>> CUSTOM_SETTINGS = new WeakHashMap<>();
+	private static final AtomicInteger NEXT_ID = new AtomicInteger();
+	// Stands in for null values, as a null array element means the value has not been resolved yet.
+	private static final Object NULL = new Object();
 
+	private final int id = NEXT_ID.getAndIncrement();
 	private final Map<Item.Settings, T> customSettings = new WeakHashMap<>();
-	private final Map<Item, T> customItemSettings = new HashMap<>();
 	private final Supplier<T> defaultValue;
 
 	public CustomItemSettingImpl(Supplier<T> defaultValue) {
@@ -64,30 +70,62 @@ public CustomItemSettingImpl(Supplier<T> defaultValue) {
 		this.defaultValue = defaultValue;
 	}
 
+	@SuppressWarnings("unchecked")
 	@Override
 	public T get(Item item) {
 		Objects.requireNonNull(item);
 
-		return this.customItemSettings.computeIfAbsent(item, i -> this.defaultValue.get());
+		var holder = (CustomItemSettingHolder) item;
+		Object value = holder.quilt$getCustomSetting(this.id);
+
+		if (value == null) {
+			value = holder.quilt$setCustomSettingIfAbsent(this.id, wrap(this.defaultValue.get()));
+		}
+
+		return value == NULL ? null : (T) value;
 	}
 
 	public void set(Item.Settings settings, T value) {
 		Objects.requireNonNull(settings);
 
-		this.customSettings.put(settings, value);
-		CUSTOM_SETTINGS.computeIfAbsent(settings, s -> new HashSet<>()).add(this);
+		synchronized (LOCK) {
+			this.customSettings.put(settings, value);
+			CUSTOM_SETTINGS.computeIfAbsent(settings, s -> new HashSet<>()).add(this);
+		}
 	}
 
 	public void apply(Item.Settings settings, Item item) {
 		Objects.requireNonNull(settings);
 
-		this.customItemSettings.put(item, this.customSettings.getOrDefault(settings, this.defaultValue.get()));
+		T value;
+
+		synchronized (LOCK) {
+			value = this.customSettings.containsKey(settings) ? this.customSettings.get(settings) : this.defaultValue.get();
+		}
+
+		((CustomItemSettingHolder) item).quilt$setCustomSetting(this.id, wrap(value));
+	}
+
+	private static Object wrap(Object value) {
+		return value == null ? NULL : value;
 	}
 
 	// Because item settings are reusable, it is possible that the same item settings object will be applied
 	// to multiple items.
 	public static void onBuild(Item.Settings settings, Item item) {
-		for (CustomItemSettingImpl<?> setting : CUSTOM_SETTINGS.getOrDefault(settings, Collections.emptyList())) {
+		List<CustomItemSettingImpl<?>> settingsToApply;
+
+		synchronized (LOCK) {
+			var customSettings = CUSTOM_SETTINGS.get(settings);
+
+			if (customSettings == null) {
+				return;
+			}
+
+			settingsToApply = List.copyOf(customSettings);
+		}
+
+		for (CustomItemSettingImpl<?> setting : settingsToApply) {
 			setting.apply(settings, item);
 		}
 	}
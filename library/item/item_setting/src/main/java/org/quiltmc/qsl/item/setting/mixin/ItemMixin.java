@@ -16,19 +16,64 @@
 
 package org.quiltmc.qsl.item.setting.mixin;
 
+import java.util.Arrays;
+
+import org.jetbrains.annotations.Nullable;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
 import net.minecraft.item.Item;
 
+import org.quiltmc.qsl.item.setting.impl.CustomItemSettingHolder;
 import org.quiltmc.qsl.item.setting.impl.CustomItemSettingImpl;
 
 @Mixin(Item.class)
-abstract class ItemMixin {
+abstract class ItemMixin implements CustomItemSettingHolder {
+	// Copy-on-write, so lookups from any thread are a volatile read and an array index.
+	@Unique
+	private volatile Object[] quilt$customSettings;
+
 	@Inject(method = "<init>", at = @At("RETURN"))
 	private void onConstruct(Item.Settings settings, CallbackInfo info) {
 		CustomItemSettingImpl.onBuild(settings, (Item) (Object) this);
 	}
+
+	@Override
+	public @Nullable Object quilt$getCustomSetting(int id) {
+		var values = this.quilt$customSettings;
+		return values != null && id < values.length ? values[id] : null;
+	}
+
+	@Override
+	public synchronized void quilt$setCustomSetting(int id, Object value) {
+		var values = this.quilt$copyCustomSettings(id);
+		values[id] = value;
+		this.quilt$customSettings = values;
+	}
+
+	@Override
+	public synchronized Object quilt$setCustomSettingIfAbsent(int id, Object value) {
+		var current = this.quilt$getCustomSetting(id);
+
+		if (current != null) {
+			return current;
+		}
+
+		this.quilt$setCustomSetting(id, value);
+		return value;
+	}
+
+	@Unique
+	private Object[] quilt$copyCustomSettings(int id) {
+		var values = this.quilt$customSettings;
+
+		if (values == null) {
+			return new Object[id + 1];
+		}
+
+		return Arrays.copyOf(values, Math.max(values.length, id + 1));
+	}
 }
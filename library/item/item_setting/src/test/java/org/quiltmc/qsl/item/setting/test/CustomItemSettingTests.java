@@ -0,0 +1,106 @@
+/*
+ * Copyright 2023 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.item.setting.test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.SharedConstants;
+import net.minecraft.item.Item;
+
+import org.quiltmc.qsl.item.setting.api.CustomItemSetting;
+import org.quiltmc.qsl.item.setting.api.QuiltItemSettings;
+
+public class CustomItemSettingTests {
+	@BeforeAll
+	static void beforeAll() {
+		// Registries are not bootstrapped, as new items cannot be created once they are frozen.
+		SharedConstants.createGameVersion();
+	}
+
+	@Test
+	void sharedSettingsApplyToEveryItem() {
+		var setting = CustomItemSetting.<String>create(() -> "default");
+		var settings = new QuiltItemSettings().customSetting(setting, "shared");
+
+		var first = new Item(settings);
+		var second = new Item(settings);
+		var other = new Item(new QuiltItemSettings());
+
+		assertEquals("shared", setting.get(first));
+		assertEquals("shared", setting.get(second));
+		assertEquals("default", setting.get(other));
+	}
+
+	@Test
+	void nullValuesAreNotReplacedByTheDefault() {
+		var setting = CustomItemSetting.<String>create(() -> "default");
+		var settings = new QuiltItemSettings().customSetting(setting, null);
+
+		var first = new Item(settings);
+		var second = new Item(settings);
+
+		assertNull(setting.get(first));
+		assertNull(setting.get(second));
+		// Looked up again, as the first lookup reads the value stored at construction.
+		assertNull(setting.get(first));
+	}
+
+	@Test
+	void nullDefaultsAreResolvedOnce() {
+		var calls = new AtomicInteger();
+		var setting = CustomItemSetting.<String>create(() -> {
+			calls.incrementAndGet();
+			return null;
+		});
+		var item = new Item(new QuiltItemSettings());
+
+		assertNull(setting.get(item));
+		assertNull(setting.get(item));
+		assertEquals(1, calls.get());
+	}
+
+	@Test
+	void settingsKeepTheirOwnValues() {
+		var first = CustomItemSetting.create(0);
+		var second = CustomItemSetting.create(0);
+		var third = CustomItemSetting.create(0);
+		var settings = new QuiltItemSettings()
+				.customSetting(first, 1)
+				.customSetting(third, 3);
+
+		var item = new Item(settings);
+
+		assertEquals(1, first.get(item));
+		assertEquals(0, second.get(item));
+		assertEquals(3, third.get(item));
+	}
+
+	@Test
+	void settingsCreatedAfterTheItemUseTheirDefault() {
+		var before = CustomItemSetting.create("before");
+		var item = new Item(new QuiltItemSettings().customSetting(before, "set"));
+		var after = CustomItemSetting.create("after");
+
+		assertEquals("after", after.get(item));
+		assertEquals("set", before.get(item));
+	}
+}
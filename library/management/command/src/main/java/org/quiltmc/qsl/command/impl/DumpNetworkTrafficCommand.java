@@ -0,0 +1,94 @@
+/*
+ * Copyright 2023 The Quilt Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.quiltmc.qsl.command.impl;
+
+import static com.mojang.brigadier.Command.SINGLE_SUCCESS;
+import static net.minecraft.server.command.CommandManager.literal;
+
+import java.util.Comparator;
+import java.util.Map;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.logging.LogUtils;
+import org.jetbrains.annotations.ApiStatus;
+import org.slf4j.Logger;
+
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.text.Text;
+import net.minecraft.util.Identifier;
+
+import org.quiltmc.qsl.command.api.CommandRegistrationCallback;
+import org.quiltmc.qsl.networking.api.ChannelTrafficMetrics;
+
+/**
+ * Dumps the per-channel network traffic of the server, the full table is written to the log.
+ * <p>
+ * Only registered when the networking module is present.
+ */
+@ApiStatus.Internal
+final class DumpNetworkTrafficCommand {
+	private static final Logger LOGGER = LogUtils.getLogger();
+	private static final int CHAT_ENTRIES = 10;
+
+	static void register() {
+		CommandRegistrationCallback.EVENT.register((dispatcher, context, environment) -> register0(dispatcher));
+	}
+
+	private static void register0(CommandDispatcher<ServerCommandSource> dispatcher) {
+		dispatcher.register(literal("dump_network_traffic")
+				.requires(src -> src.hasPermissionLevel(3))
+				.executes(DumpNetworkTrafficCommand::execute)
+				.then(literal("reset").executes(DumpNetworkTrafficCommand::reset))
+		);
+	}
+
+	private static int execute(CommandContext<ServerCommandSource> ctx) {
+		var entries = ChannelTrafficMetrics.getServerTraffic().entrySet().stream()
+				.sorted(Comparator.comparingLong((Map.Entry<Identifier, ChannelTrafficMetrics.Traffic> e) -> e.getValue().totalBytes()).reversed())
+				.toList();
+
+		LOGGER.info("Network traffic of {} channels:", entries.size());
+		LOGGER.info("channel | packets sent | bytes sent | packets received | bytes received | handler time (ms)");
+
+		for (var entry : entries) {
+			var traffic = entry.getValue();
+			LOGGER.info("{} | {} | {} | {} | {} | {}", entry.getKey(),
+					traffic.packetsSent(), traffic.bytesSent(),
+					traffic.packetsReceived(), traffic.bytesReceived(),
+					traffic.handlerTime().toMillis());
+		}
+
+		ctx.getSource().sendFeedback(() -> Text.literal("Network traffic of " + entries.size() + " channels, full table written to the log"), false);
+
+		for (int i = 0; i < Math.min(CHAT_ENTRIES, entries.size()); i++) {
+			var entry = entries.get(i);
+			var traffic = entry.getValue();
+			ctx.getSource().sendFeedback(() -> Text.literal(String.format("%s: %d B out (%d), %d B in (%d), %d ms",
+					entry.getKey(), traffic.bytesSent(), traffic.packetsSent(),
+					traffic.bytesReceived(), traffic.packetsReceived(), traffic.handlerTime().toMillis())), false);
+		}
+
+		return entries.size();
+	}
+
+	private static int reset(CommandContext<ServerCommandSource> ctx) {
+		ChannelTrafficMetrics.reset();
+		ctx.getSource().sendFeedback(() -> Text.literal("Network traffic counters have been reset"), true);
+		return SINGLE_SUCCESS;
+	}
+}
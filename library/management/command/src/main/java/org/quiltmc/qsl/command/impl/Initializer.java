@@ -43,6 +43,7 @@ public static Identifier id(String path) {
 	public void onInitialize(ModContainer mod) {
 		if (QuiltLoader.isModLoaded("quilt_networking")) {
 			KnownArgTypesSync.register();
+			DumpNetworkTrafficCommand.register();
 			LOGGER.info("[Quilt Command] Networking support is enabled");
 		} else {
 			LOGGER.info("[Quilt Command] Networking support is disabled");